@@ -21,12 +21,12 @@ package de.uni_freiburg.informatik.ultimate.logic;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
+import de.uni_freiburg.informatik.ultimate.util.datastructures.TermIdMap;
+
 /**
  * Compute the common-subexpression-elimination (cse) form of a term.  A term is
  * in cse form if all nodes with an out-degree of at least 1 and an in-degree of
@@ -34,7 +34,7 @@ import java.util.Set;
  * @author hoenicke
  */
 public class FormulaLet extends NonRecursive {
-	private final ArrayList<Map<Term, TermInfo>> mVisited = new ArrayList<>();
+	private final ArrayList<TermIdMap<TermInfo>> mVisited = new ArrayList<>();
 	private final ArrayList<Set<TermVariable>> mScopes = new ArrayList<>();
 	private final ArrayDeque<Term> mResultStack = new ArrayDeque<>();
 	private int mCseNum;
@@ -97,7 +97,7 @@ public class FormulaLet extends NonRecursive {
 			mResultStack.addLast(term);
 			return;
 		}
-		final Map<Term, TermInfo> newScope = new HashMap<>();
+		final TermIdMap<TermInfo> newScope = new TermIdMap<>();
 		mScopes.add(null);
 		mVisited.add(newScope);
 		final TermInfo info = new TermInfo(term);
@@ -140,7 +140,7 @@ public class FormulaLet extends NonRecursive {
 		return false;
 	}
 
-	public void addTransformScope(final TermVariable[] vars, final Map<Term, TermInfo> scope) {
+	public void addTransformScope(final TermVariable[] vars, final TermIdMap<TermInfo> scope) {
 		enqueueWalker(new ScopeRemover());
 		mScopes.add(new HashSet<>(Arrays.asList(vars)));
 		mVisited.add(scope);
@@ -163,7 +163,7 @@ public class FormulaLet extends NonRecursive {
 		}
 
 		// check if term info exists
-		final Map<Term, TermInfo> scopedInfos = mVisited.get(findScope(term));
+		final TermIdMap<TermInfo> scopedInfos = mVisited.get(findScope(term));
 		TermInfo child = scopedInfos.get(term);
 		if (child == null) {
 			// create new term info and visit the child recursively.
@@ -176,9 +176,9 @@ public class FormulaLet extends NonRecursive {
 		}
 	}
 
-	public Map<Term, TermInfo> newScope(final TermVariable[] vars) {
+	public TermIdMap<TermInfo> newScope(final TermVariable[] vars) {
 		final HashSet<TermVariable> varSet = new HashSet<>(Arrays.asList(vars));
-		final Map<Term, TermInfo> newScope = new HashMap<>();
+		final TermIdMap<TermInfo> newScope = new TermIdMap<>();
 		mScopes.add(varSet);
 		mVisited.add(newScope);
 		enqueueWalker(new ScopeRemover());
@@ -235,7 +235,7 @@ public class FormulaLet extends NonRecursive {
 		/**
 		 * The sub scopes in case this is a quantifier, lambda term or match term.
 		 */
-		Map<Term, TermInfo>[] mScopes;
+		TermIdMap<TermInfo>[] mScopes;
 
 		public TermInfo(final Term term) {
 			mTerm = term;
@@ -347,11 +347,11 @@ public class FormulaLet extends NonRecursive {
 				}
 			} else if (mTerm instanceof LambdaTerm) {
 				final LambdaTerm lambda = (LambdaTerm) mTerm;
-				mInfo.mScopes = new Map[] { let.newScope(lambda.getVariables()) };
+				mInfo.mScopes = new TermIdMap[] { let.newScope(lambda.getVariables()) };
 				let.visitChild(lambda.getSubterm());
 			} else if (mTerm instanceof QuantifiedFormula) {
 				final QuantifiedFormula quant = (QuantifiedFormula) mTerm;
-				mInfo.mScopes = new Map[] { let.newScope(quant.getVariables()) };
+				mInfo.mScopes = new TermIdMap[] { let.newScope(quant.getVariables()) };
 				if (isPattern(quant.getSubformula())) {
 					let.visitChild(((AnnotatedTerm) quant.getSubformula()).getSubterm());
 				} else {
@@ -360,7 +360,7 @@ public class FormulaLet extends NonRecursive {
 			} else if (mTerm instanceof MatchTerm) {
 				final MatchTerm match = (MatchTerm) mTerm;
 				final int numCases = match.getCases().length;
-				mInfo.mScopes = new Map[numCases];
+				mInfo.mScopes = new TermIdMap[numCases];
 				for (int i = numCases - 1; i >= 0; i--) {
 					let.enqueueWalker(new CollectMatchCase(match, mInfo, i));
 				}
@@ -401,7 +401,7 @@ public class FormulaLet extends NonRecursive {
 		public void walk(final NonRecursive engine) {
 			final FormulaLet let = (FormulaLet) engine;
 			final Term term = mTerm;
-			final Map<Term, TermInfo> scopeInfos = let.mVisited.get(let.findScope(term));
+			final TermIdMap<TermInfo> scopeInfos = let.mVisited.get(let.findScope(term));
 			final TermInfo info = scopeInfos.get(term);
 			if (info == null) {
 				let.mResultStack.addLast(term);
@@ -822,7 +822,7 @@ public class FormulaLet extends NonRecursive {
 		public void walk(final NonRecursive engine) {
 			final FormulaLet let = ((FormulaLet) engine);
 			final Term child = mTerm;
-			final Map<Term, TermInfo> scopeInfos = let.mVisited.get(let.findScope(child));
+			final TermIdMap<TermInfo> scopeInfos = let.mVisited.get(let.findScope(child));
 			final TermInfo info = scopeInfos.get(child);
 			if (info == null) {
 				return;
@@ -88,13 +88,9 @@ public abstract class FunctionSymbolFactory {
 		final int hash = Arrays.hashCode(indices)
 			^ Arrays.hashCode(paramSorts)
 			^ (resultSort == null ? 0 : resultSort.hashCode());
-		for (final FunctionSymbol func : mInstances.iterateHashCode(hash)) {
-			if (Arrays.equals(func.mIndices, indices)
-				&& Arrays.equals(func.mParamSort, paramSorts)
-				&& (resultSort == null
-						|| func.mReturnSort == resultSort)) {
-				return func;
-			}
+		final FunctionSymbol cached = findInstance(hash, indices, paramSorts, resultSort);
+		if (cached != null) {
+			return cached;
 		}
 
 		resultSort = getResultSort(indices, paramSorts, resultSort);
@@ -122,10 +118,34 @@ public abstract class FunctionSymbolFactory {
 		final FunctionSymbol func = new FunctionSymbol(
 				mFuncName, indices, paramSorts, resultSort,
 					defVars, definition, flags);
-		mInstances.put(hash, func);
+		/* The definition is created without holding the lock, so another
+		 * thread may have created the same symbol in the meantime.
+		 */
+		synchronized (mInstances) {
+			final FunctionSymbol other = findInstance(hash, indices, paramSorts, resultSort);
+			if (other != null) {
+				return other;
+			}
+			mInstances.put(hash, func);
+		}
 		return func;
 	}
 
+	private FunctionSymbol findInstance(final int hash, final String[] indices, final Sort[] paramSorts,
+			final Sort resultSort) {
+		synchronized (mInstances) {
+			for (final FunctionSymbol func : mInstances.iterateHashCode(hash)) {
+				if (Arrays.equals(func.mIndices, indices)
+					&& Arrays.equals(func.mParamSort, paramSorts)
+					&& (resultSort == null
+							|| func.mReturnSort == resultSort)) {
+					return func;
+				}
+			}
+		}
+		return null;
+	}
+
 	@Override
 	public String toString() {
 		return mFuncName;
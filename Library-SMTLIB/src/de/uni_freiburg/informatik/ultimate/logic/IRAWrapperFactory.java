@@ -86,11 +86,9 @@ public class IRAWrapperFactory {
 
 		/* Check if we already created a wrapper and return it. */
 		final int hash = fsym.hashCode() ^ Arrays.hashCode(paramSorts);
-		for (final FunctionSymbol func : mInstances.iterateHashCode(hash)) {
-			if (((ApplicationTerm) func.getDefinition()).getFunction() == fsym
-					&& Arrays.equals(func.mParamSort, paramSorts)) {
-				return func;
-			}
+		final FunctionSymbol cached = findInstance(hash, fsym, paramSorts);
+		if (cached != null) {
+			return cached;
 		}
 
 		/* Create the wrapping definition */
@@ -106,7 +104,25 @@ public class IRAWrapperFactory {
 		/* Create the function symbol */
 		FunctionSymbol wrapper = new FunctionSymbol(fsym.getName(), fsym.getIndices(), paramSorts, fsym.getReturnSort(),
 				defVars, definition, (fsym.mFlags & ~FunctionSymbol.ASSOCMASK));
-		mInstances.put(hash, wrapper);
+		synchronized (mInstances) {
+			final FunctionSymbol other = findInstance(hash, fsym, paramSorts);
+			if (other != null) {
+				return other;
+			}
+			mInstances.put(hash, wrapper);
+		}
 		return wrapper;
 	}
+
+	private FunctionSymbol findInstance(final int hash, final FunctionSymbol fsym, final Sort[] paramSorts) {
+		synchronized (mInstances) {
+			for (final FunctionSymbol func : mInstances.iterateHashCode(hash)) {
+				if (((ApplicationTerm) func.getDefinition()).getFunction() == fsym
+						&& Arrays.equals(func.mParamSort, paramSorts)) {
+					return func;
+				}
+			}
+		}
+		return null;
+	}
 }
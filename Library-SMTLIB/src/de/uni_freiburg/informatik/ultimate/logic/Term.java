@@ -50,6 +50,11 @@ import java.util.ArrayDeque;
  */
 public abstract class Term {
 	private final int mHash;
+	/**
+	 * The id of this term, or -1 if it has no id yet. Ids are assigned densely by the theory of the term when the id
+	 * is first requested, so they can be used as index into side tables.
+	 */
+	private int mId = -1;
 
 	/**
 	 * A temporary counter used e.g. to count the number of occurrences of this
@@ -119,6 +124,23 @@ public abstract class Term {
 		return mHash;
 	}
 
+	/**
+	 * Returns the id of this term. The id is unique among the terms of the same theory and the ids of a theory are
+	 * consecutive numbers starting at 0.
+	 * @return the id of the term.
+	 */
+	public final int getId() {
+		final int id = mId;
+		return id >= 0 ? id : assignId();
+	}
+
+	private synchronized int assignId() {
+		if (mId < 0) {
+			mId = getTheory().nextTermId();
+		}
+		return mId;
+	}
+
 	/**
 	 * Convert a term to a string in a stack based fashion.  This is used
 	 * for internal purposes.  External users can just use toString()
@@ -21,9 +21,9 @@ package de.uni_freiburg.informatik.ultimate.logic;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 
 import de.uni_freiburg.informatik.ultimate.util.datastructures.ScopedHashMap;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.TermIdMap;
 
 /**
  * This is the base class for transforming formulas. It does nothing by itself
@@ -50,7 +50,7 @@ public class TermTransformer extends NonRecursive {
 	/**
 	 * The term cache.
 	 */
-	private final ArrayList<HashMap<Term, Term>> mCache = new ArrayList<>();
+	private final ArrayList<TermIdMap<Term>> mCache = new ArrayList<>();
 	private final ScopedHashMap<TermVariable, Integer> mScopeMap = new ScopedHashMap<>();
 
 	/**
@@ -163,7 +163,7 @@ public class TermTransformer extends NonRecursive {
 
 	protected void beginScope(final TermVariable[] vars) {
 		final Integer scopeNumber = mCache.size();
-		mCache.add(new HashMap<Term, Term>());
+		mCache.add(new TermIdMap<Term>());
 		mScopeMap.beginScope();
 		for (final TermVariable var : vars) {
 			mScopeMap.put(var, scopeNumber);
@@ -25,8 +25,10 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import de.uni_freiburg.informatik.ultimate.util.HashUtils;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.ConcurrentUnifyHash;
 import de.uni_freiburg.informatik.ultimate.util.datastructures.ScopedHashMap;
 import de.uni_freiburg.informatik.ultimate.util.datastructures.UnifyHash;
 
@@ -41,6 +43,10 @@ import de.uni_freiburg.informatik.ultimate.util.datastructures.UnifyHash;
  * The theory also defines all predefined function symbols required by the logic that was set with setLogic(). It allows
  * creating new function and sort symbols.
  *
+ * Terms, term variables, and instances of predefined function symbols and sorts can be created concurrently from
+ * several threads. The unifier for terms is lock-striped, so threads building different terms rarely contend. Declaring
+ * and defining symbols, and push and pop, must not run concurrently with other operations on the theory.
+ *
  * @author Jochen Hoenicke
  */
 public class Theory {
@@ -99,8 +105,8 @@ public class Theory {
 	private final ScopedHashMap<String, SortSymbol> mDeclaredSorts = new ScopedHashMap<>();
 	private final ScopedHashMap<String, FunctionSymbol> mDeclaredFuns = new ScopedHashMap<>();
 
-	private final UnifyHash<LetTerm> mLetCache = new UnifyHash<>();
-	private final UnifyHash<Term> mTermCache = new UnifyHash<>();
+	private final ConcurrentUnifyHash<LetTerm> mLetCache = new ConcurrentUnifyHash<>();
+	private final ConcurrentUnifyHash<Term> mTermCache = new ConcurrentUnifyHash<>();
 	private final UnifyHash<TermVariable> mTvUnify = new UnifyHash<>();
 	/**
 	 * Factory for to_real wrapper function symbol, if IRA logic is used.
@@ -109,7 +115,7 @@ public class Theory {
 	/**
 	 * Cache for bitvector constant function symbols (_ bv123 456).
 	 */
-	private UnifyHash<FunctionSymbol> mBitVecConstCache;
+	private final UnifyHash<FunctionSymbol> mBitVecConstCache = new UnifyHash<>();
 
 	public final ApplicationTerm mTrue, mFalse;
 	public final FunctionSymbol mAnd, mOr, mNot, mImplies, mXor;
@@ -124,7 +130,11 @@ public class Theory {
 	private final static String MODEL_VALUE_PATTERN = "@\\d+";
 	private final static String BITVEC_CONST_PATTERN = "bv\\d+";
 
-	private int mTvarCtr = 0;
+	private final AtomicInteger mTvarCtr = new AtomicInteger();
+	/**
+	 * The id of the next term that asks for an id, see {@link Term#getId()}.
+	 */
+	private final AtomicInteger mTermIdCtr = new AtomicInteger();
 
 	private int mAuxCounter = 0;
 
@@ -314,32 +324,39 @@ public class Theory {
 
 	public Term lambda(final TermVariable[] vars, final Term subterm) {
 		final int hash = LambdaTerm.hashLambda(vars, subterm);
-		for (final Term term : mTermCache.iterateHashCode(hash)) {
-			if (term instanceof LambdaTerm) {
-				final LambdaTerm lambda = (LambdaTerm) term;
-				if (lambda.getSubterm() == subterm && Arrays.equals(lambda.getVariables(), vars)) {
-					return lambda;
+		final UnifyHash<Term> cache = mTermCache.getStripe(hash);
+		synchronized (cache) {
+			for (final Term term : cache.iterateHashCode(hash)) {
+				if (term instanceof LambdaTerm) {
+					final LambdaTerm lambda = (LambdaTerm) term;
+					if (lambda.getSubterm() == subterm && Arrays.equals(lambda.getVariables(), vars)) {
+						return lambda;
+					}
 				}
 			}
+			final LambdaTerm lambda = new LambdaTerm(vars, subterm, hash);
+			cache.put(hash, lambda);
+			return lambda;
 		}
-		final LambdaTerm lambda = new LambdaTerm(vars, subterm, hash);
-		mTermCache.put(hash, lambda);
-		return lambda;
 	}
 
 	private Term quantify(final int quant, final TermVariable[] vars, final Term f) {
 		final int hash = QuantifiedFormula.hashQuantifier(quant, vars, f);
-		for (final Term term : mTermCache.iterateHashCode(hash)) {
-			if (term instanceof QuantifiedFormula) {
-				final QuantifiedFormula qf = (QuantifiedFormula) term;
-				if (qf.getQuantifier() == quant && qf.getSubformula() == f && Arrays.equals(vars, qf.getVariables())) {
-					return qf;
+		final UnifyHash<Term> cache = mTermCache.getStripe(hash);
+		synchronized (cache) {
+			for (final Term term : cache.iterateHashCode(hash)) {
+				if (term instanceof QuantifiedFormula) {
+					final QuantifiedFormula qf = (QuantifiedFormula) term;
+					if (qf.getQuantifier() == quant && qf.getSubformula() == f
+							&& Arrays.equals(vars, qf.getVariables())) {
+						return qf;
+					}
 				}
 			}
+			final QuantifiedFormula qf = new QuantifiedFormula(quant, vars, f, hash);
+			cache.put(hash, qf);
+			return qf;
 		}
-		final QuantifiedFormula qf = new QuantifiedFormula(quant, vars, f, hash);
-		mTermCache.put(hash, qf);
-		return qf;
 	}
 
 	public Term exists(final TermVariable[] vars, final Term f) {
@@ -354,19 +371,22 @@ public class Theory {
 			final DataType.Constructor[] constructors) {
 
 		final int hash = MatchTerm.hashMatch(dataArg, vars, cases);
-		for (final Term t : mTermCache.iterateHashCode(hash)) {
-			if (t instanceof MatchTerm) {
-				final MatchTerm mt = (MatchTerm) t;
-				if (mt.getDataTerm() == dataArg && Arrays.equals(mt.getCases(), cases)
-						&& Arrays.deepEquals(mt.getVariables(), vars)
-						&& Arrays.equals(mt.getConstructors(), constructors)) {
-					return mt;
+		final UnifyHash<Term> cache = mTermCache.getStripe(hash);
+		synchronized (cache) {
+			for (final Term t : cache.iterateHashCode(hash)) {
+				if (t instanceof MatchTerm) {
+					final MatchTerm mt = (MatchTerm) t;
+					if (mt.getDataTerm() == dataArg && Arrays.equals(mt.getCases(), cases)
+							&& Arrays.deepEquals(mt.getVariables(), vars)
+							&& Arrays.equals(mt.getConstructors(), constructors)) {
+						return mt;
+					}
 				}
 			}
+			final MatchTerm mt = new MatchTerm(hash, dataArg, vars, cases, constructors);
+			cache.put(hash, mt);
+			return mt;
 		}
-		final MatchTerm mt = new MatchTerm(hash, dataArg, vars, cases, constructors);
-		mTermCache.put(hash, mt);
-		return mt;
 	}
 
 	public Term let(final TermVariable[] vars, final Term[] values, final Term subform) {
@@ -375,15 +395,18 @@ public class Theory {
 			return subform;
 		}
 		final int hash = LetTerm.hashLet(vars, values, subform);
-		for (final LetTerm lt : mLetCache.iterateHashCode(hash)) {
-			if (lt.getSubTerm() == subform && Arrays.equals(lt.getVariables(), vars)
-					&& Arrays.equals(lt.getValues(), values)) {
-				return lt;
+		final UnifyHash<LetTerm> cache = mLetCache.getStripe(hash);
+		synchronized (cache) {
+			for (final LetTerm lt : cache.iterateHashCode(hash)) {
+				if (lt.getSubTerm() == subform && Arrays.equals(lt.getVariables(), vars)
+						&& Arrays.equals(lt.getValues(), values)) {
+					return lt;
+				}
 			}
+			final LetTerm lf = new LetTerm(vars, values, subform, hash);
+			cache.put(hash, lf);
+			return lf;
 		}
-		final LetTerm lf = new LetTerm(vars, values, subform, hash);
-		mLetCache.put(hash, lf);
-		return lf;
 	}
 
 	public Term let(final TermVariable var, final Term value, final Term subform) {
@@ -470,17 +493,20 @@ public class Theory {
 			}
 		}
 		final int hash = ConstantTerm.hashConstant(value, sort);
-		for (final Term t : mTermCache.iterateHashCode(hash)) {
-			if (t instanceof ConstantTerm) {
-				final ConstantTerm nt = (ConstantTerm) t;
-				if (nt.getSort() == sort && value.equals(nt.getValue())) {
-					return nt;
+		final UnifyHash<Term> cache = mTermCache.getStripe(hash);
+		synchronized (cache) {
+			for (final Term t : cache.iterateHashCode(hash)) {
+				if (t instanceof ConstantTerm) {
+					final ConstantTerm nt = (ConstantTerm) t;
+					if (nt.getSort() == sort && value.equals(nt.getValue())) {
+						return nt;
+					}
 				}
 			}
+			final ConstantTerm nt = new ConstantTerm(value, sort, hash);
+			cache.put(hash, nt);
+			return nt;
 		}
-		final ConstantTerm nt = new ConstantTerm(value, sort, hash);
-		mTermCache.put(hash, nt);
-		return nt;
 	}
 
 	public Term numeral(final BigInteger num) {
@@ -1528,15 +1554,17 @@ public class Theory {
 
 	private FunctionSymbol getModelValueSymbol(final String name, final Sort sort) {
 		final int hash = HashUtils.hashJenkins(name.hashCode(), sort);
-		for (final FunctionSymbol symb : mModelValueCache.iterateHashCode(hash)) {
-			if (symb.getName().equals(name) && symb.getReturnSort() == sort) {
-				return symb;
+		synchronized (mModelValueCache) {
+			for (final FunctionSymbol symb : mModelValueCache.iterateHashCode(hash)) {
+				if (symb.getName().equals(name) && symb.getReturnSort() == sort) {
+					return symb;
+				}
 			}
+			final FunctionSymbol symb = new FunctionSymbol(name, null, EMPTY_SORT_ARRAY, sort, null, null,
+					FunctionSymbol.RETURNOVERLOAD | FunctionSymbol.INTERNAL | FunctionSymbol.MODELVALUE);
+			mModelValueCache.put(hash, symb);
+			return symb;
 		}
-		final FunctionSymbol symb = new FunctionSymbol(name, null, EMPTY_SORT_ARRAY, sort, null, null,
-				FunctionSymbol.RETURNOVERLOAD | FunctionSymbol.INTERNAL | FunctionSymbol.MODELVALUE);
-		mModelValueCache.put(hash, symb);
-		return symb;
 	}
 
 	public FunctionSymbol getFunctionWithResult(final String name, final String[] indices, final Sort resultType,
@@ -1571,20 +1599,19 @@ public class Theory {
 	}
 
 	private FunctionSymbol getBitVecConstant(final String name, final String[] indices) {
-		if (mBitVecConstCache == null) {
-			mBitVecConstCache = new UnifyHash<>();
-		}
 		final int hash = HashUtils.hashJenkins(name.hashCode(), (Object[]) indices);
-		for (final FunctionSymbol symb : mBitVecConstCache.iterateHashCode(hash)) {
-			if (symb.getName().equals(name) && symb.getIndices()[0].equals(indices[0])) {
-				return symb;
+		synchronized (mBitVecConstCache) {
+			for (final FunctionSymbol symb : mBitVecConstCache.iterateHashCode(hash)) {
+				if (symb.getName().equals(name) && symb.getIndices()[0].equals(indices[0])) {
+					return symb;
+				}
 			}
+			final Sort sort = mBitVecSort.getSort(indices);
+			final FunctionSymbol symb =
+					new FunctionSymbol(name, indices, EMPTY_SORT_ARRAY, sort, null, null, FunctionSymbol.INTERNAL);
+			mBitVecConstCache.put(hash, symb);
+			return symb;
 		}
-		final Sort sort = mBitVecSort.getSort(indices);
-		final FunctionSymbol symb =
-				new FunctionSymbol(name, indices, EMPTY_SORT_ARRAY, sort, null, null, FunctionSymbol.INTERNAL);
-		mBitVecConstCache.put(hash, symb);
-		return symb;
 	}
 
 	public Term term(final FunctionSymbolFactory factory, final Term... parameters) {
@@ -1674,17 +1701,39 @@ public class Theory {
 			parameters = EMPTY_TERM_ARRAY;
 		}
 		final int hash = ApplicationTerm.hashApplication(func, parameters);
-		for (final Term t : mTermCache.iterateHashCode(hash)) {
-			if (t instanceof ApplicationTerm) {
-				final ApplicationTerm app = (ApplicationTerm) t;
-				if (func == app.getFunction() && Arrays.equals(app.getParameters(), parameters)) {
-					return app;
+		final UnifyHash<Term> cache = mTermCache.getStripe(hash);
+		synchronized (cache) {
+			for (final Term t : cache.iterateHashCode(hash)) {
+				if (t instanceof ApplicationTerm) {
+					final ApplicationTerm app = (ApplicationTerm) t;
+					if (func == app.getFunction() && Arrays.equals(app.getParameters(), parameters)) {
+						return app;
+					}
 				}
 			}
+			final ApplicationTerm app = new ApplicationTerm(func, parameters, hash);
+			cache.put(hash, app);
+			return app;
 		}
-		final ApplicationTerm app = new ApplicationTerm(func, parameters, hash);
-		mTermCache.put(hash, app);
-		return app;
+	}
+
+	/**
+	 * Get a fresh id for a term of this theory. The ids of the terms of one theory are consecutive numbers starting at
+	 * 0.
+	 *
+	 * @return the id.
+	 */
+	int nextTermId() {
+		return mTermIdCtr.getAndIncrement();
+	}
+
+	/**
+	 * Get the number of ids given to terms so far. All term ids of this theory are smaller than this number.
+	 *
+	 * @return the number of term ids.
+	 */
+	public int getNumberOfTermIds() {
+		return mTermIdCtr.get();
 	}
 
 	/******************** TERM VARIABLES AND VARIABLE TERMS *****************/
@@ -1699,7 +1748,26 @@ public class Theory {
 	 * @return a fresh term variable.
 	 */
 	public TermVariable createFreshTermVariable(final String prefix, final Sort sort) {
-		final String name = "." + prefix + "." + mTvarCtr++;
+		final String name = "." + prefix + "." + mTvarCtr.getAndIncrement();
+		return new TermVariable(name, sort, TermVariable.hashVariable(name, sort));
+	}
+
+	/**
+	 * Create a fresh term variable whose name is given by the caller instead of a global counter. This is used if the
+	 * name must not depend on the order in which variables are created by concurrent threads. The variable is
+	 * different from all other variables, but the caller must ensure that the name is unique where the variable is
+	 * printed.
+	 *
+	 * @param prefix
+	 *            the prefix of the variable name (without the leading ?).
+	 * @param suffix
+	 *            the suffix that makes the name unique.
+	 * @param sort
+	 *            the sort of the variable.
+	 * @return a fresh term variable.
+	 */
+	public TermVariable createFreshTermVariable(final String prefix, final String suffix, final Sort sort) {
+		final String name = "." + prefix + "." + suffix;
 		return new TermVariable(name, sort, TermVariable.hashVariable(name, sort));
 	}
 
@@ -1714,14 +1782,16 @@ public class Theory {
 	 */
 	public TermVariable createTermVariable(final String name, final Sort sort) {
 		final int hash = TermVariable.hashVariable(name, sort);
-		for (final TermVariable tv : mTvUnify.iterateHashCode(hash)) {
-			if (tv.getSort().equals(sort) && tv.getName().equals(name)) {
-				return tv;
+		synchronized (mTvUnify) {
+			for (final TermVariable tv : mTvUnify.iterateHashCode(hash)) {
+				if (tv.getSort().equals(sort) && tv.getName().equals(name)) {
+					return tv;
+				}
 			}
+			final TermVariable tv = new TermVariable(name, sort, hash);
+			mTvUnify.put(hash, tv);
+			return tv;
 		}
-		final TermVariable tv = new TermVariable(name, sort, hash);
-		mTvUnify.put(hash, tv);
-		return tv;
 	}
 
 	public DataType.Constructor createConstructor(final String name, final String[] selectors,
@@ -1757,17 +1827,20 @@ public class Theory {
 
 	public Term annotatedTerm(final Annotation[] annots, final Term sub) {
 		final int hash = AnnotatedTerm.hashAnnotations(annots, sub);
-		for (final Term t : mTermCache.iterateHashCode(hash)) {
-			if (t instanceof AnnotatedTerm) {
-				final AnnotatedTerm annot = (AnnotatedTerm) t;
-				if (sub == annot.getSubterm() && Arrays.equals(annot.getAnnotations(), annots)) {
-					return annot;
+		final UnifyHash<Term> cache = mTermCache.getStripe(hash);
+		synchronized (cache) {
+			for (final Term t : cache.iterateHashCode(hash)) {
+				if (t instanceof AnnotatedTerm) {
+					final AnnotatedTerm annot = (AnnotatedTerm) t;
+					if (sub == annot.getSubterm() && Arrays.equals(annot.getAnnotations(), annots)) {
+						return annot;
+					}
 				}
 			}
+			final AnnotatedTerm annot = new AnnotatedTerm(annots, sub, hash);
+			cache.put(hash, annot);
+			return annot;
 		}
-		final AnnotatedTerm annot = new AnnotatedTerm(annots, sub, hash);
-		mTermCache.put(hash, annot);
-		return annot;
 	}
 
 	/******************** ASSERTION STACK *********************************/
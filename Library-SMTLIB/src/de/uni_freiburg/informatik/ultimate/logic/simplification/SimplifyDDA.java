@@ -21,6 +21,7 @@ package de.uni_freiburg.informatik.ultimate.logic.simplification;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 
@@ -36,6 +37,7 @@ import de.uni_freiburg.informatik.ultimate.logic.Term;
 import de.uni_freiburg.informatik.ultimate.logic.TermTransformer;
 import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
 import de.uni_freiburg.informatik.ultimate.logic.Util;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.TermIdMap;
 
 /**
  * Simplify formulas, but keep their Boolean structure. Replace subformulas by true or false if this replacement leads
@@ -45,6 +47,12 @@ import de.uni_freiburg.informatik.ultimate.logic.Util;
  *
  * The new implementation is DAG-based an non-recursive. We collect contexts
  *
+ * In incremental mode the contexts are not pushed onto the script. The simplifier keeps the context terms itself,
+ * decides cheap cases by unit propagation over the context, caches the redundancy of every (context, term) pair, and
+ * asks the remaining questions by check-sat-assuming. For this it defines a proxy constant for every formula that
+ * occurs in a question. The cache is kept between calls of {@link #getSimplifiedTerm(Term)}; it is only valid as long
+ * as no assertion is removed from the script.
+ *
  * @author Matthias Heizmann, Jochen Hoenicke, Markus Pomrehn
  *
  */
@@ -65,7 +73,7 @@ public class SimplifyDDA extends NonRecursive {
 		}
 	}
 
-	HashMap<Term, TermInfo> mTermInfos;
+	TermIdMap<TermInfo> mTermInfos;
 	Term mResult;
 	protected final Script mScript;
 	final Term mTrue;
@@ -77,6 +85,59 @@ public class SimplifyDDA extends NonRecursive {
 	 */
 	protected boolean mInconsistencyOfContextDetected;
 
+	/**
+	 * True if contexts are kept by the simplifier and checked by check-sat-assuming instead of push and pop.
+	 */
+	protected final boolean mIncremental;
+	/**
+	 * The terms of the current context and the start index of every context scope in incremental mode.
+	 */
+	private final ArrayList<Term> mContextTerms = new ArrayList<>();
+	private final ArrayDeque<Integer> mContextScopes = new ArrayDeque<>();
+	/**
+	 * The proxy constant defined for each formula in incremental mode. The definitions live on the assertion stack
+	 * level pushed by {@link #getSimplifiedTerm(Term)}.
+	 */
+	private TermIdMap<Term> mProxies;
+	private int mProxyCtr;
+	/**
+	 * The redundancy of a term under a context in incremental mode. Only definite answers are stored.
+	 */
+	private final HashMap<ContextKey, Redundancy> mRedundancyCache = new HashMap<>();
+
+	private int mNumChecks;
+	private int mNumCacheHits;
+	private int mNumFilteredChecks;
+
+	/**
+	 * The key of the redundancy cache. The context is sorted by term id and free of duplicates.
+	 */
+	private static final class ContextKey {
+		final Term[] mContext;
+		final Term mTerm;
+		final int mHash;
+
+		public ContextKey(final Term[] context, final Term term) {
+			mContext = context;
+			mTerm = term;
+			mHash = Arrays.hashCode(context) * 31 + term.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return mHash;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof ContextKey)) {
+				return false;
+			}
+			final ContextKey other = (ContextKey) o;
+			return mHash == other.mHash && mTerm == other.mTerm && Arrays.equals(mContext, other.mContext);
+		}
+	}
+
 	/**
 	 * This class counts the predecessors of every term to enable the next passes to determine whether we need to
 	 * collect information.
@@ -529,9 +590,7 @@ public class SimplifyDDA extends NonRecursive {
 					for (int i = 0; i < mParamCtr; i++) {
 						final Term sibling =
 								simplifier.negateSibling(mSimplifiedParams[i], connective, i, params.length);
-						final LBool sat = simplifier.mScript.assertTerm(sibling);
-						if (sat == LBool.UNSAT) {
-							simplifier.mInconsistencyOfContextDetected = true;
+						if (!simplifier.addToContext(sibling)) {
 							break;
 						}
 					}
@@ -567,10 +626,47 @@ public class SimplifyDDA extends NonRecursive {
 	 *            true if the simplifier should run until a fixpoint is reached.
 	 */
 	public SimplifyDDA(final Script script, final boolean simplifyRepeatedly) {
+		this(script, simplifyRepeatedly, false);
+	}
+
+	/**
+	 * Creates a simplifier.
+	 *
+	 * @param script
+	 *            A Script object that will be used to check for equivalent formulas.
+	 * @param simplifyRepeatedly
+	 *            true if the simplifier should run until a fixpoint is reached.
+	 * @param incremental
+	 *            true if the simplifier should keep the contexts itself, cache its results, and use check-sat-assuming
+	 *            instead of push and pop. The simplifier must be discarded when assertions are removed from the script.
+	 */
+	public SimplifyDDA(final Script script, final boolean simplifyRepeatedly, final boolean incremental) {
 		mScript = script;
 		mTrue = mScript.term("true");
 		mFalse = mScript.term("false");
 		mSimplifyRepeatedly = simplifyRepeatedly;
+		mIncremental = incremental;
+	}
+
+	/**
+	 * Returns the number of satisfiability checks issued to the script.
+	 */
+	public int getNumberOfChecks() {
+		return mNumChecks;
+	}
+
+	/**
+	 * Returns the number of redundancy questions answered by the cache.
+	 */
+	public int getNumberOfCacheHits() {
+		return mNumCacheHits;
+	}
+
+	/**
+	 * Returns the number of redundancy questions answered by propagation on the context.
+	 */
+	public int getNumberOfFilteredChecks() {
+		return mNumFilteredChecks;
 	}
 
 	/**
@@ -617,11 +713,16 @@ public class SimplifyDDA extends NonRecursive {
 			// NON_CONSTRAINING and NON_RELAXING
 			return Redundancy.NON_CONSTRAINING;
 		}
+		if (mIncremental) {
+			return getRedundancyIncremental(term);
+		}
+		mNumChecks++;
 		final LBool isTermConstraining = Util.checkSat(mScript, Util.not(mScript, term));
 		if (isTermConstraining == LBool.UNSAT) {
 			return Redundancy.NON_CONSTRAINING;
 		}
 
+		mNumChecks++;
 		final LBool isTermRelaxing = Util.checkSat(mScript, term);
 		if (isTermRelaxing == LBool.UNSAT) {
 			return Redundancy.NON_RELAXING;
@@ -630,6 +731,210 @@ public class SimplifyDDA extends NonRecursive {
 		return Redundancy.NOT_REDUNDANT;
 	}
 
+	private Redundancy getRedundancyIncremental(final Term term) {
+		Redundancy red = propagateRedundancy(term);
+		if (red != null) {
+			mNumFilteredChecks++;
+			return red;
+		}
+		final ContextKey key = new ContextKey(getSortedContext(), term);
+		red = mRedundancyCache.get(key);
+		if (red != null) {
+			mNumCacheHits++;
+			return red;
+		}
+
+		final Term[] assumptions = new Term[key.mContext.length + 1];
+		for (int i = 0; i < key.mContext.length; i++) {
+			assumptions[i] = getProxy(key.mContext[i]);
+		}
+		final Term proxy = getProxy(term);
+		assumptions[key.mContext.length] = Util.not(mScript, proxy);
+		mNumChecks++;
+		final LBool isTermConstraining = mScript.checkSatAssuming(assumptions);
+		if (isTermConstraining == LBool.UNSAT) {
+			red = Redundancy.NON_CONSTRAINING;
+		} else {
+			assumptions[key.mContext.length] = proxy;
+			mNumChecks++;
+			final LBool isTermRelaxing = mScript.checkSatAssuming(assumptions);
+			if (isTermRelaxing == LBool.UNSAT) {
+				red = Redundancy.NON_RELAXING;
+			} else if (isTermConstraining == LBool.SAT && isTermRelaxing == LBool.SAT) {
+				red = Redundancy.NOT_REDUNDANT;
+			} else {
+				// unknown results may change with more resources, do not cache them
+				return Redundancy.NOT_REDUNDANT;
+			}
+		}
+		mRedundancyCache.put(key, red);
+		return red;
+	}
+
+	/**
+	 * Returns the current context sorted by term id without duplicates and without true.
+	 */
+	private Term[] getSortedContext() {
+		final Term[] context = mContextTerms.toArray(new Term[mContextTerms.size()]);
+		Arrays.sort(context, Comparator.comparingInt(Term::getId));
+		int size = 0;
+		for (int i = 0; i < context.length; i++) {
+			if (context[i] != mTrue && (size == 0 || context[size - 1] != context[i])) {
+				context[size++] = context[i];
+			}
+		}
+		return size == context.length ? context : Arrays.copyOf(context, size);
+	}
+
+	/**
+	 * Returns a Boolean constant or its negation that is equivalent to the formula. For compound formulas a fresh
+	 * constant is declared and defined on the current assertion stack level.
+	 */
+	private Term getProxy(final Term formula) {
+		Term atom = formula;
+		while (atom instanceof ApplicationTerm && ((ApplicationTerm) atom).getFunction().getName() == "not") {
+			atom = ((ApplicationTerm) atom).getParameters()[0];
+		}
+		if (atom instanceof ApplicationTerm && ((ApplicationTerm) atom).getParameters().length == 0
+				&& atom != mTrue && atom != mFalse) {
+			if (atom == formula || ((ApplicationTerm) formula).getParameters()[0] == atom) {
+				return formula;
+			}
+		}
+		if (mProxies == null) {
+			mProxies = new TermIdMap<>();
+		}
+		Term proxy = mProxies.get(formula);
+		if (proxy == null) {
+			final String name = "@simp" + mProxyCtr++;
+			mScript.declareFun(name, new Sort[0], formula.getSort());
+			proxy = mScript.term(name);
+			mScript.assertTerm(mScript.term("=", proxy, formula));
+			mProxies.put(formula, proxy);
+		}
+		return proxy;
+	}
+
+	/**
+	 * Decides the redundancy of term by unit propagation over the Boolean structure of the current context.
+	 *
+	 * @return the redundancy, or null if propagation does not decide it.
+	 */
+	private Redundancy propagateRedundancy(final Term term) {
+		if (term == mTrue) {
+			return Redundancy.NON_CONSTRAINING;
+		}
+		if (term == mFalse) {
+			return Redundancy.NON_RELAXING;
+		}
+		final TermIdMap<Boolean> assignment = new TermIdMap<>();
+		final ArrayList<Term[]> clauses = new ArrayList<>();
+		final ArrayDeque<Term> todo = new ArrayDeque<>();
+		final ArrayDeque<Boolean> todoPolarity = new ArrayDeque<>();
+		for (final Term t : mContextTerms) {
+			todo.push(t);
+			todoPolarity.push(Boolean.TRUE);
+		}
+		while (!todo.isEmpty()) {
+			Term lit = todo.pop();
+			boolean positive = todoPolarity.pop();
+			while (lit instanceof ApplicationTerm && ((ApplicationTerm) lit).getFunction().getName() == "not") {
+				lit = ((ApplicationTerm) lit).getParameters()[0];
+				positive = !positive;
+			}
+			final String connective =
+					lit instanceof ApplicationTerm ? ((ApplicationTerm) lit).getFunction().getName() : null;
+			if (connective == "and" && positive || connective == "or" && !positive) {
+				for (final Term param : ((ApplicationTerm) lit).getParameters()) {
+					todo.push(param);
+					todoPolarity.push(positive);
+				}
+			} else if (connective == "=>" && !positive) {
+				final Term[] params = ((ApplicationTerm) lit).getParameters();
+				for (int i = 0; i < params.length; i++) {
+					todo.push(params[i]);
+					todoPolarity.push(i < params.length - 1);
+				}
+			} else if (connective == "or" || connective == "and" || connective == "=>") {
+				final Term[] params = ((ApplicationTerm) lit).getParameters();
+				final Term[] clause = new Term[params.length];
+				for (int i = 0; i < params.length; i++) {
+					final boolean negate = connective == "and" || connective == "=>" && i < params.length - 1;
+					clause[i] = negate ? Util.not(mScript, params[i]) : params[i];
+				}
+				clauses.add(clause);
+			} else if (!assign(lit, positive, assignment)) {
+				return Redundancy.NON_CONSTRAINING;
+			}
+		}
+		boolean changed = !clauses.isEmpty();
+		while (changed) {
+			changed = false;
+			for (final Term[] clause : clauses) {
+				Term unit = null;
+				int numOpen = 0;
+				boolean satisfied = false;
+				for (final Term lit : clause) {
+					final Boolean value = getValue(lit, assignment);
+					if (value == null) {
+						numOpen++;
+						unit = lit;
+					} else if (value) {
+						satisfied = true;
+						break;
+					}
+				}
+				if (satisfied) {
+					continue;
+				}
+				if (numOpen == 0) {
+					// the context is inconsistent
+					return Redundancy.NON_CONSTRAINING;
+				}
+				if (numOpen == 1) {
+					assign(unit, true, assignment);
+					changed = true;
+				}
+			}
+		}
+		final Boolean value = getValue(term, assignment);
+		if (value == null) {
+			return null;
+		}
+		return value ? Redundancy.NON_CONSTRAINING : Redundancy.NON_RELAXING;
+	}
+
+	private Boolean getValue(Term lit, final TermIdMap<Boolean> assignment) {
+		boolean positive = true;
+		while (lit instanceof ApplicationTerm && ((ApplicationTerm) lit).getFunction().getName() == "not") {
+			lit = ((ApplicationTerm) lit).getParameters()[0];
+			positive = !positive;
+		}
+		final Boolean value = lit == mTrue ? Boolean.TRUE : lit == mFalse ? Boolean.FALSE : assignment.get(lit);
+		return value == null ? null : value == positive;
+	}
+
+	/**
+	 * Sets the literal to the given value.
+	 *
+	 * @return false if the literal already has the opposite value.
+	 */
+	private boolean assign(Term lit, boolean positive, final TermIdMap<Boolean> assignment) {
+		while (lit instanceof ApplicationTerm && ((ApplicationTerm) lit).getFunction().getName() == "not") {
+			lit = ((ApplicationTerm) lit).getParameters()[0];
+			positive = !positive;
+		}
+		if (lit == mTrue || lit == mFalse) {
+			return (lit == mTrue) == positive;
+		}
+		final Boolean old = assignment.get(lit);
+		if (old == null) {
+			assignment.put(lit, positive);
+			return true;
+		}
+		return old == positive;
+	}
+
 	private static Term termVariable2constant(final Script script, final TermVariable tv) {
 		final String name = tv.getName() + "_const_" + tv.hashCode();
 		final Sort[] paramSorts = {};
@@ -641,7 +946,8 @@ public class SimplifyDDA extends NonRecursive {
 
 	public Term simplifyOnce(final Term term) {
 		mInconsistencyOfContextDetected = false;
-		mTermInfos = new HashMap<>();
+		assert mContextTerms.isEmpty() && mContextScopes.isEmpty();
+		mTermInfos = new TermIdMap<>();
 
 		run(new TermCounter(term));
 		run(new ContextCollector(false, term, new ArrayDeque<Term>()));
@@ -705,6 +1011,7 @@ public class SimplifyDDA extends NonRecursive {
 			}
 		}.transform(term);// NOCHECKSTYLE
 		mScript.pop(1);
+		mProxies = null;
 		assert (checkEquivalence(inputTerm, term) != LBool.SAT) : "Simplification unsound?";
 		mScript.echo(new QuotedObject("End Simplifier"));
 		assert PushPopChecker.atLevel(mScript, lvl);
@@ -733,19 +1040,44 @@ public class SimplifyDDA extends NonRecursive {
 	}
 
 	void pushContext(final Term... context) {
-		mScript.push(1);
+		if (mIncremental) {
+			mContextScopes.push(mContextTerms.size());
+		} else {
+			mScript.push(1);
+		}
 		for (final Term t : context) {
-			final LBool sat = mScript.assertTerm(t);
-			if (sat == LBool.UNSAT) {
-				mInconsistencyOfContextDetected = true;
+			if (!addToContext(t)) {
 				return;
 			}
 		}
 	}
 
+	/**
+	 * Adds a term to the innermost context.
+	 *
+	 * @return false if the context is known to be inconsistent.
+	 */
+	boolean addToContext(final Term term) {
+		if (mIncremental) {
+			mContextTerms.add(term);
+			return true;
+		}
+		final LBool sat = mScript.assertTerm(term);
+		if (sat == LBool.UNSAT) {
+			mInconsistencyOfContextDetected = true;
+			return false;
+		}
+		return true;
+	}
+
 	void popContext() {
 		mInconsistencyOfContextDetected = false;
-		mScript.pop(1);
+		if (mIncremental) {
+			final int start = mContextScopes.pop();
+			mContextTerms.subList(start, mContextTerms.size()).clear();
+		} else {
+			mScript.pop(1);
+		}
 	}
 
 	void setResult(final boolean negated, Term term) {
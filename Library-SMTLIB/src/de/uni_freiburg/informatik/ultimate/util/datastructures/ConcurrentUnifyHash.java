@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.util.datastructures;
+
+/**
+ * A lock-striped {@link UnifyHash} that can be shared between threads. The objects are distributed by their hash code
+ * over several independent unify hashes, the stripes. Each stripe is used as the lock that protects it, so threads
+ * only contend if they create objects with hash codes in the same stripe. Weak references to objects that are no
+ * longer used are cleaned up by each stripe individually.
+ *
+ * The way to use this class is to look up the stripe for the hash code and to search for an existing object and add
+ * the new object while holding the lock of the stripe:
+ *
+ * <pre>
+ * final UnifyHash&lt;MyObject&gt; stripe = unifyHash.getStripe(hashcode);
+ * synchronized (stripe) {
+ * 	for (MyObject o : stripe.iterateHashCode(hashcode)) {
+ * 		if (o.a == a &amp;&amp; o.child == child) {
+ * 			return o;
+ * 		}
+ * 	}
+ * 	MyObject o = new MyObject(a, child);
+ * 	stripe.put(hashcode, o);
+ * 	return o;
+ * }
+ * </pre>
+ */
+public class ConcurrentUnifyHash<E> {
+	/**
+	 * The default number of stripes.
+	 */
+	private static final int DEFAULT_CONCURRENCY = 16;
+
+	private final UnifyHash<E>[] mStripes;
+	private final int mMask;
+
+	/**
+	 * Creates a new concurrent unify hash.
+	 *
+	 * @param concurrency
+	 *            The expected number of threads using this hash. It is rounded up to the next power of two.
+	 */
+	@SuppressWarnings("unchecked")
+	public ConcurrentUnifyHash(final int concurrency) {
+		final int numStripes = Integer.highestOneBit(Math.max(1, 2 * concurrency - 1));
+		mStripes = new UnifyHash[numStripes];
+		for (int i = 0; i < numStripes; i++) {
+			mStripes[i] = new UnifyHash<>();
+		}
+		mMask = numStripes - 1;
+	}
+
+	/**
+	 * Creates a new concurrent unify hash with the default number of stripes.
+	 */
+	public ConcurrentUnifyHash() {
+		this(DEFAULT_CONCURRENCY);
+	}
+
+	/**
+	 * Get the stripe that stores the objects with the given hash code. The caller must synchronize on the returned
+	 * stripe while accessing it.
+	 *
+	 * @param hash
+	 *            the hash code of the object.
+	 * @return the stripe.
+	 */
+	public UnifyHash<E> getStripe(final int hash) {
+		return mStripes[(hash ^ (hash >>> 16)) & mMask];
+	}
+
+	/**
+	 * The number of objects that are stored in this collection.
+	 */
+	public int size() {
+		int size = 0;
+		for (final UnifyHash<E> stripe : mStripes) {
+			synchronized (stripe) {
+				size += stripe.size();
+			}
+		}
+		return size;
+	}
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.util.datastructures;
+
+import java.util.Arrays;
+
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+
+/**
+ * A map from terms to int values that is hashed by the dense id of the term. Terms that are not in the map have the
+ * value 0. The map uses open addressing with linear probing like {@link TermIdMap} and stores the values unboxed.
+ *
+ * The map can be used as a scoped map: all modifications done after beginScope() are reversed by the matching
+ * endScope(). The old values are recorded in an undo log only while a scope is open.
+ */
+public class TermIdIntMap {
+	private static final int MIN_CAPACITY = 16;
+	private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+	private Term[] mKeys;
+	private int[] mValues;
+	private int mSize;
+	private int mShift;
+
+	/**
+	 * The undo log of the open scopes. For each modification the term, its old value, and whether it was in the map.
+	 */
+	private Term[] mUndoKeys = new Term[0];
+	private int[] mUndoValues = new int[0];
+	private boolean[] mUndoPresent = new boolean[0];
+	private int mUndoSize;
+	/**
+	 * The size of the undo log at the start of each open scope.
+	 */
+	private int[] mScopeStarts = new int[0];
+	private int mNumScopes;
+
+	public TermIdIntMap() {
+		allocate(MIN_CAPACITY);
+	}
+
+	private void allocate(final int capacity) {
+		mKeys = new Term[capacity];
+		mValues = new int[capacity];
+		mShift = Integer.numberOfLeadingZeros(capacity) + 1;
+	}
+
+	private int slot(final Term key) {
+		return (key.getId() * HASH_MULTIPLIER) >>> mShift;
+	}
+
+	private int find(final Term key) {
+		final Term[] keys = mKeys;
+		final int mask = keys.length - 1;
+		for (int i = slot(key);; i = (i + 1) & mask) {
+			final Term k = keys[i];
+			if (k == key) {
+				return i;
+			} else if (k == null) {
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * Get the value of a term.
+	 *
+	 * @return the value, or 0 if the term is not in the map.
+	 */
+	public int get(final Term key) {
+		final int i = find(key);
+		return i < 0 ? 0 : mValues[i];
+	}
+
+	public boolean containsKey(final Term key) {
+		return find(key) >= 0;
+	}
+
+	public void put(final Term key, final int value) {
+		final Term[] keys = mKeys;
+		final int mask = keys.length - 1;
+		int i = slot(key);
+		while (keys[i] != null) {
+			if (keys[i] == key) {
+				if (mNumScopes > 0) {
+					logUndo(key, mValues[i], true);
+				}
+				mValues[i] = value;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		if (mNumScopes > 0) {
+			logUndo(key, 0, false);
+		}
+		keys[i] = key;
+		mValues[i] = value;
+		if (++mSize * 3 > keys.length * 2) {
+			resize(keys.length * 2);
+		}
+	}
+
+	private void removeInternal(final Term key) {
+		final Term[] keys = mKeys;
+		final int mask = keys.length - 1;
+		int gap = find(key);
+		assert gap >= 0;
+		for (int j = (gap + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+			final int home = slot(keys[j]);
+			if (((j - home) & mask) >= ((j - gap) & mask)) {
+				keys[gap] = keys[j];
+				mValues[gap] = mValues[j];
+				gap = j;
+			}
+		}
+		keys[gap] = null;
+		mValues[gap] = 0;
+		mSize--;
+	}
+
+	private void resize(final int capacity) {
+		final Term[] oldKeys = mKeys;
+		final int[] oldValues = mValues;
+		allocate(capacity);
+		final int mask = capacity - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] != null) {
+				int i = slot(oldKeys[j]);
+				while (mKeys[i] != null) {
+					i = (i + 1) & mask;
+				}
+				mKeys[i] = oldKeys[j];
+				mValues[i] = oldValues[j];
+			}
+		}
+	}
+
+	private void logUndo(final Term key, final int oldValue, final boolean present) {
+		if (mUndoSize == mUndoKeys.length) {
+			final int capacity = Math.max(MIN_CAPACITY, mUndoSize * 2);
+			mUndoKeys = Arrays.copyOf(mUndoKeys, capacity);
+			mUndoValues = Arrays.copyOf(mUndoValues, capacity);
+			mUndoPresent = Arrays.copyOf(mUndoPresent, capacity);
+		}
+		mUndoKeys[mUndoSize] = key;
+		mUndoValues[mUndoSize] = oldValue;
+		mUndoPresent[mUndoSize] = present;
+		mUndoSize++;
+	}
+
+	public void beginScope() {
+		if (mNumScopes == mScopeStarts.length) {
+			mScopeStarts = Arrays.copyOf(mScopeStarts, Math.max(MIN_CAPACITY, mNumScopes * 2));
+		}
+		mScopeStarts[mNumScopes++] = mUndoSize;
+	}
+
+	public void endScope() {
+		final int start = mScopeStarts[--mNumScopes];
+		final int numScopes = mNumScopes;
+		// replay the undo log without logging again
+		mNumScopes = 0;
+		while (mUndoSize > start) {
+			mUndoSize--;
+			final Term key = mUndoKeys[mUndoSize];
+			if (mUndoPresent[mUndoSize]) {
+				put(key, mUndoValues[mUndoSize]);
+			} else {
+				removeInternal(key);
+			}
+			mUndoKeys[mUndoSize] = null;
+		}
+		mNumScopes = numScopes;
+	}
+
+	public int size() {
+		return mSize;
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.util.datastructures;
+
+import java.util.Arrays;
+
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+
+/**
+ * A map from terms to objects that is hashed by the dense id of the term. Keys are compared by identity, which is
+ * correct since terms are unified. The map uses open addressing with linear probing in two parallel arrays, so it
+ * does not allocate an entry object per mapping like {@link java.util.HashMap}.
+ *
+ * Note that it is forbidden to store null values.
+ *
+ * @param <V>
+ *            Value type
+ */
+public class TermIdMap<V> {
+	private static final int MIN_CAPACITY = 16;
+	/**
+	 * The golden ratio multiplier to spread consecutive ids over the table.
+	 */
+	private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+	private Term[] mKeys;
+	private Object[] mValues;
+	private int mSize;
+	/**
+	 * The shift to take the upper bits of the scrambled id as slot index.
+	 */
+	private int mShift;
+
+	public TermIdMap() {
+		this(0);
+	}
+
+	/**
+	 * Create a map that can hold the given number of terms without resizing.
+	 */
+	public TermIdMap(final int expectedSize) {
+		int capacity = MIN_CAPACITY;
+		while (capacity * 2 < expectedSize * 3) {
+			capacity <<= 1;
+		}
+		allocate(capacity);
+	}
+
+	private void allocate(final int capacity) {
+		mKeys = new Term[capacity];
+		mValues = new Object[capacity];
+		mShift = Integer.numberOfLeadingZeros(capacity) + 1;
+	}
+
+	private int slot(final Term key) {
+		return (key.getId() * HASH_MULTIPLIER) >>> mShift;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(final Term key) {
+		final Term[] keys = mKeys;
+		final int mask = keys.length - 1;
+		for (int i = slot(key);; i = (i + 1) & mask) {
+			final Term k = keys[i];
+			if (k == key) {
+				return (V) mValues[i];
+			} else if (k == null) {
+				return null;
+			}
+		}
+	}
+
+	public boolean containsKey(final Term key) {
+		return get(key) != null;
+	}
+
+	/**
+	 * Map a term to a value.
+	 *
+	 * @return the previous value for the term, or null if there was none.
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(final Term key, final V value) {
+		assert value != null;
+		final Term[] keys = mKeys;
+		final int mask = keys.length - 1;
+		int i = slot(key);
+		while (keys[i] != null) {
+			if (keys[i] == key) {
+				final V old = (V) mValues[i];
+				mValues[i] = value;
+				return old;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		mValues[i] = value;
+		if (++mSize * 3 > keys.length * 2) {
+			resize(keys.length * 2);
+		}
+		return null;
+	}
+
+	/**
+	 * Remove a term from the map. The following entries of the probe sequence are shifted back to close the gap.
+	 *
+	 * @return the removed value, or null if the term was not in the map.
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(final Term key) {
+		final Term[] keys = mKeys;
+		final int mask = keys.length - 1;
+		int i = slot(key);
+		while (keys[i] != key) {
+			if (keys[i] == null) {
+				return null;
+			}
+			i = (i + 1) & mask;
+		}
+		final V old = (V) mValues[i];
+		int gap = i;
+		for (int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+			final int home = slot(keys[j]);
+			// move the entry to the gap if its home slot is not cyclically between the gap and its position.
+			if (((j - home) & mask) >= ((j - gap) & mask)) {
+				keys[gap] = keys[j];
+				mValues[gap] = mValues[j];
+				gap = j;
+			}
+		}
+		keys[gap] = null;
+		mValues[gap] = null;
+		mSize--;
+		return old;
+	}
+
+	private void resize(final int capacity) {
+		final Term[] oldKeys = mKeys;
+		final Object[] oldValues = mValues;
+		allocate(capacity);
+		final int mask = capacity - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] != null) {
+				int i = slot(oldKeys[j]);
+				while (mKeys[i] != null) {
+					i = (i + 1) & mask;
+				}
+				mKeys[i] = oldKeys[j];
+				mValues[i] = oldValues[j];
+			}
+		}
+	}
+
+	public int size() {
+		return mSize;
+	}
+
+	public boolean isEmpty() {
+		return mSize == 0;
+	}
+
+	public void clear() {
+		Arrays.fill(mKeys, null);
+		Arrays.fill(mValues, null);
+		mSize = 0;
+	}
+}
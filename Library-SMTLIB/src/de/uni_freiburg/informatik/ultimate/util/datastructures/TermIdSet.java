@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.util.datastructures;
+
+import java.util.Arrays;
+
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.Theory;
+
+/**
+ * A set of terms stored as a bitset over the dense term ids. The bitset is split into pages that are only allocated
+ * when a term in their id range is added, so a small set of terms from a big theory stays small.
+ *
+ * Since ids are only unique within a theory, all terms in the set must belong to the same theory.
+ */
+public class TermIdSet {
+	private static final int PAGE_BITS = 12;
+	private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+	private static final long[][] EMPTY_PAGES = new long[0][];
+
+	private long[][] mPages = EMPTY_PAGES;
+	private int mSize;
+	private Theory mTheory;
+
+	private boolean checkTheory(final Term term) {
+		if (mTheory == null) {
+			mTheory = term.getTheory();
+		}
+		return mTheory == term.getTheory();
+	}
+
+	public boolean contains(final Term term) {
+		assert checkTheory(term);
+		final int id = term.getId();
+		final int pageNr = id >>> PAGE_BITS;
+		if (pageNr >= mPages.length || mPages[pageNr] == null) {
+			return false;
+		}
+		return (mPages[pageNr][(id & PAGE_MASK) >>> 6] & (1L << id)) != 0;
+	}
+
+	/**
+	 * Add a term to the set.
+	 *
+	 * @return true if the term was not yet in the set.
+	 */
+	public boolean add(final Term term) {
+		assert checkTheory(term);
+		final int id = term.getId();
+		final int pageNr = id >>> PAGE_BITS;
+		if (pageNr >= mPages.length) {
+			mPages = Arrays.copyOf(mPages, Math.max(pageNr + 1, mPages.length * 2));
+		}
+		long[] page = mPages[pageNr];
+		if (page == null) {
+			page = mPages[pageNr] = new long[(PAGE_MASK + 1) >>> 6];
+		}
+		final int word = (id & PAGE_MASK) >>> 6;
+		final long bit = 1L << id;
+		if ((page[word] & bit) != 0) {
+			return false;
+		}
+		page[word] |= bit;
+		mSize++;
+		return true;
+	}
+
+	/**
+	 * Remove a term from the set.
+	 *
+	 * @return true if the term was in the set.
+	 */
+	public boolean remove(final Term term) {
+		if (!contains(term)) {
+			return false;
+		}
+		final int id = term.getId();
+		mPages[id >>> PAGE_BITS][(id & PAGE_MASK) >>> 6] &= ~(1L << id);
+		mSize--;
+		return true;
+	}
+
+	public int size() {
+		return mSize;
+	}
+
+	public boolean isEmpty() {
+		return mSize == 0;
+	}
+
+	public void clear() {
+		mPages = EMPTY_PAGES;
+		mSize = 0;
+	}
+}
@@ -56,6 +56,20 @@ public final class MutableRationalTest {
 		}
 	}
 
+	@Test
+	public void testAddmul() {
+		for (int i = 0; i < mRationals.length; i++) {
+			for (int j = 0; j < mRationals.length; j++) {
+				for (int k = 0; k < mRationals.length; k++) {
+					final MutableRational r1 = new MutableRational(mRationals[i]);
+					Assert.assertSame(r1, r1.addmul(mRationals[j], mRationals[k]));
+					Assert.assertEquals(mRationals[i] + " + " + mRationals[j] + " * " + mRationals[k],
+							mRationals[i].add(mRationals[j].mul(mRationals[k])), r1.toRational());
+				}
+			}
+		}
+	}
+
 	@Test
 	public void testDiverse() {
 		for (int i = 0; i < mRationals.length; i++) {
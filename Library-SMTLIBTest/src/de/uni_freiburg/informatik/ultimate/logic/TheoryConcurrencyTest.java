@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Test that terms built concurrently from several threads are unified.
+ */
+@RunWith(JUnit4.class)
+public class TheoryConcurrencyTest {
+	private static final int THREADS = 8;
+	private static final int SIZE = 2000;
+
+	private Term[] buildTerms(final Theory theory) {
+		final Sort intSort = theory.getNumericSort();
+		final Sort arraySort = theory.getSort("Array", intSort, intSort);
+		final Term a = theory.term("a");
+		final Term x = theory.term("x");
+		final TermVariable v = theory.createTermVariable("v", intSort);
+		final Term[] terms = new Term[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			final Term num = theory.numeral(Integer.toString(i));
+			final Term select = theory.term("select", a, theory.term("+", x, num));
+			final Term store = theory.term("store", a, num, select);
+			final Term eq = theory.term("=", store, theory.term("const", null, arraySort, num));
+			final Term quant = theory.forall(new TermVariable[] { v }, theory.term("<=", v, select));
+			final Term let = theory.let(v, select, theory.term("and", eq, theory.term(">", v, num), quant));
+			terms[i] = theory.annotatedTerm(new Annotation[] { new Annotation(":named", "t" + i) }, let);
+		}
+		return terms;
+	}
+
+	@Test
+	public void testUnification() throws Exception {
+		final Theory theory = new Theory(Logics.AUFLIA);
+		final Sort intSort = theory.getNumericSort();
+		theory.declareFunction("a", Script.EMPTY_SORT_ARRAY, theory.getSort("Array", intSort, intSort));
+		theory.declareFunction("x", Script.EMPTY_SORT_ARRAY, intSort);
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			final List<Future<Term[]>> results = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				results.add(executor.submit(new Callable<Term[]>() {
+					@Override
+					public Term[] call() {
+						return buildTerms(theory);
+					}
+				}));
+			}
+			final Term[] expected = results.get(0).get();
+			for (final Future<Term[]> result : results) {
+				final Term[] terms = result.get();
+				for (int i = 0; i < SIZE; i++) {
+					Assert.assertSame(expected[i], terms[i]);
+				}
+			}
+			Assert.assertArrayEquals(expected, buildTerms(theory));
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.util.datastructures;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.Theory;
+
+/**
+ * Compare the id-indexed term tables with the java.util collections on random operations.
+ */
+@RunWith(JUnit4.class)
+public class TermIdMapTest {
+	private static final int TERMS = 2000;
+
+	private Term[] createTerms() {
+		final Theory theory = new Theory(Logics.QF_UF);
+		final Sort sort = theory.getBooleanSort();
+		final Term[] terms = new Term[TERMS];
+		for (int i = 0; i < TERMS; i++) {
+			theory.declareFunction("p" + i, Script.EMPTY_SORT_ARRAY, sort);
+			terms[i] = theory.term("p" + i);
+		}
+		return terms;
+	}
+
+	@Test
+	public void testIds() {
+		final Term[] terms = createTerms();
+		final Theory theory = terms[0].getTheory();
+		final HashSet<Integer> ids = new HashSet<>();
+		for (final Term t : terms) {
+			Assert.assertTrue(t.getId() < theory.getNumberOfTermIds());
+			Assert.assertTrue(ids.add(t.getId()));
+		}
+		Assert.assertSame(terms[5], theory.term("p5"));
+	}
+
+	@Test
+	public void testIdsOfOwnSubclass() {
+		final Term[] terms = createTerms();
+		final Theory theory = terms[0].getTheory();
+		final Sort sort = theory.getBooleanSort();
+		final Term own = new Term(42) {
+			@Override
+			public Sort getSort() {
+				return sort;
+			}
+
+			@Override
+			protected void toStringHelper(final ArrayDeque<Object> todo) {
+				todo.add("own");
+			}
+		};
+		final int id = own.getId();
+		Assert.assertEquals(theory.getNumberOfTermIds() - 1, id);
+		Assert.assertEquals(id, own.getId());
+		final TermIdSet set = new TermIdSet();
+		set.add(own);
+		Assert.assertTrue(set.contains(own));
+		Assert.assertFalse(set.contains(terms[0]));
+	}
+
+	@Test
+	public void testMap() {
+		final Term[] terms = createTerms();
+		final Random rng = new Random(1);
+		final TermIdMap<Integer> map = new TermIdMap<>();
+		final HashMap<Term, Integer> expected = new HashMap<>();
+		for (int step = 0; step < 100000; step++) {
+			final Term t = terms[rng.nextInt(TERMS)];
+			switch (rng.nextInt(3)) {
+			case 0:
+				Assert.assertEquals(expected.put(t, step), map.put(t, step));
+				break;
+			case 1:
+				Assert.assertEquals(expected.remove(t), map.remove(t));
+				break;
+			default:
+				Assert.assertEquals(expected.get(t), map.get(t));
+				break;
+			}
+			Assert.assertEquals(expected.size(), map.size());
+		}
+		for (final Term t : terms) {
+			Assert.assertEquals(expected.get(t), map.get(t));
+		}
+	}
+
+	@Test
+	public void testScopedIntMap() {
+		final Term[] terms = createTerms();
+		final Random rng = new Random(2);
+		final TermIdIntMap map = new TermIdIntMap();
+		final ScopedHashMap<Term, Integer> expected = new ScopedHashMap<>();
+		int scopes = 0;
+		for (int step = 0; step < 20000; step++) {
+			final int op = rng.nextInt(20);
+			if (op == 0) {
+				map.beginScope();
+				expected.beginScope();
+				scopes++;
+			} else if (op == 1 && scopes > 0) {
+				map.endScope();
+				expected.endScope();
+				scopes--;
+			} else {
+				final Term t = terms[rng.nextInt(TERMS)];
+				map.put(t, step);
+				expected.put(t, step);
+			}
+			Assert.assertEquals(expected.size(), map.size());
+		}
+		while (scopes-- > 0) {
+			map.endScope();
+			expected.endScope();
+		}
+		for (final Term t : terms) {
+			final Integer value = expected.get(t);
+			Assert.assertEquals(value == null ? 0 : (int) value, map.get(t));
+		}
+	}
+
+	@Test
+	public void testSet() {
+		final Term[] terms = createTerms();
+		final Random rng = new Random(3);
+		final TermIdSet set = new TermIdSet();
+		final HashSet<Term> expected = new HashSet<>();
+		for (int step = 0; step < 50000; step++) {
+			final Term t = terms[rng.nextInt(TERMS)];
+			if (rng.nextBoolean()) {
+				Assert.assertEquals(expected.add(t), set.add(t));
+			} else {
+				Assert.assertEquals(expected.remove(t), set.remove(t));
+			}
+			Assert.assertEquals(expected.size(), set.size());
+		}
+		for (final Term t : terms) {
+			Assert.assertEquals(expected.contains(t), set.contains(t));
+		}
+	}
+}
@@ -49,6 +49,24 @@ public interface Config {
 	public final static double LIMIT = 1e250;
 	/// Unlearn clauses with activity below this threshold
 	public final static double CLAUSE_UNLEARN_ACTIVITY = 1e-150;
+	/// Learned clauses up to this LBD (glue) are never removed
+	public final static int LBD_CORE_TIER = 2;
+	/// Learned clauses up to this LBD are kept while they are used in conflicts
+	public final static int LBD_MID_TIER = 6;
+	/// Number of conflicts before the learned clause database is reduced first
+	public final static int REDUCE_DB_FIRST = 2000;
+	/// Increment of the number of conflicts between two reductions
+	public final static int REDUCE_DB_INCREMENT = 300;
+	/// Number of conflicts before the input clauses are simplified again first
+	public final static int INPROCESSING_FIRST = 5000;
+	/// Increment of the number of conflicts between two simplifications
+	public final static int INPROCESSING_INCREMENT = 5000;
+	/// Atoms that occur in more clauses are not eliminated
+	public final static int ELIMINATION_OCCURRENCE_LIMIT = 16;
+	/// Atoms are not eliminated if this creates a longer resolvent
+	public final static int ELIMINATION_RESOLVENT_LIMIT = 20;
+	/// Clauses are not checked for subsumption if all their atoms occur more often
+	public final static int SUBSUMPTION_OCCURRENCE_LIMIT = 1000;
 	/// Activity factor for atoms
 	public final static double ATOM_ACTIVITY_FACTOR = 1.1;
 	/// Activity factor for clauses
@@ -57,6 +75,16 @@ public interface Config {
 	public final static boolean DEEP_BACKTRACK = true;
 	/// When to restart
 	public final static int RESTART_FACTOR = 500;
+	/// Smoothing factor of the moving average of the LBD of recent learned clauses
+	public final static double GLUCOSE_FAST_ALPHA = 1.0 / 32;
+	/// Smoothing factor of the long-term moving average of the LBD
+	public final static double GLUCOSE_SLOW_ALPHA = 1.0 / 16384;
+	/// Restart if the recent LBD average exceeds the long-term one by this factor
+	public final static double GLUCOSE_RESTART_MARGIN = 1.25;
+	/// Minimal number of conflicts between two glucose restarts
+	public final static int GLUCOSE_RESTART_MIN = 50;
+	/// Number of conflicts between the first two rephasings (grows arithmetically)
+	public final static int REPHASE_INTERVAL = 1000;
 	/// The default random seed
 	// Currently delays random splits until the 10000th split...
 	public final static long RANDOM_SEED = 11350294L;
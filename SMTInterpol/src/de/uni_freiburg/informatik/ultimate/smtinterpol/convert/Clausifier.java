@@ -94,10 +94,14 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.QuantEqualit
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.QuantLiteral;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.QuantifierTheory;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.QuantifierTheory.InstantiationMethod;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.xor.IXorTheory;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.xor.IXorTheory.XorEngine;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.xor.XorMatrixTheory;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.xor.XorTheory;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ArrayMap;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ScopedArrayList;
 import de.uni_freiburg.informatik.ultimate.util.datastructures.ScopedHashMap;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.TermIdIntMap;
 
 /**
  * Utility to convert an arbitrary term into CNF and insert it into SMTInterpol.
@@ -1002,7 +1006,7 @@ public class Clausifier {
 
 	/**
 	 * Create Xor-Literal for the given term. Also calls buildXorLiteral from the
-	 * XorTheory-Class to add the Xor-Literal and the corresponding variables as a
+	 * xor theory to add the Xor-Literal and the corresponding variables as a
 	 * constraint to the tableau.
 	 *
 	 * @param term   The term for which a Xor-Literal should be created.
@@ -1036,6 +1040,8 @@ public class Clausifier {
 				}
 			}
 			final ILiteral result = createLiteral(term, true, source);
+			// the xor constrains the term in both polarities, so a Tseitin literal needs the axioms of both.
+			createLiteral(term, false, source);
 			if (result == mTRUE) {
 				amountOfNegations += 1;
 				// ignore
@@ -1046,11 +1052,21 @@ public class Clausifier {
 				if (literalResult.getSign() == -1) {
 					amountOfNegations += 1;
 				}
-				atoms.add(literalResult.getAtom());
+				// an atom that occurs twice cancels out
+				if (!atoms.add(literalResult.getAtom())) {
+					atoms.remove(literalResult.getAtom());
+				}
 			}
 		}
 
-		ILiteral xorLiteral = mXorTheory.buildXorLiteral(atoms);
+		ILiteral xorLiteral;
+		if (atoms.isEmpty()) {
+			xorLiteral = mFALSE;
+		} else if (atoms.size() == 1) {
+			xorLiteral = atoms.iterator().next();
+		} else {
+			xorLiteral = mXorTheory.buildXorLiteral(atoms);
+		}
 		if (amountOfNegations % 2 == 1) {
 			xorLiteral = xorLiteral.negate();
 		}
@@ -1076,8 +1092,7 @@ public class Clausifier {
 	}
 
 	public int getTermFlags(final Term term) {
-		final Integer flags = mTermDataFlags.get(term);
-		return flags == null ? 0 : (int) flags;
+		return mTermDataFlags.get(term);
 	}
 
 	public void setTermFlags(final Term term, final int newFlags) {
@@ -1397,7 +1412,7 @@ public class Clausifier {
 	private DataTypeTheory mDataTypeTheory;
 	private EprTheory mEprTheory;
 	private QuantifierTheory mQuantTheory;
-	private XorTheory mXorTheory;
+	private IXorTheory mXorTheory;
 
 	/**
 	 * True, if the run function is already active.
@@ -1410,6 +1425,7 @@ public class Clausifier {
 	private boolean mIsUnknownTermDawgsEnabled;
 	private boolean mPropagateUnknownTerms;
 	private boolean mPropagateUnknownAux;
+	private XorEngine mXorEngine = XorEngine.TABLEAU;
 
 	/**
 	 * Mapping from quantified subterms to their aux function application.
@@ -1432,7 +1448,7 @@ public class Clausifier {
 	/**
 	 * Mapping from subterms/subformulas to information about axioms and other information produced for these terms.
 	 */
-	private final ScopedHashMap<Term, Integer> mTermDataFlags = new ScopedHashMap<>();
+	private final TermIdIntMap mTermDataFlags = new TermIdIntMap();
 
 	/**
 	 * Keep all shared terms that need to be unshared from congruence closure when the top level is popped off the
@@ -2205,7 +2221,7 @@ public class Clausifier {
 
 	private void setupXorTheory() {
 		if (mXorTheory == null) {
-			mXorTheory = new XorTheory(this);
+			mXorTheory = mXorEngine == XorEngine.TABLEAU ? new XorTheory(this) : new XorMatrixTheory(this);
 			mEngine.addTheory(mXorTheory);
 		}
 	}
@@ -2229,6 +2245,10 @@ public class Clausifier {
 		mPropagateUnknownAux = propagateUnknownAux;
 	}
 
+	public void setXorEngine(final XorEngine engine) {
+		mXorEngine = engine;
+	}
+
 	public void setLogic(final Logics logic) {
 		// Set up the theories.
 		// Note that order is important: the easier theories should be first,
@@ -2332,8 +2352,18 @@ public class Clausifier {
 		return mLASolver;
 	}
 
+	/**
+	 * Returns the counting tableau for xor constraints, or null if it is not the selected xor engine.
+	 */
 	public XorTheory getXorTheory() {
-		return mXorTheory;
+		return mXorTheory instanceof XorTheory ? (XorTheory) mXorTheory : null;
+	}
+
+	/**
+	 * Returns the Gauss-Jordan xor engine, or null if it is not the selected xor engine.
+	 */
+	public XorMatrixTheory getXorMatrixTheory() {
+		return mXorTheory instanceof XorMatrixTheory ? (XorMatrixTheory) mXorTheory : null;
 	}
 
 	public LogProxy getLogger() {
@@ -54,6 +54,12 @@ public class Clause extends SimpleListable<Clause> {
 	 */
 	int mNextIsSecond;
 
+	/**
+	 * The offset of this clause in the {@link ClauseArena}, or -1 if the clause is
+	 * not stored in an arena.
+	 */
+	int mArenaRef = -1;
+
 	/**
 	 * A WatchList is a list of watchers. Each clause with more than one literal has
 	 * two watchers. The first watching lit 0, the next lit1. Their watchers form a
@@ -187,6 +193,24 @@ public class Clause extends SimpleListable<Clause> {
 	 * activity drops below some point the clause is removed.
 	 */
 	double mActivity;
+	/**
+	 * The literal block distance (glue) of a learned clause, i.e., the number of
+	 * distinct decision levels of its literals. It is computed when the clause is
+	 * learned and lowered whenever the clause takes part in a conflict analysis.
+	 * Zero for input clauses and theory explanations.
+	 */
+	int mLBD;
+	/**
+	 * The tier of a learned clause in the learned clause database, one of
+	 * {@link DPLLEngine#TIER_CORE}, {@link DPLLEngine#TIER_MID}, or
+	 * {@link DPLLEngine#TIER_LOCAL}.
+	 */
+	int mTier;
+	/**
+	 * True if this learned clause was used in conflict analysis since the last
+	 * reduction of the learned clause database.
+	 */
+	boolean mUsed;
 	/**
 	 * The stacklevel this clause was introduced.
 	 */
@@ -248,6 +272,10 @@ public class Clause extends SimpleListable<Clause> {
 		mActivity = Double.POSITIVE_INFINITY;
 	}
 
+	public int getLBD() {
+		return mLBD;
+	}
+
 	public void setProof(final ProofNode proof) {
 		mProof = proof;
 	}
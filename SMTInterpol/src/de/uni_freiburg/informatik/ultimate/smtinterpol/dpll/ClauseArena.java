@@ -0,0 +1,543 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * An alternative propagation core for the DPLL engine. The literals of all
+ * watched clauses are copied into one contiguous int array (the arena), where
+ * every literal is represented by its literal id. Every atom known to the arena
+ * gets an atom id; the literal id is twice the atom id for the positive literal
+ * and one more for the negated literal.
+ *
+ * For every literal id there is a watch list that is a primitive array of pairs
+ * (clause offset, blocker literal). The watch list of a literal is visited when
+ * the literal is set to false. If the blocker literal is true, the clause is
+ * satisfied and need not be inspected at all. The first two literals of a
+ * clause in the arena are its watched literals.
+ *
+ * The {@link Clause} objects are still used for everything outside of the hot
+ * loop, i.e., as explanations for the propagated literals, for conflict
+ * analysis, and for the proofs. An arena clause stores the index of its Clause
+ * object in its header.
+ *
+ * Unlike the linked watch lists of the default core, watchers of false literals
+ * are not moved to backtrack lists. A clause whose watched literals are both
+ * false after a conflict is rechecked after backtracking. Clauses whose
+ * implication was found at a higher decide level than necessary are not
+ * re-propagated after backtracking; they are found again when one of their
+ * watched literals is set to false.
+ */
+final class ClauseArena {
+	private static final byte UNDEF = 0;
+	private static final byte TRUE = 1;
+	private static final byte FALSE = -1;
+
+	/* Layout of a clause in the arena. */
+	/**
+	 * Offset of the number of literals.
+	 */
+	private static final int SIZE = 0;
+	/**
+	 * Offset of the index of the clause in mClauseRefs. It is the bitwise negation
+	 * of that index if the clause was deleted.
+	 */
+	private static final int REF = 1;
+	/**
+	 * Offset of the first literal.
+	 */
+	private static final int HEADER = 2;
+
+	/**
+	 * The minimum size of the arena before it is compacted.
+	 */
+	private static final int MIN_COMPACT_SIZE = 1 << 16;
+
+	private final DPLLEngine mEngine;
+
+	private int[] mArena = new int[1024];
+	private int mArenaSize;
+	private int mArenaWasted;
+	private Clause[] mClauseRefs = new Clause[256];
+	private int mNumClauseRefs;
+
+	/**
+	 * The literal objects and their current truth value indexed by literal id.
+	 */
+	private Literal[] mLiterals = new Literal[256];
+	private byte[] mValues = new byte[256];
+	/**
+	 * Flag indexed by atom id, that is set if there is a unit clause on that atom.
+	 */
+	private boolean[] mHasUnit = new boolean[128];
+	private int mNumAtoms;
+
+	/**
+	 * The watch lists indexed by literal id. Each list is a sequence of pairs
+	 * (clause offset, blocker literal id).
+	 */
+	private int[][] mWatches = new int[256][];
+	private int[] mWatchSizes = new int[256];
+
+	/**
+	 * The queue of literal ids that were set to false and whose watch lists still
+	 * need to be visited.
+	 */
+	private int[] mQueue = new int[256];
+	private int mQueueHead;
+	private int mQueueSize;
+
+	/**
+	 * Clauses that were added or that need to be rechecked, because they were
+	 * conflicting before the last backtrack.
+	 */
+	private final ArrayDeque<Clause> mPendingClauses = new ArrayDeque<>();
+	/**
+	 * The clauses of size one. They are rechecked whenever one of their atoms is
+	 * unassigned.
+	 */
+	private final ArrayList<Clause> mUnitClauses = new ArrayList<>();
+	private boolean mUnitsDirty;
+
+	private int mNumCompactions;
+
+	ClauseArena(final DPLLEngine engine) {
+		mEngine = engine;
+	}
+
+	/**
+	 * Get the literal id of a literal. This assigns a new atom id, if the atom was
+	 * not yet seen.
+	 */
+	private int getLiteralId(final Literal lit) {
+		final DPLLAtom atom = lit.getAtom();
+		if (atom.mArenaId < 0) {
+			final int id = mNumAtoms++;
+			if (2 * id + 1 >= mLiterals.length) {
+				final int newSize = 2 * mLiterals.length;
+				mLiterals = Arrays.copyOf(mLiterals, newSize);
+				mValues = Arrays.copyOf(mValues, newSize);
+				mWatches = Arrays.copyOf(mWatches, newSize);
+				mWatchSizes = Arrays.copyOf(mWatchSizes, newSize);
+				mHasUnit = Arrays.copyOf(mHasUnit, newSize / 2);
+			}
+			atom.mArenaId = id;
+			mLiterals[2 * id] = atom;
+			mLiterals[2 * id + 1] = atom.negate();
+			if (atom.mDecideStatus != null) {
+				final int trueId = 2 * id + (atom.mDecideStatus == atom ? 0 : 1);
+				mValues[trueId] = TRUE;
+				mValues[trueId ^ 1] = FALSE;
+			}
+		}
+		return 2 * atom.mArenaId + (lit == atom ? 0 : 1);
+	}
+
+	/**
+	 * Notify the arena that a literal was set to true.
+	 */
+	void assign(final Literal lit) {
+		final DPLLAtom atom = lit.getAtom();
+		if (atom.mArenaId < 0) {
+			return;
+		}
+		final int litId = 2 * atom.mArenaId + (lit == atom ? 0 : 1);
+		mValues[litId] = TRUE;
+		mValues[litId ^ 1] = FALSE;
+		if (mQueueSize == mQueue.length) {
+			mQueue = Arrays.copyOf(mQueue, 2 * mQueueSize);
+		}
+		mQueue[mQueueSize++] = litId ^ 1;
+	}
+
+	/**
+	 * Notify the arena that an atom was unassigned.
+	 */
+	void unassign(final DPLLAtom atom) {
+		final int id = atom.mArenaId;
+		if (id < 0) {
+			return;
+		}
+		mValues[2 * id] = UNDEF;
+		mValues[2 * id + 1] = UNDEF;
+		if (mHasUnit[id]) {
+			mUnitsDirty = true;
+		}
+	}
+
+	/**
+	 * Add a new clause. The clause is copied into the arena and watched the next
+	 * time {@link #propagate()} is called.
+	 */
+	void addClause(final Clause clause) {
+		assert clause.getSize() > 0;
+		mPendingClauses.add(clause);
+	}
+
+	/**
+	 * Mark a clause as deleted. Its watchers are removed lazily.
+	 */
+	void removeClause(final Clause clause) {
+		final int cref = clause.mArenaRef;
+		if (cref < 0 || mArena[cref + REF] < 0) {
+			return;
+		}
+		final int ref = mArena[cref + REF];
+		mClauseRefs[ref] = null;
+		mArena[cref + REF] = ~ref;
+		mArenaWasted += HEADER + mArena[cref + SIZE];
+	}
+
+	/**
+	 * Check if all assignments were propagated and all clauses are watched.
+	 */
+	boolean isPropagated() {
+		return mQueueHead == mQueueSize && mPendingClauses.isEmpty() && !mUnitsDirty;
+	}
+
+	private int allocate(final Clause clause) {
+		final int size = clause.getSize();
+		if (mArenaSize + HEADER + size > mArena.length) {
+			mArena = Arrays.copyOf(mArena, Math.max(2 * mArena.length, mArenaSize + HEADER + size));
+		}
+		if (mNumClauseRefs == mClauseRefs.length) {
+			mClauseRefs = Arrays.copyOf(mClauseRefs, 2 * mNumClauseRefs);
+		}
+		final int cref = mArenaSize;
+		mArena[cref + SIZE] = size;
+		mArena[cref + REF] = mNumClauseRefs;
+		for (int i = 0; i < size; i++) {
+			mArena[cref + HEADER + i] = getLiteralId(clause.getLiteral(i));
+		}
+		mClauseRefs[mNumClauseRefs++] = clause;
+		mArenaSize += HEADER + size;
+		clause.mArenaRef = cref;
+		return cref;
+	}
+
+	private void addWatch(final int litId, final int cref, final int blocker) {
+		int[] ws = mWatches[litId];
+		final int size = mWatchSizes[litId];
+		if (ws == null) {
+			ws = mWatches[litId] = new int[8];
+		} else if (size == ws.length) {
+			ws = mWatches[litId] = Arrays.copyOf(ws, 2 * size);
+		}
+		ws[size] = cref;
+		ws[size + 1] = blocker;
+		mWatchSizes[litId] = size + 2;
+	}
+
+	private void removeWatch(final int litId, final int cref) {
+		final int[] ws = mWatches[litId];
+		final int size = mWatchSizes[litId];
+		for (int i = 0; i < size; i += 2) {
+			if (ws[i] == cref) {
+				ws[i] = ws[size - 2];
+				ws[i + 1] = ws[size - 1];
+				mWatchSizes[litId] = size - 2;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Rank a literal for choosing the watched literals. True literals come first,
+	 * then undecided literals, then false literals with higher decide level.
+	 */
+	private int watchRank(final int litId) {
+		final byte value = mValues[litId];
+		if (value == TRUE) {
+			return Integer.MAX_VALUE;
+		} else if (value == UNDEF) {
+			return Integer.MAX_VALUE - 1;
+		}
+		return mLiterals[litId].getAtom().mDecideLevel;
+	}
+
+	private Clause propagateUnitClause(final Clause clause, final int litId) {
+		final byte value = mValues[litId];
+		if (value == FALSE) {
+			return clause;
+		} else if (value == UNDEF) {
+			return mEngine.propagateClauseLiteral(mLiterals[litId], clause);
+		}
+		return null;
+	}
+
+	/**
+	 * Copy a clause into the arena, or recheck a clause that is already in the
+	 * arena. This chooses the best literals to watch and propagates the clause if
+	 * it is unit.
+	 *
+	 * @return a conflict clause, if a conflict was detected.
+	 */
+	private Clause attachClause(final Clause clause) {
+		int cref = clause.mArenaRef;
+		final boolean isNew = cref < 0;
+		if (isNew) {
+			cref = allocate(clause);
+		} else if (mArena[cref + REF] < 0) {
+			return null;
+		}
+		final int start = cref + HEADER;
+		final int size = mArena[cref + SIZE];
+		if (size == 1) {
+			final int litId = mArena[start];
+			if (isNew) {
+				mUnitClauses.add(clause);
+				mHasUnit[litId >> 1] = true;
+			}
+			return propagateUnitClause(clause, litId);
+		}
+		final int oldW0 = mArena[start];
+		final int oldW1 = mArena[start + 1];
+		for (int w = 0; w < 2; w++) {
+			int bestPos = w;
+			int bestRank = watchRank(mArena[start + w]);
+			for (int i = w + 1; i < size && bestRank < Integer.MAX_VALUE; i++) {
+				final int rank = watchRank(mArena[start + i]);
+				if (rank > bestRank) {
+					bestPos = i;
+					bestRank = rank;
+				}
+			}
+			final int tmp = mArena[start + w];
+			mArena[start + w] = mArena[start + bestPos];
+			mArena[start + bestPos] = tmp;
+		}
+		final int w0 = mArena[start];
+		final int w1 = mArena[start + 1];
+		if (isNew) {
+			addWatch(w0, cref, w1);
+			addWatch(w1, cref, w0);
+		} else {
+			if (oldW0 != w0 && oldW0 != w1) {
+				removeWatch(oldW0, cref);
+			}
+			if (oldW1 != w0 && oldW1 != w1) {
+				removeWatch(oldW1, cref);
+			}
+			if (w0 != oldW0 && w0 != oldW1) {
+				addWatch(w0, cref, w1);
+			}
+			if (w1 != oldW0 && w1 != oldW1) {
+				addWatch(w1, cref, w0);
+			}
+		}
+		if (mValues[w1] == FALSE) {
+			return propagateUnitClause(clause, w0);
+		}
+		return null;
+	}
+
+	private Clause recheckUnits() {
+		mUnitsDirty = false;
+		int j = 0;
+		for (int i = 0; i < mUnitClauses.size(); i++) {
+			final Clause unit = mUnitClauses.get(i);
+			final int cref = unit.mArenaRef;
+			if (mArena[cref + REF] < 0) {
+				continue;
+			}
+			mUnitClauses.set(j++, unit);
+			final Clause conflict = propagateUnitClause(unit, mArena[cref + HEADER]);
+			if (conflict != null) {
+				while (++i < mUnitClauses.size()) {
+					mUnitClauses.set(j++, mUnitClauses.get(i));
+				}
+				mUnitClauses.subList(j, mUnitClauses.size()).clear();
+				mUnitsDirty = true;
+				return conflict;
+			}
+		}
+		mUnitClauses.subList(j, mUnitClauses.size()).clear();
+		return null;
+	}
+
+	/**
+	 * Remove the deleted clauses from the arena and the watch lists.
+	 */
+	private void compact() {
+		mNumCompactions++;
+		int numUnits = 0;
+		for (final Clause unit : mUnitClauses) {
+			if (mArena[unit.mArenaRef + REF] >= 0) {
+				mUnitClauses.set(numUnits++, unit);
+			}
+		}
+		mUnitClauses.subList(numUnits, mUnitClauses.size()).clear();
+		final int[] newArena = new int[Math.max(1024, 2 * (mArenaSize - mArenaWasted))];
+		int newSize = 0;
+		int newNumRefs = 0;
+		int cref = 0;
+		while (cref < mArenaSize) {
+			final int size = mArena[cref + SIZE];
+			final int ref = mArena[cref + REF];
+			if (ref >= 0) {
+				final Clause clause = mClauseRefs[ref];
+				mClauseRefs[newNumRefs] = clause;
+				clause.mArenaRef = newSize;
+				newArena[newSize + SIZE] = size;
+				newArena[newSize + REF] = newNumRefs++;
+				System.arraycopy(mArena, cref + HEADER, newArena, newSize + HEADER, size);
+				/* remember the forwarding address */
+				mArena[cref + REF] = newSize;
+				newSize += HEADER + size;
+			} else {
+				mArena[cref + REF] = -1;
+			}
+			cref += HEADER + size;
+		}
+		Arrays.fill(mClauseRefs, newNumRefs, mNumClauseRefs, null);
+		for (int litId = 0; litId < 2 * mNumAtoms; litId++) {
+			final int[] ws = mWatches[litId];
+			final int size = mWatchSizes[litId];
+			int j = 0;
+			for (int i = 0; i < size; i += 2) {
+				final int forward = mArena[ws[i] + REF];
+				if (forward >= 0) {
+					ws[j++] = forward;
+					ws[j++] = ws[i + 1];
+				}
+			}
+			mWatchSizes[litId] = j;
+		}
+		mArena = newArena;
+		mArenaSize = newSize;
+		mArenaWasted = 0;
+		mNumClauseRefs = newNumRefs;
+	}
+
+	/**
+	 * Propagate all literals that were set to false since the last call. This
+	 * first watches all new clauses and rechecks the clauses that were conflicting
+	 * before.
+	 *
+	 * @return a conflict clause, null if no conflict was found.
+	 */
+	Clause propagate() {
+		Clause conflict;
+		if (mArenaWasted > MIN_COMPACT_SIZE && 2 * mArenaWasted > mArenaSize) {
+			compact();
+		}
+		if (mUnitsDirty) {
+			conflict = recheckUnits();
+			if (conflict != null) {
+				return conflict;
+			}
+		}
+		while (!mPendingClauses.isEmpty()) {
+			final Clause clause = mPendingClauses.removeFirst();
+			/* check if clause was already removed */
+			if (!clause.inList()) {
+				continue;
+			}
+			conflict = attachClause(clause);
+			if (conflict != null) {
+				if (conflict == clause) {
+					/* recheck this clause after resolving the conflict */
+					mPendingClauses.addLast(clause);
+				}
+				return conflict;
+			}
+		}
+		final int[] arena = mArena;
+		final byte[] values = mValues;
+		while (mQueueHead < mQueueSize) {
+			final int falseLit = mQueue[mQueueHead++];
+			if (values[falseLit] != FALSE) {
+				/* literal was backtracked in the meantime */
+				continue;
+			}
+			final int[] ws = mWatches[falseLit];
+			final int size = mWatchSizes[falseLit];
+			int i = 0;
+			int j = 0;
+			nextWatch: while (i < size) {
+				final int cref = ws[i];
+				final int blocker = ws[i + 1];
+				i += 2;
+				if (values[blocker] == TRUE) {
+					ws[j++] = cref;
+					ws[j++] = blocker;
+					continue;
+				}
+				if (arena[cref + REF] < 0) {
+					/* clause was deleted; drop the watcher */
+					continue;
+				}
+				final int start = cref + HEADER;
+				/* Make sure the false literal is the second watch */
+				int first = arena[start];
+				if (first == falseLit) {
+					first = arena[start + 1];
+					arena[start] = first;
+					arena[start + 1] = falseLit;
+				}
+				if (first != blocker && values[first] == TRUE) {
+					ws[j++] = cref;
+					ws[j++] = first;
+					continue;
+				}
+				final int end = start + arena[cref + SIZE];
+				for (int k = start + 2; k < end; k++) {
+					final int lit = arena[k];
+					if (values[lit] != FALSE) {
+						arena[start + 1] = lit;
+						arena[k] = falseLit;
+						addWatch(lit, cref, first);
+						continue nextWatch;
+					}
+				}
+				/* No new watch found. The clause is unit or conflicting. */
+				ws[j++] = cref;
+				ws[j++] = first;
+				final Clause clause = mClauseRefs[arena[cref + REF]];
+				if (values[first] == FALSE) {
+					conflict = clause;
+					/* Recheck the watches when the conflict is resolved */
+					mPendingClauses.add(clause);
+				} else {
+					conflict = mEngine.propagateClauseLiteral(mLiterals[first], clause);
+				}
+				if (conflict != null) {
+					/* keep the unvisited watchers and revisit the list later */
+					while (i < size) {
+						ws[j++] = ws[i++];
+					}
+					mWatchSizes[falseLit] = j;
+					mQueueHead--;
+					return conflict;
+				}
+			}
+			mWatchSizes[falseLit] = j;
+		}
+		mQueueHead = mQueueSize = 0;
+		return null;
+	}
+
+	public Object[][] getStatistics() {
+		return new Object[][] { { "Size", mArenaSize }, { "Wasted", mArenaWasted }, { "Clauses", mNumClauseRefs },
+				{ "Atoms", mNumAtoms }, { "Compactions", mNumCompactions } };
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.TerminationRequest;
+
+/**
+ * The connection of a DPLL engine to other engines that race on the same
+ * problem in different threads. The engine hands its short learned clauses to
+ * the exchange and imports the clauses learned by the other engines on every
+ * restart. The exchange requests termination once another engine has decided
+ * the problem. All methods are called from the thread of the engine.
+ */
+public interface ClauseExchange extends TerminationRequest {
+	/**
+	 * Offer a learned clause to the other engines. The literal array is owned by
+	 * the clause and must not be kept.
+	 *
+	 * @param literals
+	 *            the literals of the learned clause.
+	 */
+	void exportClause(Literal[] literals);
+
+	/**
+	 * Add the clauses learned by the other engines since the last call to the
+	 * engine using {@link DPLLEngine#addSharedClause(Literal[])}.
+	 *
+	 * @param engine
+	 *            the engine that imports the clauses.
+	 */
+	void importClauses(DPLLEngine engine);
+}
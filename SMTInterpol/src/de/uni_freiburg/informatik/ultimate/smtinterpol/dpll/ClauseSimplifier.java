@@ -0,0 +1,434 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.ResolutionNode;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.ResolutionNode.Antecedent;
+
+/**
+ * Simplify the propositional input clauses of a DPLL engine. A clause is
+ * propositional if all its atoms are {@link BooleanVarAtom}s. The simplifier
+ * removes subsumed clauses, strengthens clauses by self-subsuming resolution,
+ * and eliminates atoms whose clauses can be replaced by not more resolvents.
+ *
+ * The simplifier only runs at the base level and only touches clauses whose
+ * atoms are all unassigned, so none of these clauses is the explanation of a
+ * literal. A clause is only removed because of a clause on the same or a lower
+ * assertion stack level. New clauses get a resolution proof, so proofs and
+ * interpolants stay valid.
+ *
+ * Eliminated atoms are removed from the decision queue. Their clauses are
+ * remembered to extend a model and they are restored once a new clause, an
+ * assumption, or a named formula uses the atom, and on every pop.
+ */
+final class ClauseSimplifier {
+	private final DPLLEngine mEngine;
+	/**
+	 * The eliminated atoms in the order of elimination and the clauses that were
+	 * removed when eliminating them.
+	 */
+	private final LinkedHashMap<DPLLAtom, Clause[]> mEliminated = new LinkedHashMap<>();
+	/**
+	 * Atoms whose value is queried by name. They are never eliminated.
+	 */
+	private final HashSet<DPLLAtom> mFrozen = new HashSet<>();
+
+	/**
+	 * The simplified clauses for each atom. Only valid during a round of
+	 * simplification. Removed clauses are skipped lazily.
+	 */
+	private final HashMap<DPLLAtom, ArrayList<Clause>> mOccurrences = new HashMap<>();
+	/**
+	 * Atoms that occur in a clause that is not simplified.
+	 */
+	private final HashSet<DPLLAtom> mBlocked = new HashSet<>();
+	/**
+	 * Clauses that still need to be checked for subsuming other clauses.
+	 */
+	private final ArrayDeque<Clause> mSubsumptionQueue = new ArrayDeque<>();
+
+	private int mNumRounds, mNumSubsumed, mNumStrengthened, mNumEliminated, mNumResolvents, mNumRestored;
+	private long mTime;
+
+	ClauseSimplifier(final DPLLEngine engine) {
+		mEngine = engine;
+	}
+
+	/**
+	 * Check if a clause can take part in the simplification. It must be
+	 * propositional, must not have a deletion hook, and all its atoms must be
+	 * unassigned.
+	 */
+	private static boolean isSimplifiable(final Clause clause) {
+		if (clause.mCleanupHook != null) {
+			return false;
+		}
+		for (final Literal lit : clause.mLiterals) {
+			final DPLLAtom atom = lit.getAtom();
+			if (!(atom instanceof BooleanVarAtom) || atom.getDecideStatus() != null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private ArrayList<Clause> getOccurrences(final DPLLAtom atom) {
+		ArrayList<Clause> occs = mOccurrences.get(atom);
+		if (occs == null) {
+			occs = new ArrayList<>();
+			mOccurrences.put(atom, occs);
+		}
+		return occs;
+	}
+
+	private void addOccurrences(final Clause clause) {
+		for (final Literal lit : clause.mLiterals) {
+			getOccurrences(lit.getAtom()).add(clause);
+		}
+	}
+
+	/**
+	 * Insert a new input clause before a clause on the same assertion stack level.
+	 * This keeps the input clauses sorted by decreasing stack level.
+	 */
+	private void addClauseBefore(final Clause clause, final SimpleListable<Clause> next) {
+		clause.setActivityInfinite();
+		clause.mPrev = next.mPrev;
+		clause.relink();
+		mEngine.watchClause(clause);
+	}
+
+	/**
+	 * Run one round of simplification on the input clauses. The engine must be at
+	 * its base level.
+	 */
+	void simplify() {
+		final long time = System.nanoTime();
+		mNumRounds++;
+		for (final Clause clause : mEngine.getClauses()) {
+			if (isSimplifiable(clause)) {
+				addOccurrences(clause);
+				mSubsumptionQueue.add(clause);
+			} else {
+				for (final Literal lit : clause.mLiterals) {
+					mBlocked.add(lit.getAtom());
+				}
+			}
+		}
+		/* Check short clauses first, since they subsume more. */
+		final Clause[] candidates = mSubsumptionQueue.toArray(new Clause[mSubsumptionQueue.size()]);
+		Arrays.sort(candidates, (c1, c2) -> Integer.compare(c1.getSize(), c2.getSize()));
+		mSubsumptionQueue.clear();
+		mSubsumptionQueue.addAll(Arrays.asList(candidates));
+		runSubsumption();
+
+		final ArrayList<DPLLAtom> atoms = new ArrayList<>();
+		for (final Map.Entry<DPLLAtom, ArrayList<Clause>> entry : mOccurrences.entrySet()) {
+			final DPLLAtom atom = entry.getKey();
+			if (entry.getValue().size() <= Config.ELIMINATION_OCCURRENCE_LIMIT && !mBlocked.contains(atom)
+					&& !mFrozen.contains(atom) && !atom.preferredStatusIsLocked()) {
+				atoms.add(atom);
+			}
+		}
+		atoms.sort((a1, a2) -> Integer.compare(mOccurrences.get(a1).size(), mOccurrences.get(a2).size()));
+		for (final DPLLAtom atom : atoms) {
+			if (eliminate(atom)) {
+				runSubsumption();
+			}
+			if (mEngine.isTerminationRequested()) {
+				break;
+			}
+		}
+		mOccurrences.clear();
+		mBlocked.clear();
+		mSubsumptionQueue.clear();
+		mTime += System.nanoTime() - time;
+	}
+
+	private void runSubsumption() {
+		while (!mSubsumptionQueue.isEmpty()) {
+			final Clause clause = mSubsumptionQueue.removeFirst();
+			if (clause.inList()) {
+				subsume(clause);
+			}
+		}
+	}
+
+	/**
+	 * Remove the clauses subsumed by a clause and strengthen the clauses that
+	 * contain the clause except for one negated literal.
+	 */
+	private void subsume(final Clause clause) {
+		ArrayList<Clause> minOccs = null;
+		for (final Literal lit : clause.mLiterals) {
+			final ArrayList<Clause> occs = mOccurrences.get(lit.getAtom());
+			if (minOccs == null || occs.size() < minOccs.size()) {
+				minOccs = occs;
+			}
+		}
+		if (minOccs == null || minOccs.size() > Config.SUBSUMPTION_OCCURRENCE_LIMIT) {
+			return;
+		}
+		final HashSet<Literal> lits = new HashSet<>(Arrays.asList(clause.mLiterals));
+		for (final Clause other : minOccs.toArray(new Clause[minOccs.size()])) {
+			if (other == clause || !other.inList() || other.getSize() < clause.getSize()
+					|| other.mStacklevel < clause.mStacklevel) {
+				continue;
+			}
+			Literal flipped = null;
+			int matched = 0;
+			for (final Literal lit : other.mLiterals) {
+				if (lits.contains(lit)) {
+					matched++;
+				} else if (lits.contains(lit.negate())) {
+					if (flipped != null) {
+						matched = -1;
+						break;
+					}
+					flipped = lit;
+					matched++;
+				}
+			}
+			if (matched != clause.getSize()) {
+				continue;
+			}
+			if (flipped == null) {
+				mEngine.removeClause(other);
+				mNumSubsumed++;
+			} else if (other.getSize() > 1) {
+				strengthen(other, flipped, clause);
+			}
+		}
+	}
+
+	/**
+	 * Replace a clause by its resolvent with a clause that contains the negated
+	 * pivot and otherwise only literals of the strengthened clause.
+	 */
+	private void strengthen(final Clause clause, final Literal pivot, final Clause reason) {
+		final Literal[] lits = new Literal[clause.getSize() - 1];
+		int i = 0;
+		for (final Literal lit : clause.mLiterals) {
+			if (lit != pivot) {
+				lits[i++] = lit;
+			}
+		}
+		final Clause strengthened = new Clause(lits, clause.mStacklevel);
+		if (mEngine.isProofGenerationEnabled()) {
+			strengthened.setProof(
+					new ResolutionNode(clause, new Antecedent[] { new Antecedent(pivot.negate(), reason) }));
+		}
+		addClauseBefore(strengthened, clause);
+		mEngine.removeClause(clause);
+		addOccurrences(strengthened);
+		mSubsumptionQueue.add(strengthened);
+		mNumStrengthened++;
+	}
+
+	/**
+	 * Try to eliminate an atom by replacing all clauses that contain it by their
+	 * resolvents on that atom.
+	 *
+	 * @return true if the atom was eliminated.
+	 */
+	private boolean eliminate(final DPLLAtom atom) {
+		final ArrayList<Clause> pos = new ArrayList<>();
+		final ArrayList<Clause> neg = new ArrayList<>();
+		for (final Clause clause : mOccurrences.get(atom)) {
+			if (!clause.inList()) {
+				continue;
+			}
+			if (clause.getSize() == 1) {
+				/* leave units to unit propagation */
+				return false;
+			}
+			if (clause.contains(atom)) {
+				pos.add(clause);
+			} else {
+				neg.add(clause);
+			}
+		}
+		final int numClauses = pos.size() + neg.size();
+		if (numClauses == 0 || numClauses > Config.ELIMINATION_OCCURRENCE_LIMIT) {
+			return false;
+		}
+		final ArrayList<Literal[]> resolvents = new ArrayList<>();
+		final ArrayList<Clause[]> antecedents = new ArrayList<>();
+		final HashSet<Literal> lits = new HashSet<>();
+		for (final Clause posClause : pos) {
+			nextNeg: for (final Clause negClause : neg) {
+				lits.clear();
+				for (final Literal lit : posClause.mLiterals) {
+					if (lit != atom) {
+						lits.add(lit);
+					}
+				}
+				for (final Literal lit : negClause.mLiterals) {
+					if (lit.getAtom() != atom) {
+						if (lits.contains(lit.negate())) {
+							continue nextNeg;
+						}
+						lits.add(lit);
+					}
+				}
+				if (lits.size() > Config.ELIMINATION_RESOLVENT_LIMIT || resolvents.size() == numClauses) {
+					return false;
+				}
+				resolvents.add(lits.toArray(new Literal[lits.size()]));
+				antecedents.add(new Clause[] { posClause, negClause });
+			}
+		}
+		for (int i = 0; i < resolvents.size(); i++) {
+			final Clause posClause = antecedents.get(i)[0];
+			final Clause negClause = antecedents.get(i)[1];
+			final Clause next = posClause.mStacklevel >= negClause.mStacklevel ? posClause : negClause;
+			final Clause resolvent = new Clause(resolvents.get(i), next.mStacklevel);
+			if (mEngine.isProofGenerationEnabled()) {
+				resolvent.setProof(new ResolutionNode(posClause,
+						new Antecedent[] { new Antecedent(atom.negate(), negClause) }));
+			}
+			addClauseBefore(resolvent, next);
+			addOccurrences(resolvent);
+			mSubsumptionQueue.add(resolvent);
+		}
+		final Clause[] removed = new Clause[numClauses];
+		int i = 0;
+		for (final Clause clause : pos) {
+			removed[i++] = clause;
+		}
+		for (final Clause clause : neg) {
+			removed[i++] = clause;
+		}
+		for (final Clause clause : removed) {
+			mEngine.removeClause(clause);
+		}
+		mEliminated.put(atom, removed);
+		mEngine.mAtoms.remove(atom);
+		mNumEliminated++;
+		mNumResolvents += resolvents.size();
+		mEngine.getLogger().debug("Eliminated %s with %d resolvents", atom, resolvents.size());
+		return true;
+	}
+
+	boolean isEliminated(final DPLLAtom atom) {
+		return mEliminated.containsKey(atom);
+	}
+
+	/**
+	 * Restore the eliminated atoms of the literals of a new clause.
+	 */
+	void restore(final Literal[] literals) {
+		if (mEliminated.isEmpty()) {
+			return;
+		}
+		for (final Literal lit : literals) {
+			restore(lit.getAtom(), Integer.MAX_VALUE);
+		}
+	}
+
+	/**
+	 * Never eliminate an atom, because its value is queried by name.
+	 */
+	void freeze(final DPLLAtom atom) {
+		mFrozen.add(atom);
+		restore(atom, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Restore all eliminated atoms and their clauses that survive a pop.
+	 *
+	 * @param stacklevel
+	 *            the assertion stack level after the pop.
+	 */
+	void restoreAll(final int stacklevel) {
+		while (!mEliminated.isEmpty()) {
+			restore(mEliminated.keySet().iterator().next(), stacklevel);
+		}
+	}
+
+	/**
+	 * Put an eliminated atom back into the decision queue and add its removed
+	 * clauses up to the given stack level again. Clauses that contain other
+	 * eliminated atoms restore those atoms as well.
+	 */
+	private void restore(final DPLLAtom atom, final int stacklevel) {
+		final Clause[] clauses = mEliminated.remove(atom);
+		if (clauses == null) {
+			return;
+		}
+		mNumRestored++;
+		mEngine.mAtoms.add(atom);
+		for (final Clause clause : clauses) {
+			if (clause.mStacklevel > stacklevel) {
+				continue;
+			}
+			/* The old clause object may still be on some watch list, so we need a copy. */
+			final Clause copy = new Clause(clause.mLiterals.clone(), clause.mStacklevel);
+			copy.setProof(clause.getProof());
+			SimpleListable<Clause> next = mEngine.getClauses().mNext;
+			while (next != mEngine.getClauses() && ((Clause) next).mStacklevel > copy.mStacklevel) {
+				next = next.mNext;
+			}
+			addClauseBefore(copy, next);
+			for (final Literal lit : copy.mLiterals) {
+				restore(lit.getAtom(), stacklevel);
+			}
+		}
+	}
+
+	/**
+	 * Extend the model of the remaining clauses to the eliminated atoms. The atoms
+	 * are handled in reverse order of elimination; each one gets the value that
+	 * satisfies its removed clauses. The value is stored as preferred status of the
+	 * undecided atom.
+	 */
+	void extendModel() {
+		final DPLLAtom[] atoms = mEliminated.keySet().toArray(new DPLLAtom[mEliminated.size()]);
+		for (int i = atoms.length - 1; i >= 0; i--) {
+			final DPLLAtom atom = atoms[i];
+			nextClause: for (final Clause clause : mEliminated.get(atom)) {
+				Literal atomLit = null;
+				for (final Literal lit : clause.mLiterals) {
+					final DPLLAtom other = lit.getAtom();
+					if (other == atom) {
+						atomLit = lit;
+					} else if ((other.mDecideStatus != null ? other.mDecideStatus : other.mLastStatus) == lit) {
+						continue nextClause;
+					}
+				}
+				atom.mLastStatus = atomLit;
+			}
+		}
+	}
+
+	public Object[][] getStatistics() {
+		return new Object[][] { { "Rounds", mNumRounds }, { "Subsumed", mNumSubsumed },
+				{ "Strengthened", mNumStrengthened }, { "Eliminated", mNumEliminated },
+				{ "Resolvents", mNumResolvents }, { "Restored", mNumRestored }, { "Time", mTime } };
+	}
+}
@@ -64,10 +64,25 @@ public abstract class DPLLAtom extends Literal {
 	int mStackPosition = -1;
 	Literal mDecideStatus;
 	Literal mLastStatus;
+	/**
+	 * The polarity in the largest conflict-free assignment since the last
+	 * rephasing, or null if the atom was not assigned in it.
+	 */
+	Literal mTargetStatus;
+	/**
+	 * The polarity in the largest conflict-free assignment seen so far, or null if
+	 * the atom was not assigned in it.
+	 */
+	Literal mBestStatus;
 	double  mActivity;
 	public Object  mExplanation;
 	Clause.WatchList mBacktrackWatchers = new Clause.WatchList();
 	int mAtomQueueIndex = -1;
+	/**
+	 * The atom id used by the {@link ClauseArena}, or -1 if the atom does not occur
+	 * in an arena clause.
+	 */
+	int mArenaId = -1;
 	final int mAssertionstacklevel;
 	boolean mPreferredStatusIsLocked;
 
@@ -21,6 +21,7 @@ package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
 import java.io.PrintWriter;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -39,11 +40,13 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.LogProxy;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Clause.WatchList;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLAtom.TrueAtom;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.LeafNode;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.ProofLog;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.ProofNode;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.ResolutionNode;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.ResolutionNode.Antecedent;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.TerminationRequest;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.util.CuckooHashSet;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.LogHistogram;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ScopedArrayList;
 import de.uni_freiburg.informatik.ultimate.util.datastructures.ScopedHashMap;
 
@@ -65,6 +68,56 @@ public class DPLLEngine {
 	public static final int INCOMPLETE_CHECK = 6;
 	public static final int INCOMPLETE_CANCELLED = 7;
 
+	/* Tiers of the learned clause database */
+	/**
+	 * Learned clauses with small LBD that are never removed.
+	 */
+	public static final int TIER_CORE = 0;
+	/**
+	 * Learned clauses with medium LBD that are kept as long as they are used.
+	 */
+	public static final int TIER_MID = 1;
+	/**
+	 * All other learned clauses. Half of them are removed at each reduction.
+	 */
+	public static final int TIER_LOCAL = 2;
+
+	/**
+	 * The strategies to decide when to restart.
+	 */
+	public static enum RestartStrategy {
+		/**
+		 * Restart after a number of conflicts that follows the Luby sequence scaled
+		 * by the restart factor.
+		 */
+		LUBY,
+		/**
+		 * Restart if the clauses learned recently have a higher LBD than the average
+		 * learned clause (Glucose-style dynamic restarts).
+		 */
+		GLUCOSE
+	}
+
+	/**
+	 * The strategies to choose the polarity of a decision.
+	 */
+	public static enum PhaseStrategy {
+		/**
+		 * Decide an atom with the polarity it had when it was last assigned.
+		 */
+		SAVING,
+		/**
+		 * Like {@link #SAVING}, but periodically reset the saved polarities to
+		 * positive, to negative, or to the best polarities.
+		 */
+		REPHASE,
+		/**
+		 * Like {@link #REPHASE}, but prefer the polarities of the largest
+		 * conflict-free assignment since the last rephasing.
+		 */
+		TARGET
+	}
+
 	private static final String[] COMPLETENESS_STRINGS = { "Complete", "Quantifier in Assertion Stack",
 			"Theories with incomplete decision procedure used", "Not enough memory", "Unknown internal error",
 			"Sat check timed out", "Incomplete check used", "User requested cancellation" };
@@ -102,6 +155,43 @@ public class DPLLEngine {
 	private long mPropTime, mPropClauseTime, mExplainTime;
 	private long mSetTime, mCheckTime, mBacktrackTime;
 	private int mNumRandomSplits;
+	private int mNumReductions, mNumReducedClauses;
+	private int mNumExportedClauses, mNumImportedClauses;
+	private int mNumRestarts, mNumRephases;
+	private long mSearchTime;
+	private final LogHistogram mLearnedClauseSizes = new LogHistogram();
+
+	private RestartStrategy mRestartStrategy = RestartStrategy.LUBY;
+	private PhaseStrategy mPhaseStrategy = PhaseStrategy.SAVING;
+	/**
+	 * Exponential moving averages of the LBD of the learned clauses for glucose
+	 * restarts, and the number of learned clauses they were computed from.
+	 */
+	private double mFastLBD, mSlowLBD;
+	private long mNumLBDSamples;
+	/**
+	 * The number of assigned literals in the largest conflict-free assignment
+	 * since the last rephasing, and in the largest one ever seen.
+	 */
+	private int mTargetSize, mBestSize;
+	/**
+	 * The number of conflicts at which the polarities are reset next.
+	 */
+	private int mNextRephase = Config.REPHASE_INTERVAL;
+
+	/**
+	 * The number of conflicts at which the learned clause database is reduced
+	 * next, and the current distance between two reductions.
+	 */
+	private int mNextReduceDB = Config.REDUCE_DB_FIRST;
+	private int mReduceDBInterval = Config.REDUCE_DB_FIRST;
+
+	/**
+	 * Scratch space for the LBD computation. A decide level was already seen, iff
+	 * its entry is equal to mLevelStamp.
+	 */
+	private int[] mLevelStamps = new int[16];
+	private int mLevelStamp = 0;
 
 	private boolean mHasModel;
 
@@ -116,6 +206,39 @@ public class DPLLEngine {
 	 */
 	WatchList mPendingWatcherList = new WatchList();
 
+	/**
+	 * The alternative propagation core that keeps the clauses in an int array. If
+	 * this is null, the linked watch lists of the clauses are used.
+	 */
+	private ClauseArena mArena;
+
+	/**
+	 * The connection to other engines that race on the same problem, or null if
+	 * this engine runs alone.
+	 */
+	private ClauseExchange mExchange;
+
+	/**
+	 * The number of conflicts between the first two restarts.
+	 */
+	private int mRestartFactor = Config.RESTART_FACTOR;
+
+	/**
+	 * The simplifier for the propositional input clauses, or null if inprocessing
+	 * is disabled.
+	 */
+	private ClauseSimplifier mSimplifier;
+	/**
+	 * True if input clauses were added since the last simplification.
+	 */
+	private boolean mInputChanged;
+	/**
+	 * The number of conflicts at which the clauses are simplified next, and the
+	 * current distance between two simplifications.
+	 */
+	private int mNextInprocessing = Config.INPROCESSING_FIRST;
+	private int mInprocessingInterval = Config.INPROCESSING_FIRST;
+
 	/**
 	 * The DPLL stack is the stack of all literals that are currently assigned true.
 	 * Every decided or propagated literal is added to the DPLL stack and removed on
@@ -129,12 +252,17 @@ public class DPLLEngine {
 	 * The list of all theories.
 	 */
 	private ITheory[] mTheories = new ITheory[0];
-	private final AtomQueue mAtoms = new AtomQueue();
+	/**
+	 * The metrics of the theory solvers; the metrics of mTheories[i] are in mTheoryMetrics[i].
+	 */
+	private TheoryMetrics[] mTheoryMetrics = new TheoryMetrics[0];
+	final AtomQueue mAtoms = new AtomQueue();
 
 	private int mCurrentDecideLevel = 0;
 	private int mBaseLevel = 0;
 	private boolean mPGenabled = false;
 	private ScopedHashMap<String, Literal> mAssignments;
+	private ProofLog mProofLog;
 
 	// Random source for the solver.
 	private final Random mRandom;
@@ -181,6 +309,9 @@ public class DPLLEngine {
 		atom.mDecideStatus = lit;
 		atom.mLastStatus = atom.mDecideStatus;
 		atom.mExplanation = t;
+		if (mArena != null) {
+			mArena.assign(lit);
+		}
 		if (decideLevel <= mBaseLevel) {
 			/* This atom is now decided once and for all. */
 			mNumSolvedAtoms++;
@@ -219,6 +350,9 @@ public class DPLLEngine {
 		atom.mDecideStatus = lit;
 		atom.mLastStatus = atom.mDecideStatus;
 		atom.mExplanation = t;
+		if (mArena != null) {
+			mArena.assign(lit);
+		}
 		if (level <= mBaseLevel) {
 			/* This atom is now decided once and for all. */
 			mNumSolvedAtoms++;
@@ -255,9 +389,17 @@ public class DPLLEngine {
 				time = System.nanoTime();
 			}
 			mLogger.debug("DPLL: checkpoint");
-			for (final ITheory t : mTheories) {
-				conflict = t.checkpoint();
+			for (int i = 0; i < mTheories.length; i++) {
+				long start = 0;
+				if (Config.PROFILE_TIME) {
+					start = System.nanoTime();
+				}
+				conflict = mTheories[i].checkpoint();
+				if (Config.PROFILE_TIME) {
+					mTheoryMetrics[i].mCheckpoint.add(System.nanoTime() - start);
+				}
 				if (conflict != null) {
+					mTheoryMetrics[i].mConflicts++;
 					return conflict;
 				}
 			}
@@ -280,12 +422,14 @@ public class DPLLEngine {
 		while (true) {
 			boolean changed = false;
 			mLogger.debug("DPLL: propagate theories");
-			for (final ITheory t : mTheories) {
+			for (int i = 0; i < mTheories.length; i++) {
+				final ITheory t = mTheories[i];
 				Literal propLit = t.getPropagatedLiteral();
 				if (propLit != null) {
 					do {
 						if (propLit.mAtom.mDecideStatus == null) {
 							mTProps++;
+							mTheoryMetrics[i].mPropagations++;
 							if (propLit.mAtom.mExplanation == null) {
 								propLit.mAtom.mExplanation = t;
 							}
@@ -298,6 +442,7 @@ public class DPLLEngine {
 								return conflict;
 							}
 						} else if (propLit.mAtom.mDecideStatus != propLit) {
+							mTheoryMetrics[i].mConflicts++;
 							final Clause conflict = t.getUnitClause(propLit);
 							return conflict;
 						}
@@ -325,6 +470,13 @@ public class DPLLEngine {
 		if (Config.PROFILE_TIME) {
 			time = System.nanoTime() - mSetTime;
 		}
+		if (mArena != null) {
+			final Clause conflict = mArena.propagate();
+			if (Config.PROFILE_TIME) {
+				mPropClauseTime += System.nanoTime() - time - mSetTime;
+			}
+			return conflict;
+		}
 
 		// logger.info("new set: "+watcherSetList.size());
 		nextList: while (!mPendingWatcherList.isEmpty()) {
@@ -422,6 +574,22 @@ public class DPLLEngine {
 		return null;
 	}
 
+	/**
+	 * Propagate a literal whose explanation is a unit clause. This is used by the
+	 * {@link ClauseArena}.
+	 *
+	 * @param lit
+	 *            the literal to set; it must be undecided.
+	 * @param reason
+	 *            the unit clause explaining the literal.
+	 * @return a conflict clause if a conflict was detected.
+	 */
+	Clause propagateClauseLiteral(final Literal lit, final Clause reason) {
+		lit.getAtom().mExplanation = reason;
+		mProps++;
+		return setLiteral(lit);
+	}
+
 	private boolean checkConflict(final Clause conflict) {
 		for (final Literal lit : conflict.mLiterals) {
 			final DPLLAtom a = lit.getAtom();
@@ -452,10 +620,14 @@ public class DPLLEngine {
 		}
 		mAtoms.remove(atom);
 		assert !Config.EXPENSIVE_ASSERTS || checkDecideLevel();
-		mPendingWatcherList.moveAll(literal.negate().mWatchers);
-		long time;
+		if (mArena == null) {
+			mPendingWatcherList.moveAll(literal.negate().mWatchers);
+		} else {
+			mArena.assign(literal);
+		}
+		long starttime = 0;
 		if (Config.PROFILE_TIME) {
-			time = System.nanoTime();
+			starttime = System.nanoTime();
 		}
 		Clause conflict = null;
 		if (mCurrentDecideLevel <= mBaseLevel) {
@@ -463,15 +635,25 @@ public class DPLLEngine {
 			mNumSolvedAtoms++;
 			generateLevel0Proof(literal);
 		}
-		for (final ITheory t : mTheories) {
-			conflict = t.setLiteral(literal);
+		long time = 0;
+		if (Config.PROFILE_TIME) {
+			time = System.nanoTime();
+		}
+		for (int i = 0; i < mTheories.length; i++) {
+			conflict = mTheories[i].setLiteral(literal);
+			if (Config.PROFILE_TIME) {
+				final long end = System.nanoTime();
+				mTheoryMetrics[i].mSetLiteral.add(end - time);
+				time = end;
+			}
 			if (conflict != null) {
+				mTheoryMetrics[i].mConflicts++;
 				assert checkConflict(conflict);
 				break;
 			}
 		}
 		if (Config.PROFILE_TIME) {
-			mSetTime += System.nanoTime() - time;
+			mSetTime += time - starttime;
 		}
 		return conflict;
 	}
@@ -482,10 +664,14 @@ public class DPLLEngine {
 				if (mUnsatClause == null) {
 					mUnsatClause = clause;
 				}
+			} else if (mArena != null) {
+				mArena.addClause(clause);
 			} else {
 				/* propagate unit clause: only register watcher on "virtual" second literal. */
 				mPendingWatcherList.append(clause, 1);
 			}
+		} else if (mArena != null) {
+			mArena.addClause(clause);
 		} else {
 			/*
 			 * A clause is "watched" if it appears on either the watcherBack/SetList or the
@@ -501,12 +687,80 @@ public class DPLLEngine {
 		clause.mActivity = Double.POSITIVE_INFINITY;
 		mNumAxiomClauses++;
 		assert clause.mStacklevel == mPushPopLevel;
+		if (mSimplifier != null) {
+			mSimplifier.restore(clause.mLiterals);
+			mInputChanged = true;
+		}
 		mClauses.prepend(clause);
 		watchClause(clause);
 	}
 
 	void removeClause(final Clause c) {
 		c.removeFromList();
+		clauseRemoved(c);
+	}
+
+	/**
+	 * Tell the propagation core that a clause was removed from the clause lists.
+	 */
+	void clauseRemoved(final Clause c) {
+		if (mArena != null) {
+			mArena.removeClause(c);
+		}
+	}
+
+	/**
+	 * Switch to the alternative propagation core that stores all clauses in a flat
+	 * int array with blocker literal watch lists. This must be called before the
+	 * first clause is added.
+	 *
+	 * @param useArena
+	 *            true to use the clause arena, false for the linked watch lists.
+	 */
+	public void setClauseArena(final boolean useArena) {
+		assert mClauses.isEmpty() && mLearnedClauses.isEmpty();
+		mArena = useArena ? new ClauseArena(this) : null;
+	}
+
+	/**
+	 * Enable the simplification of the propositional input clauses before the
+	 * search and between restarts. This removes subsumed clauses, strengthens
+	 * clauses, and eliminates Boolean variables.
+	 *
+	 * @param inprocessing
+	 *            true to enable the simplification.
+	 */
+	public void setInprocessing(final boolean inprocessing) {
+		assert mClauses.isEmpty();
+		mSimplifier = inprocessing ? new ClauseSimplifier(this) : null;
+	}
+
+	/**
+	 * Simplify the input clauses. This must only be called at the base level.
+	 * Learned clauses that contain an eliminated atom are removed.
+	 */
+	private void inprocess() {
+		assert mCurrentDecideLevel == mBaseLevel;
+		mSimplifier.simplify();
+		final Iterator<Clause> it = mLearnedClauses.iterator();
+		nextClause: while (it.hasNext()) {
+			final Clause c = it.next();
+			for (final Literal lit : c.mLiterals) {
+				if (mSimplifier.isEliminated(lit.getAtom())) {
+					if (c.doCleanup(this)) {
+						mNumClauses--;
+						it.remove();
+						clauseRemoved(c);
+					} else {
+						mSimplifier.restore(c.mLiterals);
+					}
+					continue nextClause;
+				}
+			}
+		}
+		mInputChanged = false;
+		mNextInprocessing = mConflicts + mInprocessingInterval;
+		mInprocessingInterval += Config.INPROCESSING_INCREMENT;
 	}
 
 	public void addFormulaClause(final Literal[] literals, final ProofNode proof) {
@@ -528,13 +782,99 @@ public class DPLLEngine {
 		mAtomScale += 1.0 - 1.0 / Config.ATOM_ACTIVITY_FACTOR;
 		mNumClauses++;
 		clause.mActivity = mClsScale;// Double.POSITIVE_INFINITY;
-		if (clause.getSize() <= 2) {
+		if (mSimplifier != null) {
+			mSimplifier.restore(clause.mLiterals);
+		}
+		if (clause.mLBD == 0) {
+			clause.mLBD = computeLBD(clause.mLiterals);
+		}
+		if (clause.getSize() <= 2 || clause.mLBD <= Config.LBD_CORE_TIER) {
 			clause.mActivity = Double.POSITIVE_INFINITY;
+			clause.mTier = TIER_CORE;
+		} else if (clause.mLBD <= Config.LBD_MID_TIER) {
+			clause.mTier = TIER_MID;
+		} else {
+			clause.mTier = TIER_LOCAL;
+		}
+		mLearnedClauses.append(clause);
+		mLearnedClauseSizes.add(clause.getSize());
+		watchClause(clause);
+		if (mExchange != null && clause.mTier == TIER_CORE) {
+			mNumExportedClauses++;
+			mExchange.exportClause(clause.mLiterals);
+		}
+	}
+
+	/**
+	 * Add a clause that another engine racing on the same problem has learned. The
+	 * clause is implied by the asserted formulas, so it is kept like a core
+	 * learned clause of this engine until the next pop. Since the clause has no
+	 * proof, this must not be used with proof generation.
+	 *
+	 * @param literals
+	 *            the literals of the clause.
+	 */
+	public void addSharedClause(final Literal[] literals) {
+		assert !mPGenabled;
+		if (mSimplifier != null) {
+			mSimplifier.restore(literals);
 		}
+		final Clause clause = new Clause(literals, mPushPopLevel);
+		clause.mLBD = computeLBD(literals);
+		clause.mActivity = Double.POSITIVE_INFINITY;
+		clause.mTier = TIER_CORE;
+		mNumClauses++;
+		mNumImportedClauses++;
 		mLearnedClauses.append(clause);
 		watchClause(clause);
 	}
 
+	/**
+	 * Connect this engine to other engines that race on the same problem. Short
+	 * learned clauses are exported to and imported from the exchange, and the
+	 * search stops once the exchange requests termination.
+	 *
+	 * @param exchange
+	 *            the exchange, or null to let the engine run alone again.
+	 */
+	public void setClauseExchange(final ClauseExchange exchange) {
+		mExchange = exchange;
+	}
+
+	/**
+	 * Set the number of conflicts between the first two restarts. The later
+	 * restart intervals are multiples of this number according to the Luby
+	 * sequence.
+	 *
+	 * @param factor
+	 *            the restart factor.
+	 */
+	public void setRestartFactor(final int factor) {
+		mRestartFactor = factor;
+	}
+
+	/**
+	 * Set the strategy that decides when to restart. It can be changed between
+	 * two check-sat calls.
+	 *
+	 * @param strategy
+	 *            the restart strategy.
+	 */
+	public void setRestartStrategy(final RestartStrategy strategy) {
+		mRestartStrategy = strategy;
+	}
+
+	/**
+	 * Set the strategy that chooses the polarity of decisions. It can be changed
+	 * between two check-sat calls.
+	 *
+	 * @param strategy
+	 *            the phase strategy.
+	 */
+	public void setPhaseStrategy(final PhaseStrategy strategy) {
+		mPhaseStrategy = strategy;
+	}
+
 	// public void addInstantiationClause(Literal[] lits) {
 	// ++num_insts;
 	// Clause clause = new Clause(lits);
@@ -560,6 +900,64 @@ public class DPLLEngine {
 		return decision == mCurrentDecideLevel;
 	}
 
+	/**
+	 * Compute the literal block distance of a clause, i.e., the number of distinct
+	 * decide levels of its literals. Every unassigned literal counts as a level of
+	 * its own.
+	 *
+	 * @param lits
+	 *            the literals of the clause.
+	 * @return the LBD of the clause.
+	 */
+	private int computeLBD(final Literal[] lits) {
+		if (++mLevelStamp == Integer.MAX_VALUE) {
+			Arrays.fill(mLevelStamps, 0);
+			mLevelStamp = 1;
+		}
+		int lbd = 0;
+		for (final Literal lit : lits) {
+			final int level = lit.getAtom().mDecideLevel;
+			if (level < 0) {
+				lbd++;
+				continue;
+			}
+			if (level >= mLevelStamps.length) {
+				mLevelStamps = Arrays.copyOf(mLevelStamps, Math.max(level + 1, 2 * mLevelStamps.length));
+			}
+			if (mLevelStamps[level] != mLevelStamp) {
+				mLevelStamps[level] = mLevelStamp;
+				lbd++;
+			}
+		}
+		return lbd;
+	}
+
+	/**
+	 * Bump the activity of a clause that is used as explanation during conflict
+	 * analysis. For learned clauses outside the core tier, the LBD is recomputed
+	 * and the clause is promoted to a better tier if its LBD decreased. This must
+	 * be called while all literals of the clause are still assigned.
+	 *
+	 * @param expl
+	 *            the explanation clause.
+	 */
+	private void bumpClause(final Clause expl) {
+		expl.mActivity += mClsScale;
+		if (expl.mLBD > Config.LBD_CORE_TIER) {
+			expl.mUsed = true;
+			final int lbd = computeLBD(expl.mLiterals);
+			if (lbd < expl.mLBD) {
+				expl.mLBD = lbd;
+				if (lbd <= Config.LBD_CORE_TIER) {
+					expl.mTier = TIER_CORE;
+					expl.mActivity = Double.POSITIVE_INFINITY;
+				} else if (lbd <= Config.LBD_MID_TIER) {
+					expl.mTier = TIER_MID;
+				}
+			}
+		}
+	}
+
 	private int countLitsOnDecideLevel(final Set<Literal> conflict) {
 		int numLits = 0;
 		int stackPtr = mDPLLStack.size();
@@ -594,6 +992,9 @@ public class DPLLEngine {
 		int expstacklevel = clause.mStacklevel;
 		mConflicts++;
 		assert checkDecideLevel();
+		if (mPhaseStrategy != PhaseStrategy.SAVING) {
+			saveTargetPhases();
+		}
 		mAtomScale *= Config.ATOM_ACTIVITY_FACTOR;
 		mClsScale *= Config.CLS_ACTIVITY_FACTOR;
 		final Set<Literal> conflict = new CuckooHashSet<>();
@@ -653,7 +1054,7 @@ public class DPLLEngine {
 					resolution.setProof(clause.getProof());
 				} else {
 					final Antecedent[] ants = antecedents.toArray(new Antecedent[antecedents.size()]);
-					resolution.setProof(new ResolutionNode(clause, ants));
+					resolution.setProof(createResolutionProof(resolution, clause, ants));
 				}
 			}
 			// Remember unsat clause (which might not be empty, by conflicting
@@ -687,7 +1088,7 @@ public class DPLLEngine {
 
 			/* Do a resolution step with explanation */
 			final Clause expl = getExplanation(lit);
-			expl.mActivity += mClsScale;
+			bumpClause(expl);
 			// expl.usedTimes++;
 			expstacklevel = Math.max(expstacklevel, expl.mStacklevel);
 			if (isProofGenerationEnabled()) {
@@ -749,7 +1150,7 @@ public class DPLLEngine {
 			if (redundancy.get(lit) == REDUNDANT && conflict.contains(lit)) {
 				/* Do a resolution step with explanation */
 				final Clause expl = getExplanation(lit);
-				expl.mActivity += mClsScale;
+				bumpClause(expl);
 				// expl.usedTimes++;
 				expstacklevel = Math.max(expstacklevel, expl.mStacklevel);
 				if (isProofGenerationEnabled()) {
@@ -792,6 +1193,8 @@ public class DPLLEngine {
 		}
 		assert newlits[newlits.length - 1] != null;
 		final Clause resolution = new Clause(newlits, expstacklevel);
+		resolution.mLBD = computeLBD(newlits);
+		updateLBDAverages(resolution.mLBD);
 		if (isProofGenerationEnabled()) {
 			for (final Literal l0 : level0Ants) {
 				antecedents.add(new Antecedent(l0, getLevel0(l0)));
@@ -801,7 +1204,7 @@ public class DPLLEngine {
 				resolution.setProof(clause.getProof());
 			} else {
 				final Antecedent[] ants = antecedents.toArray(new Antecedent[antecedents.size()]);
-				resolution.setProof(new ResolutionNode(clause, ants));
+				resolution.setProof(createResolutionProof(resolution, clause, ants));
 			}
 		}
 		mLogger.debug("Resolved to %s", resolution);
@@ -839,6 +1242,93 @@ public class DPLLEngine {
 		return l0.mStacklevel > sl ? l0.mStacklevel : sl;
 	}
 
+	/**
+	 * Update the moving averages of the LBD of the learned clauses. In the
+	 * beginning the averages are taken over all samples, so that they do not
+	 * depend on their initial value.
+	 */
+	private void updateLBDAverages(final int lbd) {
+		mNumLBDSamples++;
+		mFastLBD += (lbd - mFastLBD) * Math.max(Config.GLUCOSE_FAST_ALPHA, 1.0 / mNumLBDSamples);
+		mSlowLBD += (lbd - mSlowLBD) * Math.max(Config.GLUCOSE_SLOW_ALPHA, 1.0 / mNumLBDSamples);
+	}
+
+	/**
+	 * Remember the last conflict-free assignment as target and best assignment,
+	 * if it is larger than the previous ones. This is called on a conflict,
+	 * before any literal is backtracked. The last conflict-free assignment is
+	 * the part of the stack below the current decision level, since the solver
+	 * only decides after propagating without conflict.
+	 */
+	private void saveTargetPhases() {
+		int size = mDPLLStack.size();
+		while (size > 0 && mDPLLStack.get(size - 1).getAtom().mDecideLevel == mCurrentDecideLevel) {
+			size--;
+		}
+		if (size > mTargetSize) {
+			mTargetSize = size;
+			for (int i = 0; i < size; i++) {
+				final Literal lit = mDPLLStack.get(i);
+				lit.getAtom().mTargetStatus = lit;
+			}
+		}
+		if (size > mBestSize) {
+			mBestSize = size;
+			for (int i = 0; i < size; i++) {
+				final Literal lit = mDPLLStack.get(i);
+				lit.getAtom().mBestStatus = lit;
+			}
+		}
+	}
+
+	/**
+	 * Reset the saved polarities of the unassigned atoms. The rephasings cycle
+	 * through the best, the positive, again the best, and the negative
+	 * polarities. The target assignment is forgotten.
+	 */
+	private void rephase() {
+		mNumRephases++;
+		mNextRephase = mConflicts + Config.REPHASE_INTERVAL * (mNumRephases + 1);
+		for (final DPLLAtom atom : mAtoms) {
+			final Literal phase;
+			switch (mNumRephases % 4) {
+			case 0:
+				phase = atom.negate();
+				break;
+			case 2:
+				phase = atom;
+				break;
+			default:
+				phase = atom.mBestStatus;
+				break;
+			}
+			if (phase != null && !atom.preferredStatusIsLocked()) {
+				atom.setPreferredStatus(phase);
+			}
+			atom.mTargetStatus = null;
+		}
+		for (final Literal lit : mDPLLStack) {
+			lit.getAtom().mTargetStatus = null;
+		}
+		mTargetSize = 0;
+	}
+
+	/**
+	 * Check if the search should restart now.
+	 *
+	 * @param lubyCountdown
+	 *            the number of conflicts until the next Luby restart.
+	 * @param conflictsSinceRestart
+	 *            the number of conflicts since the last restart.
+	 */
+	private boolean isRestartDue(final int lubyCountdown, final int conflictsSinceRestart) {
+		if (mRestartStrategy == RestartStrategy.LUBY) {
+			return lubyCountdown <= 0;
+		}
+		return conflictsSinceRestart >= Config.GLUCOSE_RESTART_MIN
+				&& mFastLBD > Config.GLUCOSE_RESTART_MARGIN * mSlowLBD;
+	}
+
 	private Clause getExplanation(final Literal lit) {
 		final Object explanation = lit.getAtom().mExplanation;
 		if (explanation instanceof ITheory) {
@@ -944,7 +1434,8 @@ public class DPLLEngine {
 		int i = mDPLLStack.size();
 		while (i > 0) {
 			final Literal lit = mDPLLStack.get(--i);
-			if (conflict.contains(lit)) {
+			/* never backtrack the assumptions */
+			if (conflict.contains(lit) || lit.getAtom().mDecideLevel <= mBaseLevel) {
 				break;
 			}
 			if (lit.getAtom().mExplanation == null) {
@@ -968,7 +1459,11 @@ public class DPLLEngine {
 		if (Config.PROFILE_TIME) {
 			mBacktrackTime += System.nanoTime() - time;
 		}
-		mPendingWatcherList.moveAll(atom.mBacktrackWatchers);
+		if (mArena == null) {
+			mPendingWatcherList.moveAll(atom.mBacktrackWatchers);
+		} else {
+			mArena.unassign(atom);
+		}
 		if (atom.mExplanation == null) {
 			decreaseDecideLevel();
 		}
@@ -985,9 +1480,19 @@ public class DPLLEngine {
 			time = System.nanoTime();
 		}
 		mLogger.debug("DPLL: final check");
-		for (final ITheory t : mTheories) {
-			final Clause conflict = t.computeConflictClause();
+		for (int i = 0; i < mTheories.length; i++) {
+			final Object event = SolverEvents.beginFinalCheck();
+			long start = 0;
+			if (Config.PROFILE_TIME) {
+				start = System.nanoTime();
+			}
+			final Clause conflict = mTheories[i].computeConflictClause();
+			if (Config.PROFILE_TIME) {
+				mTheoryMetrics[i].mFinalCheck.add(System.nanoTime() - start);
+			}
+			SolverEvents.endFinalCheck(event, mTheories[i], conflict != null);
 			if (conflict != null) {
+				mTheoryMetrics[i].mConflicts++;
 				return conflict;
 			}
 			if (!mAtoms.isEmpty()) {
@@ -1019,6 +1524,10 @@ public class DPLLEngine {
 		// logger.debug("Choose literal: "+atom+" Weight "
 		// + (atom.activity/factor) +" - last: " + atom.lastStatus);
 		// return atom.lastStatus == null ? atom.negate() : atom.lastStatus;
+		if (mPhaseStrategy == PhaseStrategy.TARGET && atom.mTargetStatus != null
+				&& !atom.preferredStatusIsLocked()) {
+			return atom.mTargetStatus;
+		}
 		return atom.getPreferredStatus();
 	}
 
@@ -1050,7 +1559,8 @@ public class DPLLEngine {
 						+ " Back: " + mBacktrackTime / 1000 / 1000.0);// NOCHECKSTYLE
 			}
 			mLogger.info("Atoms: " + mNumSolvedAtoms + "/" + (mAtoms.size() + mDPLLStack.size()) + " Clauses: "
-					+ mNumClauses + " Axioms: " + mNumAxiomClauses);
+					+ mNumClauses + " Axioms: " + mNumAxiomClauses + " Reductions: " + mNumReductions + " Reduced: "
+					+ mNumReducedClauses);
 			for (final ITheory t : mTheories) {
 				t.printStatistics(mLogger);
 			}
@@ -1063,6 +1573,20 @@ public class DPLLEngine {
 	 * @return true if sat, false if unsat.
 	 */
 	public boolean solve() {
+		final int conflicts = mConflicts, decides = mDecides, props = mProps, tprops = mTProps;
+		final int restarts = mNumRestarts;
+		final long learned = mLearnedClauseSizes.getCount();
+		final Object event = SolverEvents.beginSolve();
+		final long start = System.nanoTime();
+		final boolean sat = solveInternal();
+		mSearchTime += System.nanoTime() - start;
+		SolverEvents.endSolve(event, mHasModel ? "sat" : sat ? "unknown" : "unsat", mConflicts - conflicts,
+				mDecides - decides, mProps - props, mTProps - tprops, mNumRestarts - restarts,
+				mLearnedClauseSizes.getCount() - learned);
+		return sat;
+	}
+
+	private boolean solveInternal() {
 		mHasModel = false;
 		if (mUnsatClause != null) {
 			mLogger.debug("Using cached unsatisfiability");
@@ -1108,6 +1632,9 @@ public class DPLLEngine {
 					}
 				}
 			}
+			if (mSimplifier != null && mInputChanged && mCurrentDecideLevel == mBaseLevel) {
+				inprocess();
+			}
 			long lastTime;
 			if (Config.PROFILE_TIME) {
 				lastTime = System.nanoTime() - mSetTime - mBacktrackTime;
@@ -1119,7 +1646,8 @@ public class DPLLEngine {
 				}
 			}
 			int iteration = 1;
-			int nextRestart = Config.RESTART_FACTOR;
+			int nextRestart = mRestartFactor;
+			int conflictsSinceRestart = 0;
 			long time;
 			while (!isTerminationRequested()) {
 				Clause conflict;
@@ -1148,7 +1676,8 @@ public class DPLLEngine {
 								suggested = true;
 							}
 							// @assert conflict != null ==> suggested == true
-							if (!suggested && mPendingWatcherList.isEmpty() && mAtoms.isEmpty()) {
+							if (!suggested && mPendingWatcherList.isEmpty() && mAtoms.isEmpty()
+									&& (mArena == null || mArena.isPropagated())) {
 								/* We found a model */
 								if (mLogger.isInfoEnabled()) {
 									printStatistics();
@@ -1162,6 +1691,9 @@ public class DPLLEngine {
 										}
 									}
 								}
+								if (mSimplifier != null) {
+									mSimplifier.extendModel();
+								}
 								mHasModel = true;
 								return true;
 							}
@@ -1213,11 +1745,26 @@ public class DPLLEngine {
 					}
 					mClsScale *= Double.MIN_NORMAL;
 				}
-				if (--nextRestart == 0) {
+				if (mConflicts >= mNextReduceDB) {
+					reduceLearnedClauses();
+				}
+				nextRestart--;
+				conflictsSinceRestart++;
+				if (isRestartDue(nextRestart, conflictsSinceRestart)) {
+					mNumRestarts++;
+					conflictsSinceRestart = 0;
 					startBacktrack();
 					final DPLLAtom next = mAtoms.peek();
+					/* Inprocessing needs a full restart to the base level */
+					final boolean inprocess = mSimplifier != null && mConflicts >= mNextInprocessing;
 					int restartpos = -1;
-					for (int i = mNumSolvedAtoms + mBaseLevel; i < mDPLLStack.size(); ++i) {
+					if (inprocess) {
+						restartpos = mDPLLStack.size();
+						while (restartpos > 0 && mDPLLStack.get(restartpos - 1).getAtom().mDecideLevel > mBaseLevel) {
+							restartpos--;
+						}
+					}
+					for (int i = mNumSolvedAtoms + mBaseLevel; restartpos == -1 && i < mDPLLStack.size(); ++i) {
 						final DPLLAtom var = mDPLLStack.get(i).getAtom();
 						if (var.mExplanation == null && var.mActivity < next.mActivity) {
 							// This has been a decision
@@ -1240,11 +1787,20 @@ public class DPLLEngine {
 					unlearnClauses(mPushPopLevel);
 					conflict = finalizeBacktrack();
 					assert conflict == null;
+					if (mExchange != null) {
+						mExchange.importClauses(this);
+					}
+					if (inprocess) {
+						inprocess();
+					}
+					if (mPhaseStrategy != PhaseStrategy.SAVING && mConflicts >= mNextRephase) {
+						rephase();
+					}
 					iteration++;
 					for (final ITheory t : mTheories) {
 						t.restart(iteration);
 					}
-					nextRestart = Config.RESTART_FACTOR * luby_super(iteration);
+					nextRestart = mRestartFactor * luby_super(iteration);
 					if (Config.PRINT_STATISTICS) {
 						mLogger.info("Restart");
 						printStatistics();
@@ -1273,10 +1829,58 @@ public class DPLLEngine {
 					|| c.mStacklevel > targetstacklevel && c.doCleanup(this)) {
 				mNumClauses--;
 				it.remove();
+				clauseRemoved(c);
 			}
 		}
 	}
 
+	/**
+	 * Check if a clause is currently the explanation of one of its literals. Such
+	 * a clause must not be removed from the learned clause database.
+	 */
+	private boolean isReason(final Clause c) {
+		for (final Literal lit : c.mLiterals) {
+			if (lit.getAtom().mExplanation == c) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Reduce the learned clause database. Core clauses are always kept. Mid tier
+	 * clauses that were not used since the last reduction are demoted to the local
+	 * tier. Of the local clauses that were not used since the last reduction, the
+	 * half with the highest LBD and the lowest activity is removed.
+	 */
+	private void reduceLearnedClauses() {
+		mNumReductions++;
+		mReduceDBInterval += Config.REDUCE_DB_INCREMENT;
+		mNextReduceDB = mConflicts + mReduceDBInterval;
+		final ArrayList<Clause> candidates = new ArrayList<>();
+		for (final Clause c : mLearnedClauses) {
+			if (c.mTier == TIER_MID && !c.mUsed) {
+				c.mTier = TIER_LOCAL;
+			} else if (c.mTier == TIER_LOCAL && !c.mUsed && !isReason(c)) {
+				candidates.add(c);
+			}
+			c.mUsed = false;
+		}
+		candidates.sort((c1, c2) -> c1.mLBD != c2.mLBD ? Integer.compare(c2.mLBD, c1.mLBD)
+				: Double.compare(c1.mActivity, c2.mActivity));
+		final int numRemove = candidates.size() / 2;
+		for (int i = 0; i < numRemove; i++) {
+			final Clause c = candidates.get(i);
+			if (c.doCleanup(this)) {
+				c.removeFromList();
+				clauseRemoved(c);
+				mNumClauses--;
+				mNumReducedClauses++;
+			}
+		}
+		mLogger.debug("Reduced learned clauses: removed %d of %d candidates", numRemove, candidates.size());
+	}
+
 	private Literal suggestions() {
 		for (final ITheory t : mTheories) {
 			final Literal lit = t.getPropagatedLiteral();
@@ -1314,12 +1918,15 @@ public class DPLLEngine {
 		System.arraycopy(mTheories, 0, newTheories, 0, mTheories.length);
 		newTheories[mTheories.length] = t;
 		mTheories = newTheories;
+		mTheoryMetrics = Arrays.copyOf(mTheoryMetrics, mTheories.length);
+		mTheoryMetrics[mTheories.length - 1] = new TheoryMetrics();
 	}
 
 	public void removeTheory() {
 		final ITheory[] newTheories = new ITheory[mTheories.length - 1];
-		System.arraycopy(mTheories, 0, newTheories, 0, mTheories.length);
+		System.arraycopy(mTheories, 0, newTheories, 0, newTheories.length);
 		mTheories = newTheories;
+		mTheoryMetrics = Arrays.copyOf(mTheoryMetrics, mTheories.length);
 	}
 
 	public String dumpClauses(final Theory smtTheory) {
@@ -1405,6 +2012,7 @@ public class DPLLEngine {
 			if (input.mStacklevel > targetstacklevel) {
 				if (input.doCleanup(this)) {
 					inputit.remove();
+					clauseRemoved(input);
 				} else {
 					throw new InternalError("Input clause still blocked, but invalid");
 					// mLogger.debug("Removed clause %s", input);
@@ -1416,6 +2024,10 @@ public class DPLLEngine {
 				break;
 			}
 		}
+		if (mSimplifier != null) {
+			/* The clauses that justified the removal of eliminated clauses may be gone. */
+			mSimplifier.restoreAll(targetstacklevel);
+		}
 		for (int i = 0; i < numpops; ++i) {
 			for (final ITheory theory : getAttachedTheories()) {
 				theory.pop();
@@ -1423,10 +2035,22 @@ public class DPLLEngine {
 			if (mAssignments != null) {
 				mAssignments.endScope();
 			}
+			/*
+			 * Theory solvers may create atoms during search that only depend on lower
+			 * levels. Keep them, so that the learned clauses containing them survive.
+			 */
+			final ArrayList<DPLLAtom> keptAtoms = new ArrayList<>();
 			for (final DPLLAtom atom : mAtomList.currentScope()) {
-				removeAtom(atom);
+				if (atom.mAssertionstacklevel <= targetstacklevel) {
+					keptAtoms.add(atom);
+				} else {
+					removeAtom(atom);
+				}
 			}
 			mAtomList.endScope();
+			for (final DPLLAtom atom : keptAtoms) {
+				mAtomList.add(atom);
+			}
 			mPushPopLevel--;
 		}
 		mCompleteness = COMPLETE;
@@ -1460,11 +2084,59 @@ public class DPLLEngine {
 		return mPGenabled;
 	}
 
+	/**
+	 * Store the resolution proofs in a compact log instead of {@link ResolutionNode}s. This must be called before
+	 * the first clause is added and requires proof generation.
+	 *
+	 * @param log
+	 *            the proof log, or null to use resolution nodes.
+	 */
+	public void setProofLog(final ProofLog log) {
+		assert mClauses.isEmpty() && mLearnedClauses.isEmpty();
+		mProofLog = log;
+	}
+
+	public ProofLog getProofLog() {
+		return mProofLog;
+	}
+
+	private ProofNode createResolutionProof(final Clause resolvent, final Clause primary,
+			final Antecedent[] antecedents) {
+		if (mProofLog != null) {
+			return mProofLog.logResolution(resolvent, primary, antecedents);
+		}
+		return new ResolutionNode(primary, antecedents);
+	}
+
 	public Literal[] getUnsatAssumptions() {
 		return mUnsatClause.mLiterals;
 	}
 
+	/**
+	 * Get the proof of unsatisfiability. If a proof log is used, the proof is converted from the log.
+	 *
+	 * @return the empty clause annotated with its proof, or null if the problem is not unsatisfiable.
+	 */
 	public Clause getProof() {
+		final Clause empty = getEmptyClause();
+		if (mProofLog != null && empty != null) {
+			return mProofLog.toClause(mProofLog.getStep(empty));
+		}
+		return empty;
+	}
+
+	/**
+	 * Get the step of the proof of unsatisfiability in the proof log.
+	 *
+	 * @return the step proving the empty clause, or -1 if the problem is not unsatisfiable.
+	 */
+	public int getProofStep() {
+		assert mProofLog != null;
+		final Clause empty = getEmptyClause();
+		return empty == null ? -1 : mProofLog.getStep(empty);
+	}
+
+	private Clause getEmptyClause() {
 		assert checkValidUnsatClause();
 		Clause empty = mUnsatClause;
 		if (mUnsatClause != null && mUnsatClause.getSize() > 0) {
@@ -1512,10 +2184,9 @@ public class DPLLEngine {
 			}
 			clauseLits.add(lit);
 			final Literal[] arrayLits = clauseLits.toArray(new Literal[clauseLits.size()]);
+			res = new Clause(arrayLits, stacklvl);
 			if (isProofGenerationEnabled()) {
-				res = new Clause(arrayLits, new ResolutionNode(c, ants), stacklvl);
-			} else {
-				res = new Clause(arrayLits, stacklvl);
+				res.setProof(createResolutionProof(res, c, ants));
 			}
 			lit.getAtom().mExplanation = res;
 		}
@@ -1598,14 +2269,52 @@ public class DPLLEngine {
 		return true;
 	}
 
+	/**
+	 * Get the number of conflicts explained by this engine since it was created.
+	 */
+	public int getNumConflicts() {
+		return mConflicts;
+	}
+
 	public Object getStatistics() {
+		final int[] tierSizes = new int[TIER_LOCAL + 1];
+		for (final Clause c : mLearnedClauses) {
+			tierSizes[c.mTier]++;
+		}
 		final Object[] res = new Object[mTheories.length + 1];
-		final Object[] mystats = new Object[][] { { "Conflicts", mConflicts }, { "Propagations", mProps },
+		Object[] mystats = new Object[][] { { "Conflicts", mConflicts }, { "Propagations", mProps },
 				{ "Theory_propagations", mTProps }, { "Decides", mDecides }, { "Random_splits", mNumRandomSplits },
+				{ "Restarts", mNumRestarts }, { "Rephases", mNumRephases },
 				{ "Num_Atoms", mAtoms.size() + mDPLLStack.size() }, { "Solved_Atoms", mNumSolvedAtoms },
 				{ "Clauses", mNumClauses }, { "Axioms", mNumAxiomClauses },
-				{ "Times", new Object[][] { { "Explain", mExplainTime }, { "Propagation", mPropTime },
-						{ "Set", mSetTime }, { "Check", mCheckTime }, { "Backtrack", mBacktrackTime } } } };
+				{ "Learned_Clauses",
+						new Object[][] { { "Core", tierSizes[TIER_CORE] }, { "Mid", tierSizes[TIER_MID] },
+								{ "Local", tierSizes[TIER_LOCAL] }, { "Reductions", mNumReductions },
+								{ "Reduced_Clauses", mNumReducedClauses }, { "Exported", mNumExportedClauses },
+								{ "Imported", mNumImportedClauses } } },
+				{ "Learned_Clause_Sizes", mLearnedClauseSizes.getStatistics() },
+				{ "Rates", new Object[][] { { "Conflicts_per_s", perSecond(mConflicts) },
+						{ "Propagations_per_s", perSecond(mProps) } } },
+				{ "Times", new Object[][] { { "Search", mSearchTime }, { "Explain", mExplainTime },
+						{ "Propagation", mPropTime }, { "Set", mSetTime }, { "Check", mCheckTime },
+						{ "Backtrack", mBacktrackTime } } } };
+		if (mArena != null) {
+			mystats = Arrays.copyOf(mystats, mystats.length + 1);
+			mystats[mystats.length - 1] = new Object[] { "Arena", mArena.getStatistics() };
+		}
+		if (mSimplifier != null) {
+			mystats = Arrays.copyOf(mystats, mystats.length + 1);
+			mystats[mystats.length - 1] = new Object[] { "Inprocessing", mSimplifier.getStatistics() };
+		}
+		if (Config.PROFILE_TIME) {
+			final Object[][] theoryStats = new Object[mTheories.length][];
+			for (int i = 0; i < mTheories.length; i++) {
+				theoryStats[i] = new Object[] { mTheories[i].getClass().getSimpleName(),
+						mTheoryMetrics[i].getStatistics() };
+			}
+			mystats = Arrays.copyOf(mystats, mystats.length + 1);
+			mystats[mystats.length - 1] = new Object[] { "Theories", theoryStats };
+		}
 		res[0] = new Object[] { ":Core", mystats };
 		for (int i = 1; i < res.length; ++i) {
 			res[i] = mTheories[i - 1].getStatistics();
@@ -1613,6 +2322,17 @@ public class DPLLEngine {
 		return res;
 	}
 
+	/**
+	 * Compute the rate of an event during the search.
+	 *
+	 * @param count
+	 *            the number of events since the engine was created.
+	 * @return the number of events per second spent in {@link #solve()}.
+	 */
+	private long perSecond(final long count) {
+		return mSearchTime == 0 ? 0 : (long) (count * 1e9 / mSearchTime);
+	}
+
 	public void setProduceAssignments(final boolean value) {
 		assert mPushPopLevel == 0 && mAssignments == null || mAssignments.isEmpty();
 		if (value) {
@@ -1627,6 +2347,9 @@ public class DPLLEngine {
 	}
 
 	public void trackAssignment(final String label, final Literal literal) {
+		if (mSimplifier != null) {
+			mSimplifier.freeze(literal.getAtom());
+		}
 		mAssignments.put(label, literal);
 	}
 
@@ -1801,7 +2524,8 @@ public class DPLLEngine {
 	}
 
 	public boolean isTerminationRequested() {
-		if (mCompleteness == INCOMPLETE_CANCELLED || mCancel.isTerminationRequested()) {
+		if (mCompleteness == INCOMPLETE_CANCELLED || mCancel.isTerminationRequested()
+				|| mExchange != null && mExchange.isTerminationRequested()) {
 			mCompleteness = INCOMPLETE_CANCELLED;
 			return true;
 		}
@@ -1812,12 +2536,19 @@ public class DPLLEngine {
 	 * Remove all assumptions. We backtrack to level 0.
 	 */
 	public void clearAssumptions() {
+		mAssumptionLiterals.clear();
+		/*
+		 * clear unsat clause, if it has assumptions. This is needed even if no
+		 * assumption was decided, e.g., if the first assumption was false on level 0.
+		 */
+		if (mUnsatClause != null && mUnsatClause.getSize() > 0) {
+			mUnsatClause = null;
+		}
 		/* check if we need to clear any assumptions */
 		if (mCurrentDecideLevel == 0) {
 			return;
 		}
 		startBacktrack();
-		mAssumptionLiterals.clear();
 		mLogger.debug("Clearing Assumptions (Baselevel is %d)", mBaseLevel);
 		while (mCurrentDecideLevel > 0) {
 			final Literal lit = mDPLLStack.remove(mDPLLStack.size() - 1);
@@ -1825,10 +2556,6 @@ public class DPLLEngine {
 		}
 		assert mCurrentDecideLevel == 0;
 		mBaseLevel = 0;
-		/* clear unsat clause, if it has assumptions */
-		if (mUnsatClause != null && mUnsatClause.getSize() > 0) {
-			mUnsatClause = null;
-		}
 
 		final Clause conflict = finalizeBacktrack();
 		if (conflict != null) {
@@ -1848,6 +2575,9 @@ public class DPLLEngine {
 		for (final Literal lit : lits) {
 			mLogger.debug("Assuming Literal %s", lit);
 			mAssumptionLiterals.add(lit);
+			if (mSimplifier != null) {
+				mSimplifier.restore(new Literal[] { lit });
+			}
 			// First check if the literal is already set
 			if (lit.getAtom().getDecideStatus() != null) {
 				if (lit.getAtom().getDecideStatus() == lit) {
@@ -1892,6 +2622,18 @@ public class DPLLEngine {
 		return true;
 	}
 
+	/**
+	 * Invert the saved phase of all atoms whose preferred status is not locked.
+	 * The next decisions then explore the opposite part of the search space.
+	 */
+	public void invertPhases() {
+		for (final DPLLAtom atom : mAtomList) {
+			if (!atom.preferredStatusIsLocked()) {
+				atom.mLastStatus = atom.mLastStatus == null ? atom : atom.mLastStatus.negate();
+			}
+		}
+	}
+
 	/**
 	 * Randomly mess with the activity of Atoms, such that the Engine does not prefer atoms that have been active/inactive
 	 * so far.
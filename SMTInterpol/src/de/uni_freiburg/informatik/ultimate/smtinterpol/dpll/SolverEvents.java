@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The JDK Flight Recorder events emitted by the {@link DPLLEngine}. If no recording is running, an event costs only a
+ * check whether it is enabled. The engine only handles the events through the static methods of this class, so that it
+ * still runs on a Java runtime without Flight Recorder. On such a runtime the methods do nothing.
+ */
+final class SolverEvents {
+	private static final boolean AVAILABLE = isAvailable();
+
+	private SolverEvents() {
+	}
+
+	private static boolean isAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event");
+			return true;
+		} catch (final ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	@Name("de.uni_freiburg.informatik.ultimate.smtinterpol.Solve")
+	@Label("Solve")
+	@Category("SMTInterpol")
+	@Description("A run of the DPLL engine for a check-sat command")
+	@StackTrace(false)
+	static final class SolveEvent extends Event {
+		@Label("Result")
+		String result;
+		@Label("Conflicts")
+		long conflicts;
+		@Label("Decisions")
+		long decisions;
+		@Label("Propagations")
+		long propagations;
+		@Label("Theory Propagations")
+		long theoryPropagations;
+		@Label("Restarts")
+		long restarts;
+		@Label("Learned Clauses")
+		long learnedClauses;
+	}
+
+	@Name("de.uni_freiburg.informatik.ultimate.smtinterpol.FinalCheck")
+	@Label("Theory Final Check")
+	@Category("SMTInterpol")
+	@Description("A final consistency check of a theory solver on a complete Boolean assignment")
+	@StackTrace(false)
+	@Threshold("1 ms")
+	static final class FinalCheckEvent extends Event {
+		@Label("Theory")
+		String theory;
+		@Label("Conflict")
+		boolean conflict;
+	}
+
+	/**
+	 * Start a solve event.
+	 *
+	 * @return the event handle to pass to {@link #endSolve}, or null if no event is recorded.
+	 */
+	static Object beginSolve() {
+		if (!AVAILABLE) {
+			return null;
+		}
+		final SolveEvent event = new SolveEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * End a solve event and commit it. The counts are the differences of the engine statistics since the start of
+	 * the event.
+	 */
+	static void endSolve(final Object handle, final String result, final long conflicts, final long decisions,
+			final long propagations, final long theoryPropagations, final long restarts, final long learnedClauses) {
+		if (handle == null) {
+			return;
+		}
+		final SolveEvent event = (SolveEvent) handle;
+		event.end();
+		if (event.shouldCommit()) {
+			event.result = result;
+			event.conflicts = conflicts;
+			event.decisions = decisions;
+			event.propagations = propagations;
+			event.theoryPropagations = theoryPropagations;
+			event.restarts = restarts;
+			event.learnedClauses = learnedClauses;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Start a final check event.
+	 *
+	 * @return the event handle to pass to {@link #endFinalCheck}, or null if no event is recorded.
+	 */
+	static Object beginFinalCheck() {
+		if (!AVAILABLE) {
+			return null;
+		}
+		final FinalCheckEvent event = new FinalCheckEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.begin();
+		return event;
+	}
+
+	static void endFinalCheck(final Object handle, final ITheory theory, final boolean conflict) {
+		if (handle == null) {
+			return;
+		}
+		final FinalCheckEvent event = (FinalCheckEvent) handle;
+		event.end();
+		if (event.shouldCommit()) {
+			event.theory = theory.getClass().getSimpleName();
+			event.conflict = conflict;
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.LogHistogram;
+
+/**
+ * Metrics the {@link DPLLEngine} collects for every theory solver. The latencies of the calls to
+ * {@link ITheory#setLiteral}, {@link ITheory#checkpoint} and {@link ITheory#computeConflictClause} are recorded in
+ * nanoseconds. The engine also counts the conflicts and propagations reported by the theory.
+ */
+final class TheoryMetrics {
+	final LogHistogram mSetLiteral = new LogHistogram();
+	final LogHistogram mCheckpoint = new LogHistogram();
+	final LogHistogram mFinalCheck = new LogHistogram();
+	int mConflicts;
+	int mPropagations;
+
+	public Object[][] getStatistics() {
+		return new Object[][] { { "Conflicts", mConflicts }, { "Propagations", mPropagations },
+				{ "Latency", new Object[][] { { "SetLiteral", mSetLiteral.getStatistics() },
+						{ "Checkpoint", mCheckpoint.getStatistics() },
+						{ "FinalCheck", mFinalCheck.getStatistics() } } } };
+	}
+}
@@ -20,13 +20,14 @@ package de.uni_freiburg.informatik.ultimate.smtinterpol.horn;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 import de.uni_freiburg.informatik.ultimate.logic.Annotation;
 import de.uni_freiburg.informatik.ultimate.logic.ApplicationTerm;
@@ -36,20 +37,47 @@ import de.uni_freiburg.informatik.ultimate.logic.FunctionSymbol;
 import de.uni_freiburg.informatik.ultimate.logic.Logics;
 import de.uni_freiburg.informatik.ultimate.logic.NoopScript;
 import de.uni_freiburg.informatik.ultimate.logic.QuantifiedFormula;
+import de.uni_freiburg.informatik.ultimate.logic.Rational;
 import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
 import de.uni_freiburg.informatik.ultimate.logic.Script;
 import de.uni_freiburg.informatik.ultimate.logic.Sort;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
 import de.uni_freiburg.informatik.ultimate.logic.TermTransformer;
 import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
-import de.uni_freiburg.informatik.ultimate.logic.simplification.SimplifyDDA;
-import de.uni_freiburg.informatik.ultimate.smtinterpol.option.OptionMap.CopyMode;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.LogProxy;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
-import de.uni_freiburg.informatik.ultimate.smtinterpol.util.DAGSize;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ScopedArrayList;
 
+/**
+ * A solver for constrained Horn clauses. The clauses are unwound into a tree of bounded derivations in the backend.
+ * If a bounded unwinding is satisfiable, there is a derivation of false and the Horn clauses are unsatisfiable.
+ * Otherwise, the tree interpolants of the unwinding become candidate lemmas for the predicates, and the largest
+ * inductive subset of all candidates is computed by a Houdini fixpoint. If it refutes every query clause, it is a
+ * solution of the Horn clauses.
+ *
+ * The unwinding is kept incrementally on the assertion stack of the backend. Every node of the unwinding is guarded
+ * by an enabled constant and asserted once, on the backend level of the current scope. Clauses added later are
+ * attached to the expanded nodes through a "more" literal that stands for the derivation steps not yet known. The top
+ * level of the backend only disables the frontier nodes and the "more" literals and enables the root, so deepening the
+ * unwinding only pops and pushes this level. Every scope of the Horn problem is a level of the backend, so a pop only
+ * removes the parts of the unwinding that were built in the popped scopes.
+ */
 public class HornSolver extends NoopScript {
+	/**
+	 * The maximal depth of the unwinding before the solver gives up.
+	 */
+	private static final int MAX_UNWINDINGS = 100;
+	/**
+	 * The maximal number of nodes of the unwinding. With several recursive clauses the unwinding grows exponentially
+	 * in its depth, so the depth alone does not bound it.
+	 */
+	static final int MAX_UNWINDING_NODES = 10000;
+
 	class HornClause {
 		List<TermVariable> mTvs;
+		/**
+		 * The head of the clause, or null for a query clause whose head is false.
+		 */
 		ApplicationTerm mHead;
 		List<ApplicationTerm> mBody;
 		Term mPhi;
@@ -64,79 +92,175 @@ public class HornSolver extends NoopScript {
 		}
 	}
 
-	class DerivationTreeNode {
-		ApplicationTerm mTerm;
-		Term mName;
-		DerivationTreeNode[] mChildren;
-		public DerivationTreeNode(ApplicationTerm term) {
-			mTerm = term;
-		}
-		public void setName(Term name) {
+	/**
+	 * A node of the unwinding. It stands for a derivation of its predicate applied to fresh argument constants, which
+	 * is only required if the enabled constant is true.
+	 */
+	class UnwindingNode {
+		/**
+		 * The predicate of this node, or null for the root that stands for the query clauses.
+		 */
+		FunctionSymbol mPred;
+		Term[] mArgs;
+		Term mEnabled;
+		/**
+		 * The literal that stands for the derivation steps of clauses added after this node was expanded, or null if
+		 * the node is not expanded yet.
+		 */
+		Term mMore;
+		/**
+		 * The names of the assertions for this node on the scope levels of the backend.
+		 */
+		ArrayList<Term> mNames;
+		/**
+		 * The names of the assertions for this node on the frontier level of the backend.
+		 */
+		ArrayList<Term> mFrontierNames;
+		ArrayList<UnwindingNode> mChildren;
 
-			mName = name;
+		public UnwindingNode(FunctionSymbol pred, Term[] args, Term enabled) {
+			mPred = pred;
+			mArgs = args;
+			mEnabled = enabled;
+			mNames = new ArrayList<Term>();
+			mFrontierNames = new ArrayList<Term>();
+			mChildren = new ArrayList<UnwindingNode>();
 		}
-		public void initChildren(int size) {
-			mChildren = new DerivationTreeNode[size];
-		}
-		public DerivationTreeNode addChild(int pos, ApplicationTerm term) {
-			assert mChildren[pos] == null;
-			return mChildren[pos] = new DerivationTreeNode(term);
+
+		/**
+		 * The conjunction of all assertions for this node. This is the partition of the node in the tree
+		 * interpolation problem.
+		 */
+		Term getPartition() {
+			final ArrayList<Term> names = new ArrayList<Term>(mNames);
+			names.addAll(mFrontierNames);
+			return and(names);
 		}
-		public int postOrderTraverse(ArrayList<Term> partition,
-				ArrayList<Integer> startOfSubtree) {
+
+		public int postOrderTraverse(ArrayList<Term> partition, ArrayList<Integer> startOfSubtree,
+				ArrayList<UnwindingNode> nodes) {
 			int pos = partition.size();
-			if (mChildren.length > 0) {
-				pos = mChildren[0].postOrderTraverse(partition, startOfSubtree);
-				for (int i = 1; i < mChildren.length; ++i) {
-					mChildren[i].postOrderTraverse(partition, startOfSubtree);
+			if (!mChildren.isEmpty()) {
+				pos = mChildren.get(0).postOrderTraverse(partition, startOfSubtree, nodes);
+				for (int i = 1; i < mChildren.size(); ++i) {
+					mChildren.get(i).postOrderTraverse(partition, startOfSubtree, nodes);
 				}
 			}
-			partition.add(mName);
+			partition.add(getPartition());
 			startOfSubtree.add(pos);
+			nodes.add(this);
 			return pos;
 		}
-		public void printSolution(Term[] solution) {
-			printSolutionRec(solution, 0);
-		}
+	}
 
-		private int printSolutionRec(Term[] solution, int offset) {
-			for (final DerivationTreeNode n : mChildren) {
-				offset += n.printSolutionRec(solution, offset);
+	/**
+	 * The state of the unwinding when a scope was pushed. Within a scope, nodes are only created and extended, so the
+	 * state is restored by truncating the list of nodes and the lists of every node.
+	 */
+	class UnwindingState {
+		final int mNumNodes;
+		final int[] mNumNames;
+		final int[] mNumChildren;
+		final Term[] mMore;
+		final int mProvedDepthAtPush;
+		final LBool mLastResultAtPush;
+		final LinkedHashMap<FunctionSymbol, Term> mSolutionAtPush;
+
+		UnwindingState() {
+			mNumNodes = mNodes.size();
+			mNumNames = new int[mNumNodes];
+			mNumChildren = new int[mNumNodes];
+			mMore = new Term[mNumNodes];
+			for (int i = 0; i < mNumNodes; i++) {
+				final UnwindingNode node = mNodes.get(i);
+				mNumNames[i] = node.mNames.size();
+				mNumChildren[i] = node.mChildren.size();
+				mMore[i] = node.mMore;
 			}
-			System.err.print(mTerm);
-			System.err.print(" = ");
-			System.err.println((offset >= solution.length)
-			        ? "false" : solution[offset]);
-			final SMTInterpol backend = (SMTInterpol) mBackend;
-			final SimplifyDDA simp = new SimplifyDDA(
-					new SMTInterpol(backend,
-							Collections.singletonMap(
-									":check-type", (Object)"quick"),
-									CopyMode.CURRENT_VALUE));
-			if (offset < solution.length) {
-				System.err.println("size: " + new DAGSize().size(solution[offset]));
-				final Term simplified = simp.getSimplifiedTerm(solution[offset]);
-				System.err.println("simplified: " + simplified);
-				System.err.println("simpsize: " + new DAGSize().size(simplified));
+			mProvedDepthAtPush = mProvedDepth;
+			mLastResultAtPush = mLastResult;
+			mSolutionAtPush = mSolution;
+		}
+
+		void restore() {
+			mNodes.subList(mNumNodes, mNodes.size()).clear();
+			for (int i = 0; i < mNumNodes; i++) {
+				final UnwindingNode node = mNodes.get(i);
+				node.mNames.subList(mNumNames[i], node.mNames.size()).clear();
+				node.mChildren.subList(mNumChildren[i], node.mChildren.size()).clear();
+				node.mMore = mMore[i];
 			}
-			return offset + 1;
+			mRoot = mNumNodes == 0 ? null : mNodes.get(0);
+			mProvedDepth = mProvedDepthAtPush;
+			mLastResult = mLastResultAtPush;
+			mSolution = mSolutionAtPush;
 		}
 	}
 
-	HashMap<FunctionSymbol, ArrayList<HornClause>> mAllClauses;
+	ScopedArrayList<HornClause> mAllClauses;
 	Script mBackend;
+	LogProxy mLogger;
+
+	/**
+	 * The formal parameters of each predicate in the backend. The lemmas and solutions are formulas over them.
+	 */
+	HashMap<FunctionSymbol, TermVariable[]> mFormals;
+	/**
+	 * The candidate lemmas for each predicate collected from the interpolants of all unwindings.
+	 */
+	LinkedHashMap<FunctionSymbol, LinkedHashSet<Term>> mCandidates;
+	/**
+	 * The solution found by the last check, or null if the last check did not return sat.
+	 */
+	LinkedHashMap<FunctionSymbol, Term> mSolution;
+
+	/**
+	 * The root of the current unwinding, or null if there is no unwinding yet.
+	 */
+	UnwindingNode mRoot;
+	/**
+	 * All nodes of the current unwinding in the order of their creation. The nodes that are not yet expanded form the
+	 * frontier.
+	 */
+	ArrayList<UnwindingNode> mNodes;
+	/**
+	 * The state of the unwinding at every push of the Horn problem.
+	 */
+	ArrayList<UnwindingState> mScopeStates;
+	/**
+	 * The maximal number of nodes of the unwinding.
+	 */
+	int mMaxNodes = MAX_UNWINDING_NODES;
+	/**
+	 * The number of times the unwinding has been deepened without finding a derivation of false since the clauses
+	 * changed.
+	 */
+	int mProvedDepth;
+	/**
+	 * The result of the last check, or null if the clauses changed since.
+	 */
+	LBool mLastResult;
+	/**
+	 * True if the frontier level is pushed on the backend.
+	 */
+	boolean mFrontierPushed;
 
 	public HornSolver() {
-		mAllClauses = new HashMap<FunctionSymbol,ArrayList<HornClause>>();
-		mBackend = new SMTInterpol();
+		mAllClauses = new ScopedArrayList<HornClause>();
+		mFormals = new HashMap<FunctionSymbol, TermVariable[]>();
+		mCandidates = new LinkedHashMap<FunctionSymbol, LinkedHashSet<Term>>();
+		mNodes = new ArrayList<UnwindingNode>();
+		mScopeStates = new ArrayList<UnwindingState>();
+		final SMTInterpol backend = new SMTInterpol();
+		mBackend = backend;
+		mLogger = backend.getLogger();
+		setupBackend();
+	}
+
+	private void setupBackend() {
 		mBackend.setOption(":produce-interpolants", Boolean.TRUE);
-//		m_Backend.setOption(":interpolant-check-mode", Boolean.TRUE);
+		mBackend.setOption(":produce-models", Boolean.TRUE);
 		mBackend.setOption(":verbosity", 2);
-//		try {
-//			m_Backend = new LoggingScript(m_Backend, "/tmp/back.smt2", true);
-//		} catch (FileNotFoundException ex) {
-//			throw new RuntimeException("Cannot open temp file.", ex);
-//		}
 	}
 
 	@Override
@@ -155,21 +279,9 @@ public class HornSolver extends NoopScript {
 		mBackend.setOption(opt, value);
 	}
 
-	@Override
-	public void setInfo(String info, Object value) {
-		super.setInfo(info, value);
-		if (info.equals(":status")) {
-			if (value.equals("sat")) {
-				mBackend.setInfo(info, "unsat");
-			} else if (value.equals("unsat")) {
-				mBackend.setInfo(info, "sat");
-			}
-		}
-	}
-
 	@Override
 	public LBool assertTerm(Term term) throws SMTLIBException {
-		term = toPrenex(term);
+		term = toPrenex(new FormulaUnLet().unlet(term));
 		final ArrayList<TermVariable> tvList = new ArrayList<TermVariable>();
 		while (term instanceof QuantifiedFormula) {
 			final QuantifiedFormula qf = (QuantifiedFormula) term;
@@ -179,56 +291,84 @@ public class HornSolver extends NoopScript {
 			tvList.addAll(Arrays.asList(qf.getVariables()));
 			term = qf.getSubformula();
 		}
-		if (isNegatedTerm(term)) {
-			term = ((ApplicationTerm) term).getParameters()[0];
-		} else {
-			term = term("not", term);
-		}
-
-		final ArrayDeque<Term> todo = new ArrayDeque<Term>();
-		final ArrayList<Term> literals = new ArrayList<Term>();
-		todo.addLast(term);
-		while (!todo.isEmpty()) {
-			term = todo.removeFirst();
-			if (term instanceof ApplicationTerm) {
-				final ApplicationTerm appTerm = (ApplicationTerm) term;
-				if (appTerm.getFunction().isIntern()
-					&& appTerm.getFunction().getName().equals("and")) {
-					todo.addAll(Arrays.asList(appTerm.getParameters()));
+
+		final ArrayList<Term> phi = new ArrayList<Term>();
+		final ArrayList<ApplicationTerm> heads = new ArrayList<ApplicationTerm>();
+		final ArrayList<ApplicationTerm> body = new ArrayList<ApplicationTerm>();
+		collectDisjuncts(term, true, heads, body, phi);
+		if (heads.size() > 1) {
+			throw new SMTLIBException("Illegal Horn Clause");
+		}
+		addHornClause(tvList, heads.isEmpty() ? null : heads.get(0), body, phi);
+		return LBool.UNKNOWN;
+	}
+
+	/**
+	 * Split a clause into its disjuncts. Positive predicate applications are heads, negative ones are the body, and
+	 * the negations of all other disjuncts form the constraint of the clause.
+	 */
+	private void collectDisjuncts(Term term, boolean positive, ArrayList<ApplicationTerm> heads,
+			ArrayList<ApplicationTerm> body, ArrayList<Term> phi) {
+		if (term instanceof ApplicationTerm) {
+			final ApplicationTerm appTerm = (ApplicationTerm) term;
+			final FunctionSymbol fs = appTerm.getFunction();
+			final Term[] params = appTerm.getParameters();
+			if (isPredicate(appTerm)) {
+				if (positive) {
+					heads.add(appTerm);
 				} else {
-					literals.add(term);
+					body.add(appTerm);
 				}
-			} else {
-				literals.add(term);
+				return;
 			}
-		}
-		final ArrayList<Term> phi = new ArrayList<Term>();
-		ApplicationTerm head = null;
-		final ArrayList<ApplicationTerm> body = new ArrayList<ApplicationTerm>();
-		for (final Term lit : literals) {
-			if (isNegatedTerm(lit)) {
-				final Term neglit = ((ApplicationTerm) lit).getParameters()[0];
-				if (neglit instanceof ApplicationTerm
-					&& !((ApplicationTerm)neglit).getFunction().isIntern()) {
-					if (head != null) {
-						throw new SMTLIBException("Illegal Horn Clause");
+			switch (fs.isIntern() ? fs.getName() : "") {
+			case "not":
+				collectDisjuncts(params[0], !positive, heads, body, phi);
+				return;
+			case "or":
+				if (positive) {
+					for (final Term p : params) {
+						collectDisjuncts(p, true, heads, body, phi);
 					}
-					head = (ApplicationTerm) neglit;
-					continue;
+					return;
 				}
+				break;
+			case "and":
+				if (!positive) {
+					for (final Term p : params) {
+						collectDisjuncts(p, false, heads, body, phi);
+					}
+					return;
+				}
+				break;
+			case "=>":
+				if (positive) {
+					for (int i = 0; i < params.length - 1; i++) {
+						collectDisjuncts(params[i], false, heads, body, phi);
+					}
+					collectDisjuncts(params[params.length - 1], true, heads, body, phi);
+					return;
+				}
+				break;
+			case "false":
+				if (positive) {
+					return;
+				}
+				break;
+			case "true":
+				if (!positive) {
+					return;
+				}
+				break;
+			default:
+				break;
 			}
-			if (lit instanceof ApplicationTerm
-				&& !((ApplicationTerm)lit).getFunction().isIntern()) {
-				body.add((ApplicationTerm) lit);
-				continue;
-			}
-			phi.add(lit);
 		}
-		if (head == null) {
-			head = (ApplicationTerm) term("false");
-		}
-		addHornClause(tvList, head, body, phi);
-		return LBool.UNKNOWN;
+		phi.add(positive ? term("not", term) : term);
+	}
+
+	private static boolean isPredicate(ApplicationTerm appTerm) {
+		return !appTerm.getFunction().isIntern() && appTerm.getSort().getName().equals("Bool");
 	}
 
 	private Term toPrenex(Term term) {
@@ -277,36 +417,38 @@ public class HornSolver extends NoopScript {
 		}
 		tvList.trimToSize();
 		body.trimToSize();
-		ArrayList<HornClause> clauses = mAllClauses.get(head.getFunction());
-		if (clauses == null) {
-			clauses = new ArrayList<HornClause>(1);
-			mAllClauses.put(head.getFunction(), clauses);
-		}
-		clauses.add(new HornClause(tvList, head, body, phiAsTerm));
+		final HornClause hc = new HornClause(tvList, head, body, phiAsTerm);
+		mAllClauses.add(hc);
+		extendUnwinding(hc);
+		mProvedDepth = 0;
+		mLastResult = null;
+		mSolution = null;
 	}
 
-	private Term translateToBackend(Term phi) {
+	/**
+	 * Translate a term of the Horn problem to the backend, replacing the clause variables by the given constants.
+	 */
+	private Term translateToBackend(Term phi, final Map<TermVariable, Term> subst) {
 		return new TermTransformer() {
 			@Override
 			public void convertApplicationTerm(ApplicationTerm appTerm, Term[] newArgs) {
-				setResult(mBackend.term(appTerm.getFunction().getName(), newArgs));
+				final FunctionSymbol fs = appTerm.getFunction();
+				setResult(mBackend.term(fs.getName(), fs.getIndices(), null, newArgs));
 			}
 
 			@Override
 			public void convert(Term term) {
 				if (term instanceof TermVariable) {
 					final TermVariable tv = (TermVariable) term;
-					final Sort sort = mBackend.sort(tv.getSort().getName());
-					setResult(mBackend.variable(tv.getName(), sort));
-				} else if (term instanceof ConstantTerm) {
-					final Object value = ((ConstantTerm)term).getValue();
-					if (value instanceof BigInteger) {
-						setResult(mBackend.numeral((BigInteger)value));
-					} else if (value instanceof BigDecimal) {
-						setResult(mBackend.decimal((BigDecimal)value));
+					final Term value = subst.get(tv);
+					if (value != null) {
+						setResult(value);
 					} else {
-						throw new AssertionError("Unknown constant: " + value);
+						final Sort sort = mBackend.sort(tv.getSort().getName());
+						setResult(mBackend.variable(tv.getName(), sort));
 					}
+				} else if (term instanceof ConstantTerm) {
+					setResult(translateConstant((ConstantTerm) term, mBackend));
 				} else {
 					super.convert(term);
 				}
@@ -314,107 +456,566 @@ public class HornSolver extends NoopScript {
 		}.transform(phi);
 	}
 
-	private boolean isNegatedTerm(Term lit) {
-		if (!(lit instanceof ApplicationTerm)) {
-			return false;
+	/**
+	 * Translate a solution from the backend to a formula over the front end variables of the same name.
+	 */
+	private Term translateFromBackend(Term phi) {
+		return new TermTransformer() {
+			@Override
+			public void convertApplicationTerm(ApplicationTerm appTerm, Term[] newArgs) {
+				final FunctionSymbol fs = appTerm.getFunction();
+				setResult(HornSolver.this.term(fs.getName(), fs.getIndices(), null, newArgs));
+			}
+
+			@Override
+			public void convert(Term term) {
+				if (term instanceof TermVariable) {
+					final TermVariable tv = (TermVariable) term;
+					setResult(variable(tv.getName(), sort(tv.getSort().getName())));
+				} else if (term instanceof ConstantTerm) {
+					setResult(translateConstant((ConstantTerm) term, HornSolver.this));
+				} else {
+					super.convert(term);
+				}
+			}
+		}.transform(phi);
+	}
+
+	private static Term translateConstant(ConstantTerm term, Script target) {
+		final Object value = term.getValue();
+		if (value instanceof BigInteger) {
+			return target.numeral((BigInteger) value);
+		} else if (value instanceof BigDecimal) {
+			return target.decimal((BigDecimal) value);
+		} else if (value instanceof Rational) {
+			return ((Rational) value).toTerm(target.sort(term.getSort().getName()));
+		} else {
+			throw new AssertionError("Unknown constant: " + value);
+		}
+	}
+
+	/**
+	 * Replace the constants of a node by the formal parameters of its predicate and its enabled constant by true.
+	 * Boolean connectives that become trivial are simplified on the way.
+	 */
+	private Term substitute(Term term, final Map<Term, Term> subst) {
+		return new TermTransformer() {
+			@Override
+			public void convert(Term term) {
+				final Term value = subst.get(term);
+				if (value != null) {
+					setResult(value);
+				} else {
+					super.convert(term);
+				}
+			}
+
+			@Override
+			public void convertApplicationTerm(ApplicationTerm appTerm, Term[] newArgs) {
+				final FunctionSymbol fs = appTerm.getFunction();
+				if (fs.isIntern() && (fs.getName().equals("and") || fs.getName().equals("or"))) {
+					final boolean isAnd = fs.getName().equals("and");
+					final Term neutral = mBackend.term(isAnd ? "true" : "false");
+					final Term absorbing = mBackend.term(isAnd ? "false" : "true");
+					final ArrayList<Term> args = new ArrayList<Term>();
+					for (final Term arg : newArgs) {
+						if (arg == absorbing) {
+							setResult(absorbing);
+							return;
+						} else if (arg != neutral) {
+							args.add(arg);
+						}
+					}
+					setResult(isAnd ? and(args) : or(args));
+				} else if (fs.isIntern() && fs.getName().equals("=>")) {
+					final Term conclusion = newArgs[newArgs.length - 1];
+					final ArrayList<Term> premises = new ArrayList<Term>();
+					for (int i = 0; i < newArgs.length - 1; i++) {
+						if (newArgs[i] == mBackend.term("false")) {
+							setResult(mBackend.term("true"));
+							return;
+						} else if (newArgs[i] != mBackend.term("true")) {
+							premises.add(newArgs[i]);
+						}
+					}
+					if (premises.isEmpty() || conclusion == mBackend.term("true")) {
+						setResult(premises.isEmpty() ? conclusion : mBackend.term("true"));
+					} else {
+						premises.add(conclusion);
+						setResult(mBackend.term("=>", premises.toArray(new Term[premises.size()])));
+					}
+				} else if (fs.isIntern() && fs.getName().equals("not") && isTrueOrFalse(newArgs[0])) {
+					setResult(mBackend.term(newArgs[0] == mBackend.term("true") ? "false" : "true"));
+				} else {
+					super.convertApplicationTerm(appTerm, newArgs);
+				}
+			}
+		}.transform(term);
+	}
+
+	private boolean isTrueOrFalse(Term term) {
+		return term == mBackend.term("true") || term == mBackend.term("false");
+	}
+
+	private Term and(List<Term> args) {
+		if (args.isEmpty()) {
+			return mBackend.term("true");
+		}
+		return args.size() == 1 ? args.get(0) : mBackend.term("and", args.toArray(new Term[args.size()]));
+	}
+
+	private Term or(List<Term> args) {
+		if (args.isEmpty()) {
+			return mBackend.term("false");
+		}
+		return args.size() == 1 ? args.get(0) : mBackend.term("or", args.toArray(new Term[args.size()]));
+	}
+
+	private TermVariable[] getFormals(FunctionSymbol pred) {
+		TermVariable[] formals = mFormals.get(pred);
+		if (formals == null) {
+			final Sort[] sorts = pred.getParameterSorts();
+			formals = new TermVariable[sorts.length];
+			for (int i = 0; i < sorts.length; i++) {
+				formals[i] = mBackend.variable("@" + pred.getName() + "_" + i,
+						mBackend.sort(sorts[i].getName()));
+			}
+			mFormals.put(pred, formals);
+		}
+		return formals;
+	}
+
+	/**
+	 * Instantiate the formal parameters of a lemma with the given backend terms.
+	 */
+	private Term instantiate(FunctionSymbol pred, Term lemma, Term[] args) {
+		if (args.length == 0) {
+			return lemma;
+		}
+		return new FormulaUnLet().unlet(mBackend.let(getFormals(pred), args, lemma));
+	}
+
+	private int mCtr = 0;
+	private Term createConstant(String prefix, Sort sort) {
+		final String name = prefix + mCtr++;
+		final Sort bsort = mBackend.sort(sort.getName());
+		mBackend.declareFun(name, new Sort[0], bsort);
+		return mBackend.term(name);
+	}
+
+	private HashMap<TermVariable, Term> createConstants(List<TermVariable> tvs) {
+		final HashMap<TermVariable, Term> values = new HashMap<TermVariable, Term>();
+		for (final TermVariable tv : tvs) {
+			values.put(tv, createConstant("x", tv.getSort()));
+		}
+		return values;
+	}
+
+	private Term[] translateArgs(ApplicationTerm atom, Map<TermVariable, Term> subst) {
+		final Term[] params = atom.getParameters();
+		final Term[] args = new Term[params.length];
+		for (int i = 0; i < params.length; i++) {
+			args[i] = translateToBackend(params[i], subst);
+		}
+		return args;
+	}
+
+	private UnwindingNode createNode(FunctionSymbol pred) {
+		final Term[] args;
+		if (pred == null) {
+			args = new Term[0];
+		} else {
+			final Sort[] sorts = pred.getParameterSorts();
+			args = new Term[sorts.length];
+			for (int i = 0; i < sorts.length; i++) {
+				args[i] = createConstant("a", sorts[i]);
+			}
+		}
+		final UnwindingNode node = new UnwindingNode(pred, args, createConstant("en", sort("Bool")));
+		mNodes.add(node);
+		return node;
+	}
+
+	private static boolean isClauseFor(HornClause hc, UnwindingNode node) {
+		return hc.mHead == null ? node.mPred == null : hc.mHead.getFunction() == node.mPred;
+	}
+
+	/**
+	 * Instantiate a clause for the predicate of a node with fresh constants. Every body atom of the clause becomes a
+	 * new child of the node, which is not expanded yet.
+	 *
+	 * @return the derivation step as a backend formula.
+	 */
+	private Term createDerivationStep(UnwindingNode node, HornClause hc) {
+		final HashMap<TermVariable, Term> subst = createConstants(hc.mTvs);
+		final ArrayList<Term> conjuncts = new ArrayList<Term>();
+		conjuncts.add(translateToBackend(hc.mPhi, subst));
+		if (hc.mHead != null) {
+			final Term[] headArgs = translateArgs(hc.mHead, subst);
+			for (int i = 0; i < headArgs.length; i++) {
+				conjuncts.add(mBackend.term("=", node.mArgs[i], headArgs[i]));
+			}
+		}
+		for (final ApplicationTerm atom : hc.mBody) {
+			final UnwindingNode child = createNode(atom.getFunction());
+			node.mChildren.add(child);
+			conjuncts.add(child.mEnabled);
+			final Term[] bodyArgs = translateArgs(atom, subst);
+			for (int i = 0; i < bodyArgs.length; i++) {
+				conjuncts.add(mBackend.term("=", child.mArgs[i], bodyArgs[i]));
+			}
+		}
+		return and(conjuncts);
+	}
+
+	/**
+	 * Assert the derivation step of a node on the current scope level of the backend. Every clause for the predicate
+	 * of the node is one disjunct; the "more" literal of the node stands for the clauses added later.
+	 */
+	private void expand(UnwindingNode node) {
+		final ArrayList<Term> disjuncts = new ArrayList<Term>();
+		for (final HornClause hc : mAllClauses) {
+			if (isClauseFor(hc, node)) {
+				disjuncts.add(createDerivationStep(node, hc));
+			}
+		}
+		node.mMore = createConstant("more", sort("Bool"));
+		disjuncts.add(node.mMore);
+		node.mNames.add(assertNamed(mBackend.term("=>", node.mEnabled, or(disjuncts))));
+	}
+
+	/**
+	 * Add a new clause to all expanded nodes of its predicate. The new derivation step is attached to the "more"
+	 * literal of the node on the current scope level, so the rest of the unwinding is kept.
+	 */
+	private void extendUnwinding(HornClause hc) {
+		if (mRoot == null) {
+			return;
+		}
+		popFrontier();
+		final int numNodes = mNodes.size();
+		for (int i = 0; i < numNodes; i++) {
+			final UnwindingNode node = mNodes.get(i);
+			if (node.mMore != null && isClauseFor(hc, node)) {
+				final Term step = createDerivationStep(node, hc);
+				final Term more = createConstant("more", sort("Bool"));
+				node.mNames.add(assertNamed(mBackend.term("=>", node.mMore, mBackend.term("or", step, more))));
+				node.mMore = more;
+			}
 		}
-		final ApplicationTerm appTerm = (ApplicationTerm) lit;
-		return appTerm.getFunction().isIntern()
-				&& appTerm.getFunction().getName().equals("not");
+	}
+
+	/**
+	 * Count the nodes that the expansion of a node creates.
+	 */
+	private int countChildren(UnwindingNode node) {
+		int count = 0;
+		for (final HornClause hc : mAllClauses) {
+			if (isClauseFor(hc, node)) {
+				count += hc.mBody.size();
+			}
+		}
+		return count;
 	}
 
 	private int mClauseCtr = 0;
+	private Term assertNamed(Term term) {
+		final String name = "X" + mClauseCtr++;
+		mBackend.assertTerm(mBackend.annotate(term, new Annotation(":named", name)));
+		return mBackend.term(name);
+	}
+
+	/**
+	 * Expand all nodes of the unwinding that are not expanded yet. Then the frontier nodes and the "more" literals
+	 * are blocked and the root is enabled on a new backend level.
+	 *
+	 * @return false if the expansion would exceed the maximal number of nodes.
+	 */
+	private boolean deepen() {
+		if (mRoot == null) {
+			mRoot = createNode(null);
+		}
+		final ArrayList<UnwindingNode> frontier = new ArrayList<UnwindingNode>();
+		int numNodes = mNodes.size();
+		for (final UnwindingNode node : mNodes) {
+			if (node.mMore == null) {
+				frontier.add(node);
+				numNodes += countChildren(node);
+			}
+		}
+		if (numNodes > mMaxNodes) {
+			return false;
+		}
+		for (final UnwindingNode node : frontier) {
+			expand(node);
+		}
+		mBackend.push(1);
+		mFrontierPushed = true;
+		for (final UnwindingNode node : mNodes) {
+			final Term blocked = node.mMore == null ? node.mEnabled : node.mMore;
+			node.mFrontierNames.add(assertNamed(mBackend.term("not", blocked)));
+		}
+		mRoot.mFrontierNames.add(assertNamed(mRoot.mEnabled));
+		return true;
+	}
+
+	private void popFrontier() {
+		if (mFrontierPushed) {
+			mBackend.pop(1);
+			mFrontierPushed = false;
+			for (final UnwindingNode node : mNodes) {
+				node.mFrontierNames.clear();
+			}
+		}
+	}
+
+	/**
+	 * Turn the tree interpolants of the current unwinding into candidate lemmas for the predicates.
+	 */
+	private void collectLemmas() {
+		final ArrayList<Term> partition = new ArrayList<Term>();
+		final ArrayList<Integer> startOfSubtree = new ArrayList<Integer>();
+		final ArrayList<UnwindingNode> nodes = new ArrayList<UnwindingNode>();
+		mRoot.postOrderTraverse(partition, startOfSubtree, nodes);
+		final int[] sos = new int[startOfSubtree.size()];
+		int pos = 0;
+		for (final Integer i : startOfSubtree) {
+			sos[pos++] = i.intValue();
+		}
+		final Term[] interpolants = mBackend.getInterpolants(partition.toArray(new Term[partition.size()]), sos);
+		final FormulaUnLet unletter = new FormulaUnLet();
+		for (int i = 0; i < interpolants.length; i++) {
+			final UnwindingNode node = nodes.get(i);
+			final TermVariable[] formals = getFormals(node.mPred);
+			final HashMap<Term, Term> subst = new HashMap<Term, Term>();
+			subst.put(node.mEnabled, mBackend.term("true"));
+			for (int j = 0; j < formals.length; j++) {
+				subst.put(node.mArgs[j], formals[j]);
+			}
+			final Term lemma = substitute(unletter.unlet(interpolants[i]), subst);
+			LinkedHashSet<Term> candidates = mCandidates.get(node.mPred);
+			if (candidates == null) {
+				candidates = new LinkedHashSet<Term>();
+				mCandidates.put(node.mPred, candidates);
+			}
+			addConjuncts(lemma, candidates);
+		}
+	}
+
+	private void addConjuncts(Term lemma, LinkedHashSet<Term> candidates) {
+		if (lemma instanceof ApplicationTerm && ((ApplicationTerm) lemma).getFunction().isIntern()
+				&& ((ApplicationTerm) lemma).getFunction().getName().equals("and")) {
+			for (final Term conjunct : ((ApplicationTerm) lemma).getParameters()) {
+				addConjuncts(conjunct, candidates);
+			}
+		} else if (lemma != mBackend.term("true")) {
+			candidates.add(lemma);
+		}
+	}
+
+	/**
+	 * Assert the constraint and the lemmas for the body atoms of a clause instantiated with the given constants.
+	 */
+	private void assertBody(HornClause hc, Map<TermVariable, Term> subst,
+			Map<FunctionSymbol, ArrayList<Term>> lemmas) {
+		mBackend.assertTerm(translateToBackend(hc.mPhi, subst));
+		for (final ApplicationTerm atom : hc.mBody) {
+			final ArrayList<Term> predLemmas = lemmas.get(atom.getFunction());
+			if (predLemmas == null || predLemmas.isEmpty()) {
+				continue;
+			}
+			final Term[] args = translateArgs(atom, subst);
+			for (final Term lemma : predLemmas) {
+				mBackend.assertTerm(instantiate(atom.getFunction(), lemma, args));
+			}
+		}
+	}
+
+	/**
+	 * Compute the largest inductive subset of the candidate lemmas. Lemmas that are not preserved by some clause are
+	 * removed until a fixpoint is reached. If the remaining lemmas refute all query clauses, they are stored as the
+	 * solution.
+	 *
+	 * @return true if a solution was found.
+	 */
+	private boolean houdini() {
+		final LinkedHashMap<FunctionSymbol, ArrayList<Term>> lemmas =
+				new LinkedHashMap<FunctionSymbol, ArrayList<Term>>();
+		for (final Map.Entry<FunctionSymbol, LinkedHashSet<Term>> entry : mCandidates.entrySet()) {
+			lemmas.put(entry.getKey(), new ArrayList<Term>(entry.getValue()));
+		}
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (final HornClause hc : mAllClauses) {
+				if (hc.mHead == null) {
+					continue;
+				}
+				final ArrayList<Term> headLemmas = lemmas.get(hc.mHead.getFunction());
+				if (headLemmas == null || headLemmas.isEmpty()) {
+					continue;
+				}
+				mBackend.push(1);
+				final HashMap<TermVariable, Term> subst = createConstants(hc.mTvs);
+				assertBody(hc, subst, lemmas);
+				final Term[] headArgs = translateArgs(hc.mHead, subst);
+				while (!headLemmas.isEmpty()) {
+					final Term[] instances = new Term[headLemmas.size()];
+					for (int i = 0; i < instances.length; i++) {
+						instances[i] = instantiate(hc.mHead.getFunction(), headLemmas.get(i), headArgs);
+					}
+					mBackend.push(1);
+					mBackend.assertTerm(mBackend.term("not", and(Arrays.asList(instances))));
+					final LBool result = mBackend.checkSat();
+					if (result == LBool.UNSAT) {
+						mBackend.pop(1);
+						break;
+					}
+					changed = true;
+					if (result == LBool.SAT) {
+						final Map<Term, Term> values = mBackend.getValue(instances);
+						final Iterator<Term> it = headLemmas.iterator();
+						for (final Term instance : instances) {
+							it.next();
+							if (values.get(instance) == mBackend.term("false")) {
+								it.remove();
+							}
+						}
+					} else {
+						headLemmas.clear();
+					}
+					mBackend.pop(1);
+				}
+				mBackend.pop(1);
+			}
+		}
+		for (final HornClause hc : mAllClauses) {
+			if (hc.mHead != null) {
+				continue;
+			}
+			mBackend.push(1);
+			assertBody(hc, createConstants(hc.mTvs), lemmas);
+			final LBool result = mBackend.checkSat();
+			mBackend.pop(1);
+			if (result != LBool.UNSAT) {
+				return false;
+			}
+		}
+		mSolution = new LinkedHashMap<FunctionSymbol, Term>();
+		for (final Map.Entry<FunctionSymbol, ArrayList<Term>> entry : lemmas.entrySet()) {
+			if (entry.getKey() != null) {
+				mSolution.put(entry.getKey(), translateFromBackend(and(entry.getValue())));
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public LBool checkSat() {
-		final FormulaUnLet unletter = new FormulaUnLet();
-		final ArrayDeque<DerivationTreeNode> todo =
-				new ArrayDeque<DerivationTreeNode>();
-		DerivationTreeNode root;
-		todo.add(root = new DerivationTreeNode(
-		        (ApplicationTerm) term("false")));
-		while (!todo.isEmpty()) {
-			final DerivationTreeNode n = todo.removeFirst();
-			final ApplicationTerm head = n.mTerm;
-			final ArrayList<HornClause> hclist = mAllClauses.get(head.getFunction());
-			if (hclist.size() > 1) {
-				System.err.println("Cannot solve disjunctive Horn Clauses, yet");
-				return LBool.UNKNOWN;
-			}
-			final HornClause hc = hclist.get(0);
-			final TermVariable[] tvs = hc.mTvs.toArray(new TermVariable[hc.mTvs.size()]);
-			final Term[] freshConstants = createConstants(tvs);
-			final Term[] headParam = head.getParameters();
-			final Term[] hcheadParam = hc.mHead.getParameters();
-			final Term[] eqs = new Term[headParam.length + 1];
-			eqs[0] = hc.mPhi;
-			for (int i = 0; i < head.getParameters().length; i++) {
-				eqs[i + 1] = term("=", headParam[i], hcheadParam[i]);
-			}
-			Term term = eqs.length > 1 ? term("and", eqs) : eqs[0];
-			term = let(tvs, freshConstants, term);
-			term = unletter.transform(term);
-			term = translateToBackend(term);
-			final String name = "X" + mClauseCtr++;
-			term = mBackend.annotate(term, new Annotation(":named", name));
-			mBackend.assertTerm(term);
-			n.setName(mBackend.term(name));
-			//System.err.println("(assert "+term+")");
-
-			n.initChildren(hc.mBody.size());
-			int i = 0;
-			for (final ApplicationTerm appTerm : hc.mBody) {
-				term = unletter.transform(let(tvs, freshConstants, appTerm));
-				todo.add(n.addChild(i++, (ApplicationTerm)term));
-			}
-		}
-		long nanotime = System.nanoTime();
-		final LBool result = mBackend.checkSat();
-		System.err.println("SAT Check Time: " + (System.nanoTime() - nanotime));
-		if (result == LBool.UNSAT) {
-			// Compute solution
-			final ArrayList<Term> partition = new ArrayList<Term>();
-			final ArrayList<Integer> startOfSubtree = new ArrayList<Integer>();
-			root.postOrderTraverse(partition, startOfSubtree);
-			final int[] sos = new int[startOfSubtree.size()];
-			int pos = 0;
-			for (final Integer i : startOfSubtree) {
-				sos[pos++] = i.intValue();
-			}
-			try {
-				nanotime = System.nanoTime();
-				final Term[] solution = mBackend.getInterpolants(
-						partition.toArray(new Term[partition.size()]), sos);
-				System.err.println("Interpolation Time: "
-						+ (System.nanoTime() - nanotime));
-				root.printSolution(solution);
-			} catch (final SMTLIBException ese) {
-				System.err.println(ese);
-				System.exit(1);
-			}
-		}
-		return result == LBool.SAT ? LBool.UNSAT : LBool.SAT;
+		if (mLastResult != null) {
+			return mLastResult;
+		}
+		mSolution = null;
+		popFrontier();
+		LBool result = LBool.UNKNOWN;
+		while (true) {
+			if (houdini()) {
+				result = LBool.SAT;
+				break;
+			}
+			if (mProvedDepth >= MAX_UNWINDINGS) {
+				break;
+			}
+			if (!deepen()) {
+				mLogger.info("Horn: unwinding would exceed %d nodes", mMaxNodes);
+				break;
+			}
+			final LBool unwindingResult = mBackend.checkSat();
+			if (unwindingResult == LBool.SAT) {
+				result = LBool.UNSAT;
+				break;
+			} else if (unwindingResult == LBool.UNKNOWN) {
+				break;
+			}
+			collectLemmas();
+			mProvedDepth++;
+			popFrontier();
+			mLogger.debug("Horn: no derivation of false up to depth %d", mProvedDepth);
+		}
+		mLogger.info("Horn: depth %d, nodes %d, candidate lemmas %d", mProvedDepth, mNodes.size(), countCandidates());
+		mLastResult = result;
+		return result;
 	}
 
-	private int mCtr = 0;
-	private Term[] createConstants(TermVariable[] tvs) {
-		final Term[] values = new Term[tvs.length];
-		for (int i = 0; i < tvs.length; i++) {
-			final String name = "x" + mCtr++;
-			final Sort sort = tvs[i].getSort();
-			declareFun(name, new Sort[0], sort);
-			final Sort bsort = mBackend.sort(sort.getName());
-			mBackend.declareFun(name, new Sort[0], bsort);
-			//System.err.println("(declare-fun "+name+" () "+bsort+")");
-			values[i] = term(name);
+	private int countCandidates() {
+		int count = 0;
+		for (final LinkedHashSet<Term> candidates : mCandidates.values()) {
+			count += candidates.size();
 		}
-		return values;
+		return count;
+	}
+
+	/**
+	 * Get the solution found by the last check-sat. It maps every predicate with a non-trivial solution to a formula
+	 * over the variables returned by {@link #getSolutionParameters(FunctionSymbol)}.
+	 *
+	 * @return the solution, or null if the last check did not return sat.
+	 */
+	public Map<FunctionSymbol, Term> getSolution() {
+		return mSolution;
+	}
+
+	/**
+	 * Get the formal parameters of a predicate that occur free in its solution.
+	 */
+	public TermVariable[] getSolutionParameters(FunctionSymbol pred) {
+		final TermVariable[] formals = getFormals(pred);
+		final TermVariable[] result = new TermVariable[formals.length];
+		for (int i = 0; i < formals.length; i++) {
+			result[i] = variable(formals[i].getName(), sort(formals[i].getSort().getName()));
+		}
+		return result;
+	}
+
+	@Override
+	public void push(int levels) {
+		super.push(levels);
+		popFrontier();
+		for (int i = 0; i < levels; i++) {
+			mAllClauses.beginScope();
+			mScopeStates.add(new UnwindingState());
+		}
+		mBackend.push(levels);
+	}
+
+	@Override
+	public void pop(int levels) throws SMTLIBException {
+		super.pop(levels);
+		popFrontier();
+		for (int i = 0; i < levels; i++) {
+			mAllClauses.endScope();
+		}
+		mBackend.pop(levels);
+		final int remaining = mScopeStates.size() - levels;
+		mScopeStates.get(remaining).restore();
+		mScopeStates.subList(remaining, mScopeStates.size()).clear();
 	}
 
 	@Override
 	public void reset() {
 		super.reset();
 		mBackend.reset();
+		setupBackend();
 		mAllClauses.clear();
+		mFormals.clear();
+		mCandidates.clear();
+		mRoot = null;
+		mNodes.clear();
+		mScopeStates.clear();
+		mFrontierPushed = false;
+		mProvedDepth = 0;
+		mLastResult = null;
+		mSolution = null;
 		mCtr = 0;
 		mClauseCtr = 0;
 	}
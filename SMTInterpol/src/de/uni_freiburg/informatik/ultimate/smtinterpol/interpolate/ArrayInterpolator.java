@@ -54,6 +54,12 @@ public class ArrayInterpolator {
 	private final Theory mTheory;
 	private final int mNumInterpolants;
 	private Set<Term>[] mInterpolants;
+	/**
+	 * The position of the lemma in the proof and the number of auxiliary variables created for it. They are used to
+	 * name the auxiliary variables independently of other lemmas that are interpolated concurrently.
+	 */
+	private final int mLemmaNumber;
+	private int mNumFreshVars;
 
 	/**
 	 * Information about the lemma proof term.
@@ -120,8 +126,9 @@ public class ArrayInterpolator {
 	private TermVariable mDoubleDot;
 
 	@SuppressWarnings("unchecked")
-	public ArrayInterpolator(final Interpolator ipolator) {
+	public ArrayInterpolator(final Interpolator ipolator, final int lemmaNumber) {
 		mInterpolator = ipolator;
+		mLemmaNumber = lemmaNumber;
 		mTheory = ipolator.mTheory;
 		mNumInterpolants = ipolator.mNumInterpolants;
 		mInterpolants = new Set[mNumInterpolants];
@@ -130,6 +137,10 @@ public class ArrayInterpolator {
 		}
 	}
 
+	private TermVariable createFreshTermVariable(final String prefix, final Sort sort) {
+		return mTheory.createFreshTermVariable(prefix, mLemmaNumber + "." + mNumFreshVars++, sort);
+	}
+
 	/**
 	 * For an array lemma, get the diseq.
 	 *
@@ -287,10 +298,10 @@ public class ArrayInterpolator {
 				mIndexPaths.put(paths[i].getIndex(), paths[i]);
 			}
 		}
-		mDoubleDot = mTheory.createFreshTermVariable("ddot", mIndexPaths.keySet().iterator().next().getSort());
+		mDoubleDot = createFreshTermVariable("ddot", mIndexPaths.keySet().iterator().next().getSort());
 		if (mDiseqInfo.getMixedVar() != null) {
 			mRewriteSide = new Term[mNumInterpolants];
-			mRecursionVar = mTheory.createFreshTermVariable("recursive", mStorePath.getPath()[0].getSort());
+			mRecursionVar = createFreshTermVariable("recursive", mStorePath.getPath()[0].getSort());
 			mRecIndexPathInfos = new HashMap<>();
 		} else {
 			// If there are no mixed partitions, we can already determine the way we interpolate. Else, we first have to
@@ -763,7 +774,7 @@ public class ArrayInterpolator {
 			final TermVariable auxVar, final int order, final Term fPi) {
 
 		// Build the interpolant conjuncts (B-path) or disjuncts (A-path) with a dummy for the correct value.
-		final TermVariable vTilde = mTheory.createFreshTermVariable("vTilde", mDiseqInfo.getMixedVar().getSort());
+		final TermVariable vTilde = createFreshTermVariable("vTilde", mDiseqInfo.getMixedVar().getSort());
 		final Term eqTerm = mTheory.term(Interpolator.EQ, mDiseqInfo.getMixedVar(), vTilde);
 		final Term itpClause;
 		if (isAPath) {
@@ -1210,7 +1221,7 @@ public class ArrayInterpolator {
 					}
 					final Term itpClause;
 					final TermVariable cdot = order == 0 ? null
-							: mTheory.createFreshTermVariable("cdot", storePath.mStores.iterator().next().getSort());
+							: createFreshTermVariable("cdot", storePath.mStores.iterator().next().getSort());
 
 					if (storePath.mLeft != null && storePath.mRight != null) { // Inner path
 						Term rewriteLeftAtShared = storePath.mLeft;
@@ -1997,7 +2008,7 @@ public class ArrayInterpolator {
 					final Term itpClause;
 					if (mLemmaInfo.getLemmaType().equals(":read-const-weakeq") && boundary.equals(mDiseq)) {
 						// This is the outer path ending with a const array in mixed read-const-weakeq
-						final TermVariable cdot = mTheory.createFreshTermVariable("cdot", mPathIndex.getSort());
+						final TermVariable cdot = createFreshTermVariable("cdot", mPathIndex.getSort());
 						final Term fPi = buildFPiTerm(isAPath, color, cdot, mIndexDiseqs[color], mIndexEqs[color]);
 						mIndexDiseqs[color] = null;
 						mIndexEqs[color] = null;
@@ -2008,7 +2019,7 @@ public class ArrayInterpolator {
 							rewriteLeftAtShared =
 									mTheory.term("store", rewriteLeftAtShared, idx, buildSelect(right, idx));
 						}
-						final TermVariable cdot = mTheory.createFreshTermVariable("cdot", mPathIndex.getSort());
+						final TermVariable cdot = createFreshTermVariable("cdot", mPathIndex.getSort());
 						final Term fPi = buildFPiTerm(isAPath, color, cdot, mIndexDiseqs[color], mIndexEqs[color]);
 						mIndexDiseqs[color] = null;
 						mIndexEqs[color] = null;
@@ -2200,7 +2211,7 @@ public class ArrayInterpolator {
 				if (recursionPath.mStores != null) {
 					for (final Term index : recursionPath.mStores) {
 						final TermVariable currentRecVar =
-								mTheory.createFreshTermVariable("recursive", mRecursionVar.getSort());
+								createFreshTermVariable("recursive", mRecursionVar.getSort());
 						final Term rewriteAtIndex, rewriteToArray, rewriteWithElement;
 						final WeakPathInfo indexPath;
 						final Set<Term> recPathInterpolantTerms;
@@ -2244,7 +2255,7 @@ public class ArrayInterpolator {
 								rewriteWithElement = buildSelect(rewriteToArray, rewriteAtIndex);
 							}
 						} else { // Case 5.3 (ii)
-							final TermVariable cdot = mTheory.createFreshTermVariable("cdot", index.getSort());
+							final TermVariable cdot = createFreshTermVariable("cdot", index.getSort());
 							rewriteAtIndex = cdot;
 							if (isAPath) {
 								pathInterpolant = mTheory
@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.interpolate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+
+/**
+ * A cache for the interpolants of proof nodes that survives between several calls of getInterpolants. Proof terms are
+ * hash-consed by the theory, so a proof node that occurs in several proofs, e.g., in the proofs of several
+ * check-sat-assuming calls, is the same term every time and its interpolants can be reused. The solver clears the cache
+ * on every assert and pop, so that it does not keep the proofs of old checks alive.
+ *
+ * The interpolant of a proof node for a partition depends on the asserted formulas, on the names in the subtree of the
+ * partition, and on the names outside of it. These are combined into a {@link PartitionKey} that is interned by this
+ * cache, so two calls that split the assertions in the same way for a partition share the cached interpolants, even if
+ * the other partitions of the calls differ. Only interpolants without free variables are stored; the others refer to
+ * the auxiliary variables of mixed literals, which are created anew for every call.
+ *
+ * All tables are bounded by the capacity and evict the least recently used entry. The methods are synchronized, since
+ * the clause information is requested concurrently if the lemmas are interpolated in parallel.
+ */
+public class InterpolantCache {
+
+	/**
+	 * The interned description of a partition. Two partitions with equal descriptions get the same key, so keys are
+	 * compared by identity.
+	 */
+	public static final class PartitionKey {
+		private final List<Object> mDescription;
+
+		PartitionKey(final List<Object> description) {
+			mDescription = description;
+		}
+
+		@Override
+		public String toString() {
+			return mDescription.toString();
+		}
+	}
+
+	/**
+	 * The key of a cached interpolant: a proof node and a partition.
+	 */
+	private static final class NodeKey {
+		private final Term mProofTerm;
+		private final PartitionKey mPartition;
+
+		NodeKey(final Term proofTerm, final PartitionKey partition) {
+			mProofTerm = proofTerm;
+			mPartition = partition;
+		}
+
+		@Override
+		public int hashCode() {
+			return mProofTerm.hashCode() * 31 + mPartition.hashCode();
+		}
+
+		@Override
+		public boolean equals(final Object other) {
+			if (!(other instanceof NodeKey)) {
+				return false;
+			}
+			final NodeKey key = (NodeKey) other;
+			return mProofTerm == key.mProofTerm && mPartition == key.mPartition;
+		}
+	}
+
+	/**
+	 * A map in access order that removes the least recently used entry if it grows beyond the capacity.
+	 */
+	private final class LruMap<K, V> extends LinkedHashMap<K, V> {
+		private static final long serialVersionUID = 1L;
+
+		LruMap() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+			if (size() > mCapacity) {
+				mEvictions++;
+				return true;
+			}
+			return false;
+		}
+	}
+
+	private final int mCapacity;
+	private final LruMap<List<Object>, PartitionKey> mPartitionKeys = new LruMap<>();
+	private final LruMap<Term, InterpolatorClauseInfo> mClauseInfos = new LruMap<>();
+	private final LruMap<Term, InterpolatorAtomInfo> mAtomInfos = new LruMap<>();
+	private final LruMap<Term, Term[]> mProvedClauses = new LruMap<>();
+	private final LruMap<NodeKey, Term> mInterpolants = new LruMap<>();
+
+	private long mHits;
+	private long mMisses;
+	private long mEvictions;
+
+	/**
+	 * Create an empty cache.
+	 *
+	 * @param capacity
+	 *            the maximum number of entries of every table of the cache.
+	 */
+	public InterpolantCache(final int capacity) {
+		mCapacity = capacity;
+	}
+
+	public int getCapacity() {
+		return mCapacity;
+	}
+
+	/**
+	 * Get the interned key for a partition.
+	 *
+	 * @param description
+	 *            the list of everything the interpolants of the partition depend on.
+	 */
+	synchronized PartitionKey getPartitionKey(final List<Object> description) {
+		return mPartitionKeys.computeIfAbsent(description, PartitionKey::new);
+	}
+
+	synchronized InterpolatorClauseInfo getClauseInfo(final Term proofTerm) {
+		return mClauseInfos.computeIfAbsent(proofTerm, InterpolatorClauseInfo::new);
+	}
+
+	synchronized InterpolatorAtomInfo getAtomInfo(final Term atom) {
+		return mAtomInfos.computeIfAbsent(atom, InterpolatorAtomInfo::new);
+	}
+
+	/**
+	 * Look up the interpolants of a proof node. This is a hit only if the interpolants for all partitions are cached.
+	 *
+	 * @param proofTerm
+	 *            the proof node.
+	 * @param partitions
+	 *            the keys of the partitions.
+	 * @param interpolants
+	 *            the array that is filled with the cached interpolants.
+	 * @return the clause proved by the node, or null if the interpolants are not cached.
+	 */
+	synchronized Term[] lookup(final Term proofTerm, final PartitionKey[] partitions, final Term[] interpolants) {
+		final Term[] clause = mProvedClauses.get(proofTerm);
+		if (clause != null) {
+			int i = 0;
+			while (i < partitions.length
+					&& (interpolants[i] = mInterpolants.get(new NodeKey(proofTerm, partitions[i]))) != null) {
+				i++;
+			}
+			if (i == partitions.length) {
+				mHits++;
+				return clause;
+			}
+		}
+		mMisses++;
+		return null;
+	}
+
+	/**
+	 * Store the interpolants of a proof node. Interpolants that contain free variables are not stored.
+	 *
+	 * @param proofTerm
+	 *            the proof node.
+	 * @param clause
+	 *            the clause proved by the node.
+	 * @param partitions
+	 *            the keys of the partitions.
+	 * @param interpolants
+	 *            the interpolants of the node for every partition.
+	 */
+	synchronized void store(final Term proofTerm, final Term[] clause, final PartitionKey[] partitions,
+			final Term[] interpolants) {
+		mProvedClauses.put(proofTerm, clause);
+		for (int i = 0; i < partitions.length; i++) {
+			if (interpolants[i].getFreeVars().length == 0) {
+				mInterpolants.put(new NodeKey(proofTerm, partitions[i]), interpolants[i]);
+			}
+		}
+	}
+
+	/**
+	 * Remove all entries. This is called if the terms of the solver become invalid, e.g., if the logic is reset.
+	 */
+	public synchronized void clear() {
+		mPartitionKeys.clear();
+		mClauseInfos.clear();
+		mAtomInfos.clear();
+		mProvedClauses.clear();
+		mInterpolants.clear();
+	}
+
+	public synchronized long getHits() {
+		return mHits;
+	}
+
+	public synchronized long getMisses() {
+		return mMisses;
+	}
+
+	public synchronized long getEvictions() {
+		return mEvictions;
+	}
+
+	public synchronized int size() {
+		return mInterpolants.size();
+	}
+
+	public synchronized Object[][] getStatistics() {
+		return new Object[][] { { "Hits", mHits }, { "Misses", mMisses }, { "Evictions", mEvictions },
+				{ "Interpolants", mInterpolants.size() }, { "Proof_Nodes", mProvedClauses.size() } };
+	}
+}
@@ -126,7 +126,7 @@ public class InterpolantChecker {
 	 * @return The purified literal with purification variables replaced by constant
 	 *         terms.
 	 */
-	private Term purifyAndFix(Term literal, HashMap<TermVariable, Term> varToTerm,
+	private Term purifyAndFix(Term literal, Map<TermVariable, Term> varToTerm,
 			HashMap<TermVariable, Term> varToFreshTerm) {
 		for (final Entry<TermVariable, Term> e : varToFreshTerm.entrySet()) {
 			final Term term = varToTerm.get(e.getKey());
@@ -156,7 +156,7 @@ public class InterpolantChecker {
 		 * purVarToFreshTerm Get the mapping from all so far used purification variables
 		 * to the terms they replaced.
 		 */
-		final HashMap<TermVariable, Term> purVarToTerm = mInterpolator.mPurifyDefinitions;
+		final Map<TermVariable, Term> purVarToTerm = mInterpolator.mPurifyDefinitions;
 		final HashSet<TermVariable> activeVars = new HashSet<>();
 
 		/*
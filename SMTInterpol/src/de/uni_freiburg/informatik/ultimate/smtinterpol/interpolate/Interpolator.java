@@ -33,6 +33,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import de.uni_freiburg.informatik.ultimate.logic.AnnotatedTerm;
 import de.uni_freiburg.informatik.ultimate.logic.Annotation;
@@ -56,6 +60,7 @@ import de.uni_freiburg.informatik.ultimate.logic.Theory;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.LogProxy;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.convert.SMTAffineTerm;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.interpolate.InterpolantCache.PartitionKey;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.interpolate.InterpolatorClauseInfo.ClauseKind;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.TerminationRequest;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.InfinitesimalNumber;
@@ -64,6 +69,17 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.Infinitesima
  * This interpolator computes the interpolants of a refutation for the partitions specified by the user. It works in a
  * non-recursive way on the proof tree generated during SMT solving.
  *
+ * If more than one thread is requested, the theory lemmas of the proof are interpolated in parallel before the proof
+ * tree is traversed, and the interpolants of a resolution step are combined in parallel for chunks of partitions. The
+ * mixed literals of the lemmas are colored up front in a fixed order and the auxiliary variables of a lemma are named
+ * after its position in the proof, so the result does not depend on the number of threads. Proofs containing
+ * quantifier instantiations are always interpolated sequentially, since their purification variables are shared
+ * between all steps.
+ *
+ * If an {@link InterpolantCache} is set, the interpolants of theory lemmas and of annotated resolution steps are
+ * looked up there before they are computed, and stored there afterwards, so that repeated calls on the same proof or
+ * on proofs that share nodes reuse them.
+ *
  * @author Jochen Hoenicke, Tanja Schindler
  */
 public class Interpolator extends NonRecursive {
@@ -73,6 +89,11 @@ public class Interpolator extends NonRecursive {
 	 */
 	public static final String EQ = "@EQ";
 
+	/**
+	 * The number of partitions that are combined in one fork-join task.
+	 */
+	private static final int PARTITIONS_PER_TASK = 8;
+
 	private final TerminationRequest mCancel;
 
 	InterpolantChecker mChecker;
@@ -107,15 +128,47 @@ public class Interpolator extends NonRecursive {
 	 * </pre>
 	 */
 	int[] mStartOfSubtrees;
-	HashMap<Term, Occurrence> mSymbolPartition;
+	final Set<String>[] mPartitionNames;
+	ConcurrentHashMap<Term, Occurrence> mSymbolPartition;
 	HashMap<String, Integer> mPartitions;
-	HashMap<Term, LitInfo> mAtomOccurenceInfos;
+	ConcurrentHashMap<Term, LitInfo> mAtomOccurenceInfos;
 	HashMap<Term, Term[]> mInterpolants;
-	HashMap<Term, InterpolatorClauseInfo> mClauseTermInfos;
-	HashMap<Term, InterpolatorAtomInfo> mLiteralTermInfos;
+	ConcurrentHashMap<Term, InterpolatorClauseInfo> mClauseTermInfos;
+	ConcurrentHashMap<Term, InterpolatorAtomInfo> mLiteralTermInfos;
 	HashMap<FunctionSymbol, Occurrence> mFunctionSymbolOccurrenceInfos;
-	HashMap<Term, TermVariable> mMixedTermAuxEq;
-	HashMap<TermVariable, Term> mPurifyDefinitions;
+	ConcurrentHashMap<Term, TermVariable> mMixedTermAuxEq;
+	ConcurrentHashMap<TermVariable, Term> mPurifyDefinitions;
+
+	/**
+	 * The number of threads used for interpolation.
+	 */
+	private int mNumThreads = 1;
+	/**
+	 * The pool running the parallel tasks, or null if the proof is interpolated sequentially.
+	 */
+	private ForkJoinPool mPool;
+	/**
+	 * True if the proof contains quantifier instantiations. These proofs are interpolated sequentially.
+	 */
+	private boolean mHasInstantiations;
+	/**
+	 * The theory lemmas of the proof in the order in which they were found, and the position of every lemma in this
+	 * list. The position is used to name the auxiliary variables in the lemma interpolants.
+	 */
+	private final ArrayList<Term> mLemmas = new ArrayList<>();
+	private final HashMap<Term, Integer> mLemmaNumbers = new HashMap<>();
+	/**
+	 * The lemma interpolants that were computed in parallel and not yet used in the proof traversal.
+	 */
+	private final HashMap<Term, Term[]> mLemmaInterpolants = new HashMap<>();
+	/**
+	 * The cache shared with other calls, or null if interpolants are not cached.
+	 */
+	private InterpolantCache mCache;
+	/**
+	 * The keys of the partitions in the shared cache, or null if interpolants are not looked up in the shared cache.
+	 */
+	private PartitionKey[] mPartitionKeys;
 
 	private final HashMap<Term, Term[]> mProvedClauses = new HashMap<>();
 	private final ArrayDeque<Term[]> mProvedClauseStack = new ArrayDeque<>();
@@ -148,6 +201,10 @@ public class Interpolator extends NonRecursive {
 				return;
 			}
 			final InterpolatorClauseInfo proofTermInfo = ((Interpolator) engine).getClauseTermInfo(mProofTerm);
+			if (proofTreeWalker.isSharedCacheNode(mProofTerm, proofTermInfo)
+					&& proofTreeWalker.checkSharedCache(mProofTerm)) {
+				return;
+			}
 			if (proofTermInfo.isResolution()) {
 				((Interpolator) engine).walkResolutionNode(mProofTerm);
 			} else {
@@ -193,6 +250,39 @@ public class Interpolator extends NonRecursive {
 		}
 	}
 
+	/**
+	 * A fork-join task that processes a range of indices. The range is split until a chunk is small enough.
+	 */
+	private static final class RangeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		interface Body {
+			void run(int from, int to);
+		}
+
+		private final Body mBody;
+		private final int mFrom;
+		private final int mTo;
+		private final int mChunkSize;
+
+		RangeTask(final Body body, final int from, final int to, final int chunkSize) {
+			mBody = body;
+			mFrom = from;
+			mTo = to;
+			mChunkSize = chunkSize;
+		}
+
+		@Override
+		protected void compute() {
+			if (mTo - mFrom <= mChunkSize) {
+				mBody.run(mFrom, mTo);
+			} else {
+				final int mid = (mFrom + mTo) >>> 1;
+				invokeAll(new RangeTask(mBody, mFrom, mid, mChunkSize), new RangeTask(mBody, mid, mTo, mChunkSize));
+			}
+		}
+	}
+
 	public Interpolator(final LogProxy logger, final Script checkingSolver, final Collection<Term> allAssertions,
 			final Theory theory, final Set<String>[] partitions, final int[] startOfSubTrees,
 			final TerminationRequest cancel) {
@@ -217,24 +307,63 @@ public class Interpolator extends NonRecursive {
 		mFullOccurrence.occursIn(-1);
 
 		mStartOfSubtrees = startOfSubTrees;
-		mSymbolPartition = new HashMap<>();
-		mAtomOccurenceInfos = new HashMap<>();
+		mPartitionNames = partitions;
+		mSymbolPartition = new ConcurrentHashMap<>();
+		mAtomOccurenceInfos = new ConcurrentHashMap<>();
 		mInterpolants = new HashMap<>();
-		mClauseTermInfos = new HashMap<>();
-		mLiteralTermInfos = new HashMap<>();
+		mClauseTermInfos = new ConcurrentHashMap<>();
+		mLiteralTermInfos = new ConcurrentHashMap<>();
 		mFunctionSymbolOccurrenceInfos = new HashMap<>();
-		mMixedTermAuxEq = new HashMap<>();
-		mPurifyDefinitions = new HashMap<>();
+		mMixedTermAuxEq = new ConcurrentHashMap<>();
+		mPurifyDefinitions = new ConcurrentHashMap<>();
 	}
 
 	public LogProxy getLogger() {
 		return mLogger;
 	}
 
+	/**
+	 * Set the number of threads used to interpolate theory lemmas and to combine the partitions of resolution steps.
+	 *
+	 * @param numThreads
+	 *            the number of threads; 1 interpolates in the calling thread.
+	 */
+	public void setNumThreads(final int numThreads) {
+		mNumThreads = numThreads;
+	}
+
+	/**
+	 * Set the cache that is shared between several calls of getInterpolants.
+	 *
+	 * @param cache
+	 *            the cache, or null to compute all interpolants.
+	 */
+	public void setCache(final InterpolantCache cache) {
+		mCache = cache;
+	}
+
 	public Term[] getInterpolants(final Term proofTree) {
 		colorTermsInAssertions();
 		colorLiterals(proofTree);
-		final Term[] interpolants = interpolate(proofTree);
+		if (mCache != null && !mHasInstantiations) {
+			mPartitionKeys = createPartitionKeys();
+		}
+		final Term[] interpolants;
+		if (mNumThreads > 1 && !mHasInstantiations) {
+			mPool = new ForkJoinPool(mNumThreads);
+		}
+		try {
+			if (mPool != null) {
+				colorLemmaLiterals();
+				interpolateLemmas();
+			}
+			interpolants = interpolate(proofTree);
+		} finally {
+			if (mPool != null) {
+				mPool.shutdown();
+				mPool = null;
+			}
+		}
 		for (int i = 0; i < interpolants.length; i++) {
 			interpolants[i] = unfoldLAs(interpolants[i]);
 		}
@@ -300,6 +429,43 @@ public class Interpolator extends NonRecursive {
 	 */
 	@SuppressWarnings("unused")
 	private void walkLeafNode(final Term leaf) {
+		if (mCancel.isTerminationRequested()) {
+			throw new SMTLIBException("Timeout exceeded");
+		}
+		final InterpolatorClauseInfo leafTermInfo = getClauseTermInfo(leaf);
+		final Term[] clause = leafTermInfo.getLiterals();
+		Term[] interpolants = mLemmaInterpolants.remove(leaf);
+		if (interpolants == null) {
+			interpolants = computeLeafInterpolants(leaf);
+		}
+
+		// add the interpolants to the stack and the cache
+		mInterpolated.add(interpolants);
+		mProvedClauseStack.add(clause);
+		mInterpolants.put(leaf, interpolants);
+		mProvedClauses.put(leaf, clause);
+		if (mPartitionKeys != null && isSharedCacheNode(leaf, leafTermInfo)) {
+			mCache.store(leaf, clause, mPartitionKeys, interpolants);
+		}
+		mLogger.debug("Interpolating leaf %s %s yields ...", leaf.hashCode(), leaf);
+		for (int i = 0; i <= mNumInterpolants - 1; i++) {
+			mLogger.debug(interpolants[i]);
+		}
+
+		if ((true || Config.DEEP_CHECK_INTERPOLANTS) && mChecker != null) {
+			mChecker.checkInductivity(leafTermInfo.getLiterals(), interpolants);
+		}
+	}
+
+	/**
+	 * Compute the interpolants of an input clause or a theory lemma. This is called concurrently for different lemmas
+	 * if the lemmas are interpolated in parallel.
+	 *
+	 * @param leaf
+	 *            the proof term of the leaf.
+	 * @return the interpolants of the leaf.
+	 */
+	private Term[] computeLeafInterpolants(final Term leaf) {
 		if (mCancel.isTerminationRequested()) {
 			throw new SMTLIBException("Timeout exceeded");
 		}
@@ -346,7 +512,7 @@ public class Interpolator extends NonRecursive {
 			case ":weakeq-ext":
 			case ":const-weakeq":
 			case ":read-const-weakeq": {
-				final ArrayInterpolator ipolator = new ArrayInterpolator(this);
+				final ArrayInterpolator ipolator = new ArrayInterpolator(this, getLemmaNumber(leaf));
 				interpolants = ipolator.computeInterpolants(leafTermInfo);
 				break;
 			}
@@ -369,19 +535,120 @@ public class Interpolator extends NonRecursive {
 		} else {
 			throw new UnsupportedOperationException("Cannot interpolate " + leaf);
 		}
+		return interpolants;
+	}
 
-		// add the interpolants to the stack and the cache
-		mInterpolated.add(interpolants);
-		mProvedClauseStack.add(clause);
-		mInterpolants.put(leaf, interpolants);
-		mProvedClauses.put(leaf, clause);
-		mLogger.debug("Interpolating leaf %s %s yields ...", leaf.hashCode(), leaf);
-		for (int i = 0; i <= mNumInterpolants - 1; i++) {
-			mLogger.debug(interpolants[i]);
+	/**
+	 * Get the position of a theory lemma in the proof. The lemmas are numbered when the literals are colored; lemmas
+	 * that are only found later get the next free number.
+	 */
+	private int getLemmaNumber(final Term lemma) {
+		Integer number = mLemmaNumbers.get(lemma);
+		if (number == null) {
+			number = mLemmas.size();
+			mLemmas.add(lemma);
+			mLemmaNumbers.put(lemma, number);
+		}
+		return number;
+	}
+
+	/**
+	 * Compute the interpolants of all theory lemmas of the proof in parallel. The proof traversal picks them up from
+	 * mLemmaInterpolants.
+	 */
+	private void interpolateLemmas() {
+		final ArrayList<Term> lemmas = new ArrayList<>(mLemmas.size());
+		for (final Term lemma : mLemmas) {
+			if (mPartitionKeys == null || !lookupSharedCache(lemma)) {
+				lemmas.add(lemma);
+			}
+		}
+		final Term[][] interpolants = new Term[lemmas.size()][];
+		runInParallel(interpolants.length, 1, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				interpolants[i] = computeLeafInterpolants(lemmas.get(i));
+			}
+		});
+		for (int i = 0; i < interpolants.length; i++) {
+			mLemmaInterpolants.put(lemmas.get(i), interpolants[i]);
 		}
+	}
 
-		if ((true || Config.DEEP_CHECK_INTERPOLANTS) && mChecker != null) {
-			mChecker.checkInductivity(leafTermInfo.getLiterals(), interpolants);
+	/**
+	 * Compute the keys of the partitions in the shared cache. The interpolant of a partition depends on the
+	 * assertions, on the names of all partitions, and on the names and the tree structure of the subtree of the
+	 * partition. Unnamed input clauses belong to the first partition, so it is also recorded whether the subtree
+	 * contains it.
+	 */
+	private PartitionKey[] createPartitionKeys() {
+		final List<Term> assertions = new ArrayList<>(mAllAssertions);
+		final Set<String> allNames = new TreeSet<>(mPartitions.keySet());
+		final Object[] subtrees = new Object[mNumInterpolants];
+		final PartitionKey[] keys = new PartitionKey[mNumInterpolants];
+		for (int i = 0; i < mNumInterpolants; i++) {
+			final List<Object> subtree = new ArrayList<>();
+			subtree.add(mStartOfSubtrees[i] == 0);
+			subtree.add(new TreeSet<>(mPartitionNames[i]));
+			for (int child = i - 1; child >= mStartOfSubtrees[i]; child = mStartOfSubtrees[child] - 1) {
+				subtree.add(subtrees[child]);
+			}
+			subtrees[i] = subtree;
+			keys[i] = mCache.getPartitionKey(Arrays.asList(assertions, allNames, subtree));
+		}
+		return keys;
+	}
+
+	/**
+	 * Check if the interpolants of a proof node are worth sharing between calls. These are the theory lemmas and the
+	 * annotated resolution steps; input clauses are cheaper to interpolate than to look up.
+	 */
+	private boolean isSharedCacheNode(final Term proofTerm, final InterpolatorClauseInfo info) {
+		if (info.isResolution()) {
+			return proofTerm instanceof AnnotatedTerm;
+		}
+		return info.getLeafKind() == ClauseKind.LEMMA;
+	}
+
+	/**
+	 * Look up the interpolants of a proof node in the shared cache and record them for this call.
+	 *
+	 * @return true iff the interpolants were found.
+	 */
+	private boolean lookupSharedCache(final Term proofTerm) {
+		final Term[] interpolants = new Term[mNumInterpolants];
+		final Term[] clause = mCache.lookup(proofTerm, mPartitionKeys, interpolants);
+		if (clause == null) {
+			return false;
+		}
+		mInterpolants.put(proofTerm, interpolants);
+		mProvedClauses.put(proofTerm, clause);
+		return true;
+	}
+
+	/**
+	 * Check if a proof node was interpolated in an earlier call. If so, add the interpolant array to the Interpolated
+	 * stack.
+	 *
+	 * @return true iff the interpolants were found in the shared cache.
+	 */
+	private boolean checkSharedCache(final Term proofTerm) {
+		if (mPartitionKeys == null || mLemmaInterpolants.containsKey(proofTerm) || !lookupSharedCache(proofTerm)) {
+			return false;
+		}
+		mInterpolated.add(mInterpolants.get(proofTerm));
+		mProvedClauseStack.add(mProvedClauses.get(proofTerm));
+		return true;
+	}
+
+	/**
+	 * Run a task for the indices from 0 to size in chunks. The chunks run in parallel if a pool was created,
+	 * otherwise the task runs in the calling thread.
+	 */
+	private void runInParallel(final int size, final int chunkSize, final RangeTask.Body body) {
+		if (mPool == null || size <= chunkSize) {
+			body.run(0, size);
+		} else {
+			mPool.invoke(new RangeTask(body, 0, size, chunkSize));
 		}
 	}
 
@@ -408,7 +675,7 @@ public class Interpolator extends NonRecursive {
 	 *            the pivot of the resolution step
 	 */
 	private void combine(final Term pivotAtom) {
-		final LitInfo pivInfo = mAtomOccurenceInfos.get(pivotAtom);
+		final LitInfo pivInfo = getAtomOccurenceInfo(pivotAtom);
 
 		final Term[] antecedentInterp = collectInterpolated();
 		final Term[] primInterp = collectInterpolated();
@@ -418,8 +685,22 @@ public class Interpolator extends NonRecursive {
 		final Term[] primClause = mProvedClauseStack.removeLast();
 		final Term[] provedClause = computeResolution(primClause, antecedentClause, pivotAtom);
 
+		runInParallel(mNumInterpolants, PARTITIONS_PER_TASK,
+				(from, to) -> combinePartitions(pivotAtom, pivInfo, primInterp, antecedentInterp, provedClause, interp, from, to));
+
+		// add the interpolants and the proved clause to the stack
+		mProvedClauseStack.add(provedClause);
+		mInterpolated.add(interp);
+	}
+
+	/**
+	 * Combine the interpolants preceding a resolution step for a range of partitions.
+	 */
+	private void combinePartitions(final Term pivotAtom, final LitInfo pivInfo, final Term[] primInterp,
+			final Term[] antecedentInterp, final Term[] provedClause, final Term[] interp, final int from,
+			final int to) {
 		final InterpolantPurifier purifier = new InterpolantPurifier(this);
-		for (int i = 0; i < mNumInterpolants; i++) {
+		for (int i = from; i < to; i++) {
 			mLogger.debug("Pivot %3$s%4$s on interpolants %1$s and %2$s gives...", primInterp[i], antecedentInterp[i],
 					pivotAtom, pivInfo);
 			if (pivInfo.isALocal(i)) {
@@ -445,10 +726,6 @@ public class Interpolator extends NonRecursive {
 			interp[i] = addQuantifier(interp[i], i, provedClause);
 			mLogger.debug(interp[i]);
 		}
-
-		// add the interpolants and the proved clause to the stack
-		mProvedClauseStack.add(provedClause);
-		mInterpolated.add(interp);
 	}
 
 	/**
@@ -468,6 +745,9 @@ public class Interpolator extends NonRecursive {
 
 		mInterpolants.put(proofTerm, interpolants);
 		mProvedClauses.put(proofTerm, mProvedClauseStack.getLast());
+		if (mPartitionKeys != null) {
+			mCache.store(proofTerm, mProvedClauseStack.getLast(), mPartitionKeys, interpolants);
+		}
 		mLogger.debug("...which is the resulting interpolant for Term %s ", proofTerm.hashCode());
 
 	}
@@ -792,11 +1072,20 @@ public class Interpolator extends NonRecursive {
 						: proofTerm;
 				final Term[] resArgs = ((ApplicationTerm) resolutionTerm).getParameters();
 				// recursively go through the sub proofs
-				todoStack.add(resArgs[1]);
-				todoStack.add(resArgs[2]);
+				if (seen.add(resArgs[1])) {
+					todoStack.add(resArgs[1]);
+				}
+				if (seen.add(resArgs[2])) {
+					todoStack.add(resArgs[2]);
+				}
 			} else {
 				assert proofTermInfo.isLeaf();
-				if (proofTermInfo.getLeafKind() == ClauseKind.INPUT) {
+				if (proofTermInfo.getLeafKind() == ClauseKind.LEMMA) {
+					getLemmaNumber(proofTerm);
+					if (":inst".equals(proofTermInfo.getLemmaType())) {
+						mHasInstantiations = true;
+					}
+				} else if (proofTermInfo.getLeafKind() == ClauseKind.INPUT) {
 					// Color the literals
 					final String source = proofTermInfo.getSource();
 					final Term[] lits = proofTermInfo.getLiterals();
@@ -822,6 +1111,22 @@ public class Interpolator extends NonRecursive {
 		}
 	}
 
+	/**
+	 * Color the mixed literals of all theory lemmas in the order of the lemmas. This fixes the auxiliary variables of
+	 * the mixed literals before the lemmas are interpolated in parallel.
+	 */
+	private void colorLemmaLiterals() {
+		for (final Term lemma : mLemmas) {
+			for (final Term lit : getClauseTermInfo(lemma).getLiterals()) {
+				final Term atom = getAtom(lit);
+				final InterpolatorAtomInfo atomInfo = getAtomTermInfo(atom);
+				if (atomInfo.isCCEquality() || atomInfo.isLAEquality() || atomInfo.isBoundConstraint()) {
+					getAtomOccurenceInfo(atom);
+				}
+			}
+		}
+	}
+
 	Occurrence getOccurrence(final FunctionSymbol func) {
 		if (func.isIntern() && !func.getName().startsWith("@AUX") && !func.getName().startsWith("@skolem")) {
 			return mFullOccurrence;
@@ -960,8 +1265,14 @@ public class Interpolator extends NonRecursive {
 		assert !isNegatedTerm(atom);
 		LitInfo result = mAtomOccurenceInfos.get(atom);
 		if (result == null) {
-			mLogger.info("colorLiteral: " + atom);
-			result = colorMixedLiteral(atom);
+			// the auxiliary variable of a mixed literal must be created only once
+			synchronized (mAtomOccurenceInfos) {
+				result = mAtomOccurenceInfos.get(atom);
+				if (result == null) {
+					mLogger.info("colorLiteral: " + atom);
+					result = colorMixedLiteral(atom);
+				}
+			}
 		}
 		return result;
 	}
@@ -994,12 +1305,12 @@ public class Interpolator extends NonRecursive {
 
 		final List<Term> subterms = getSubTermsForAtom(atom);
 		final LitInfo info = computeMixedOccurrence(subterms);
-		mAtomOccurenceInfos.put(atom, info);
 
 		final BitSet shared = new BitSet();
 		shared.or(info.mInA);
 		shared.or(info.mInB);
 		if (shared.nextClearBit(0) >= mNumInterpolants) {
+			mAtomOccurenceInfos.put(atom, info);
 			return info;
 		}
 
@@ -1031,6 +1342,8 @@ public class Interpolator extends NonRecursive {
 				info.mAPart[part] = sumApart;
 			}
 		}
+		// publish the info only when it is complete, since other threads may read it
+		mAtomOccurenceInfos.put(atom, info);
 		return info;
 	}
 
@@ -1487,22 +1800,18 @@ public class Interpolator extends NonRecursive {
 	 * lemmata, but also for single literals.
 	 */
 	InterpolatorClauseInfo getClauseTermInfo(final Term term) {
-		if (mClauseTermInfos.containsKey(term)) {
-			return mClauseTermInfos.get(term);
+		if (mCache != null) {
+			return mClauseTermInfos.computeIfAbsent(term, mCache::getClauseInfo);
 		}
-		final InterpolatorClauseInfo info = new InterpolatorClauseInfo(term);
-		mClauseTermInfos.put(term, info);
-		return info;
+		return mClauseTermInfos.computeIfAbsent(term, InterpolatorClauseInfo::new);
 	}
 
 	InterpolatorAtomInfo getAtomTermInfo(final Term term) {
 		assert !isNegatedTerm(term);
-		if (mLiteralTermInfos.containsKey(term)) {
-			return mLiteralTermInfos.get(term);
+		if (mCache != null) {
+			return mLiteralTermInfos.computeIfAbsent(term, mCache::getAtomInfo);
 		}
-		final InterpolatorAtomInfo info = new InterpolatorAtomInfo(term);
-		mLiteralTermInfos.put(term, info);
-		return info;
+		return mLiteralTermInfos.computeIfAbsent(term, InterpolatorAtomInfo::new);
 	}
 
 	/**
@@ -1620,7 +1929,7 @@ public class Interpolator extends NonRecursive {
 	 * @param term the term to replace by a variable
 	 * @return the term variable.
 	 */
-	public TermVariable getOrCreatePurificationVariable(Term term) {
+	public synchronized TermVariable getOrCreatePurificationVariable(Term term) {
 		TermVariable auxVar = mMixedTermAuxEq.get(term);
 		if (auxVar == null) {
 			// Create fresh variable if it didn't exists.
@@ -1765,6 +2074,10 @@ public class Interpolator extends NonRecursive {
 	 * @return The modified interpolant.
 	 */
 	private Term addQuantifier(Term interpolant, int partition, Term[] clause) {
+		if (mPurifyDefinitions.isEmpty()) {
+			// there are no auxiliary variables that could be unsupported
+			return interpolant;
+		}
 		// Sort unsupported variables in dependency order.
 
 		// Insert quantifiers for unsupported variables in inverse dependency order.
@@ -28,6 +28,7 @@ import de.uni_freiburg.informatik.ultimate.logic.LetTerm;
 import de.uni_freiburg.informatik.ultimate.logic.NonRecursive;
 import de.uni_freiburg.informatik.ultimate.logic.QuantifiedFormula;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.util.datastructures.TermIdSet;
 
 /**
  * The SymbolCollector collects all function symbols occuring in a term. This non-recursively walks over a term and its
@@ -41,7 +42,7 @@ import de.uni_freiburg.informatik.ultimate.logic.Term;
 public class SymbolCollector extends NonRecursive {
 
 	private HashSet<FunctionSymbol> mSymbols = new HashSet<FunctionSymbol>();
-	private HashSet<Term> mVisited = new HashSet<Term>();
+	private TermIdSet mVisited = new TermIdSet();
 
 	/**
 	 * Walk non-recursively over terms, and collect function symbols. Also walks through function definitions for
@@ -110,7 +111,7 @@ public class SymbolCollector extends NonRecursive {
 	public Set<FunctionSymbol> getSymbols() {
 		final Set<FunctionSymbol> result = mSymbols;
 		mSymbols = new HashSet<>();
-		mVisited = new HashSet<>();
+		mVisited = new TermIdSet();
 		return result;
 	}
 }
@@ -49,6 +49,13 @@ public class FiniteSortInterpretation implements SortInterpretation {
 		return t.term(t.getFunctionWithResult("@" + idx, null, s));
 	}
 
+	/**
+	 * Get the number of elements of the universe.
+	 */
+	int getSize() {
+		return mSize;
+	}
+
 	@Override
 	public void register(Term term) {
 		assert ((ApplicationTerm) term).getFunction().isModelValue();
@@ -65,7 +72,7 @@ public class FiniteSortInterpretation implements SortInterpretation {
 	public Term getModelValue(final int idx, final Sort sort) {
 		assert idx >= 0;
 		final Theory theory = sort.getTheory();
-		mSize = Math.max(mSize, idx);
+		mSize = Math.max(mSize, idx + 1);
 		return theory.term(theory.getFunctionWithResult("@" + idx, null, sort));
 	}
 }
@@ -18,20 +18,29 @@
  */
 package de.uni_freiburg.informatik.ultimate.smtinterpol.model;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import de.uni_freiburg.informatik.ultimate.logic.ApplicationTerm;
 import de.uni_freiburg.informatik.ultimate.logic.DataType;
 import de.uni_freiburg.informatik.ultimate.logic.DataType.Constructor;
 import de.uni_freiburg.informatik.ultimate.logic.FunctionSymbol;
+import de.uni_freiburg.informatik.ultimate.logic.QuantifiedFormula;
 import de.uni_freiburg.informatik.ultimate.logic.Rational;
 import de.uni_freiburg.informatik.ultimate.logic.SMTLIBConstants;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
 import de.uni_freiburg.informatik.ultimate.logic.Sort;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
 import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
@@ -47,8 +56,9 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.cclosure.DataTypeT
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.EprTheory;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.EprTheorySettings;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.QuantClause;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.QuantifierTheory;
-import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.xor.XorTheory;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.xor.IXorTheory;
 
 /**
  * A model represented as injection between integers and domain values. The integers should be positive. Furthermore,
@@ -67,6 +77,36 @@ public class Model implements de.uni_freiburg.informatik.ultimate.logic.Model {
 
 	private final ModelEvaluator mEval;
 
+	/**
+	 * The values of the closed terms evaluated so far. They are shared by all evaluators of this model.
+	 */
+	final ConcurrentHashMap<Term, Term> mValueCache = new ConcurrentHashMap<>();
+
+	/**
+	 * The values of defined functions applied to argument values. They are shared by all evaluators of this model.
+	 */
+	private final ConcurrentHashMap<FunctionSymbol, Map<Index, Term>> mDefinitionValues = new ConcurrentHashMap<>();
+
+	/**
+	 * The domains of the quantified formulas evaluated so far.
+	 */
+	private final ConcurrentHashMap<QuantifiedFormula, QuantifierDomain> mQuantifierDomains = new ConcurrentHashMap<>();
+
+	/**
+	 * The model values occurring in the function tables and definitions, computed on demand.
+	 */
+	private Map<Sort, Set<Term>> mRelevantValues;
+
+	/**
+	 * The number of threads that evaluate an array of terms.
+	 */
+	private int mNumThreads = 1;
+
+	/**
+	 * The minimal number of terms per thread for parallel evaluation.
+	 */
+	private static final int MIN_TERMS_PER_THREAD = 64;
+
 	public Model(final Clausifier clausifier, final Theory theory) {
 		mTheory = theory;
 		mSorts.put(theory.getBooleanSort(), new BoolSortInterpretation());
@@ -97,6 +137,7 @@ public class Model implements de.uni_freiburg.informatik.ultimate.logic.Model {
 		LinArSolve la = null;
 		ArrayTheory array = null;
 		DataTypeTheory datatype = null;
+		QuantifierTheory quantTheory = null;
 		for (final ITheory theorySolver : clausifier.getEngine().getAttachedTheories()) {
 			if (theorySolver instanceof CClosure) {
 				cc = (CClosure) theorySolver;
@@ -107,14 +148,12 @@ public class Model implements de.uni_freiburg.informatik.ultimate.logic.Model {
 			} else if (theorySolver instanceof DataTypeTheory) {
 				datatype = (DataTypeTheory) theorySolver;
 			} else if (theorySolver instanceof QuantifierTheory) {
-				if (!((QuantifierTheory) theorySolver).getQuantClauses().isEmpty()) {
-					throw new UnsupportedOperationException("Modelproduction for quantifier theory not implemented.");
-				}
+				quantTheory = (QuantifierTheory) theorySolver;
 			} else if (theorySolver instanceof EprTheory) {
 				if (!EprTheorySettings.FullInstatiationMode) {
 					throw new UnsupportedOperationException("Modelproduction for EPR theory not implemented.");
 				}
-			} else if (theorySolver instanceof XorTheory) {
+			} else if (theorySolver instanceof IXorTheory) {
 				// ignore
 			} else {
 				throw new InternalError("Unknown theory: " + theorySolver);
@@ -133,6 +172,35 @@ public class Model implements de.uni_freiburg.informatik.ultimate.logic.Model {
 			}
 		}
 		mEval = new ModelEvaluator(this);
+		if (quantTheory != null) {
+			checkQuantifiedClauses(quantTheory);
+		}
+	}
+
+	/**
+	 * Check that the model satisfies the quantified clauses. Clauses that contain a true ground literal are skipped.
+	 * The clauses are evaluated one after another, sharing the memoised values, and the check stops at the first
+	 * violated clause.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             if a clause is violated or cannot be evaluated.
+	 */
+	private void checkQuantifiedClauses(final QuantifierTheory quantTheory) {
+		for (final QuantClause clause : quantTheory.getQuantClauses()) {
+			if (clause.hasTrueGroundLits()) {
+				continue;
+			}
+			final Term value;
+			try {
+				value = mEval.evaluate(mTheory.forall(clause.getVars(), clause.toTerm(mTheory)));
+			} catch (final SMTLIBException ex) {
+				throw new UnsupportedOperationException(
+						"Modelproduction for quantifier theory not implemented: " + ex.getMessage());
+			}
+			if (value != mTheory.mTrue) {
+				throw new UnsupportedOperationException("Model does not satisfy quantified clause " + clause);
+			}
+		}
 	}
 
 	public boolean checkTypeValues(final LogProxy logger) {
@@ -161,7 +229,52 @@ public class Model implements de.uni_freiburg.informatik.ultimate.logic.Model {
 		return correct;
 	}
 
-	public Term getModelValue(final int index, final Sort sort) {
+	/**
+	 * Set the number of threads used to evaluate an array of terms.
+	 *
+	 * @param numThreads
+	 *            the number of threads; 1 evaluates in the calling thread.
+	 */
+	public void setNumThreads(final int numThreads) {
+		mNumThreads = numThreads;
+	}
+
+	Map<Index, Term> getDefinitionValues(final FunctionSymbol fs) {
+		return mDefinitionValues.computeIfAbsent(fs, f -> new ConcurrentHashMap<>());
+	}
+
+	QuantifierDomain getQuantifierDomain(final QuantifiedFormula formula) {
+		return mQuantifierDomains.computeIfAbsent(formula, QuantifierDomain::new);
+	}
+
+	/**
+	 * Get the values of an uninterpreted sort that occur in the function tables or in the definitions of functions.
+	 */
+	synchronized Set<Term> getRelevantValues(final Sort sort) {
+		if (mRelevantValues == null) {
+			mRelevantValues = new HashMap<>();
+			for (final FunctionValue value : mFuncVals.values()) {
+				if (value.getDefault() != null) {
+					QuantifierDomain.collectModelValues(value.getDefault(), mRelevantValues);
+				}
+				for (final Map.Entry<Index, Term> entry : value.values().entrySet()) {
+					for (final Term arg : entry.getKey().toArray()) {
+						QuantifierDomain.collectModelValues(arg, mRelevantValues);
+					}
+					QuantifierDomain.collectModelValues(entry.getValue(), mRelevantValues);
+				}
+			}
+			for (final FunctionSymbol fs : mTheory.getDeclaredFunctions().values()) {
+				if (fs.getDefinition() != null) {
+					QuantifierDomain.collectModelValues(fs.getDefinition(), mRelevantValues);
+				}
+			}
+		}
+		final Set<Term> values = mRelevantValues.get(sort);
+		return values == null ? Collections.emptySet() : values;
+	}
+
+	public synchronized Term getModelValue(final int index, final Sort sort) {
 		return provideSortInterpretation(sort).getModelValue(index, sort);
 	}
 
@@ -173,7 +286,7 @@ public class Model implements de.uni_freiburg.informatik.ultimate.logic.Model {
 		return getModelValue(1, sort);
 	}
 
-	public Term extendFresh(final Sort sort) {
+	public synchronized Term extendFresh(final Sort sort) {
 		return provideSortInterpretation(sort).extendFresh(sort);
 	}
 
@@ -280,13 +393,60 @@ public class Model implements de.uni_freiburg.informatik.ultimate.logic.Model {
 
 	@Override
 	public Map<Term, Term> evaluate(final Term[] input) {
+		final Term[] results = new Term[input.length];
+		final int numThreads = Math.min(mNumThreads, input.length / MIN_TERMS_PER_THREAD);
+		if (numThreads > 1) {
+			evaluateParallel(input, results, numThreads);
+		} else {
+			for (int i = 0; i < input.length; i++) {
+				results[i] = evaluate(input[i]);
+			}
+		}
 		final LinkedHashMap<Term, Term> values = new LinkedHashMap<>();
-		for (final Term t : input) {
-			values.put(t, evaluate(t));
+		for (int i = 0; i < input.length; i++) {
+			values.put(input[i], results[i]);
 		}
 		return values;
 	}
 
+	/**
+	 * Evaluate the terms in several threads. Every thread uses its own evaluator; the memoised values are shared.
+	 */
+	private void evaluateParallel(final Term[] input, final Term[] results, final int numThreads) {
+		final ForkJoinPool pool = new ForkJoinPool(numThreads);
+		try {
+			final List<Callable<Void>> tasks = new ArrayList<>();
+			final int chunkSize = (input.length + numThreads - 1) / numThreads;
+			for (int start = 0; start < input.length; start += chunkSize) {
+				final int from = start;
+				final int to = Math.min(input.length, start + chunkSize);
+				tasks.add(() -> {
+					final ModelEvaluator eval = new ModelEvaluator(this);
+					for (int i = from; i < to; i++) {
+						results[i] = eval.evaluate(input[i]);
+					}
+					return null;
+				});
+			}
+			for (final Future<Void> future : pool.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new InternalError(e.getCause());
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SMTLIBException("Model evaluation interrupted");
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 	@Override
 	public String toString() {
 		final ModelFormatter mf = new ModelFormatter(mTheory);
@@ -308,7 +468,7 @@ public class Model implements de.uni_freiburg.informatik.ultimate.logic.Model {
 		return mTheory;
 	}
 
-	public SortInterpretation provideSortInterpretation(final Sort sort) {
+	public synchronized SortInterpretation provideSortInterpretation(final Sort sort) {
 		SortInterpretation interpretation = mSorts.get(sort);
 		if (interpretation == null) {
 			if (sort.isArraySort()) {
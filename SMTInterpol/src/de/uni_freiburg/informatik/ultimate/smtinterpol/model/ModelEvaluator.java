@@ -20,6 +20,7 @@ package de.uni_freiburg.informatik.ultimate.smtinterpol.model;
 
 import java.math.BigInteger;
 import java.util.HashSet;
+import java.util.Map;
 
 import de.uni_freiburg.informatik.ultimate.logic.AnnotatedTerm;
 import de.uni_freiburg.informatik.ultimate.logic.ApplicationTerm;
@@ -44,7 +45,11 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstan
 import de.uni_freiburg.informatik.ultimate.util.datastructures.ScopedHashMap;
 
 /**
- * An evaluator for terms against the current model.
+ * An evaluator for terms against the current model. The values of closed terms and of defined functions applied to
+ * values are memoised in the model, so that they are shared by all evaluators of the model and by all calls of
+ * {@link #evaluate(Term)}. Definitions are evaluated by binding their parameters directly instead of building a let
+ * term. Quantified formulas are evaluated by enumerating the finite domains computed by {@link QuantifierDomain}
+ * until a counterexample or witness is found.
  *
  * @author Jochen Hoenicke, Juergen Christ
  */
@@ -105,6 +110,128 @@ public class ModelEvaluator extends TermTransformer {
 		}
 	}
 
+	/**
+	 * Store the value of a closed term in the memo table of the model.
+	 */
+	private static class StoreValue implements Walker {
+		private final Term mTerm;
+
+		public StoreValue(final Term term) {
+			mTerm = term;
+		}
+
+		@Override
+		public void walk(final NonRecursive engine) {
+			final ModelEvaluator eval = (ModelEvaluator) engine;
+			final Term value = eval.getConverted();
+			eval.mModel.mValueCache.put(mTerm, value);
+			eval.setResult(value);
+		}
+	}
+
+	/**
+	 * Close the scope that binds the parameters of a defined function and store the value of the application.
+	 */
+	private static class EndDefinition implements Walker {
+		private final Map<FunctionValue.Index, Term> mValues;
+		private final FunctionValue.Index mArgs;
+
+		public EndDefinition(final Map<FunctionValue.Index, Term> values, final FunctionValue.Index args) {
+			mValues = values;
+			mArgs = args;
+		}
+
+		@Override
+		public void walk(final NonRecursive engine) {
+			final ModelEvaluator eval = (ModelEvaluator) engine;
+			eval.mLetMap.endScope();
+			eval.endScope();
+			final Term value = eval.getConverted();
+			mValues.put(mArgs, value);
+			eval.setResult(value);
+		}
+	}
+
+	/**
+	 * Compute the domains of a quantified formula once the terms compared with its numeric variables are evaluated,
+	 * and start enumerating them.
+	 */
+	private static class StartQuantifier implements Walker {
+		private final QuantifiedFormula mFormula;
+		private final QuantifierDomain mDomain;
+
+		public StartQuantifier(final QuantifiedFormula formula, final QuantifierDomain domain) {
+			mFormula = formula;
+			mDomain = domain;
+		}
+
+		@Override
+		public void walk(final NonRecursive engine) {
+			final ModelEvaluator eval = (ModelEvaluator) engine;
+			final Term[] comparandValues = eval.getConverted(mDomain.getComparands());
+			final TermVariable[] freeVars = mFormula.getFreeVars();
+			final Term[] outerValues = new Term[freeVars.length];
+			for (int i = 0; i < freeVars.length; i++) {
+				outerValues[i] = eval.mLetMap.get(freeVars[i]);
+			}
+			final Term[][] domains = mDomain.computeDomains(eval.mModel, comparandValues, outerValues);
+			new EnumerateQuantifier(mFormula, domains).walk(engine);
+		}
+	}
+
+	/**
+	 * Evaluate the body of a quantified formula for one assignment of the variables after the other until the value
+	 * of the formula is known.
+	 */
+	private static class EnumerateQuantifier implements Walker {
+		private final QuantifiedFormula mFormula;
+		private final Term[][] mDomains;
+		private final int[] mChoice;
+		private boolean mStarted;
+
+		public EnumerateQuantifier(final QuantifiedFormula formula, final Term[][] domains) {
+			mFormula = formula;
+			mDomains = domains;
+			mChoice = new int[domains.length];
+		}
+
+		private boolean nextChoice() {
+			for (int i = mChoice.length - 1; i >= 0; i--) {
+				if (++mChoice[i] < mDomains[i].length) {
+					return true;
+				}
+				mChoice[i] = 0;
+			}
+			return false;
+		}
+
+		@Override
+		public void walk(final NonRecursive engine) {
+			final ModelEvaluator eval = (ModelEvaluator) engine;
+			final Theory theory = mFormula.getTheory();
+			if (mStarted) {
+				eval.mLetMap.endScope();
+				eval.endScope();
+				final Term value = eval.getConverted();
+				final Term decisive = mFormula.getQuantifier() == QuantifiedFormula.FORALL ? theory.mFalse
+						: theory.mTrue;
+				if (value == decisive || !nextChoice()) {
+					eval.setResult(value);
+					return;
+				}
+			}
+			mStarted = true;
+			final TermVariable[] vars = mFormula.getVariables();
+			eval.beginScope(vars);
+			eval.mLetMap.beginScope();
+			for (int i = 0; i < vars.length; i++) {
+				eval.mLetMap.put(vars[i], mDomains[i][mChoice[i]]);
+			}
+			eval.enqueueWalker(this);
+			eval.pushTerm(mFormula.getSubformula());
+		}
+	}
+
 	/**
 	 * The model where to evaluate in.
 	 */
@@ -124,6 +251,14 @@ public class ModelEvaluator extends TermTransformer {
 
 	@Override
 	public void convert(Term term) {
+		if (term.getFreeVars().length == 0 && !(term instanceof ConstantTerm)) {
+			final Term value = mModel.mValueCache.get(term);
+			if (value != null) {
+				setResult(value);
+				return;
+			}
+			enqueueWalker(new StoreValue(term));
+		}
 		while (term instanceof AnnotatedTerm) {
 			term = ((AnnotatedTerm) term).getSubterm();
 		}
@@ -149,7 +284,11 @@ public class ModelEvaluator extends TermTransformer {
 				return;
 			}
 		} else if (term instanceof QuantifiedFormula) {
-			throw new SMTLIBException("Quantifiers not supported in model evaluation");
+			final QuantifiedFormula quant = (QuantifiedFormula) term;
+			final QuantifierDomain domain = mModel.getQuantifierDomain(quant);
+			enqueueWalker(new StartQuantifier(quant, domain));
+			pushTerms(domain.getComparands());
+			return;
 		} else if (term instanceof MatchTerm) {
 			final MatchTerm matchTerm = (MatchTerm) term;
 			enqueueWalker(new MatchSelector(matchTerm));
@@ -165,7 +304,21 @@ public class ModelEvaluator extends TermTransformer {
 		if (fs.isIntern() || fs.isModelValue()) {
 			setResult(interpret(fs, newArgs));
 		} else if (fs.getDefinition() != null) {
-			pushTerm(appTerm.getTheory().let(fs.getDefinitionVars(), newArgs, fs.getDefinition()));
+			final Map<FunctionValue.Index, Term> values = mModel.getDefinitionValues(fs);
+			final FunctionValue.Index index = new FunctionValue.Index(newArgs);
+			final Term value = values.get(index);
+			if (value != null) {
+				setResult(value);
+				return;
+			}
+			final TermVariable[] vars = fs.getDefinitionVars();
+			enqueueWalker(new EndDefinition(values, index));
+			beginScope(vars);
+			mLetMap.beginScope();
+			for (int i = 0; i < vars.length; i++) {
+				mLetMap.put(vars[i], newArgs[i]);
+			}
+			pushTerm(fs.getDefinition());
 		} else {
 			setResult(lookupFunction(fs, newArgs));
 		}
@@ -201,8 +354,7 @@ public class ModelEvaluator extends TermTransformer {
 			final Sort sort = fs.getReturnSort();
 			return mModel.getSomeValue(sort);
 		}
-		final Term value = val.values().get(new FunctionValue.Index(args));
-		return value == null ? val.getDefault() : value;
+		return args.length == 0 ? val.getDefault() : val.get(args);
 	}
 
 	private Term interpret(final FunctionSymbol fs, final Term[] args) {
@@ -436,7 +588,9 @@ public class ModelEvaluator extends TermTransformer {
 		case SMTLIBConstants.STORE: {
 			final ArraySortInterpretation array = (ArraySortInterpretation) mModel
 					.provideSortInterpretation(fs.getParameterSorts()[0]);
-			return array.normalizeStoreTerm(theory.term(fs, args));
+			synchronized (mModel) {
+				return array.normalizeStoreTerm(theory.term(fs, args));
+			}
 		}
 
 		case SMTLIBConstants.CONST:
@@ -463,7 +617,9 @@ public class ModelEvaluator extends TermTransformer {
 		case SMTInterpolConstants.DIFF: {
 			final ArraySortInterpretation array = (ArraySortInterpretation) mModel
 					.provideSortInterpretation(fs.getParameterSorts()[0]);
-			return array.computeDiff(args[0], args[1], fs.getReturnSort());
+			synchronized (mModel) {
+				return array.computeDiff(args[0], args[1], fs.getReturnSort());
+			}
 		}
 		case "@EQ": {
 			return lookupFunction(fs, args);
@@ -0,0 +1,409 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import de.uni_freiburg.informatik.ultimate.logic.AnnotatedTerm;
+import de.uni_freiburg.informatik.ultimate.logic.ApplicationTerm;
+import de.uni_freiburg.informatik.ultimate.logic.DataType;
+import de.uni_freiburg.informatik.ultimate.logic.DataType.Constructor;
+import de.uni_freiburg.informatik.ultimate.logic.FunctionSymbol;
+import de.uni_freiburg.informatik.ultimate.logic.LetTerm;
+import de.uni_freiburg.informatik.ultimate.logic.MatchTerm;
+import de.uni_freiburg.informatik.ultimate.logic.QuantifiedFormula;
+import de.uni_freiburg.informatik.ultimate.logic.Rational;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBConstants;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
+import de.uni_freiburg.informatik.ultimate.logic.Theory;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.model.FunctionValue.Index;
+
+/**
+ * The finite domains over which a quantified formula is evaluated in a model. Instead of the whole sort, each variable
+ * ranges over representatives of the values the model can distinguish:
+ * <ul>
+ * <li>Booleans and data types built from Booleans only are enumerated completely.</li>
+ * <li>An uninterpreted sort ranges over the relevant values, i.e., the values occurring in the function tables, the
+ * definitions, the formula and the values of its free variables, plus one further element of the universe for every
+ * variable of this sort. All other elements behave like these by symmetry.</li>
+ * <li>A numeric variable is only supported if it occurs as argument of an uninterpreted function or is compared with
+ * a term that does not depend on the quantified variables. It ranges over the compared values, the arguments in the
+ * function tables, and one value between and beyond each of them.</li>
+ * </ul>
+ * The syntactic part of this analysis is done once per formula and model.
+ */
+class QuantifierDomain {
+
+	/**
+	 * The occurrences of a numeric variable.
+	 */
+	private static class Occurrences {
+		/**
+		 * The terms compared with the variable.
+		 */
+		final LinkedHashSet<Term> mComparands = new LinkedHashSet<>();
+		/**
+		 * The argument positions of uninterpreted functions where the variable occurs.
+		 */
+		final HashMap<FunctionSymbol, BitSet> mArguments = new HashMap<>();
+	}
+
+	private final QuantifiedFormula mFormula;
+
+	/**
+	 * The occurrences of each numeric variable. This is null if some numeric variable occurs in an unsupported
+	 * position.
+	 */
+	private final Occurrences[] mOccurrences;
+
+	/**
+	 * The terms compared with numeric variables in the order of the variables. They are evaluated before the domains
+	 * are computed.
+	 */
+	private final Term[] mComparands;
+
+	/**
+	 * The model values occurring in the formula.
+	 */
+	private final Map<Sort, Set<Term>> mModelValues = new HashMap<>();
+
+	/**
+	 * The domains that do not depend on the model, i.e., the domains of Boolean and finite data type variables.
+	 */
+	private final Term[][] mFixedDomains;
+
+	QuantifierDomain(final QuantifiedFormula formula) {
+		mFormula = formula;
+		final TermVariable[] vars = formula.getVariables();
+		final HashMap<TermVariable, Occurrences> numericVars = new HashMap<>();
+		final Occurrences[] occurrences = new Occurrences[vars.length];
+		mFixedDomains = new Term[vars.length][];
+		for (int i = 0; i < vars.length; i++) {
+			if (vars[i].getSort().getRealSort().isNumericSort()) {
+				occurrences[i] = new Occurrences();
+				numericVars.put(vars[i], occurrences[i]);
+			} else {
+				final List<Term> values = enumerate(vars[i].getSort().getRealSort(), new HashSet<Sort>());
+				if (values != null) {
+					mFixedDomains[i] = values.toArray(new Term[values.size()]);
+				}
+			}
+		}
+		final Set<TermVariable> boundVars = new HashSet<>(Arrays.asList(vars));
+		boolean supported = true;
+		final ArrayDeque<Term> todo = new ArrayDeque<>();
+		final HashSet<Term> seen = new HashSet<>();
+		todo.add(formula.getSubformula());
+		while (!todo.isEmpty()) {
+			final Term term = todo.removeLast();
+			if (!seen.add(term)) {
+				continue;
+			}
+			if (term instanceof TermVariable) {
+				// a numeric variable that is neither compared nor a function argument
+				supported &= !numericVars.containsKey(term);
+			} else if (term instanceof ApplicationTerm) {
+				final ApplicationTerm appTerm = (ApplicationTerm) term;
+				final FunctionSymbol fs = appTerm.getFunction();
+				final Term[] params = appTerm.getParameters();
+				if (fs.isModelValue()) {
+					mModelValues.computeIfAbsent(term.getSort(), s -> new HashSet<>()).add(term);
+				}
+				for (int i = 0; i < params.length; i++) {
+					final Occurrences occ = numericVars.get(params[i]);
+					if (occ == null) {
+						todo.add(params[i]);
+					} else if (!fs.isIntern() && fs.getDefinition() == null) {
+						occ.mArguments.computeIfAbsent(fs, f -> new BitSet()).set(i);
+					} else if (isComparison(fs) && params.length == 2) {
+						occ.mComparands.add(params[1 - i]);
+					} else {
+						supported = false;
+					}
+				}
+			} else if (term instanceof LetTerm) {
+				final LetTerm let = (LetTerm) term;
+				boundVars.addAll(Arrays.asList(let.getVariables()));
+				todo.addAll(Arrays.asList(let.getValues()));
+				todo.add(let.getSubTerm());
+			} else if (term instanceof QuantifiedFormula) {
+				final QuantifiedFormula quant = (QuantifiedFormula) term;
+				boundVars.addAll(Arrays.asList(quant.getVariables()));
+				todo.add(quant.getSubformula());
+			} else if (term instanceof AnnotatedTerm) {
+				todo.add(((AnnotatedTerm) term).getSubterm());
+			} else if (term instanceof MatchTerm) {
+				final MatchTerm match = (MatchTerm) term;
+				for (final TermVariable[] caseVars : match.getVariables()) {
+					boundVars.addAll(Arrays.asList(caseVars));
+				}
+				todo.add(match.getDataTerm());
+				todo.addAll(Arrays.asList(match.getCases()));
+			}
+		}
+		// the compared terms must not depend on a variable bound inside the formula
+		final ArrayList<Term> comparands = new ArrayList<>();
+		for (final Occurrences occ : occurrences) {
+			if (occ != null) {
+				for (final Term comparand : occ.mComparands) {
+					for (final TermVariable var : comparand.getFreeVars()) {
+						supported &= !boundVars.contains(var);
+					}
+				}
+				comparands.addAll(occ.mComparands);
+			}
+		}
+		mOccurrences = supported ? occurrences : null;
+		mComparands = supported ? comparands.toArray(new Term[comparands.size()]) : new Term[0];
+	}
+
+	private static boolean isComparison(final FunctionSymbol fs) {
+		switch (fs.getName()) {
+		case SMTLIBConstants.EQUALS:
+		case SMTLIBConstants.DISTINCT:
+		case SMTLIBConstants.LT:
+		case SMTLIBConstants.LEQ:
+		case SMTLIBConstants.GT:
+		case SMTLIBConstants.GEQ:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Enumerate all values of a Boolean or data type sort, provided the sort is finite and contains no uninterpreted
+	 * values.
+	 *
+	 * @return the values, or null if the sort cannot be enumerated.
+	 */
+	private static List<Term> enumerate(final Sort sort, final HashSet<Sort> visiting) {
+		final Theory theory = sort.getTheory();
+		if (sort == theory.getBooleanSort()) {
+			return Arrays.asList(theory.mTrue, theory.mFalse);
+		}
+		if (!sort.getSortSymbol().isDatatype() || !visiting.add(sort)) {
+			return null;
+		}
+		final ArrayList<Term> result = new ArrayList<>();
+		for (final Constructor constr : ((DataType) sort.getSortSymbol()).getConstructors()) {
+			final Sort[] argSorts = constr.getArgumentSorts();
+			final List<?>[] argValues = new List<?>[argSorts.length];
+			for (int i = 0; i < argSorts.length; i++) {
+				argValues[i] = enumerate(argSorts[i].mapSort(sort.getArguments()), visiting);
+				if (argValues[i] == null) {
+					return null;
+				}
+			}
+			final Sort returnSort = constr.needsReturnOverload() ? sort : null;
+			final int[] choice = new int[argSorts.length];
+			final Term[] args = new Term[argSorts.length];
+			do {
+				for (int i = 0; i < args.length; i++) {
+					args[i] = (Term) argValues[i].get(choice[i]);
+				}
+				result.add(theory.term(constr.getName(), null, returnSort, args));
+			} while (next(choice, argValues));
+		}
+		visiting.remove(sort);
+		return result;
+	}
+
+	private static boolean next(final int[] choice, final List<?>[] values) {
+		for (int i = choice.length - 1; i >= 0; i--) {
+			if (++choice[i] < values[i].size()) {
+				return true;
+			}
+			choice[i] = 0;
+		}
+		return false;
+	}
+
+	/**
+	 * Collect the model values of uninterpreted sorts occurring in a term.
+	 *
+	 * @param term
+	 *            a value or a closed term.
+	 * @param values
+	 *            the map from sorts to the collected values.
+	 */
+	static void collectModelValues(final Term term, final Map<Sort, Set<Term>> values) {
+		final ArrayDeque<Term> todo = new ArrayDeque<>();
+		todo.add(term);
+		while (!todo.isEmpty()) {
+			final Term t = todo.removeLast();
+			if (t instanceof ApplicationTerm) {
+				final ApplicationTerm appTerm = (ApplicationTerm) t;
+				if (appTerm.getFunction().isModelValue()) {
+					values.computeIfAbsent(t.getSort(), s -> new LinkedHashSet<>()).add(t);
+				}
+				todo.addAll(Arrays.asList(appTerm.getParameters()));
+			} else if (t instanceof LetTerm) {
+				todo.addAll(Arrays.asList(((LetTerm) t).getValues()));
+				todo.add(((LetTerm) t).getSubTerm());
+			} else if (t instanceof QuantifiedFormula) {
+				todo.add(((QuantifiedFormula) t).getSubformula());
+			} else if (t instanceof AnnotatedTerm) {
+				todo.add(((AnnotatedTerm) t).getSubterm());
+			} else if (t instanceof MatchTerm) {
+				todo.add(((MatchTerm) t).getDataTerm());
+				todo.addAll(Arrays.asList(((MatchTerm) t).getCases()));
+			}
+		}
+	}
+
+	/**
+	 * Get the terms compared with numeric variables. Their values are needed to compute the domains.
+	 */
+	Term[] getComparands() {
+		return mComparands;
+	}
+
+	/**
+	 * Compute the domain of every variable.
+	 *
+	 * @param model
+	 *            the model.
+	 * @param comparandValues
+	 *            the values of the terms returned by {@link #getComparands()}.
+	 * @param outerValues
+	 *            the values of the free variables of the formula.
+	 * @return the domains of the variables, indexed like the variables.
+	 */
+	Term[][] computeDomains(final Model model, final Term[] comparandValues, final Term[] outerValues) {
+		final TermVariable[] vars = mFormula.getVariables();
+		final Term[][] domains = new Term[vars.length][];
+		Map<Sort, Set<Term>> outerModelValues = null;
+		int offset = 0;
+		for (int i = 0; i < vars.length; i++) {
+			final Sort sort = vars[i].getSort().getRealSort();
+			if (mFixedDomains[i] != null) {
+				domains[i] = mFixedDomains[i];
+			} else if (sort.isNumericSort()) {
+				if (mOccurrences == null) {
+					throw new SMTLIBException("Cannot evaluate quantifier over numeric variable " + vars[i]);
+				}
+				domains[i] = numericDomain(model, sort, mOccurrences[i], comparandValues, offset);
+				offset += mOccurrences[i].mComparands.size();
+			} else if (sort.isInternal()) {
+				throw new SMTLIBException("Cannot evaluate quantifier over sort " + sort);
+			} else {
+				if (outerModelValues == null) {
+					outerModelValues = new HashMap<>();
+					for (final Term value : outerValues) {
+						collectModelValues(value, outerModelValues);
+					}
+				}
+				domains[i] = uninterpretedDomain(model, sort, outerModelValues.get(sort));
+			}
+		}
+		return domains;
+	}
+
+	private Term[] uninterpretedDomain(final Model model, final Sort sort, final Set<Term> outerValues) {
+		final LinkedHashSet<Term> domain = new LinkedHashSet<>(model.getRelevantValues(sort));
+		if (mModelValues.containsKey(sort)) {
+			domain.addAll(mModelValues.get(sort));
+		}
+		if (outerValues != null) {
+			domain.addAll(outerValues);
+		}
+		domain.add(model.getSomeValue(sort));
+		int size = ((FiniteSortInterpretation) model.provideSortInterpretation(sort)).getSize();
+		for (final Term value : domain) {
+			final String name = ((ApplicationTerm) value).getFunction().getName();
+			size = Math.max(size, Integer.parseInt(name.substring(1)) + 1);
+		}
+		int extra = 0;
+		for (final TermVariable var : mFormula.getVariables()) {
+			if (var.getSort().getRealSort() == sort) {
+				extra++;
+			}
+		}
+		for (int idx = 0; idx < size && extra > 0; idx++) {
+			if (domain.add(model.getModelValue(idx, sort))) {
+				extra--;
+			}
+		}
+		return domain.toArray(new Term[domain.size()]);
+	}
+
+	private static Term[] numericDomain(final Model model, final Sort sort, final Occurrences occ,
+			final Term[] comparandValues, final int offset) {
+		final TreeSet<Rational> points = new TreeSet<>();
+		for (int i = 0; i < occ.mComparands.size(); i++) {
+			points.add(NumericSortInterpretation.toRational(comparandValues[offset + i]));
+		}
+		for (final Map.Entry<FunctionSymbol, BitSet> entry : occ.mArguments.entrySet()) {
+			final FunctionValue value = model.getFunctionValue(entry.getKey());
+			if (value == null) {
+				continue;
+			}
+			final BitSet positions = entry.getValue();
+			for (final Index index : value.values().keySet()) {
+				final Term[] args = index.toArray();
+				for (int pos = positions.nextSetBit(0); pos >= 0; pos = positions.nextSetBit(pos + 1)) {
+					points.add(NumericSortInterpretation.toRational(args[pos]));
+				}
+			}
+		}
+		if (points.isEmpty()) {
+			return new Term[] { Rational.ZERO.toTerm(sort) };
+		}
+		final LinkedHashSet<Rational> domain = new LinkedHashSet<>();
+		if (sort.getName().equals(SMTLIBConstants.INT)) {
+			// every point, the next integer below and the next integer above
+			for (final Rational point : points) {
+				if (point.isIntegral()) {
+					domain.add(point);
+				}
+				domain.add(point.ceil().sub(Rational.ONE));
+				domain.add(point.floor().add(Rational.ONE));
+			}
+		} else {
+			// every point, the middle between two neighbours, and one value beyond the extremes
+			Rational previous = points.first().sub(Rational.ONE);
+			for (final Rational point : points) {
+				domain.add(previous.add(point).div(Rational.TWO));
+				domain.add(point);
+				previous = point;
+			}
+			domain.add(previous.add(Rational.ONE));
+		}
+		final Term[] result = new Term[domain.size()];
+		int i = 0;
+		for (final Rational value : domain) {
+			result[i++] = value.toTerm(sort);
+		}
+		return result;
+	}
+}
@@ -79,6 +79,7 @@ public class MusEnumerationScript extends WrapperScript {
 	LongOption mHeuristicTimeout;
 	BooleanOption mLogAdditionalInformation;
 	BooleanOption mUnknownAllowed;
+	LongOption mEnumerationThreads;
 	LogProxy mLogger;
 
 	Random mRandom;
@@ -126,6 +127,8 @@ public class MusEnumerationScript extends WrapperScript {
 				"Whether additional information (e.g. of the enumeration) should be logged.");
 		mUnknownAllowed =
 				new BooleanOption(false, true, "Whether LBool.UNKNOWN is allowed to occur in the enumeration process.");
+		mEnumerationThreads = new LongOption(1, true,
+				"The number of shrink workers that enumerate Muses in parallel (1 uses the sequential ReMus).");
 	}
 
 	private long getRandomSeed() {
@@ -376,6 +379,9 @@ public class MusEnumerationScript extends WrapperScript {
 		if (translator.getNumberOfConstraints() != 0) {
 			throw new SMTLIBException("Translator must be new.");
 		}
+		if (mEnumerationThreads.getValue() > 1) {
+			return executeParallelEnumeration(translator);
+		}
 
 		final TimeoutHandler handlerForReMus = new TimeoutHandler(mHandler);
 		final DPLLEngine engine = new DPLLEngine(mLogger, handlerForReMus);
@@ -405,6 +411,40 @@ public class MusEnumerationScript extends WrapperScript {
 		return muses;
 	}
 
+	/**
+	 * Enumerates MUSes of the currently asserted Terms with a {@link ParallelMusEnumerator}. Every worker gets its own
+	 * copy of the assertions, so no script is cloned here. If termination is requested, all MUSes that have been found
+	 * so far are returned.
+	 */
+	private ArrayList<MusContainer> executeParallelEnumeration(final Translator translator) {
+		final TimeoutHandler handlerForEnumeration = new TimeoutHandler(mHandler);
+		final DPLLEngine engine = new DPLLEngine(mLogger, handlerForEnumeration);
+		final ArrayList<Term> axioms = new ArrayList<>();
+		for (final Term term : mRememberedAssertions) {
+			if (hasName(term)) {
+				final NamedAtom atom = new NamedAtom(term, 0);
+				atom.setPreferredStatus(atom.getAtom());
+				atom.lockPreferredStatus();
+				engine.addAtom(atom);
+				translator.declareConstraint(atom);
+			} else {
+				// As in registerTermsForEnumeration, unnamed terms are axioms that are not minimized.
+				axioms.add(term);
+			}
+		}
+
+		final UnexploredMap unexploredMap = new UnexploredMap(engine, translator);
+		final LogProxy logForEnumeration = mLogAdditionalInformation.getValue() ? mLogger : null;
+		final ParallelMusEnumerator enumerator = new ParallelMusEnumerator((SMTInterpol) mScript, translator,
+				unexploredMap, axioms.toArray(new Term[axioms.size()]), (int) mEnumerationThreads.getValue(),
+				handlerForEnumeration, 0, mRandom, mUnknownAllowed.getValue(), logForEnumeration);
+		try {
+			return enumerator.enumerate();
+		} finally {
+			enumerator.close();
+		}
+	}
+
 	private ArrayList<MusContainer> shrinkVanillaUnsatCore(final Translator translator) {
 		final Term[] unsatCore = mScript.getUnsatCore();
 		final ArrayList<MusContainer> muses = new ArrayList<>();
@@ -662,6 +702,10 @@ public class MusEnumerationScript extends WrapperScript {
 	 * {@link #checkSat()} returns LBool.UNKNOWN. Also, at the current date, (09.09.20), the satisfiable extension is
 	 * not used in the internal shrinking process when this flag is set to true, which might impact the runtime of
 	 * enumeration.
+	 *
+	 * If the option ":enumeration-threads" is set to a value greater than 1, the MUSes are enumerated by that many
+	 * shrink workers in parallel (see {@link ParallelMusEnumerator}) instead of ReMus. The enumeration timeout applies
+	 * to all workers together.
 	 */
 	@Override
 	public void setOption(final String opt, final Object value) throws UnsupportedOperationException, SMTLIBException {
@@ -680,6 +724,8 @@ public class MusEnumerationScript extends WrapperScript {
 			mLogAdditionalInformation.set(value);
 		} else if (opt.equals(MusOptions.UNKNOWN_ALLOWED)) {
 			mUnknownAllowed.set(value);
+		} else if (opt.equals(MusOptions.ENUMERATION_THREADS)) {
+			mEnumerationThreads.set(value);
 		} else {
 			mScript.setOption(opt, value);
 		}
@@ -699,6 +745,8 @@ public class MusEnumerationScript extends WrapperScript {
 			return mLogAdditionalInformation.getValue();
 		} else if (opt.equals(MusOptions.UNKNOWN_ALLOWED)) {
 			return mUnknownAllowed.getValue();
+		} else if (opt.equals(MusOptions.ENUMERATION_THREADS)) {
+			return mEnumerationThreads.get();
 		} else {
 			return mScript.getOption(opt);
 		}
@@ -722,6 +770,7 @@ public class MusEnumerationScript extends WrapperScript {
 		mEnumerationTimeout.reset();
 		mHeuristicTimeout.reset();
 		mLogAdditionalInformation.reset();
+		mEnumerationThreads.reset();
 		mRandom = new Random(getRandomSeed());
 	}
 
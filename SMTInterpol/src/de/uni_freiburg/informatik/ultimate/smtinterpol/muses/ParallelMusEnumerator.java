@@ -0,0 +1,444 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.muses;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBConstants;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.LogProxy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.NamedAtom;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.ProofRules;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.TermTransferrer;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.TerminationRequest;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.TimeoutHandler;
+
+/**
+ * Enumerates MUSes with several shrink workers that run in parallel. Every worker owns a solver with its own theory,
+ * into which the axioms and constraints are copied. The workers pull seeds, i.e., maximal unexplored subsets, from the
+ * shared unexplored map. A satisfiable seed is blocked down, an unsatisfiable seed is shrunk to a MUS.
+ *
+ * The workers do not touch the map directly. The sets they block are published in concurrent queues, and the map is
+ * only updated under its lock when the next seed is taken. The seeds that are currently explored are blocked up
+ * temporarily, so that every worker gets a different seed. The critical constraints of a seed are the constraints
+ * that are implied by the map; they are asserted before the seed is shrunk.
+ *
+ * The MUSes are returned while the enumeration is still running, either by this iterator or by {@link #stream()}.
+ * Their proofs are copied into the theory of the main solver by the consuming thread. A MUS that was found by two
+ * workers is only returned once. The order of the MUSes depends on the scheduling of the workers.
+ */
+public class ParallelMusEnumerator implements Iterator<MusContainer>, TerminationRequest {
+
+	/**
+	 * How long a worker that waits for a seed sleeps before it checks for termination again.
+	 */
+	private static final long WAIT_MILLIS = 100;
+
+	/**
+	 * A MUS found by a worker. Its proof is in the theory of the worker. A result without MUS signals that the worker
+	 * has stopped.
+	 */
+	private static final class Result {
+		final Worker mWorker;
+		final BitSet mMus;
+		final Term mProof;
+
+		Result(final Worker worker, final BitSet mus, final Term proof) {
+			mWorker = worker;
+			mMus = mus;
+			mProof = proof;
+		}
+	}
+
+	final SMTInterpol mMain;
+	final Translator mTranslator;
+	final UnexploredMap mMap;
+	final Term[] mAxioms;
+	final TimeoutHandler mHandler;
+	final long mTimeout;
+	final Random mRandom;
+	final boolean mUnknownAllowed;
+	final LogProxy mLogger;
+	final BitSet mAllConstraints;
+
+	final ConcurrentLinkedQueue<BitSet> mBlockedUp = new ConcurrentLinkedQueue<>();
+	final ConcurrentLinkedQueue<BitSet> mBlockedDown = new ConcurrentLinkedQueue<>();
+	/**
+	 * The seeds that are currently explored. Guarded by the lock of mMap.
+	 */
+	final List<BitSet> mSeedsInProgress = new ArrayList<>();
+	/**
+	 * True if the seeds in progress are blocked on an extra level of the map engine. Guarded by the lock of mMap.
+	 */
+	boolean mSeedsBlocked;
+	final Set<BitSet> mFoundMuses = ConcurrentHashMap.newKeySet();
+	final LinkedBlockingQueue<Result> mResults = new LinkedBlockingQueue<>();
+	final AtomicReference<RuntimeException> mError = new AtomicReference<>();
+	volatile boolean mClosed;
+
+	final Worker[] mWorkers;
+	Thread[] mThreads;
+	int mRunningWorkers;
+	boolean mProofRulesDeclared;
+	MusContainer mNextMus;
+
+	/**
+	 * The translator and the map must have been set up with the constraints, and the map must not be used by anybody
+	 * else while the enumeration runs. The axioms are the asserted terms that are not constraints. The workers solve
+	 * with the same logic and proof level as the main solver. The enumeration stops, if the given request asks for
+	 * termination, if the timeout (in milliseconds, measured from the first call of {@link #hasNext()}) is exceeded,
+	 * or if {@link #close()} is called. If unknownAllowed is set, a seed for which the solver returns unknown is
+	 * treated as satisfiable (see {@link ReMus}).
+	 */
+	public ParallelMusEnumerator(final SMTInterpol main, final Translator translator, final UnexploredMap map,
+			final Term[] axioms, final int numWorkers, final TerminationRequest request, final long timeout,
+			final Random rnd, final boolean unknownAllowed, final LogProxy logger) {
+		if (numWorkers < 1) {
+			throw new SMTLIBException("There must be at least one worker.");
+		}
+		mMain = main;
+		mTranslator = translator;
+		mMap = map;
+		mAxioms = axioms;
+		mHandler = new TimeoutHandler(request);
+		mTimeout = timeout;
+		mRandom = rnd;
+		mUnknownAllowed = unknownAllowed;
+		mLogger = logger;
+		mAllConstraints = new BitSet();
+		mAllConstraints.set(0, translator.getNumberOfConstraints());
+		mWorkers = new Worker[numWorkers];
+		for (int i = 0; i < numWorkers; i++) {
+			mWorkers[i] = new Worker(i, rnd.nextLong());
+		}
+	}
+
+	@Override
+	public boolean isTerminationRequested() {
+		return mClosed || mHandler.isTerminationRequested();
+	}
+
+	private void start() {
+		if (mTimeout > 0) {
+			mHandler.setTimeout(mTimeout);
+		}
+		mThreads = new Thread[mWorkers.length];
+		for (int i = 0; i < mWorkers.length; i++) {
+			mThreads[i] = new Thread(mWorkers[i], "SMTInterpol MUS worker " + i);
+			mThreads[i].setDaemon(true);
+			mThreads[i].start();
+		}
+		mRunningWorkers = mWorkers.length;
+	}
+
+	/**
+	 * This blocks until a worker found the next MUS or all workers have stopped. It returns false if the whole search
+	 * space is explored, or if termination was requested. Once termination is requested, the workers are stopped and
+	 * no further MUS is returned, even if a worker has found one already. If a worker failed, its exception is thrown.
+	 */
+	@Override
+	public boolean hasNext() throws SMTLIBException {
+		if (mNextMus != null) {
+			return true;
+		}
+		if (mThreads == null) {
+			start();
+		}
+		while (mRunningWorkers > 0 && !isTerminationRequested()) {
+			final Result result;
+			try {
+				result = mResults.take();
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				close();
+				break;
+			}
+			if (result.mMus == null) {
+				mRunningWorkers--;
+			} else if (!isTerminationRequested()) {
+				mNextMus = new MusContainer(result.mMus, transferProof(result));
+				return true;
+			}
+		}
+		if (mRunningWorkers > 0) {
+			close();
+		}
+		final RuntimeException error = mError.get();
+		if (error != null) {
+			throw error;
+		}
+		return false;
+	}
+
+	@Override
+	public MusContainer next() throws SMTLIBException {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final MusContainer nextMus = mNextMus;
+		mNextMus = null;
+		return nextMus;
+	}
+
+	/**
+	 * The MUSes as a sequential stream. The stream blocks while it waits for the workers.
+	 */
+	public Stream<MusContainer> stream() {
+		return StreamSupport.stream(
+				Spliterators.spliteratorUnknownSize(this, Spliterator.DISTINCT | Spliterator.NONNULL), false);
+	}
+
+	/**
+	 * Finds and returns the rest of the muses. In case of a timeout or a request for termination, this returns the
+	 * muses that have been found so far.
+	 */
+	public ArrayList<MusContainer> enumerate() throws SMTLIBException {
+		final ArrayList<MusContainer> restOfMuses = new ArrayList<>();
+		while (hasNext()) {
+			restOfMuses.add(next());
+		}
+		return restOfMuses;
+	}
+
+	/**
+	 * Stops the workers and waits until they have finished. The MUSes that were found but not returned yet are
+	 * discarded.
+	 */
+	public void close() {
+		mClosed = true;
+		if (mThreads != null) {
+			boolean interrupted = false;
+			for (final Thread thread : mThreads) {
+				while (thread.isAlive()) {
+					try {
+						thread.join();
+					} catch (final InterruptedException ex) {
+						interrupted = true;
+					}
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		mResults.clear();
+		mRunningWorkers = 0;
+		mNextMus = null;
+	}
+
+	private Term transferProof(final Result result) {
+		if (!mProofRulesDeclared) {
+			/* Declare the proof rules in the theory of the main solver */
+			new ProofRules(mMain.getTheory());
+			mProofRulesDeclared = true;
+		}
+		return result.mWorker.mToMain.transform(result.mProof);
+	}
+
+	/**
+	 * Get the next seed and its critical constraints. If the map has no unexplored subset, but other workers still
+	 * explore their seeds, this waits until they are done, since their results may leave new seeds.
+	 *
+	 * @return the seed and its critical constraints, or null if the enumeration is finished.
+	 */
+	BitSet[] takeSeed() throws InterruptedException {
+		synchronized (mMap) {
+			while (!isTerminationRequested()) {
+				if (mSeedsBlocked) {
+					mMap.mEngine.pop(1);
+					mSeedsBlocked = false;
+				}
+				publishBlockedSets();
+				if (!mSeedsInProgress.isEmpty()) {
+					mMap.mEngine.push();
+					mSeedsBlocked = true;
+					for (final BitSet seed : mSeedsInProgress) {
+						mMap.BlockUp(seed);
+					}
+				}
+				mMap.messWithActivityOfAtoms(mRandom);
+				final BitSet seed = (BitSet) mMap.findMaximalUnexploredSubsetOf(mAllConstraints).clone();
+				if (!seed.isEmpty()) {
+					final BitSet crits = (BitSet) mMap.findImpliedCritsOf(mAllConstraints).clone();
+					mSeedsInProgress.add(seed);
+					return new BitSet[] { seed, crits };
+				}
+				if (mSeedsInProgress.isEmpty()) {
+					return null;
+				}
+				mMap.wait(WAIT_MILLIS);
+			}
+			return null;
+		}
+	}
+
+	void finishSeed(final BitSet seed) {
+		synchronized (mMap) {
+			mSeedsInProgress.remove(seed);
+			mMap.notifyAll();
+		}
+	}
+
+	/**
+	 * Add the sets that the workers have blocked to the map. The caller must hold the lock of mMap.
+	 */
+	private void publishBlockedSets() {
+		BitSet blocked;
+		while ((blocked = mBlockedUp.poll()) != null) {
+			mMap.BlockUp(blocked);
+		}
+		while ((blocked = mBlockedDown.poll()) != null) {
+			mMap.BlockDown(blocked);
+		}
+	}
+
+	/**
+	 * The view of the map that is given to the workers. It only publishes the blocked sets.
+	 */
+	private final class PublishingMap extends UnexploredMap {
+		PublishingMap(final Translator translator) {
+			super(null, translator);
+		}
+
+		@Override
+		public void BlockUp(final BitSet unsatSet) {
+			mBlockedUp.add((BitSet) unsatSet.clone());
+		}
+
+		@Override
+		public void BlockDown(final BitSet satSet) {
+			mBlockedDown.add((BitSet) satSet.clone());
+		}
+	}
+
+	/**
+	 * A shrink worker. It creates its solver in its own thread.
+	 */
+	private final class Worker implements Runnable {
+		private final int mNumber;
+		private final Random mWorkerRandom;
+		private final UnexploredMap mPublishingMap = new PublishingMap(mTranslator);
+		private ConstraintAdministrationSolver mSolver;
+		/**
+		 * Copies the proofs of this worker into the main theory. It is only used by the consuming thread.
+		 */
+		TermTransferrer mToMain;
+
+		Worker(final int number, final long seed) {
+			mNumber = number;
+			mWorkerRandom = new Random(seed);
+			mToMain = new TermTransferrer(mMain);
+		}
+
+		private void setUp() {
+			final SMTInterpol script = new SMTInterpol(mMain.getLogger(), ParallelMusEnumerator.this);
+			script.setOption(SMTLIBConstants.PRODUCE_MODELS, true);
+			script.setOption(SMTLIBConstants.PRODUCE_PROOFS, true);
+			script.setOption(SMTLIBConstants.INTERACTIVE_MODE, true);
+			script.setOption(SMTLIBConstants.PRODUCE_UNSAT_CORES, true);
+			script.setOption(SMTInterpolConstants.PROOF_LEVEL, mMain.getOption(SMTInterpolConstants.PROOF_LEVEL));
+			script.setOption(SMTLIBConstants.RANDOM_SEED, mWorkerRandom.nextInt(Integer.MAX_VALUE));
+			script.setLogic(mMain.getTheory().getLogic());
+			final TermTransferrer toWorker = new TermTransferrer(script);
+			for (final Term axiom : mAxioms) {
+				script.assertTerm(toWorker.transform(axiom));
+			}
+			final Translator translator = new Translator();
+			for (int i = 0; i < mTranslator.getNumberOfConstraints(); i++) {
+				translator.declareConstraint(new NamedAtom(toWorker.transform(mTranslator.translate2Constraint(i)), 0));
+			}
+			mSolver = new ConstraintAdministrationSolver(script, translator);
+		}
+
+		@Override
+		public void run() {
+			try {
+				setUp();
+				BitSet[] seed;
+				while ((seed = takeSeed()) != null) {
+					try {
+						explore(seed[0], seed[1]);
+					} finally {
+						finishSeed(seed[0]);
+					}
+				}
+			} catch (final InterruptedException ex) {
+				mClosed = true;
+			} catch (final RuntimeException ex) {
+				if (mLogger != null) {
+					mLogger.error("MUS worker %d failed: %s", mNumber, ex);
+				}
+				mError.compareAndSet(null, ex);
+				mClosed = true;
+			} finally {
+				mResults.add(new Result(this, null, null));
+			}
+		}
+
+		/**
+		 * Check the seed, block it down if it is satisfiable, and shrink it to a MUS otherwise.
+		 */
+		private void explore(final BitSet seed, final BitSet crits) {
+			mSolver.pushRecLevel();
+			mSolver.assertCriticalConstraints(crits);
+			final BitSet unknowns = (BitSet) seed.clone();
+			unknowns.andNot(crits);
+			mSolver.assertUnknownConstraints(unknowns);
+			final LBool sat = mSolver.checkSat();
+			mSolver.clearUnknownConstraints();
+			if (sat == LBool.UNSAT) {
+				final MusContainer mus = Shrinking.shrink(mSolver, seed, mPublishingMap, ParallelMusEnumerator.this,
+						mWorkerRandom, mUnknownAllowed);
+				if (mus != null && mFoundMuses.add((BitSet) mus.getMus().clone())) {
+					if (mLogger != null) {
+						mLogger.debug("MUS worker %d found a MUS of size %d", mNumber, mus.getMus().cardinality());
+					}
+					mResults.add(new Result(this, mus.getMus(), mus.getProof()));
+				}
+			} else if (sat == LBool.SAT) {
+				mPublishingMap.BlockDown(seed);
+			} else if (!isTerminationRequested()) {
+				if (!mUnknownAllowed) {
+					throw new SMTLIBException("LBool.UNKNOWN occured in enumeration process, "
+							+ "despite of not being explicitly allowed. (To allow it, use allowCheckSatUnknown).");
+				}
+				mPublishingMap.BlockDown(seed);
+			}
+			mSolver.popRecLevel();
+		}
+	}
+}
@@ -35,12 +35,17 @@ public interface SMTInterpolConstants {
 	public String MODELS_PARTIAL = ":models-partial";
 	public String PROOF_TRANSFORMATION = ":proof-transformation";
 	public String MODEL_CHECK_MODE = ":model-check-mode";
+	public String MODEL_EVALUATION_THREADS = ":model-evaluation-threads";
 	public String PROOF_CHECK_MODE = ":proof-check-mode";
 	public String PROOF_LEVEL = ":proof-level";
+	public String COMPACT_PROOFS = ":compact-proofs";
+	public String PROOF_LOG_DIRECTORY = ":proof-log-directory";
 	public String INTERPOLANT_CHECK_MODE = ":interpolant-check-mode";
 	public String UNSAT_CORE_CHECK_MODE = ":unsat-core-check-mode";
 	public String UNSAT_ASSUMPTIONS_CHECK_MODE = ":unsat-assumptions-check-mode";
 	public String SIMPLIFY_INTERPOLANTS = ":simplify-interpolants";
+	public String INTERPOLATION_THREADS = ":interpolation-threads";
+	public String INTERPOLANT_CACHE_SIZE = ":interpolant-cache-size";
 	public String CHECK_TYPE = ":check-type";
 	public String SIMPLIFY_CHECK_TYPE = ":simplify-check-type";
 	public String EPR = ":epr";
@@ -49,4 +54,11 @@ public interface SMTInterpolConstants {
 	public String PROPAGATE_UNKNOWN_TERMS = ":propagate-unknown-terms";
 	public String PROPAGATE_UNKNOWN_AUX = ":propagate-unknown-aux";
 	public String SIMPLIFY_REPEATEDLY = ":simplify-repeatedly";
+	public String SIMPLIFY_INCREMENTAL = ":simplify-incremental";
+	public String CLAUSE_ARENA = ":clause-arena";
+	public String PORTFOLIO_THREADS = ":portfolio-threads";
+	public String INPROCESSING = ":inprocessing";
+	public String RESTART_STRATEGY = ":restart-strategy";
+	public String PHASE_STRATEGY = ":phase-strategy";
+	public String XOR_ENGINE = ":xor-engine";
 }
@@ -21,10 +21,13 @@ package de.uni_freiburg.informatik.ultimate.smtinterpol.option;
 import de.uni_freiburg.informatik.ultimate.logic.SMTLIBConstants;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.LogProxy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine.PhaseStrategy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine.RestartStrategy;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.Transformations.AvailableTransformations;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol.CheckType;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol.ProofMode;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.QuantifierTheory.InstantiationMethod;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.xor.IXorTheory.XorEngine;
 
 /**
  * Options specific to the solver but independent of the front end.  To speed up
@@ -41,12 +44,23 @@ public class SolverOptions {
 	private final BooleanOption mModelCheckMode;
 	private final EnumOption<AvailableTransformations> mProofTrans;
 	private final BooleanOption mModelsPartial;
+	private final LongOption mModelEvaluationThreads;
 	private final EnumOption<CheckType> mCheckType;
 	private final BooleanOption mSimpIps;
+	private final LongOption mInterpolationThreads;
+	private final LongOption mInterpolantCacheSize;
 	private final BooleanOption mProofCheckMode;
 	private final EnumOption<CheckType> mSimpCheckType;
 	private final EnumOption<ProofMode> mProofLevel;
+	private final BooleanOption mCompactProofs;
+	private final StringOption mProofLogDirectory;
 	private final EnumOption<InstantiationMethod> mInstantiationMethod;
+	private final BooleanOption mClauseArena;
+	private final LongOption mPortfolioThreads;
+	private final BooleanOption mInprocessing;
+	private final EnumOption<RestartStrategy> mRestartStrategy;
+	private final EnumOption<PhaseStrategy> mPhaseStrategy;
+	private final EnumOption<XorEngine> mXorEngine;
 	private final OptionMap mOptions;
 
 	SolverOptions(final OptionMap options, final LogProxy logger) {
@@ -68,10 +82,16 @@ public class SolverOptions {
 				AvailableTransformations.class,
 				"Algorithm used to transform the resolution proof tree.");
 		mModelsPartial = new BooleanOption(false, true, "Don't totalize models.");
+		mModelEvaluationThreads = new LongOption(1, true, "Number of threads that evaluate the terms of a get-value "
+				+ "command in parallel.  Values <= 1 evaluate in the calling thread.");
 		mCheckType = new EnumOption<>(CheckType.FULL, true,
 				CheckType.class, "Strength of check used in check-sat command.");
 		mSimpIps = new BooleanOption(false, true,
 				"Apply strong context simplification to generated interpolants.");
+		mInterpolationThreads = new LongOption(1, true, "Number of threads that interpolate theory lemmas and "
+				+ "partitions in parallel.  Values <= 1 interpolate in the calling thread.");
+		mInterpolantCacheSize = new LongOption(0, true, "Maximal number of interpolants of proof nodes that are "
+				+ "kept for later calls of get-interpolants until the next assert or pop.  0 disables the cache.");
 		mProofCheckMode = new BooleanOption(false,
 				false, "Check the produced proof for unsatisfiable formulas.");
 		mSimpCheckType = new EnumOption<>(CheckType.QUICK, true,
@@ -80,6 +100,22 @@ public class SolverOptions {
 		mInstantiationMethod = new EnumOption<>(InstantiationMethod.E_MATCHING_CONFLICT, false,
 				InstantiationMethod.class, "Quantifier Theory: Method to instantiate quantified formulas.");
 		mProofLevel = new EnumOption<>(ProofMode.NONE, false, ProofMode.class, "Proof level.");
+		mCompactProofs = new BooleanOption(false, false, "Store the resolution proof in an append-only integer log "
+				+ "that is only converted when the proof is requested.");
+		mProofLogDirectory = new StringOption("", false, "Directory for the temporary file the compact proof log "
+				+ "is memory-mapped to.  The log is kept on the heap if this is empty.");
+		mClauseArena = new BooleanOption(false, false,
+				"Keep ground clauses in a flat int array with blocker literal watch lists.");
+		mPortfolioThreads = new LongOption(1, false, "Number of engines that race in parallel threads in "
+				+ "check-sat and exchange short learned clauses.  Values <= 1 deactivate the portfolio.");
+		mInprocessing = new BooleanOption(false, false, "Simplify the propositional clauses by subsumption, "
+				+ "strengthening, and variable elimination before the search and between restarts.");
+		mRestartStrategy = new EnumOption<>(RestartStrategy.LUBY, true, RestartStrategy.class,
+				"When to restart: after a Luby sequence of conflicts, or when the LBD of the learned clauses rises.");
+		mPhaseStrategy = new EnumOption<>(PhaseStrategy.SAVING, true, PhaseStrategy.class,
+				"Polarity of decisions: saved phases, saved phases with periodic rephasing, or target phases.");
+		mXorEngine = new EnumOption<>(XorEngine.TABLEAU, false, XorEngine.class,
+				"Solver for xor constraints: the counting tableau or Gauss-Jordan elimination on packed rows.");
 
 		// general standard compliant options
 		options.addOption(SMTLIBConstants.VERBOSITY, new VerbosityOption(logger));
@@ -92,6 +128,7 @@ public class SolverOptions {
 		options.addOption(SMTLIBConstants.PRODUCE_MODELS, new BooleanOption(false, true,
 				"Produce models for satisfiable formulas"));
 		options.addOption(SMTInterpolConstants.MODELS_PARTIAL, mModelsPartial);
+		options.addOption(SMTInterpolConstants.MODEL_EVALUATION_THREADS, mModelEvaluationThreads);
 		options.addOption(SMTInterpolConstants.MODEL_CHECK_MODE, mModelCheckMode);
 		options.addOption(SMTLIBConstants.PRODUCE_ASSIGNMENTS, new BooleanOption(false,
 				false, "Produce assignments of named Boolean terms for "
@@ -102,11 +139,15 @@ public class SolverOptions {
 		options.addOption(SMTInterpolConstants.PROOF_TRANSFORMATION, mProofTrans);
 		options.addOption(SMTInterpolConstants.PROOF_CHECK_MODE, mProofCheckMode);
 		options.addOption(SMTInterpolConstants.PROOF_LEVEL, mProofLevel);
+		options.addOption(SMTInterpolConstants.COMPACT_PROOFS, mCompactProofs);
+		options.addOption(SMTInterpolConstants.PROOF_LOG_DIRECTORY, mProofLogDirectory);
 
 		// interpolant options
 		options.addOption(SMTInterpolConstants.PRODUCE_INTERPOLANTS, mProduceInterpolants);
 		options.addOption(SMTInterpolConstants.INTERPOLANT_CHECK_MODE, mInterpolantCheckMode);
 		options.addOption(SMTInterpolConstants.SIMPLIFY_INTERPOLANTS, mSimpIps);
+		options.addOption(SMTInterpolConstants.INTERPOLATION_THREADS, mInterpolationThreads);
+		options.addOption(SMTInterpolConstants.INTERPOLANT_CACHE_SIZE, mInterpolantCacheSize);
 
 		// unsat core options
 		options.addOption(SMTLIBConstants.PRODUCE_UNSAT_CORES, new BooleanOption(
@@ -122,6 +163,12 @@ public class SolverOptions {
 
 		// general non-standard options
 		options.addOption(SMTInterpolConstants.CHECK_TYPE, mCheckType);
+		options.addOption(SMTInterpolConstants.CLAUSE_ARENA, mClauseArena);
+		options.addOption(SMTInterpolConstants.PORTFOLIO_THREADS, mPortfolioThreads);
+		options.addOption(SMTInterpolConstants.INPROCESSING, mInprocessing);
+		options.addOption(SMTInterpolConstants.RESTART_STRATEGY, mRestartStrategy);
+		options.addOption(SMTInterpolConstants.PHASE_STRATEGY, mPhaseStrategy);
+		options.addOption(SMTInterpolConstants.XOR_ENGINE, mXorEngine);
 		options.addOption(SMTInterpolConstants.EPR, new BooleanOption(false, false,
 				"Assume formula is in EPR fragment. This give an error if the formula is outside EPR."));
 		options.addOption(SMTInterpolConstants.INSTANTIATION_METHOD, mInstantiationMethod);
@@ -136,6 +183,9 @@ public class SolverOptions {
 		options.addOption(SMTInterpolConstants.SIMPLIFY_CHECK_TYPE, mSimpCheckType);
 		options.addOption(SMTInterpolConstants.SIMPLIFY_REPEATEDLY, new BooleanOption(true, true,
 				"Simplify until the fixpoint is reached."));
+		options.addOption(SMTInterpolConstants.SIMPLIFY_INCREMENTAL, new BooleanOption(false, true,
+				"Keep the simplifier contexts outside the solver, cache the redundancy checks between simplify calls,"
+						+ " and check by check-sat-assuming."));
 
 		options.addOption(SMTLIBConstants.GLOBAL_DECLARATIONS, new BooleanOption(false, false,
 				"Make all declared and defined symbols global.  Global symbols survive pop operations."));
@@ -152,13 +202,24 @@ public class SolverOptions {
 		mModelCheckMode = (BooleanOption) options.getOption(SMTInterpolConstants.MODEL_CHECK_MODE);
 		mProofTrans = (EnumOption<AvailableTransformations>) options.getOption(SMTInterpolConstants.PROOF_TRANSFORMATION);
 		mModelsPartial = (BooleanOption) options.getOption(SMTInterpolConstants.MODELS_PARTIAL);
+		mModelEvaluationThreads = (LongOption) options.getOption(SMTInterpolConstants.MODEL_EVALUATION_THREADS);
 		mCheckType = (EnumOption<CheckType>) options.getOption(SMTInterpolConstants.CHECK_TYPE);
 		mSimpIps = (BooleanOption) options.getOption(SMTInterpolConstants.SIMPLIFY_INTERPOLANTS);
+		mInterpolationThreads = (LongOption) options.getOption(SMTInterpolConstants.INTERPOLATION_THREADS);
+		mInterpolantCacheSize = (LongOption) options.getOption(SMTInterpolConstants.INTERPOLANT_CACHE_SIZE);
 		mProofCheckMode = (BooleanOption) options.getOption(SMTInterpolConstants.PROOF_CHECK_MODE);
 		mSimpCheckType = (EnumOption<CheckType>) options.getOption(SMTInterpolConstants.SIMPLIFY_CHECK_TYPE);
 		mProofLevel = (EnumOption<ProofMode>) options.getOption(SMTInterpolConstants.PROOF_LEVEL);
+		mCompactProofs = (BooleanOption) options.getOption(SMTInterpolConstants.COMPACT_PROOFS);
+		mProofLogDirectory = (StringOption) options.getOption(SMTInterpolConstants.PROOF_LOG_DIRECTORY);
 		mInstantiationMethod =
 				(EnumOption<InstantiationMethod>) options.getOption(SMTInterpolConstants.INSTANTIATION_METHOD);
+		mClauseArena = (BooleanOption) options.getOption(SMTInterpolConstants.CLAUSE_ARENA);
+		mPortfolioThreads = (LongOption) options.getOption(SMTInterpolConstants.PORTFOLIO_THREADS);
+		mInprocessing = (BooleanOption) options.getOption(SMTInterpolConstants.INPROCESSING);
+		mRestartStrategy = (EnumOption<RestartStrategy>) options.getOption(SMTInterpolConstants.RESTART_STRATEGY);
+		mPhaseStrategy = (EnumOption<PhaseStrategy>) options.getOption(SMTInterpolConstants.PHASE_STRATEGY);
+		mXorEngine = (EnumOption<XorEngine>) options.getOption(SMTInterpolConstants.XOR_ENGINE);
 		mOptions = options;
 	}
 
@@ -206,6 +267,14 @@ public class SolverOptions {
 		return level;
 	}
 
+	public final boolean isCompactProofs() {
+		return mCompactProofs.getValue();
+	}
+
+	public final String getProofLogDirectory() {
+		return mProofLogDirectory.getValue();
+	}
+
 	public final AvailableTransformations getProofTransformation() {
 		return mProofTrans.getValue();
 	}
@@ -218,6 +287,18 @@ public class SolverOptions {
 		return mSimpIps.getValue();
 	}
 
+	public final int getModelEvaluationThreads() {
+		return (int) Math.min(mModelEvaluationThreads.getValue(), Integer.MAX_VALUE);
+	}
+
+	public final int getInterpolationThreads() {
+		return (int) mInterpolationThreads.getValue();
+	}
+
+	public final int getInterpolantCacheSize() {
+		return (int) Math.min(mInterpolantCacheSize.getValue(), Integer.MAX_VALUE);
+	}
+
 	public final long getTimeout() {
 		return mTimeout.getValue();
 	}
@@ -230,4 +311,28 @@ public class SolverOptions {
 		return mInstantiationMethod.getValue();
 	}
 
+	public final boolean isClauseArena() {
+		return mClauseArena.getValue();
+	}
+
+	public final int getPortfolioThreads() {
+		return (int) mPortfolioThreads.getValue();
+	}
+
+	public final boolean isInprocessing() {
+		return mInprocessing.getValue();
+	}
+
+	public final RestartStrategy getRestartStrategy() {
+		return mRestartStrategy.getValue();
+	}
+
+	public final PhaseStrategy getPhaseStrategy() {
+		return mPhaseStrategy.getValue();
+	}
+
+	public final XorEngine getXorEngine() {
+		return mXorEngine.getValue();
+	}
+
 }
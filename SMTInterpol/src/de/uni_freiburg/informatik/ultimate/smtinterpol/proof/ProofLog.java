@@ -0,0 +1,390 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.proof;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Clause;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLAtom;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Literal;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.ResolutionNode.Antecedent;
+
+/**
+ * An append-only log of the resolution proof found by the DPLL engine. Every step of the proof, i.e., every leaf and
+ * every hyper-resolution, gets an integer id and is stored as a sequence of integers. A clause whose proof is in the
+ * log only references its step by a {@link Step} node. In contrast to a {@link ResolutionNode}, it does not keep its
+ * antecedent clauses alive, so learned clauses can be garbage collected after they were removed from the engine.
+ *
+ * A step is stored as a header containing the number of literals and the kind of the step, followed by the literals
+ * of the proved clause. A leaf step then contains the index of its {@link LeafNode}. A resolution step contains the
+ * step of the primary clause, the number of antecedents, and for every antecedent the pivot literal and the step of
+ * the antecedent. Literals are stored as twice the index of their atom, plus one for negated literals.
+ *
+ * The log is either kept on the heap or in a memory-mapped file. Only the leaf nodes, the atoms and the step offsets
+ * are kept on the heap in both cases. The log is converted back to {@link Clause} and {@link ResolutionNode} objects
+ * only for the parts of the proof that are needed, e.g., when the proof term is requested.
+ */
+public class ProofLog {
+	/**
+	 * A reference to a step in the log. This is used as the proof of a clause whose proof was logged.
+	 */
+	public static final class Step extends ProofNode {
+		private final int mId;
+
+		Step(final int id) {
+			mId = id;
+		}
+
+		public int getId() {
+			return mId;
+		}
+
+		@Override
+		public boolean isLeaf() {
+			return false;
+		}
+
+		@Override
+		public String toString() {
+			return "step" + mId;
+		}
+	}
+
+	private static final int KIND_LEAF = 0;
+	private static final int KIND_RESOLUTION = 1;
+
+	private static final int CHUNK_BITS = 20;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	/**
+	 * The chunks containing the integers of the log. Each chunk contains CHUNK_SIZE integers.
+	 */
+	private final ArrayList<IntBuffer> mChunks = new ArrayList<>();
+	/**
+	 * The number of integers in the log.
+	 */
+	private long mSize;
+	/**
+	 * The file the log is mapped to, or null if the log is kept on the heap.
+	 */
+	private final File mFile;
+	private RandomAccessFile mRandomAccessFile;
+	private FileChannel mChannel;
+
+	/**
+	 * The offset of every step in the log.
+	 */
+	private long[] mOffsets = new long[1024];
+	private int mNumSteps;
+
+	private final ArrayList<LeafNode> mLeaves = new ArrayList<>();
+	private final ArrayList<DPLLAtom> mAtoms = new ArrayList<>();
+	private final HashMap<DPLLAtom, Integer> mAtomIds = new HashMap<>();
+
+	/**
+	 * Create a proof log on the heap.
+	 */
+	public ProofLog() {
+		mFile = null;
+	}
+
+	/**
+	 * Create a proof log that is spilled to a memory-mapped file. The file is truncated and deleted when the log is
+	 * closed.
+	 *
+	 * @param file
+	 *            the file to map.
+	 * @throws IOException
+	 *             if the file cannot be opened.
+	 */
+	public ProofLog(final File file) throws IOException {
+		mFile = file;
+		mRandomAccessFile = new RandomAccessFile(file, "rw");
+		mRandomAccessFile.setLength(0);
+		mChannel = mRandomAccessFile.getChannel();
+	}
+
+	/**
+	 * Close the log and delete its file. The log must not be used afterwards.
+	 */
+	public void close() {
+		mChunks.clear();
+		if (mChannel != null) {
+			try {
+				mRandomAccessFile.close();
+			} catch (final IOException ignored) {
+				// the file is deleted anyway
+			}
+			mChannel = null;
+			mRandomAccessFile = null;
+			mFile.delete();
+		}
+	}
+
+	private void append(final int value) {
+		final int chunk = (int) (mSize >>> CHUNK_BITS);
+		if (chunk == mChunks.size()) {
+			mChunks.add(createChunk(chunk));
+		}
+		mChunks.get(chunk).put((int) (mSize & CHUNK_MASK), value);
+		mSize++;
+	}
+
+	private IntBuffer createChunk(final int chunk) {
+		if (mChannel == null) {
+			return IntBuffer.allocate(CHUNK_SIZE);
+		}
+		try {
+			return mChannel.map(MapMode.READ_WRITE, (long) chunk * CHUNK_SIZE * Integer.BYTES,
+					(long) CHUNK_SIZE * Integer.BYTES).asIntBuffer();
+		} catch (final IOException e) {
+			throw new UncheckedIOException("Cannot extend proof log " + mFile, e);
+		}
+	}
+
+	private int get(final long pos) {
+		return mChunks.get((int) (pos >>> CHUNK_BITS)).get((int) (pos & CHUNK_MASK));
+	}
+
+	private int encode(final Literal lit) {
+		final DPLLAtom atom = lit.getAtom();
+		Integer id = mAtomIds.get(atom);
+		if (id == null) {
+			id = mAtoms.size();
+			mAtoms.add(atom);
+			mAtomIds.put(atom, id);
+		}
+		return 2 * id + (lit.getSign() > 0 ? 0 : 1);
+	}
+
+	private Literal decode(final int code) {
+		final DPLLAtom atom = mAtoms.get(code >> 1);
+		return (code & 1) == 0 ? atom : atom.negate();
+	}
+
+	private int startStep(final int kind, final Clause clause) {
+		if (mNumSteps == mOffsets.length) {
+			mOffsets = Arrays.copyOf(mOffsets, 2 * mNumSteps);
+		}
+		mOffsets[mNumSteps] = mSize;
+		append(clause.getSize() << 1 | kind);
+		for (int i = 0; i < clause.getSize(); i++) {
+			append(encode(clause.getLiteral(i)));
+		}
+		return mNumSteps++;
+	}
+
+	private int logLeaf(final Clause clause, final LeafNode leaf) {
+		final int step = startStep(KIND_LEAF, clause);
+		append(mLeaves.size());
+		mLeaves.add(leaf);
+		return step;
+	}
+
+	private int logResolution(final Clause resolvent, final int primary, final Antecedent[] antecedents) {
+		final int step = startStep(KIND_RESOLUTION, resolvent);
+		append(primary);
+		append(antecedents.length);
+		for (final Antecedent ante : antecedents) {
+			append(encode(ante.mPivot));
+			append(((Step) ante.mAntecedent.getProof()).mId);
+		}
+		return step;
+	}
+
+	/**
+	 * Log a hyper-resolution step. The proofs of the primary clause and the antecedents are logged first, if this was
+	 * not done before.
+	 *
+	 * @param resolvent
+	 *            the clause proved by the resolution.
+	 * @param primary
+	 *            the primary clause.
+	 * @param antecedents
+	 *            the antecedents with their pivot literals.
+	 * @return the proof node to use for the resolvent.
+	 */
+	public Step logResolution(final Clause resolvent, final Clause primary, final Antecedent[] antecedents) {
+		final int primaryStep = getStep(primary);
+		for (final Antecedent ante : antecedents) {
+			getStep(ante.mAntecedent);
+		}
+		return new Step(logResolution(resolvent, primaryStep, antecedents));
+	}
+
+	/**
+	 * Get the step proving a clause. If the proof of the clause was not yet logged, it is logged now and the proof of
+	 * the clause, and all clauses in its proof, is replaced by a {@link Step}.
+	 *
+	 * @param clause
+	 *            the clause.
+	 * @return the step proving the clause.
+	 */
+	public int getStep(final Clause clause) {
+		final ArrayDeque<Clause> todo = new ArrayDeque<>();
+		todo.push(clause);
+		while (!todo.isEmpty()) {
+			final Clause c = todo.peek();
+			final ProofNode proof = c.getProof();
+			if (proof instanceof Step) {
+				todo.pop();
+			} else if (proof.isLeaf()) {
+				todo.pop();
+				c.setProof(new Step(logLeaf(c, (LeafNode) proof)));
+			} else {
+				final ResolutionNode rn = (ResolutionNode) proof;
+				boolean ready = true;
+				if (!(rn.getPrimary().getProof() instanceof Step)) {
+					todo.push(rn.getPrimary());
+					ready = false;
+				}
+				for (final Antecedent ante : rn.getAntecedents()) {
+					if (!(ante.mAntecedent.getProof() instanceof Step)) {
+						todo.push(ante.mAntecedent);
+						ready = false;
+					}
+				}
+				if (ready) {
+					todo.pop();
+					final int primary = ((Step) rn.getPrimary().getProof()).mId;
+					c.setProof(new Step(logResolution(c, primary, rn.getAntecedents())));
+				}
+			}
+		}
+		return ((Step) clause.getProof()).mId;
+	}
+
+	private Literal[] readLiterals(final long offset, final int numLits) {
+		final Literal[] lits = new Literal[numLits];
+		for (int i = 0; i < numLits; i++) {
+			lits[i] = decode(get(offset + 1 + i));
+		}
+		return lits;
+	}
+
+	/**
+	 * Convert a step of the log and all steps it depends on into the {@link Clause} based proof representation. The
+	 * clauses are newly created; they are not the clauses used in the DPLL engine.
+	 *
+	 * @param step
+	 *            the step to convert.
+	 * @return a clause whose proof is given by {@link LeafNode}s and {@link ResolutionNode}s.
+	 */
+	public Clause toClause(final int step) {
+		final HashMap<Integer, Clause> converted = new HashMap<>();
+		final ArrayDeque<Integer> todo = new ArrayDeque<>();
+		todo.push(step);
+		while (!todo.isEmpty()) {
+			final int current = todo.peek();
+			if (converted.containsKey(current)) {
+				todo.pop();
+				continue;
+			}
+			final long offset = mOffsets[current];
+			final int header = get(offset);
+			final int numLits = header >>> 1;
+			final long body = offset + 1 + numLits;
+			if ((header & 1) == KIND_LEAF) {
+				todo.pop();
+				converted.put(current, new Clause(readLiterals(offset, numLits), mLeaves.get(get(body))));
+				continue;
+			}
+			final int numAntes = get(body + 1);
+			boolean ready = true;
+			for (int i = -1; i < numAntes; i++) {
+				final int dep = get(i < 0 ? body : body + 3 + 2 * i);
+				if (!converted.containsKey(dep)) {
+					todo.push(dep);
+					ready = false;
+				}
+			}
+			if (ready) {
+				todo.pop();
+				final Antecedent[] antes = new Antecedent[numAntes];
+				for (int i = 0; i < numAntes; i++) {
+					antes[i] = new Antecedent(decode(get(body + 2 + 2 * i)), converted.get(get(body + 3 + 2 * i)));
+				}
+				final ResolutionNode rn = new ResolutionNode(converted.get(get(body)), antes);
+				converted.put(current, new Clause(readLiterals(offset, numLits), rn));
+			}
+		}
+		return converted.get(step);
+	}
+
+	/**
+	 * Collect the leaves of the proof of a step without converting the proof.
+	 *
+	 * @param step
+	 *            the step.
+	 * @return the leaf nodes of all leaf steps the step depends on.
+	 */
+	public List<LeafNode> collectLeaves(final int step) {
+		final ArrayList<LeafNode> leaves = new ArrayList<>();
+		final BitSet visited = new BitSet(mNumSteps);
+		final ArrayDeque<Integer> todo = new ArrayDeque<>();
+		todo.push(step);
+		while (!todo.isEmpty()) {
+			final int current = todo.pop();
+			if (visited.get(current)) {
+				continue;
+			}
+			visited.set(current);
+			final long offset = mOffsets[current];
+			final int header = get(offset);
+			final long body = offset + 1 + (header >>> 1);
+			if ((header & 1) == KIND_LEAF) {
+				leaves.add(mLeaves.get(get(body)));
+			} else {
+				todo.push(get(body));
+				final int numAntes = get(body + 1);
+				for (int i = 0; i < numAntes; i++) {
+					todo.push(get(body + 3 + 2 * i));
+				}
+			}
+		}
+		return leaves;
+	}
+
+	/**
+	 * Get the number of steps in the log.
+	 */
+	public int getNumSteps() {
+		return mNumSteps;
+	}
+
+	/**
+	 * Get the size of the log in bytes, not counting the leaf nodes and atoms.
+	 */
+	public long getSizeInBytes() {
+		return mSize * Integer.BYTES + (long) mNumSteps * Long.BYTES;
+	}
+}
@@ -19,6 +19,7 @@
 package de.uni_freiburg.informatik.ultimate.smtinterpol.proof;
 
 import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.HashSet;
 
 import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
@@ -40,8 +41,25 @@ public class UnsatCoreCollector {
 	}
 
 	public Term[] getUnsatCore(Clause unsat) {
+		return toTerms(run(unsat));
+	}
+
+	/**
+	 * Compute the unsat core from the leaves of a proof, e.g., the leaves
+	 * collected from a {@link ProofLog}.
+	 * @param leaves The leaves of the proof of the empty clause.
+	 * @return The names of the input formulas used in the proof.
+	 */
+	public Term[] getUnsatCore(Collection<LeafNode> leaves) {
+		final HashSet<String> res = new HashSet<String>();
+		for (final LeafNode l : leaves) {
+			addLeaf(res, l);
+		}
+		return toTerms(res);
+	}
+
+	private Term[] toTerms(HashSet<String> unsatCoreIds) {
 		try {
-			final HashSet<String> unsatCoreIds = run(unsat);
 			final Term[] res = new Term[unsatCoreIds.size()];
 			int i = -1;
 			for (final String s : unsatCoreIds) {
@@ -62,24 +80,7 @@ public class UnsatCoreCollector {
 			final Clause c = todo.pop();
 			if (visited.add(c)) {
 				if (c.getProof().isLeaf()) {
-					final LeafNode l = (LeafNode) c.getProof();
-					// Tautologies are not needed in an unsat core
-					if (l.getLeafKind() == LeafNode.NO_THEORY
-							&& l.getTheoryAnnotation() instanceof SourceAnnotation) {
-						final String name = ((SourceAnnotation) l.getTheoryAnnotation()).
-							getAnnotation();
-						// Guard against unnamed clauses
-						if (!name.isEmpty()) {
-							res.add(name);
-						}
-					} else if (l.getLeafKind() == LeafNode.QUANT_INST) {
-						final QuantAnnotation annot = (QuantAnnotation) l.getTheoryAnnotation();
-						final String name = annot.getSource().getAnnotation();
-						// Guard against unnamed clauses
-						if (!name.isEmpty()) {
-							res.add(name);
-						}
-					}
+					addLeaf(res, (LeafNode) c.getProof());
 				} else {
 					final ResolutionNode n = (ResolutionNode) c.getProof();
 					todo.push(n.getPrimary());
@@ -92,4 +93,24 @@ public class UnsatCoreCollector {
 		}
 		return res;
 	}
+
+	private void addLeaf(HashSet<String> res, LeafNode l) {
+		// Tautologies are not needed in an unsat core
+		if (l.getLeafKind() == LeafNode.NO_THEORY
+				&& l.getTheoryAnnotation() instanceof SourceAnnotation) {
+			final String name = ((SourceAnnotation) l.getTheoryAnnotation()).
+				getAnnotation();
+			// Guard against unnamed clauses
+			if (!name.isEmpty()) {
+				res.add(name);
+			}
+		} else if (l.getLeafKind() == LeafNode.QUANT_INST) {
+			final QuantAnnotation annot = (QuantAnnotation) l.getTheoryAnnotation();
+			final String name = annot.getSource().getAnnotation();
+			// Guard against unnamed clauses
+			if (!name.isEmpty()) {
+				res.add(name);
+			}
+		}
+	}
 }
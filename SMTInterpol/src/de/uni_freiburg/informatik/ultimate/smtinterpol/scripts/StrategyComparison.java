@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.scripts;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine.PhaseStrategy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine.RestartStrategy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.OptionMap.CopyMode;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Script to compare the restart and phase strategies on a benchmark. Before a
+ * check-sat is answered, it is solved by a fresh solver for every combination of
+ * strategies, and the result, the time to solution, and the conflicts per second
+ * are printed to stdout before the answer. This script can be used with
+ *
+ * <pre>
+ * java -jar smtinterpol.jar -script StrategyComparison benchmark.smt2
+ * </pre>
+ *
+ * A timeout set with -t applies to every single run.
+ */
+public class StrategyComparison extends SMTInterpol {
+
+	public StrategyComparison() {
+		super();
+		setOption(":interactive-mode", true);
+	}
+
+	@Override
+	public LBool checkSatAssuming(final Term... assumptions) throws SMTLIBException {
+		final Term[] assertions = getAssertions();
+		for (final RestartStrategy restart : RestartStrategy.values()) {
+			for (final PhaseStrategy phase : PhaseStrategy.values()) {
+				final Map<String, Object> options = new HashMap<>();
+				options.put(SMTInterpolConstants.RESTART_STRATEGY, restart);
+				options.put(SMTInterpolConstants.PHASE_STRATEGY, phase);
+				final SMTInterpol solver = new SMTInterpol(this, options, CopyMode.CURRENT_VALUE);
+				final long start = System.nanoTime();
+				for (final Term asserted : assertions) {
+					solver.assertTerm(asserted);
+				}
+				final LBool result = solver.checkSatAssuming(assumptions);
+				final long time = (System.nanoTime() - start) / 1000000;
+				final int conflicts = solver.getEngine().getNumConflicts();
+				System.out.println(String.format("%-8s %-8s %-8s %8d ms %10d conflicts %10.0f conflicts/s", restart,
+						phase, result, time, conflicts, conflicts * 1000.0 / Math.max(time, 1)));
+			}
+		}
+		return super.checkSatAssuming(assumptions);
+	}
+}
@@ -0,0 +1,466 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import de.uni_freiburg.informatik.ultimate.logic.ApplicationTerm;
+import de.uni_freiburg.informatik.ultimate.logic.FunctionSymbol;
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Model;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBConstants;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.LogProxy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.convert.Clausifier;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.BooleanVarAtom;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.ClauseExchange;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLAtom;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.ILiteral;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Literal;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.ChannelOption;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.LoggerOption;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.OptionMap;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.VerbosityOption;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.ProofRules;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol.CheckType;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol.ProofMode;
+
+/**
+ * Race several DPLL engines on the current assertion stack. The engine of the
+ * calling solver takes part in the race in the calling thread. For every other
+ * engine, a helper solver with its own theory is created, all assertions are
+ * copied into it, and it runs in its own thread. The helpers use different
+ * random seeds, restart intervals, initial phases, and initial activities.
+ *
+ * The engines exchange learned clauses of the core tier, i.e., unit, binary, and
+ * low LBD clauses, if all their atoms are Boolean constants of the input. Every
+ * engine has a lock-free inbox that the other engines append to; it is emptied
+ * on every restart. Clauses are not exchanged when proofs are produced, since
+ * they have no proof in the importing engine.
+ *
+ * The first engine that decides the problem stops the others. If this was a
+ * helper, its model, unsat core, unsat assumptions, and proof are copied back
+ * into the theory of the calling solver on demand.
+ */
+final class Portfolio implements TerminationRequest {
+	/**
+	 * The restart factors of the helpers, chosen round robin.
+	 */
+	private static final int[] RESTART_FACTORS = { Config.RESTART_FACTOR, Config.RESTART_FACTOR / 5,
+			Config.RESTART_FACTOR * 4 };
+
+	private final SMTInterpol mMain;
+	private final LogProxy mLogger;
+	private final TerminationRequest mCancel;
+	private final long mRandomSeed;
+	private final boolean mShareClauses;
+	private final Racer[] mRacers;
+	/**
+	 * The Boolean constants of the input. The index into this array is the atom
+	 * id used in exchanged clauses. A literal of an exchanged clause is twice the
+	 * atom id, plus one if it is negated.
+	 */
+	private final Term[] mSharedAtoms;
+	private final AtomicReference<Racer> mWinner = new AtomicReference<>();
+
+	private TermTransferrer mFromWinner;
+	private Model mModel;
+
+	/**
+	 * Create the helper solvers and copy the assertions into them.
+	 *
+	 * @param main
+	 *            the calling solver.
+	 * @param options
+	 *            the options of the calling solver.
+	 * @param cancel
+	 *            the termination request of the calling solver.
+	 * @param numEngines
+	 *            the number of engines including the engine of the calling solver.
+	 * @param assertions
+	 *            the asserted formulas.
+	 * @param assumptions
+	 *            the assumptions of the check.
+	 * @throws UnsupportedOperationException
+	 *             if the assertions cannot be copied into a helper.
+	 */
+	Portfolio(final SMTInterpol main, final OptionMap options, final TerminationRequest cancel,
+			final int numEngines, final Iterable<Term> assertions, final Term[] assumptions) {
+		mMain = main;
+		mLogger = main.getLogger();
+		mCancel = cancel;
+		mRandomSeed = options.getSolverOptions().getRandomSeed();
+		mShareClauses = !main.getEngine().isProofGenerationEnabled();
+		mSharedAtoms = collectSharedAtoms(main.getClausifier());
+		final ArrayList<Term> assertionList = new ArrayList<>();
+		for (final Term asserted : assertions) {
+			assertionList.add(asserted);
+		}
+		final Term[] assertionArray = assertionList.toArray(new Term[assertionList.size()]);
+		mRacers = new Racer[numEngines];
+		mRacers[0] = new Racer(0, null, null, null, null);
+		for (int i = 1; i < numEngines; i++) {
+			final SMTInterpol helper = createHelper(options, main.getTheory().getLogic(), i);
+			final TermTransferrer transferrer = new TermTransferrer(helper);
+			mRacers[i] = new Racer(i, helper, transferrer, transferrer.transform(assertionArray),
+					transferrer.transform(assumptions));
+		}
+	}
+
+	private Term[] collectSharedAtoms(final Clausifier clausifier) {
+		final ArrayList<Term> atoms = new ArrayList<>();
+		for (final BooleanVarAtom atom : clausifier.getBooleanVars()) {
+			final Term term = atom.getSMTFormula(clausifier.getTheory());
+			if (term instanceof ApplicationTerm) {
+				final ApplicationTerm app = (ApplicationTerm) term;
+				final FunctionSymbol fsym = app.getFunction();
+				if (app.getParameters().length == 0 && !fsym.isIntern() && fsym.getDefinition() == null) {
+					atoms.add(term);
+				}
+			}
+		}
+		return atoms.toArray(new Term[atoms.size()]);
+	}
+
+	private SMTInterpol createHelper(final OptionMap options, final Logics logic, final int number) {
+		final OptionMap helperOptions = new OptionMap(mLogger);
+		final SMTInterpol helper = new SMTInterpol(this, helperOptions);
+		for (final String name : options.getInfo()) {
+			final Object option = options.getOption(name);
+			/* Skip aliases, front end options, and the options that share the output channels and the logger */
+			if (option == null || helperOptions.getOption(name) == null || option instanceof ChannelOption || option instanceof LoggerOption
+					|| option instanceof VerbosityOption) {
+				continue;
+			}
+			helper.setOption(name, options.get(name));
+		}
+		helper.setOption(SMTInterpolConstants.PORTFOLIO_THREADS, 1);
+		helper.setOption(SMTLIBConstants.RANDOM_SEED, mRandomSeed + number);
+		helper.setLogic(logic);
+		return helper;
+	}
+
+	/**
+	 * Run the race. The engine of the calling solver is run in the calling
+	 * thread, the helpers in their own threads. This returns after all threads
+	 * have stopped.
+	 *
+	 * @param checkType
+	 *            the check to run on the engine of the calling solver.
+	 * @param engine
+	 *            the engine of the calling solver.
+	 * @return the result of the check on the engine of the calling solver.
+	 */
+	boolean check(final CheckType checkType, final DPLLEngine engine) {
+		final Racer mainRacer = mRacers[0];
+		mainRacer.mapAtoms(mMain.getClausifier(), null);
+		final Thread[] threads = new Thread[mRacers.length];
+		for (int i = 1; i < mRacers.length; i++) {
+			threads[i] = new Thread(mRacers[i], "SMTInterpol portfolio " + i);
+			threads[i].setDaemon(true);
+			threads[i].start();
+		}
+		boolean result = true;
+		boolean completed = false;
+		engine.setClauseExchange(mainRacer);
+		try {
+			result = checkType.check(engine);
+			completed = true;
+			if (!result) {
+				mainRacer.finish(LBool.UNSAT);
+			} else if (engine.hasModel()) {
+				mainRacer.finish(LBool.SAT);
+			}
+		} finally {
+			engine.setClauseExchange(null);
+			if (!completed) {
+				/* Stop the helpers since the engine of the calling solver threw an exception */
+				mWinner.compareAndSet(null, mainRacer);
+			}
+			for (int i = 1; i < threads.length; i++) {
+				joinUninterruptibly(threads[i]);
+			}
+		}
+		/* The engine of the calling solver was only stopped because a helper won; an external cancel is kept. */
+		final Racer winner = mWinner.get();
+		if (winner != null && winner != mainRacer && engine.getCompleteness() == DPLLEngine.INCOMPLETE_CANCELLED) {
+			engine.setCompleteness(DPLLEngine.COMPLETE);
+		}
+		return result;
+	}
+
+	private static void joinUninterruptibly(final Thread thread) {
+		boolean interrupted = false;
+		while (thread.isAlive()) {
+			try {
+				thread.join();
+			} catch (final InterruptedException ex) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Get the helper that decided the problem. If the engine of the calling solver
+	 * decided the problem, too, its result is preferred.
+	 *
+	 * @return the helper, or null if the problem was decided by the calling
+	 *         solver or not at all.
+	 */
+	SMTInterpol getWinningHelper() {
+		final Racer winner = mWinner.get();
+		return winner == null || mRacers[0].mResult != LBool.UNKNOWN ? null : winner.mSolver;
+	}
+
+	/**
+	 * Get the result of the engine that decided the problem.
+	 */
+	LBool getResult() {
+		final Racer winner = mWinner.get();
+		return winner == null ? LBool.UNKNOWN : winner.mResult;
+	}
+
+	/**
+	 * Copy terms of the winning helper back into the theory of the calling
+	 * solver.
+	 */
+	Term[] transferBack(final Term[] terms) {
+		if (mFromWinner == null) {
+			mFromWinner = new TermTransferrer(mMain);
+		}
+		return mFromWinner.transform(terms);
+	}
+
+	Term transferBack(final Term term) {
+		return transferBack(new Term[] { term })[0];
+	}
+
+	/**
+	 * Get the model of the winning helper in the theory of the calling solver.
+	 */
+	Model getModel() {
+		if (mModel == null) {
+			mModel = new TransferredModel(mWinner.get());
+		}
+		return mModel;
+	}
+
+	/**
+	 * Get the proof of the winning helper in the theory of the calling solver.
+	 */
+	Term getProof(final ProofMode proofMode) {
+		final Term proof = mWinner.get().mSolver.getProof(proofMode);
+		/* Declare the proof rules in the theory of the calling solver */
+		new ProofRules(mMain.getTheory());
+		return transferBack(proof);
+	}
+
+	@Override
+	public boolean isTerminationRequested() {
+		return mWinner.get() != null || mCancel.isTerminationRequested();
+	}
+
+	/**
+	 * One engine of the race and its end point of the clause exchange.
+	 */
+	private final class Racer implements ClauseExchange, Runnable {
+		private final int mNumber;
+		/**
+		 * The helper solver, or null for the engine of the calling solver.
+		 */
+		private final SMTInterpol mSolver;
+		private final TermTransferrer mToSolver;
+		private final Term[] mAssertions;
+		private final Term[] mAssumptions;
+		private final ConcurrentLinkedQueue<int[]> mInbox = new ConcurrentLinkedQueue<>();
+		private DPLLAtom[] mAtoms;
+		private HashMap<DPLLAtom, Integer> mAtomIds;
+		private LBool mResult = LBool.UNKNOWN;
+
+		Racer(final int number, final SMTInterpol solver, final TermTransferrer toSolver, final Term[] assertions,
+				final Term[] assumptions) {
+			mNumber = number;
+			mSolver = solver;
+			mToSolver = toSolver;
+			mAssertions = assertions;
+			mAssumptions = assumptions;
+		}
+
+		/**
+		 * Find the atoms of the shared Boolean constants in the engine of this racer.
+		 */
+		void mapAtoms(final Clausifier clausifier, final TermTransferrer transferrer) {
+			mAtoms = new DPLLAtom[mSharedAtoms.length];
+			mAtomIds = new HashMap<>();
+			for (int i = 0; i < mSharedAtoms.length; i++) {
+				final Term term = transferrer == null ? mSharedAtoms[i] : transferrer.getTransferred(mSharedAtoms[i]);
+				final ILiteral lit = term == null ? null : clausifier.getILiteral(term);
+				if (lit instanceof BooleanVarAtom) {
+					mAtoms[i] = (DPLLAtom) lit;
+					mAtomIds.put(mAtoms[i], i);
+				}
+			}
+		}
+
+		void finish(final LBool result) {
+			mResult = result;
+			if (mWinner.compareAndSet(null, this)) {
+				mLogger.info("Portfolio engine %d decided the problem", mNumber);
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				for (final Term asserted : mAssertions) {
+					mSolver.assertTerm(asserted);
+				}
+				final DPLLEngine engine = mSolver.getEngine();
+				engine.setRestartFactor(RESTART_FACTORS[mNumber % RESTART_FACTORS.length]);
+				if ((mNumber & 1) != 0) {
+					engine.invertPhases();
+				}
+				if (mNumber >= 2) {
+					engine.messWithActivityOfAtoms(new Random(mRandomSeed + mNumber));
+				}
+				mapAtoms(mSolver.getClausifier(), mToSolver);
+				engine.setClauseExchange(this);
+				final LBool result = mSolver.checkSatAssuming(mAssumptions);
+				if (result != LBool.UNKNOWN) {
+					finish(result);
+				}
+			} catch (final RuntimeException ex) {
+				mLogger.warn("Portfolio engine %d failed: %s", mNumber, ex);
+			}
+		}
+
+		@Override
+		public boolean isTerminationRequested() {
+			final Racer winner = mWinner.get();
+			return winner != null && winner != this;
+		}
+
+		@Override
+		public void exportClause(final Literal[] literals) {
+			if (!mShareClauses) {
+				return;
+			}
+			final int[] clause = new int[literals.length];
+			for (int i = 0; i < literals.length; i++) {
+				final Integer id = mAtomIds.get(literals[i].getAtom());
+				if (id == null) {
+					return;
+				}
+				clause[i] = 2 * id + (literals[i] == literals[i].getAtom() ? 0 : 1);
+			}
+			for (final Racer other : mRacers) {
+				if (other != this) {
+					other.mInbox.add(clause);
+				}
+			}
+		}
+
+		@Override
+		public void importClauses(final DPLLEngine engine) {
+			int[] clause;
+			nextClause: while ((clause = mInbox.poll()) != null) {
+				final Literal[] literals = new Literal[clause.length];
+				for (int i = 0; i < clause.length; i++) {
+					final DPLLAtom atom = mAtoms[clause[i] >> 1];
+					if (atom == null) {
+						continue nextClause;
+					}
+					literals[i] = (clause[i] & 1) == 0 ? atom : atom.negate();
+				}
+				engine.addSharedClause(literals);
+			}
+		}
+	}
+
+	/**
+	 * The model of the winning helper. Terms are copied into the theory of the
+	 * helper, evaluated there, and the values are copied back.
+	 */
+	private final class TransferredModel implements Model {
+		private final Racer mWinningRacer;
+		private final Model mHelperModel;
+
+		TransferredModel(final Racer winner) {
+			mWinningRacer = winner;
+			mHelperModel = winner.mSolver.getModel();
+		}
+
+		@Override
+		public Term evaluate(final Term input) {
+			return transferBack(mHelperModel.evaluate(mWinningRacer.mToSolver.transform(input)));
+		}
+
+		@Override
+		public Map<Term, Term> evaluate(final Term[] input) {
+			final LinkedHashMap<Term, Term> values = new LinkedHashMap<>();
+			for (final Term term : input) {
+				values.put(term, evaluate(term));
+			}
+			return values;
+		}
+
+		@Override
+		public Set<FunctionSymbol> getDefinedFunctions() {
+			final Map<String, FunctionSymbol> mainFunctions = mMain.getTheory().getDeclaredFunctions();
+			final HashSet<FunctionSymbol> result = new HashSet<>();
+			for (final FunctionSymbol fsym : mHelperModel.getDefinedFunctions()) {
+				final FunctionSymbol mainSymbol = mainFunctions.get(fsym.getName());
+				if (mainSymbol != null) {
+					result.add(mainSymbol);
+				}
+			}
+			return result;
+		}
+
+		@Override
+		public Term getFunctionDefinition(final String func, final TermVariable[] args) {
+			final TermVariable[] helperArgs = new TermVariable[args.length];
+			for (int i = 0; i < args.length; i++) {
+				helperArgs[i] = (TermVariable) mWinningRacer.mToSolver.transform(args[i]);
+			}
+			return transferBack(mHelperModel.getFunctionDefinition(func, helperArgs));
+		}
+
+		@Override
+		public String toString() {
+			return mHelperModel.toString();
+		}
+	}
+}
@@ -18,10 +18,12 @@
  */
 package de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2;
 
+import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -58,12 +60,14 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.convert.Clausifier;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Clause;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Literal;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.interpolate.InterpolantCache;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.interpolate.Interpolator;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.option.OptionMap;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.option.OptionMap.CopyMode;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SolverOptions;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.MinimalProofChecker;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.ProofLog;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.ProofRules;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.ProofSimplifier;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.ProofTermGenerator;
@@ -167,6 +171,21 @@ public class SMTInterpol extends NoopScript {
 	private Clausifier mClausifier;
 	private ScopedArrayList<Term> mAssertions;
 	private TimeoutHandler mCancel;
+	/**
+	 * The engines that raced in the last check-sat, or null if it ran on the engine
+	 * of this solver alone.
+	 */
+	private Portfolio mPortfolio;
+	/**
+	 * The interpolants of proof nodes computed by earlier calls of getInterpolants. The cache is kept across push and
+	 * pop, since proof terms are unique in a theory, and dropped if the assertions or the logic are reset.
+	 */
+	private InterpolantCache mInterpolantCache;
+	/**
+	 * The simplifier used by simplify in incremental mode. Its cache is only valid while no assertion is removed, so it
+	 * is dropped on pop, reset, and whenever an option changes.
+	 */
+	private SimplifyDDA mSimplifier;
 
 	private final LogProxy mLogger;
 
@@ -353,8 +372,12 @@ public class SMTInterpol extends NoopScript {
 	@Override
 	public final void reset() {
 		super.reset();
+		closeProofLog();
 		mEngine = null;
 		mModel = null;
+		mPortfolio = null;
+		mInterpolantCache = null;
+		mSimplifier = null;
 		mAssertionStackModified = true;
 		if (mAssertions != null) {
 			mAssertions.clear();
@@ -368,6 +391,8 @@ public class SMTInterpol extends NoopScript {
 	public final void resetAssertions() {
 		super.resetAssertions();
 		mAssertionStackModified = true;
+		mInterpolantCache = null;
+		mSimplifier = null;
 		if (mAssertions != null) {
 			mAssertions.clear();
 		}
@@ -397,6 +422,8 @@ public class SMTInterpol extends NoopScript {
 			throw eBug;
 		}
 		modifyAssertionStack();
+		mSimplifier = null;
+		clearInterpolantCache();
 		int i = n;
 		while (i-- > 0) {
 			if (mAssertions != null) {
@@ -455,15 +482,25 @@ public class SMTInterpol extends NoopScript {
 		LBool result = LBool.UNKNOWN;
 		mReasonUnknown = ReasonUnknown.INCOMPLETE;
 		mEngine.setRandomSeed(mSolverOptions.getRandomSeed());
+		mEngine.setRestartStrategy(mSolverOptions.getRestartStrategy());
+		mEngine.setPhaseStrategy(mSolverOptions.getPhaseStrategy());
+		mPortfolio = createPortfolio(assumptions);
 		try {
-			result = mSolverOptions.getCheckType().check(mEngine) ? LBool.SAT : LBool.UNSAT;
+			if (mPortfolio != null) {
+				result = mPortfolio.check(mSolverOptions.getCheckType(), mEngine) ? LBool.SAT : LBool.UNSAT;
+			} else {
+				result = mSolverOptions.getCheckType().check(mEngine) ? LBool.SAT : LBool.UNSAT;
+			}
 		} catch (final RuntimeException eUnknown) {
 			if (mErrorCallback != null) {
 				mErrorCallback.notifyError(ErrorReason.EXCEPTION_ON_CHECKSAT);
 			}
 			throw eUnknown;
 		}
-		if (result == LBool.SAT) {
+		if (getPortfolioWinner() != null) {
+			// A helper engine decided the problem and did its own model and proof checks.
+			result = mPortfolio.getResult();
+		} else if (result == LBool.SAT) {
 			if (mEngine.hasModel()) {
 				if (mSolverOptions.isModelCheckModeActive()) {
 					try {
@@ -546,6 +583,38 @@ public class SMTInterpol extends NoopScript {
 		return result;
 	}
 
+	/**
+	 * Create the helper engines for a portfolio check, if the option
+	 * :portfolio-threads asks for more than one engine. Interpolation needs the
+	 * proof of this engine, so it runs without a portfolio.
+	 *
+	 * @return the portfolio, or null if this engine should run alone.
+	 */
+	private Portfolio createPortfolio(final Term[] assumptions) {
+		final int numEngines = mSolverOptions.getPortfolioThreads();
+		final Logics logic = getTheory().getLogic();
+		if (numEngines <= 1 || mEngine.inconsistent() || mSolverOptions.isProduceInterpolants()
+				|| logic.isQuantified() || logic.isDatatype()) {
+			return null;
+		}
+		try {
+			return new Portfolio(this, mOptions, mCancel, numEngines, mAssertions,
+					assumptions == null ? new Term[0] : assumptions);
+		} catch (final UnsupportedOperationException ex) {
+			mLogger.warn("Cannot run portfolio: %s", ex.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Get the helper solver that decided the problem in the last portfolio check.
+	 *
+	 * @return the helper, or null if this engine decided the problem.
+	 */
+	private SMTInterpol getPortfolioWinner() {
+		return mPortfolio == null ? null : mPortfolio.getWinningHelper();
+	}
+
 	private final boolean isStatusSet() {
 		return mStatusInfo != LBool.UNKNOWN;
 	}
@@ -564,9 +633,67 @@ public class SMTInterpol extends NoopScript {
 	public void setLogic(final Logics logic) throws UnsupportedOperationException, SMTLIBException {
 		mSolverSetup = new SMTInterpolSetup();
 		super.setLogic(logic);
+		mInterpolantCache = null;
+		mSimplifier = null;
 		setupClausifier(logic);
 	}
 
+	private Object[] getStatistics() {
+		if (mEngine == null) {
+			return new Object[0];
+		}
+		Object[] stats = (Object[]) mEngine.getStatistics();
+		if (mInterpolantCache != null) {
+			stats = Arrays.copyOf(stats, stats.length + 1);
+			stats[stats.length - 1] = new Object[] { ":Interpolant_Cache", mInterpolantCache.getStatistics() };
+		}
+		return stats;
+	}
+
+	/**
+	 * Get the cache for interpolants shared between calls of getInterpolants. The cache is recreated if its size
+	 * option changed.
+	 *
+	 * @return the cache or null if caching is disabled.
+	 */
+	private InterpolantCache getInterpolantCache() {
+		final int size = mSolverOptions.getInterpolantCacheSize();
+		if (size <= 0) {
+			mInterpolantCache = null;
+		} else if (mInterpolantCache == null || mInterpolantCache.getCapacity() != size) {
+			mInterpolantCache = new InterpolantCache(size);
+		}
+		return mInterpolantCache;
+	}
+
+	/**
+	 * Drop the cached interpolants when the assertions change, so that the proofs of earlier checks can be garbage
+	 * collected.
+	 */
+	private void clearInterpolantCache() {
+		if (mInterpolantCache != null) {
+			mInterpolantCache.clear();
+		}
+	}
+
+	private ProofLog createProofLog() {
+		final String dir = mSolverOptions.getProofLogDirectory();
+		if (dir.isEmpty()) {
+			return new ProofLog();
+		}
+		try {
+			return new ProofLog(File.createTempFile("proof", ".log", new File(dir)));
+		} catch (final IOException e) {
+			throw new SMTLIBException("Cannot create proof log in " + dir + ": " + e.getMessage());
+		}
+	}
+
+	private void closeProofLog() {
+		if (mEngine != null && mEngine.getProofLog() != null) {
+			mEngine.getProofLog().close();
+		}
+	}
+
 	/**
 	 * Setup the clausifier and the engine according to the logic, the current proof
 	 * production mode, and some other options.
@@ -579,15 +706,22 @@ public class SMTInterpol extends NoopScript {
 	private void setupClausifier(final Logics logic) {
 		try {
 			final ProofMode proofMode = getProofMode();
+			closeProofLog();
 			mEngine = new DPLLEngine(mLogger, mCancel);
+			mEngine.setClauseArena(mSolverOptions.isClauseArena());
+			mEngine.setInprocessing(mSolverOptions.isInprocessing());
 			mClausifier = new Clausifier(getTheory(), mEngine, proofMode);
 			// This has to be before set-logic since we need to capture
 			// initialization of CClosure.
 			mEngine.setProofGeneration(proofMode != ProofMode.NONE);
+			if (proofMode != ProofMode.NONE && mSolverOptions.isCompactProofs()) {
+				mEngine.setProofLog(createProofLog());
+			}
 			mClausifier.setQuantifierOptions(getBooleanOption(SMTInterpolConstants.EPR),
 					mSolverOptions.getInstantiationMethod(), getBooleanOption(SMTInterpolConstants.UNKNOWN_TERM_DAWGS),
 					getBooleanOption(SMTInterpolConstants.PROPAGATE_UNKNOWN_TERMS),
 					getBooleanOption(SMTInterpolConstants.PROPAGATE_UNKNOWN_AUX));
+			mClausifier.setXorEngine(mSolverOptions.getXorEngine());
 			mClausifier.setLogic(logic);
 			final boolean produceAssignments = getBooleanOption(SMTLIBConstants.PRODUCE_ASSIGNMENTS);
 			mClausifier.setAssignmentProduction(produceAssignments);
@@ -598,7 +732,8 @@ public class SMTInterpol extends NoopScript {
 					|| mSolverOptions.isProduceInterpolants() || mSolverOptions.isProofCheckModeActive()
 					|| mSolverOptions.isModelCheckModeActive()
 					|| getBooleanOption(SMTInterpolConstants.UNSAT_CORE_CHECK_MODE)
-					|| getBooleanOption(SMTInterpolConstants.UNSAT_ASSUMPTIONS_CHECK_MODE)) {
+					|| getBooleanOption(SMTInterpolConstants.UNSAT_ASSUMPTIONS_CHECK_MODE)
+					|| mSolverOptions.getPortfolioThreads() > 1) {
 				mAssertions = new ScopedArrayList<>();
 			}
 			mOptions.setOnline();
@@ -632,6 +767,7 @@ public class SMTInterpol extends NoopScript {
 		}
 		try {
 			modifyAssertionStack();
+			clearInterpolantCache();
 			if (mEngine.inconsistent()) {
 				mLogger.info("Asserting into inconsistent context");
 				if (mAssertions != null) {
@@ -687,6 +823,9 @@ public class SMTInterpol extends NoopScript {
 			throw new SMTLIBException("Set option :produce-assignments to true to generate assignments!");
 		}
 		checkAssertionStackModified();
+		if (getPortfolioWinner() != null) {
+			return getPortfolioWinner().getAssignment();
+		}
 		return mEngine.getAssignments();
 	}
 
@@ -702,7 +841,7 @@ public class SMTInterpol extends NoopScript {
 		case SMTLIBConstants.AUTHORS:
 			return AUTHORS;
 		case SMTLIBConstants.ALL_STATISTICS:
-			return mEngine == null ? new Object[0] : mEngine.getStatistics();
+			return getStatistics();
 		case ":status-set":
 			return mStatusInfo;
 		case ":options":
@@ -750,6 +889,9 @@ public class SMTInterpol extends NoopScript {
 			throw new SMTLIBException("No logic set!");
 		}
 		checkAssertionStackModified();
+		if (getPortfolioWinner() != null) {
+			return mPortfolio.getProof(proofMode);
+		}
 		final Clause unsat = retrieveProof();
 		if (Config.CHECK_PROP_PROOF) {
 			final PropProofChecker ppc = new PropProofChecker();
@@ -845,6 +987,8 @@ public class SMTInterpol extends NoopScript {
 			try {
 				final Interpolator interpolator = new Interpolator(mLogger, checkingSolver, mAssertions, getTheory(),
 						parts, startOfSubtree, mCancel);
+				interpolator.setNumThreads(mSolverOptions.getInterpolationThreads());
+				interpolator.setCache(getInterpolantCache());
 				ipls = interpolator.getInterpolants(proofTree);
 			} finally {
 				if (checkingSolver != null) {
@@ -858,7 +1002,8 @@ public class SMTInterpol extends NoopScript {
 								Collections.singletonMap(SMTInterpolConstants.CHECK_TYPE,
 										(Object) mSolverOptions.getSimplifierCheckType()),
 								CopyMode.CURRENT_VALUE),
-						getBooleanOption(SMTInterpolConstants.SIMPLIFY_REPEATEDLY));
+						getBooleanOption(SMTInterpolConstants.SIMPLIFY_REPEATEDLY),
+						getBooleanOption(SMTInterpolConstants.SIMPLIFY_INCREMENTAL));
 				for (int i = 0; i < ipls.length; ++i) {
 					ipls[i] = simplifier.getSimplifiedTerm(ipls[i]);
 				}
@@ -884,11 +1029,23 @@ public class SMTInterpol extends NoopScript {
 			throw new SMTLIBException("Set option :produce-unsat-cores to true before using get-unsat-cores");
 		}
 		checkAssertionStackModified();
-		final Clause unsat = mEngine.getProof();
-		if (unsat == null) {
-			throw new SMTLIBException("Logical context not inconsistent!");
+		if (getPortfolioWinner() != null) {
+			return mPortfolio.transferBack(getPortfolioWinner().getUnsatCore());
+		}
+		final Term[] core;
+		if (mEngine.getProofLog() != null) {
+			final int step = mEngine.getProofStep();
+			if (step < 0) {
+				throw new SMTLIBException("Logical context not inconsistent!");
+			}
+			core = new UnsatCoreCollector(this).getUnsatCore(mEngine.getProofLog().collectLeaves(step));
+		} else {
+			final Clause unsat = mEngine.getProof();
+			if (unsat == null) {
+				throw new SMTLIBException("Logical context not inconsistent!");
+			}
+			core = new UnsatCoreCollector(this).getUnsatCore(unsat);
 		}
-		final Term[] core = new UnsatCoreCollector(this).getUnsatCore(unsat);
 		if (getBooleanOption(SMTInterpolConstants.UNSAT_CORE_CHECK_MODE)) {
 			final HashSet<String> usedParts = new HashSet<>();
 			for (final Term t : core) {
@@ -937,6 +1094,9 @@ public class SMTInterpol extends NoopScript {
 					"Set option :produce-unsat-assumptions to true before using get-unsat-assumptions");
 		}
 		checkAssertionStackModified();
+		if (getPortfolioWinner() != null) {
+			return mPortfolio.transferBack(getPortfolioWinner().getUnsatAssumptions());
+		}
 		if (!mEngine.inconsistent()) {
 			throw new SMTLIBException("Logical context not inconsistent!");
 		}
@@ -976,7 +1136,12 @@ public class SMTInterpol extends NoopScript {
 		if (mEngine == null) {
 			throw new SMTLIBException("No logic set!");
 		}
+		if (getPortfolioWinner() != null) {
+			checkAssertionStackModified();
+			return mPortfolio.getModel().evaluate(terms);
+		}
 		buildModel();
+		mModel.setNumThreads(mSolverOptions.getModelEvaluationThreads());
 		return mModel.evaluate(terms);
 	}
 
@@ -985,6 +1150,10 @@ public class SMTInterpol extends NoopScript {
 		if (mEngine == null) {
 			throw new SMTLIBException("No logic set!");
 		}
+		if (getPortfolioWinner() != null) {
+			checkAssertionStackModified();
+			return mPortfolio.getModel();
+		}
 		buildModel();
 		return mModel;
 	}
@@ -1008,6 +1177,7 @@ public class SMTInterpol extends NoopScript {
 	@Override
 	public void setOption(final String opt, final Object value) throws UnsupportedOperationException, SMTLIBException {
 		mOptions.set(opt, value);
+		mSimplifier = null;
 	}
 
 	@Override
@@ -1016,8 +1186,14 @@ public class SMTInterpol extends NoopScript {
 		final int oldNumScopes = mStackLevel;
 		try {
 			mSolverOptions.setCheckType(mSolverOptions.getSimplifierCheckType());
-			return new SimplifyDDA(this, getBooleanOption(SMTInterpolConstants.SIMPLIFY_REPEATEDLY))
-					.getSimplifiedTerm(term);
+			final boolean repeatedly = getBooleanOption(SMTInterpolConstants.SIMPLIFY_REPEATEDLY);
+			if (!getBooleanOption(SMTInterpolConstants.SIMPLIFY_INCREMENTAL)) {
+				return new SimplifyDDA(this, repeatedly).getSimplifiedTerm(term);
+			}
+			if (mSimplifier == null) {
+				mSimplifier = new SimplifyDDA(this, repeatedly, true);
+			}
+			return mSimplifier.getSimplifiedTerm(term);
 		} finally {
 			mSolverOptions.setCheckType(old);
 			assert (mStackLevel == oldNumScopes);
@@ -1093,6 +1269,7 @@ public class SMTInterpol extends NoopScript {
 	private void modifyAssertionStack() {
 		mAssertionStackModified = true;
 		mModel = null;
+		mPortfolio = null;
 		mEngine.clearAssumptions();
 	}
 
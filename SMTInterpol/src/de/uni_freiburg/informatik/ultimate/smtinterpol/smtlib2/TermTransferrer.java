@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2;
+
+import java.util.HashMap;
+
+import de.uni_freiburg.informatik.ultimate.logic.AnnotatedTerm;
+import de.uni_freiburg.informatik.ultimate.logic.Annotation;
+import de.uni_freiburg.informatik.ultimate.logic.ApplicationTerm;
+import de.uni_freiburg.informatik.ultimate.logic.ConstantTerm;
+import de.uni_freiburg.informatik.ultimate.logic.FunctionSymbol;
+import de.uni_freiburg.informatik.ultimate.logic.LambdaTerm;
+import de.uni_freiburg.informatik.ultimate.logic.LetTerm;
+import de.uni_freiburg.informatik.ultimate.logic.MatchTerm;
+import de.uni_freiburg.informatik.ultimate.logic.QuantifiedFormula;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBConstants;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.SortSymbol;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.TermTransformer;
+import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
+import de.uni_freiburg.informatik.ultimate.logic.Theory;
+
+/**
+ * Copy terms into a script that uses a different theory. Sorts and function
+ * symbols that the target script does not know yet are declared, or defined if
+ * they have a definition. Every copied term is remembered, so that a term of the
+ * target theory can be mapped back to the term it was copied from.
+ *
+ * Datatypes and sort parameters are not supported.
+ */
+public final class TermTransferrer extends TermTransformer {
+	private final Script mTarget;
+	private final Theory mTargetTheory;
+	private final HashMap<Term, Term> mTransferred = new HashMap<>();
+	private final HashMap<Term, Term> mOrigins = new HashMap<>();
+
+	public TermTransferrer(final Script target) {
+		mTarget = target;
+		mTargetTheory = target.getTheory();
+	}
+
+	/**
+	 * Get the term a term of the target theory was copied from.
+	 *
+	 * @param transferred
+	 *            a term of the target theory.
+	 * @return the original term, or null if the term was not created by this
+	 *         transferrer.
+	 */
+	Term getOrigin(final Term transferred) {
+		return mOrigins.get(transferred);
+	}
+
+	/**
+	 * Get the copy of a term that was already transferred.
+	 *
+	 * @param term
+	 *            the original term.
+	 * @return the term in the target theory, or null if the term was not
+	 *         transferred yet.
+	 */
+	Term getTransferred(final Term term) {
+		return mTransferred.get(term);
+	}
+
+	public Term[] transform(final Term[] terms) {
+		final Term[] result = new Term[terms.length];
+		for (int i = 0; i < terms.length; i++) {
+			result[i] = transform(terms[i]);
+		}
+		return result;
+	}
+
+	Sort transferSort(final Sort sort) {
+		final Sort realSort = sort.getRealSort();
+		final SortSymbol symbol = realSort.getSortSymbol();
+		if (symbol.isDatatype() || symbol.isSortVariable()) {
+			throw new UnsupportedOperationException("Cannot transfer sort " + realSort);
+		}
+		final Sort[] args = realSort.getArguments();
+		final Sort[] newArgs = new Sort[args.length];
+		for (int i = 0; i < args.length; i++) {
+			newArgs[i] = transferSort(args[i]);
+		}
+		if (!mTargetTheory.getDeclaredSorts().containsKey(symbol.getName())) {
+			mTarget.declareSort(symbol.getName(), args.length);
+		}
+		return mTargetTheory.getSort(symbol.getName(), realSort.getIndices(), newArgs);
+	}
+
+	private TermVariable transferVariable(final TermVariable var) {
+		return mTargetTheory.createTermVariable(var.getName(), transferSort(var.getSort()));
+	}
+
+	private TermVariable[] transferVariables(final TermVariable[] vars) {
+		final TermVariable[] newVars = new TermVariable[vars.length];
+		for (int i = 0; i < vars.length; i++) {
+			newVars[i] = transferVariable(vars[i]);
+		}
+		return newVars;
+	}
+
+	/**
+	 * Find the function symbol of a declared or defined function in the target
+	 * theory. If the target does not know it yet, it is declared or defined.
+	 */
+	private FunctionSymbol transferFunction(final FunctionSymbol fsym) {
+		final FunctionSymbol known = mTargetTheory.getDeclaredFunctions().get(fsym.getName());
+		if (known != null) {
+			return known;
+		}
+		final Sort resultSort = transferSort(fsym.getReturnSort());
+		if (fsym.getDefinition() == null) {
+			final Sort[] oldSorts = fsym.getParameterSorts();
+			final Sort[] paramSorts = new Sort[oldSorts.length];
+			for (int i = 0; i < paramSorts.length; i++) {
+				paramSorts[i] = transferSort(oldSorts[i]);
+			}
+			mTarget.declareFun(fsym.getName(), paramSorts, resultSort);
+		} else {
+			/* We are inside of a transformation; use a fresh transferrer for the definition. */
+			final TermTransferrer definitionTransferrer = new TermTransferrer(mTarget);
+			mTarget.defineFun(fsym.getName(), transferVariables(fsym.getDefinitionVars()), resultSort,
+					definitionTransferrer.transform(fsym.getDefinition()));
+		}
+		return mTargetTheory.getDeclaredFunctions().get(fsym.getName());
+	}
+
+	private void setTransferred(final Term old, final Term result) {
+		mTransferred.put(old, result);
+		mOrigins.put(result, old);
+		setResult(result);
+	}
+
+	@Override
+	protected void convert(final Term term) {
+		final Term known = mTransferred.get(term);
+		if (known != null) {
+			setResult(known);
+		} else if (term instanceof ConstantTerm) {
+			final ConstantTerm constant = (ConstantTerm) term;
+			setTransferred(term, mTargetTheory.constant(constant.getValue(), transferSort(constant.getSort())));
+		} else if (term instanceof TermVariable) {
+			setTransferred(term, transferVariable((TermVariable) term));
+		} else if (term instanceof MatchTerm) {
+			throw new UnsupportedOperationException("Cannot transfer match terms");
+		} else {
+			super.convert(term);
+		}
+	}
+
+	@Override
+	public void convertApplicationTerm(final ApplicationTerm appTerm, final Term[] newArgs) {
+		final FunctionSymbol fsym = appTerm.getFunction();
+		final Term result;
+		if (fsym.isIntern()) {
+			final Sort returnSort = fsym.isReturnOverload() ? transferSort(fsym.getReturnSort()) : null;
+			result = mTargetTheory.term(fsym.getName(), fsym.getIndices(), returnSort, newArgs);
+		} else {
+			result = mTargetTheory.term(transferFunction(fsym), newArgs);
+		}
+		setTransferred(appTerm, result);
+	}
+
+	@Override
+	public void postConvertLet(final LetTerm oldLet, final Term[] newValues, final Term newBody) {
+		setTransferred(oldLet, mTargetTheory.let(transferVariables(oldLet.getVariables()), newValues, newBody));
+	}
+
+	@Override
+	public void postConvertLambda(final LambdaTerm old, final Term newBody) {
+		setTransferred(old, mTargetTheory.lambda(transferVariables(old.getVariables()), newBody));
+	}
+
+	@Override
+	public void postConvertQuantifier(final QuantifiedFormula old, final Term newBody) {
+		final TermVariable[] vars = transferVariables(old.getVariables());
+		setTransferred(old, old.getQuantifier() == QuantifiedFormula.EXISTS ? mTargetTheory.exists(vars, newBody)
+				: mTargetTheory.forall(vars, newBody));
+	}
+
+	@Override
+	public void postConvertAnnotation(final AnnotatedTerm old, final Annotation[] newAnnots, final Term newBody) {
+		boolean definesName = false;
+		for (final Annotation annot : newAnnots) {
+			if (annot.getKey().equals(SMTLIBConstants.NAMED)
+					&& !mTargetTheory.getDeclaredFunctions().containsKey(annot.getValue())) {
+				definesName = true;
+			}
+		}
+		/* Let the target script define the names, so that they can be used in unsat cores. */
+		setTransferred(old, definesName ? mTarget.annotate(newBody, newAnnots)
+				: mTargetTheory.annotatedTerm(newAnnots, newBody));
+	}
+}
@@ -43,6 +43,7 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.dawgs.dawglett
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.dawgs.dawgstates.DawgState;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.dawgs.dawgstates.DawgStateFactory;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.util.BinaryMap;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ComputedTable;
 
 /**
  *
@@ -52,10 +53,19 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.util.BinaryMap
  * @param <COLNAMES>
  */
 public class DawgFactory<LETTER, COLNAMES> {
+	private static final int OPERATION_CACHE_LOG_SIZE = 14;
+	private static final int OP_UNION = 0;
+	private static final int OP_INTERSECTION = 1;
+	private static final int OP_DIFFERENCE = 2;
 
 	private final DawgLetterFactory<LETTER> mDawgLetterFactory;
 	private final DawgStateFactory<LETTER> mDawgStateFactory;
 	private final Map<Object, Set<LETTER>> mConstants = new HashMap<>();
+	/**
+	 * The results of the set operations, keyed by the ids of the operand states. Since states are unique, these stay
+	 * valid across calls.
+	 */
+	private final ComputedTable mOperationCache = new ComputedTable(OPERATION_CACHE_LOG_SIZE);
 
 	public DawgFactory(final EprTheory eprTheory) {
 		mDawgLetterFactory = new DawgLetterFactory<>(this);
@@ -192,47 +202,68 @@ public class DawgFactory<LETTER, COLNAMES> {
 		return builder.product(first, second);
 	}
 
+	private DawgState<LETTER, Boolean> createSetOperation(final DawgState<LETTER, Boolean> first,
+			final DawgState<LETTER, Boolean> second, final java.util.function.BiFunction<Boolean, Boolean, Boolean> op,
+			final int opCode) {
+		final ProductDawgBuilder<LETTER, COLNAMES, Boolean, Boolean, Boolean> builder =
+				new ProductDawgBuilder<>(this, op, mOperationCache, opCode);
+		return builder.product(first, second);
+	}
+
 	public DawgState<LETTER, Boolean> createDifference(final DawgState<LETTER, Boolean> first,
 			final DawgState<LETTER, Boolean> second) {
-		return createProduct(first, second, (in1, in2) -> in1 && !in2);
+		return createSetOperation(first, second, (in1, in2) -> in1 && !in2, OP_DIFFERENCE);
 	}
 
 	public DawgState<LETTER, Boolean> createUnion(final DawgState<LETTER, Boolean> first,
 			final DawgState<LETTER, Boolean> second) {
-		return createProduct(first, second, (in1, in2) -> in1 || in2);
+		return createSetOperation(first, second, (in1, in2) -> in1 || in2, OP_UNION);
 	}
 
 	public DawgState<LETTER, Boolean> createIntersection(final DawgState<LETTER, Boolean> first,
 			final DawgState<LETTER, Boolean> second) {
-		return createProduct(first, second, (in1, in2) -> in1 && in2);
+		return createSetOperation(first, second, (in1, in2) -> in1 && in2, OP_INTERSECTION);
 	}
 
 	private <VALUE> DawgState<LETTER, VALUE> projectWithMapInternal(final DawgState<LETTER, VALUE> dawg,
-			final LETTER[] selectMap, final int level) {
+			final LETTER[] selectMap, final int level,
+			final Map<DawgState<LETTER, VALUE>, DawgState<LETTER, VALUE>> cache) {
 		if (dawg.isFinal()) {
 			return dawg;
-		} else if (selectMap[level] != null) {
+		}
+		// a state always occurs at the same level, so the result only depends on the state
+		DawgState<LETTER, VALUE> result = cache.get(dawg);
+		if (result != null) {
+			return result;
+		}
+		if (selectMap[level] != null) {
 			final LETTER ltr = selectMap[level];
 			for (final Map.Entry<DawgState<LETTER, VALUE>, DawgLetter<LETTER>> trans : dawg.getTransitions()
 					.entrySet()) {
 				if (trans.getValue().matches(ltr)) {
-					return projectWithMapInternal(trans.getKey(), selectMap, level + 1);
+					result = projectWithMapInternal(trans.getKey(), selectMap, level + 1, cache);
+					break;
 				}
 			}
-			throw new AssertionError();
+			if (result == null) {
+				throw new AssertionError();
+			}
 		} else {
 			final Map<DawgState<LETTER, VALUE>, DawgLetter<LETTER>> newTransitions = new HashMap<>();
 			for (final Map.Entry<DawgState<LETTER, VALUE>, DawgLetter<LETTER>> trans : dawg.getTransitions()
 					.entrySet()) {
-				final DawgState<LETTER, VALUE> newState = projectWithMapInternal(trans.getKey(), selectMap, level + 1);
+				final DawgState<LETTER, VALUE> newState =
+						projectWithMapInternal(trans.getKey(), selectMap, level + 1, cache);
 				DawgBuilder.addLetterToMap(newTransitions, newState, trans.getValue());
 			}
-			return mDawgStateFactory.createIntermediateState(newTransitions);
+			result = mDawgStateFactory.createIntermediateState(newTransitions);
 		}
+		cache.put(dawg, result);
+		return result;
 	}
 
 	public <VALUE> DawgState<LETTER, VALUE> projectWithMap(final DawgState<LETTER, VALUE> dawg, LETTER[] selectMap) {
-		return projectWithMapInternal(dawg, selectMap, 0);
+		return projectWithMapInternal(dawg, selectMap, 0, new HashMap<>());
 	}
 
 	public static <LETTER, VALUE> boolean isConstantValue(final DawgState<LETTER, VALUE> state, final VALUE value) {
@@ -28,6 +28,7 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.dawgs.dawglett
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.dawgs.dawgstates.DawgState;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.dawgs.dawgstates.DawgStateFactory;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.util.Pair;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ComputedTable;
 
 /**
  *
@@ -41,17 +42,49 @@ public class ProductDawgBuilder<LETTER, COLNAMES, V1, V2, V3> {
 	private final DawgFactory<LETTER, COLNAMES> mDawgFactory;
 	private final BiFunction<V1, V2, V3> mOperation;
 	private final Map<Pair<DawgState<LETTER, V1>, DawgState<LETTER, V2>>, DawgState<LETTER, V3>> mCache;
+	/**
+	 * The computed table shared by all products with the same operation, or null if the local cache is used.
+	 */
+	private final ComputedTable mOperationCache;
+	private final int mOperationCode;
 
 	public ProductDawgBuilder(final DawgFactory<LETTER, COLNAMES> factory, final BiFunction<V1, V2, V3> operation) {
 		mDawgFactory = factory;
 		mDawgStateFactory = mDawgFactory.getDawgStateFactory();
 		mOperation = operation;
 		mCache = new HashMap<>();
+		mOperationCache = null;
+		mOperationCode = -1;
 	}
 
+	/**
+	 * Create a builder that stores its results in a computed table that outlives the builder.
+	 *
+	 * @param operationCache
+	 *            the table of the factory.
+	 * @param operationCode
+	 *            a code that uniquely identifies the operation in this table.
+	 */
+	public ProductDawgBuilder(final DawgFactory<LETTER, COLNAMES> factory, final BiFunction<V1, V2, V3> operation,
+			final ComputedTable operationCache, final int operationCode) {
+		mDawgFactory = factory;
+		mDawgStateFactory = mDawgFactory.getDawgStateFactory();
+		mOperation = operation;
+		mCache = null;
+		mOperationCache = operationCache;
+		mOperationCode = operationCode;
+	}
+
+	@SuppressWarnings("unchecked")
 	public DawgState<LETTER, V3> product(final DawgState<LETTER, V1> state1, final DawgState<LETTER, V2> state2) {
-		final Pair<DawgState<LETTER, V1>, DawgState<LETTER, V2>> input = new Pair<>(state1, state2);
-		DawgState<LETTER, V3> result = mCache.get(input);
+		Pair<DawgState<LETTER, V1>, DawgState<LETTER, V2>> input = null;
+		DawgState<LETTER, V3> result;
+		if (mOperationCache != null) {
+			result = (DawgState<LETTER, V3>) mOperationCache.get(mOperationCode, state1.getId(), state2.getId());
+		} else {
+			input = new Pair<>(state1, state2);
+			result = mCache.get(input);
+		}
 		if (result != null) {
 			return result;
 		}
@@ -75,7 +108,11 @@ public class ProductDawgBuilder<LETTER, COLNAMES, V1, V2, V3> {
 			}
 			result = mDawgStateFactory.createIntermediateState(newTrans);
 		}
-		mCache.put(input, result);
+		if (mOperationCache != null) {
+			mOperationCache.put(mOperationCode, state1.getId(), state2.getId(), result);
+		} else {
+			mCache.put(input, result);
+		}
 		return result;
 	}
 }
\ No newline at end of file
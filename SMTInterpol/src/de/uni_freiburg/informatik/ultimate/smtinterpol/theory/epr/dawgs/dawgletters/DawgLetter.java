@@ -39,9 +39,14 @@ public class DawgLetter<LETTER> {
 	final Set<LETTER> mLetters;
 	final Object mSortId;
 	final boolean mIsComplemented;
+	/**
+	 * The unique id of this letter, assigned by the letter factory.
+	 */
+	final int mId;
 
 	public DawgLetter(final DawgLetterFactory<LETTER> dlf, final Set<LETTER> letters, final Object sortId) {
 		mDawgLetterFactory = dlf;
+		mId = dlf.mNextId++;
 		mLetters = letters;
 		mSortId = sortId;
 		mIsComplemented = false;
@@ -50,6 +55,7 @@ public class DawgLetter<LETTER> {
 	public DawgLetter(final DawgLetter<LETTER> complement) {
 		assert !complement.mIsComplemented;
 		mDawgLetterFactory = complement.mDawgLetterFactory;
+		mId = mDawgLetterFactory.mNextId++;
 		mLetters = complement.mLetters;
 		mSortId = complement.mSortId;
 		mIsComplemented = true;
@@ -61,6 +67,10 @@ public class DawgLetter<LETTER> {
 		return mSortId;
 	}
 
+	public int getId() {
+		return mId;
+	}
+
 	public final DawgLetter<LETTER> difference(final DawgLetter<LETTER> other) {
 		return intersect(other.complement());
 	}
@@ -82,6 +92,13 @@ public class DawgLetter<LETTER> {
 	 * @return
 	 */
 	public DawgLetter<LETTER> intersect(final DawgLetter<LETTER> other) {
+		if (this == other) {
+			return this;
+		}
+		return mDawgLetterFactory.intersect(this, other);
+	}
+
+	DawgLetter<LETTER> computeIntersection(final DawgLetter<LETTER> other) {
 		if (!mIsComplemented) {
 			final HashSet<LETTER> intersection = new HashSet<>();
 			for (final LETTER letter : mLetters) {
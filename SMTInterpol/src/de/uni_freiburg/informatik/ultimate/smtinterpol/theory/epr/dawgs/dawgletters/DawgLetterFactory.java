@@ -25,6 +25,7 @@ import java.util.Set;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.EprTheorySettings;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.dawgs.DawgFactory;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.util.NestedMap2;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ComputedTable;
 
 /**
  *
@@ -34,9 +35,16 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.util.NestedMap
  * @param <COLNAMES>
  */
 public class DawgLetterFactory<LETTER> {
+	private static final int INTERSECTION_CACHE_LOG_SIZE = 12;
+
 	private final NestedMap2<Object, Set<LETTER>, DawgLetter<LETTER>> mSortToLettersToSimpleDawgLetter =
 			new NestedMap2<Object, Set<LETTER>, DawgLetter<LETTER>>();
 	private final DawgFactory<LETTER, ?> mDawgFactory;
+	/**
+	 * The results of intersect, keyed by the ids of the two letters.
+	 */
+	private final ComputedTable mIntersectionCache = new ComputedTable(INTERSECTION_CACHE_LOG_SIZE);
+	int mNextId = 0;
 
 
 	public DawgLetterFactory(final DawgFactory<LETTER, ?> dawgFactory) {
@@ -74,6 +82,19 @@ public class DawgLetterFactory<LETTER> {
 		return result;
 	}
 
+	@SuppressWarnings("unchecked")
+	DawgLetter<LETTER> intersect(final DawgLetter<LETTER> first, final DawgLetter<LETTER> second) {
+		// intersection is commutative, so order the operands
+		final int low = Math.min(first.mId, second.mId);
+		final int high = Math.max(first.mId, second.mId);
+		DawgLetter<LETTER> result = (DawgLetter<LETTER>) mIntersectionCache.get(0, low, high);
+		if (result == null) {
+			result = first.computeIntersection(second);
+			mIntersectionCache.put(0, low, high, result);
+		}
+		return result;
+	}
+
 	public DawgLetter<LETTER> getSimpleComplementDawgLetter(final Set<LETTER> letters, final Object sortId) {
 		return getSimpleDawgLetter(letters, sortId).complement();
 	}
@@ -42,17 +42,27 @@ public class DawgState<LETTER, VALUE> {
 	 * makes it easier to unify transitions going to the same state.
 	 */
 	final Map<DawgState<LETTER, VALUE>, DawgLetter<LETTER>> mTransitions;
+	/**
+	 * The unique id of this state, assigned by the state factory.
+	 */
+	final int mId;
 
-	public DawgState(final VALUE value) {
+	DawgState(final int id, final VALUE value) {
+		mId = id;
 		mFinal = value;
 		mTransitions = null;
 	}
 
-	public DawgState(final Map<DawgState<LETTER, VALUE>, DawgLetter<LETTER>> transitions) {
+	DawgState(final int id, final Map<DawgState<LETTER, VALUE>, DawgLetter<LETTER>> transitions) {
+		mId = id;
 		mFinal = null;
 		mTransitions = transitions;
 	}
 
+	public int getId() {
+		return mId;
+	}
+
 	public boolean isFinal() {
 		return mTransitions == null;
 	}
@@ -38,17 +38,18 @@ import de.uni_freiburg.informatik.ultimate.util.datastructures.UnifyHash;
  */
 public class DawgStateFactory<LETTER> {
 	final UnifyHash<DawgState<LETTER, ?>> mExistingStates = new UnifyHash<>();
+	private int mNextId = 0;
 
 	@SuppressWarnings("unchecked")
 	public <VALUE> DawgState<LETTER, VALUE> createFinalState(final VALUE value) {
 		final int hash = value == null ? 0 : value.hashCode();
 		for (final DawgState<LETTER, ?> previous : mExistingStates.iterateHashCode(hash)) {
 			if (previous.isFinal()
-					&& previous.getFinalValue() == null ? value == null : previous.getFinalValue().equals(value)) {
+					&& (previous.getFinalValue() == null ? value == null : previous.getFinalValue().equals(value))) {
 				return (DawgState<LETTER, VALUE>) previous;
 			}
 		}
-		final DawgState<LETTER, VALUE> result = new DawgState<>(value);
+		final DawgState<LETTER, VALUE> result = new DawgState<>(mNextId++, value);
 		mExistingStates.put(hash, result);
 		// assert result.checkState();
 		return result;
@@ -59,7 +60,7 @@ public class DawgStateFactory<LETTER> {
 			createIntermediateState(Map<DawgState<LETTER, VALUE>, DawgLetter<LETTER>> transitions) {
 		final int hash = transitions.hashCode();
 		for (final DawgState<LETTER, ?> previous : mExistingStates.iterateHashCode(hash)) {
-			if (previous.mTransitions.equals(transitions)) {
+			if (!previous.isFinal() && previous.mTransitions.equals(transitions)) {
 				return (DawgState<LETTER, VALUE>) previous;
 			}
 		}
@@ -87,7 +88,7 @@ public class DawgStateFactory<LETTER> {
 				transitions = new ArrayMap<>(keys, values);
 			}
 		}
-		final DawgState<LETTER, VALUE> result = new DawgState<>(transitions);
+		final DawgState<LETTER, VALUE> result = new DawgState<>(mNextId++, transitions);
 		mExistingStates.put(hash, result);
 		// assert result.isTotal() || true;
 		return result;
@@ -5,6 +5,7 @@ import java.util.AbstractSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -62,6 +63,20 @@ public class BinaryMap<K, V> extends AbstractMap<K, V> {
 		public String toString() {
 			return getKey() + " -> " + getValue();
 		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof Map.Entry)) {
+				return false;
+			}
+			final Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+			return Objects.equals(getKey(), other.getKey()) && Objects.equals(getValue(), other.getValue());
+		}
 	}
 
 	@Override
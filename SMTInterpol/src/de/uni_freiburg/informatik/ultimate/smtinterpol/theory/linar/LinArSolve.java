@@ -37,6 +37,7 @@ import java.util.TreeSet;
 
 import de.uni_freiburg.informatik.ultimate.logic.ApplicationTerm;
 import de.uni_freiburg.informatik.ultimate.logic.FunctionSymbol;
+import de.uni_freiburg.informatik.ultimate.logic.MutableRational;
 import de.uni_freiburg.informatik.ultimate.logic.Rational;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
 import de.uni_freiburg.informatik.ultimate.logic.Theory;
@@ -99,11 +100,11 @@ public class LinArSolve implements ITheory {
 	 */
 	final ArrayList<TableauxRow> mTableaux;
 	/**
-	 * The tableaux row occurence. For each column variable gives the set of row variables (represented as bitset
-	 * indexed with matrix position), where the tableaux row contains the column variable. The entries for row variables
+	 * The tableaux row occurence. For each column variable gives the set of row variables (represented as sparse
+	 * column of matrix positions), where the tableaux row contains the column variable. The entries for row variables
 	 * must be null.
 	 */
-	final ArrayList<BitSet> mDependentRows;
+	final ArrayList<TableauxColumn> mDependentRows;
 	/** All non-basic integer variables. */
 	final Set<LinVar> mIntVars;
 	/** The literals that will be propagated. */
@@ -228,7 +229,7 @@ public class LinArSolve implements ITheory {
 		mClausifier.getLogger().debug("Creating var %s", name);
 		final LinVar var = new LinVar(name, isint, level, mLinvars.size());
 		mLinvars.add(var);
-		mDependentRows.add(new BitSet());
+		mDependentRows.add(new TableauxColumn());
 		mTableaux.add(null);
 		if (isint) {
 			mIntVars.add(var);
@@ -279,7 +280,7 @@ public class LinArSolve implements ITheory {
 				final LinVar colVar = entry.getColumn();
 				final Rational coeff = Rational.valueOf(entry.getCoeff(), entry.getHeadCoeff().negate());
 				curValue = curValue.add(colVar.getValue().mul(coeff));
-				mDependentRows.get(colVar.mMatrixpos).set(var.mMatrixpos);
+				mDependentRows.get(colVar.mMatrixpos).add(var.mMatrixpos);
 			}
 			var.setValue(curValue);
 			assert var.checkCoeffChain(this);
@@ -322,7 +323,7 @@ public class LinArSolve implements ITheory {
 			final LinVar var = entry.getRow();
 			assert var.mBasic;
 			final Rational coeff = Rational.valueOf(entry.getCoeff(), entry.getHeadCoeff().negate());
-			var.addValue(diff.mul(coeff));
+			var.addValueMul(diff, coeff);
 			assert !var.getValue().getRealValue().denominator().equals(BigInteger.ZERO);
 			if (var.outOfBounds()) {
 				mOob.add(var);
@@ -349,14 +350,13 @@ public class LinArSolve implements ITheory {
 		}
 
 		assert !(updateVar.getValue().getRealValue().denominator().equals(BigInteger.ZERO));
-		final BitSet dependencies = mDependentRows.get(updateVar.mMatrixpos);
-		mDirty.or(dependencies);
+		mDependentRows.get(updateVar.mMatrixpos).addTo(mDirty);
 		for (final MatrixEntry entry : updateVar.getTableauxColumn(this)) {
 			final LinVar var = entry.getRow();
 			assert var.mBasic;
 			final Rational coeff = Rational.valueOf(entry.getCoeff(), entry.getHeadCoeff().negate());
 			if (changeVar) {
-				var.addValue(diff.mul(coeff));
+				var.addValueMul(diff, coeff);
 			}
 			assert !var.getValue().getRealValue().denominator().equals(BigInteger.ZERO);
 			if (var.outOfBounds()) {
@@ -588,29 +588,38 @@ public class LinArSolve implements ITheory {
 				time = System.nanoTime();
 			}
 			if (hasUpper || hasLower) {
-				InfinitesimalNumber upperBound = InfinitesimalNumber.ZERO;
-				InfinitesimalNumber lowerBound = InfinitesimalNumber.ZERO;
-				for (final MatrixEntry entry : var.getTableauxRow(this)) {
-					final Rational coeff = Rational.valueOf(entry.getCoeff(), entry.getHeadCoeff().negate());
-					final LinVar colvar = entry.getColumn();
+				/* sum up the bounds in place to avoid creating intermediate numbers */
+				final MutableRational upperReal = new MutableRational(Rational.ZERO);
+				final MutableRational lowerReal = new MutableRational(Rational.ZERO);
+				int upperEps = 0;
+				int lowerEps = 0;
+				cacheRowCoefficients(var);
+				final LinVar[] rowVars = var.mCachedRowVars;
+				final Rational[] rowCoeffs = var.mCachedRowCoeffs;
+				for (int i = 0; i < rowVars.length; i++) {
+					final Rational coeff = rowCoeffs[i];
+					final LinVar colvar = rowVars[i];
 					if (hasUpper) {
 						final InfinitesimalNumber colBound = coeff.signum() > 0 ? colvar.getUpperBound()
 								: colvar.getLowerBound();
-						upperBound = upperBound.add(colBound.mul(coeff));
+						upperReal.addmul(colBound.mReal, coeff);
+						upperEps = InfinitesimalNumber.normEpsilon(upperEps + colBound.mEps * coeff.signum());
 					}
 					if (hasLower) {
 						final InfinitesimalNumber colBound = coeff.signum() > 0 ? colvar.getLowerBound()
 								: colvar.getUpperBound();
-						lowerBound = lowerBound.add(colBound.mul(coeff));
+						lowerReal.addmul(colBound.mReal, coeff);
+						lowerEps = InfinitesimalNumber.normEpsilon(lowerEps + colBound.mEps * coeff.signum());
 					}
 				}
 				Clause conflict = null;
 				if (hasUpper) {
-					conflict = propagateBound(var, upperBound, true);
+					conflict = propagateBound(var, new InfinitesimalNumber(upperReal.toRational(), upperEps), true);
 				}
 				if (hasLower) {
 					if (conflict == null) {
-						conflict = propagateBound(var, lowerBound, false);
+						conflict = propagateBound(var, new InfinitesimalNumber(lowerReal.toRational(), lowerEps),
+								false);
 					} else {
 						mDirty.set(var.mMatrixpos);
 					}
@@ -1258,13 +1267,13 @@ public class LinArSolve implements ITheory {
 		mTableaux.set(rowMatrixPos, null);
 		row.swapRowCol(colMatrixPos);
 		mTableaux.set(colMatrixPos, row);
-		final BitSet todo = mDependentRows.set(colMatrixPos, null);
-		mDependentRows.set(rowMatrixPos, new BitSet());
+		final TableauxColumn todo = mDependentRows.set(colMatrixPos, null);
+		mDependentRows.set(rowMatrixPos, new TableauxColumn());
 		for (int i = 1; i < row.size(); i++) {
-			final BitSet dependencies = mDependentRows.get(row.getRawIndex(i));
-			assert row.getRawIndex(i) == rowMatrixPos || dependencies.get(rowMatrixPos);
-			dependencies.clear(rowMatrixPos);
-			dependencies.set(colMatrixPos);
+			final TableauxColumn dependencies = mDependentRows.get(row.getRawIndex(i));
+			assert row.getRawIndex(i) == rowMatrixPos || dependencies.contains(rowMatrixPos);
+			dependencies.remove(rowMatrixPos);
+			dependencies.add(colMatrixPos);
 		}
 		basic.mCachedRowVars = null;
 		basic.mCachedRowCoeffs = null;
@@ -1273,12 +1282,13 @@ public class LinArSolve implements ITheory {
 		assert nonbasic.mCachedRowCoeffs == null;
 		assert nonbasic.checkCoeffChain(this);
 
-		todo.clear(rowMatrixPos);
 		// Eliminate nonbasic from all equations
-		while (!todo.isEmpty()) {
-			final int rowIdx = todo.nextSetBit(0);
+		for (int i = 0; i < todo.size(); i++) {
+			final int rowIdx = todo.getRow(i);
+			if (rowIdx == rowMatrixPos) {
+				continue;
+			}
 			final LinVar rowVar = mLinvars.get(rowIdx);
-			todo.clear(rowIdx);
 			mTableaux.get(rowIdx).addRow(this, row);
 			rowVar.mCachedRowVars = null;
 			rowVar.mCachedRowCoeffs = null;
@@ -1395,43 +1405,18 @@ public class LinArSolve implements ITheory {
 			start = System.nanoTime();
 		}
 		if (isUpper ? bound.less(basic.getTightUpperBound()) : basic.getTightLowerBound().less(bound)) {
-			final TableauxRow row = mTableaux.get(basic.mMatrixpos);
-			final BigInteger denom = row.getRawCoeff(0).negate();
-
-			LAReason[] reasons;
-			Rational[] coeffs;
+			cacheRowCoefficients(basic);
+			final LinVar[] rowVars = basic.mCachedRowVars;
+			final Rational[] coeffs = basic.mCachedRowCoeffs;
+			final LAReason[] reasons = new LAReason[rowVars.length];
 			LiteralReason lastLiteral = null;
-			if (basic.mCachedRowCoeffs == null) {
-				final int rowLength = row.size() - 1;
-				final LinVar[] rowVars = new LinVar[rowLength];
-				reasons = new LAReason[rowLength];
-				coeffs = new Rational[rowLength];
-				for (int i = 0; i < rowLength; i++) {
-					final LinVar nb = mLinvars.get(row.getRawIndex(i + 1));
-					final Rational coeff = Rational.valueOf(row.getRawCoeff(i + 1), denom);
-					rowVars[i] = nb;
-					reasons[i] = coeff.isNegative() == isUpper ? nb.mLowerLiteral : nb.mUpperLiteral;
-					coeffs[i] = coeff;
-					final LiteralReason lastOfThis = reasons[i].getLastLiteral();
-					if (lastLiteral == null
-						|| lastOfThis.getStackPosition() > lastLiteral.getStackPosition()) {
-						lastLiteral = lastOfThis;
-					}
-				}
-				basic.mCachedRowCoeffs = coeffs;
-				basic.mCachedRowVars = rowVars;
-			} else {
-				final LinVar[] rowVars = basic.mCachedRowVars;
-				coeffs = basic.mCachedRowCoeffs;
-				reasons = new LAReason[rowVars.length];
-				for (int i = 0; i < rowVars.length; i++) {
-					reasons[i] = coeffs[i].isNegative() == isUpper ? rowVars[i].mLowerLiteral
-							: rowVars[i].mUpperLiteral;
-					final LiteralReason lastOfThis = reasons[i].getLastLiteral();
-					if (lastLiteral == null
-						|| lastOfThis.getStackPosition() > lastLiteral.getStackPosition()) {
-						lastLiteral = lastOfThis;
-					}
+			for (int i = 0; i < rowVars.length; i++) {
+				reasons[i] = coeffs[i].isNegative() == isUpper ? rowVars[i].mLowerLiteral
+						: rowVars[i].mUpperLiteral;
+				final LiteralReason lastOfThis = reasons[i].getLastLiteral();
+				if (lastLiteral == null
+					|| lastOfThis.getStackPosition() > lastLiteral.getStackPosition()) {
+					lastLiteral = lastOfThis;
 				}
 			}
 			final CompositeReason newComposite =
@@ -1454,6 +1439,29 @@ public class LinArSolve implements ITheory {
 		return null;
 	}
 
+	/**
+	 * Compute the non-basic variables and coefficients of the row of a basic
+	 * variable, unless they are already cached.  The cache is cleared when the
+	 * row changes during pivoting.
+	 * @param basic the basic variable.
+	 */
+	private void cacheRowCoefficients(final LinVar basic) {
+		if (basic.mCachedRowCoeffs != null) {
+			return;
+		}
+		final TableauxRow row = mTableaux.get(basic.mMatrixpos);
+		final BigInteger denom = row.getRawCoeff(0).negate();
+		final int rowLength = row.size() - 1;
+		final LinVar[] rowVars = new LinVar[rowLength];
+		final Rational[] coeffs = new Rational[rowLength];
+		for (int i = 0; i < rowLength; i++) {
+			rowVars[i] = mLinvars.get(row.getRawIndex(i + 1));
+			coeffs[i] = Rational.valueOf(row.getRawCoeff(i + 1), denom);
+		}
+		basic.mCachedRowCoeffs = coeffs;
+		basic.mCachedRowVars = rowVars;
+	}
+
 	/**
 	 * Generate a bound constraint for a given variable. We use
 	 * {@link BoundConstraint}s to represent bounds for variables
@@ -1479,7 +1487,8 @@ public class LinArSolve implements ITheory {
 			final boolean isLowerBound) {
 		BoundConstraint bc = var.mConstraints.get(rbound);
 		if (bc == null) {
-			bc = new BoundConstraint(rbound, var, getEngine().getAssertionStackLevel());
+			/* The constraint only depends on the variable; it may outlive the current level. */
+			bc = new BoundConstraint(rbound, var, var.mAssertionstacklevel);
 			assert bc.mVar.checkCoeffChain(this);
 			getEngine().addAtom(bc);
 			if (var.getTightUpperBound().lesseq(rbound)) {
@@ -1501,9 +1510,9 @@ public class LinArSolve implements ITheory {
 	private void removeLinVar(final LinVar v) {
 		if (!v.mBasic) {
 			// We might have nonbasic variables that do not contribute to a basic variable.
-			final BitSet dependencies = mDependentRows.get(v.mMatrixpos);
+			final TableauxColumn dependencies = mDependentRows.get(v.mMatrixpos);
 			if (!dependencies.isEmpty()) {
-				final int row = dependencies.nextSetBit(0);
+				final int row = dependencies.getRow(0);
 				pivot(row, v.mMatrixpos);
 			}
 		}
@@ -1515,7 +1524,7 @@ public class LinArSolve implements ITheory {
 			for (int i = 1; i < row.size(); i++) {
 				final LinVar col = mLinvars.get(row.getRawIndex(i));
 				assert (!col.mBasic);
-				mDependentRows.get(col.mMatrixpos).clear(v.mMatrixpos);
+				mDependentRows.get(col.mMatrixpos).remove(v.mMatrixpos);
 			}
 		}
 		mTableaux.remove(v.mMatrixpos);
@@ -19,7 +19,6 @@
 package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
 
 import java.math.BigInteger;
-import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -59,8 +58,10 @@ public class LinVar implements Comparable<LinVar> {
 	LAReason mUpper;
 	/** Current lower bound and its reason. null if no lower bound. */
 	LAReason mLower;
-	/** Current value. */
-	private ExactInfinitesimalNumber mCurval;
+	/** Current value.  It is updated in place during pivoting. */
+	private final MutableInfinitesimalNumber mCurval;
+	/** Cached immutable copy of the current value.  null if not yet computed. */
+	private ExactInfinitesimalNumber mCurvalCache;
 	// Is value required to be integer?
 	boolean mIsInt;
 	// List of all bounds on this variable
@@ -92,6 +93,7 @@ public class LinVar implements Comparable<LinVar> {
 	 */
 	private LinVar() {
 		mName = "Dummy";
+		mCurval = new MutableInfinitesimalNumber();
 		mMatrixpos = Integer.MAX_VALUE;
 	}
 	/**
@@ -104,7 +106,8 @@ public class LinVar implements Comparable<LinVar> {
 	 */
 	public LinVar(final Object name,final boolean isint, final int assertionstacklevel, final int num) {
 		mName = name;
-		mCurval = ExactInfinitesimalNumber.ZERO;
+		mCurval = new MutableInfinitesimalNumber();
+		mCurvalCache = ExactInfinitesimalNumber.ZERO;
 		mIsInt = isint;
 		mBasic = false;
 		mMatrixpos = num;
@@ -266,7 +269,7 @@ public class LinVar implements Comparable<LinVar> {
 		for (final MatrixEntry entry : getTableauxRow(solver)) {
 			assert entry.getRow() == this;
 			assert !entry.getColumn().mBasic;
-			assert solver.mDependentRows.get(entry.getColumn().mMatrixpos).get(mMatrixpos);
+			assert solver.mDependentRows.get(entry.getColumn().mMatrixpos).contains(mMatrixpos);
 			mat.add(Rational.valueOf(entry.getCoeff(), BigInteger.ONE), entry.getColumn());
 		}
 		assert mat.isConstant() && mat.getConstant().equals(InfinitesimalNumber.ZERO);
@@ -283,15 +286,29 @@ public class LinVar implements Comparable<LinVar> {
 	}
 
 	public final ExactInfinitesimalNumber getValue() {
-		return mCurval;
+		if (mCurvalCache == null) {
+			mCurvalCache = mCurval.toExactInfinitesimalNumber();
+		}
+		return mCurvalCache;
 	}
 
 	public final void setValue(final ExactInfinitesimalNumber value) {
-		mCurval = value;
+		mCurval.setValue(value);
+		mCurvalCache = value;
 	}
 
 	public final void addValue(final ExactInfinitesimalNumber value) {
-		mCurval = mCurval.add(value);
+		mCurval.add(value);
+		mCurvalCache = null;
+	}
+
+	/**
+	 * Add <code>diff * coeff</code> to the current value.  This does not
+	 * create new objects as long as the numbers are small.
+	 */
+	public final void addValueMul(final ExactInfinitesimalNumber diff, final Rational coeff) {
+		mCurval.addmul(diff, coeff);
+		mCurvalCache = null;
 	}
 
 	private boolean checkReasonChain(LAReason reason, LiteralReason litreason) {
@@ -338,25 +355,24 @@ public class LinVar implements Comparable<LinVar> {
 
 	public Iterable<MatrixEntry> getTableauxColumn(final LinArSolve solver) {
 		assert !mBasic;
-		final BitSet dependentRows = solver.mDependentRows.get(mMatrixpos);
+		final TableauxColumn dependentRows = solver.mDependentRows.get(mMatrixpos);
 		return new Iterable<MatrixEntry>() {
 
 			@Override
 			public Iterator<MatrixEntry> iterator() {
 				return new Iterator<MatrixEntry>() {
-					private int mRowIdx = dependentRows.nextSetBit(0);
+					private int mIdx = 0;
 
 					@Override
 					public boolean hasNext() {
-						return mRowIdx != -1;
+						return mIdx < dependentRows.size();
 					}
 
 					@Override
 					public MatrixEntry next() {
-						final TableauxRow row = solver.mTableaux.get(mRowIdx);
+						final TableauxRow row = solver.mTableaux.get(dependentRows.getRow(mIdx++));
 						final MatrixEntry result = new MatrixEntry(solver, row, row.findRawIndex(mMatrixpos));
 						assert result.getColumn() == LinVar.this;
-						mRowIdx = dependentRows.nextSetBit(mRowIdx + 1);
 						return result;
 					}
 				};
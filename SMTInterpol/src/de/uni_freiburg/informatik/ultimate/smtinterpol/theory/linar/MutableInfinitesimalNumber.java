@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import de.uni_freiburg.informatik.ultimate.logic.MutableRational;
+import de.uni_freiburg.informatik.ultimate.logic.Rational;
+
+/**
+ * Mutable counterpart of {@link ExactInfinitesimalNumber}. The simplex updates
+ * the values of the variables in place with this class. As long as numerators
+ * and denominators fit into an int, no objects are created.
+ */
+public class MutableInfinitesimalNumber {
+	private final MutableRational mReal;
+	private final MutableRational mEps;
+
+	public MutableInfinitesimalNumber() {
+		mReal = new MutableRational(Rational.ZERO);
+		mEps = new MutableRational(Rational.ZERO);
+	}
+
+	public MutableInfinitesimalNumber(final ExactInfinitesimalNumber value) {
+		mReal = new MutableRational(value.getRealValue());
+		mEps = new MutableRational(value.getEpsilon());
+	}
+
+	public void setValue(final ExactInfinitesimalNumber value) {
+		mReal.setValue(value.getRealValue());
+		mEps.setValue(value.getEpsilon());
+	}
+
+	/**
+	 * Computes {@code this += other}.
+	 */
+	public MutableInfinitesimalNumber add(final ExactInfinitesimalNumber other) {
+		mReal.add(other.getRealValue());
+		mEps.add(other.getEpsilon());
+		return this;
+	}
+
+	/**
+	 * Computes {@code this += fac1 * fac2}.
+	 */
+	public MutableInfinitesimalNumber addmul(final ExactInfinitesimalNumber fac1, final Rational fac2) {
+		mReal.addmul(fac1.getRealValue(), fac2);
+		if (fac1.getEpsilon().signum() != 0) {
+			mEps.addmul(fac1.getEpsilon(), fac2);
+		}
+		return this;
+	}
+
+	public int compareTo(final InfinitesimalNumber other) {
+		final int cmp = mReal.compareTo(other.mReal);
+		return cmp == 0 ? mEps.compareTo(Rational.valueOf(other.mEps, 1)) : cmp;
+	}
+
+	public ExactInfinitesimalNumber toExactInfinitesimalNumber() {
+		return new ExactInfinitesimalNumber(mReal.toRational(), mEps.toRational());
+	}
+
+	@Override
+	public String toString() {
+		return toExactInfinitesimalNumber().toString();
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The column of a non-basic variable in the tableaux. It stores the matrix positions of the row variables whose
+ * tableaux row contains the column variable. The positions are kept unsorted in an int array, so the memory is
+ * proportional to the number of non-zero entries in the column. Larger columns additionally keep an open addressing
+ * hash index from matrix position to array index, so that adding and removing a row takes constant time. A row is
+ * removed by moving the last row into its place.
+ */
+public class TableauxColumn {
+	private static final int[] EMPTY = new int[0];
+	/**
+	 * Columns with at most this many rows are searched linearly and have no index.
+	 */
+	private static final int SMALL_SIZE = 8;
+
+	private int[] mRows;
+	private int mSize;
+	/**
+	 * The hash index. A slot contains the array index of a row plus one, or zero if it is empty. It is null for small
+	 * columns.
+	 */
+	private int[] mIndex;
+
+	public TableauxColumn() {
+		mRows = EMPTY;
+	}
+
+	private int slot(final int matrixPos) {
+		final int hash = matrixPos * 0x9e3779b9;
+		return (hash ^ (hash >>> 16)) & (mIndex.length - 1);
+	}
+
+	/**
+	 * Find the slot of the hash index that contains the given row, or the empty slot where it would be inserted.
+	 */
+	private int findSlot(final int matrixPos) {
+		final int mask = mIndex.length - 1;
+		int slot = slot(matrixPos);
+		while (mIndex[slot] != 0 && mRows[mIndex[slot] - 1] != matrixPos) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private int find(final int matrixPos) {
+		if (mIndex == null) {
+			for (int i = 0; i < mSize; i++) {
+				if (mRows[i] == matrixPos) {
+					return i;
+				}
+			}
+			return -1;
+		}
+		return mIndex[findSlot(matrixPos)] - 1;
+	}
+
+	private void rebuildIndex(final int capacity) {
+		mIndex = new int[capacity];
+		for (int i = 0; i < mSize; i++) {
+			mIndex[findSlot(mRows[i])] = i + 1;
+		}
+	}
+
+	/**
+	 * Clear a slot of the hash index and move the following entries of its probe sequence back, so that no entry
+	 * becomes unreachable.
+	 */
+	private void clearSlot(int slot) {
+		final int mask = mIndex.length - 1;
+		int next = (slot + 1) & mask;
+		while (mIndex[next] != 0) {
+			final int home = slot(mRows[mIndex[next] - 1]);
+			// move the entry if its home slot does not lie cyclically in (slot, next]
+			if (((next - home) & mask) >= ((next - slot) & mask)) {
+				mIndex[slot] = mIndex[next];
+				slot = next;
+			}
+			next = (next + 1) & mask;
+		}
+		mIndex[slot] = 0;
+	}
+
+	public boolean contains(final int matrixPos) {
+		return find(matrixPos) >= 0;
+	}
+
+	/**
+	 * Add a row to this column. Nothing happens if the row is already present.
+	 *
+	 * @param matrixPos
+	 *            the matrix position of the row variable.
+	 */
+	public void add(final int matrixPos) {
+		if (find(matrixPos) >= 0) {
+			return;
+		}
+		if (mSize == mRows.length) {
+			mRows = Arrays.copyOf(mRows, Math.max(4, mSize + (mSize >> 1)));
+		}
+		mRows[mSize++] = matrixPos;
+		if (mIndex != null && 2 * mSize <= mIndex.length) {
+			mIndex[findSlot(matrixPos)] = mSize;
+		} else if (mSize > SMALL_SIZE) {
+			rebuildIndex(Integer.highestOneBit(mSize) * 4);
+		}
+	}
+
+	/**
+	 * Remove a row from this column. Nothing happens if the row is not present. The last row takes the place of the
+	 * removed row.
+	 *
+	 * @param matrixPos
+	 *            the matrix position of the row variable.
+	 */
+	public void remove(final int matrixPos) {
+		if (mIndex == null) {
+			final int idx = find(matrixPos);
+			if (idx >= 0) {
+				mRows[idx] = mRows[--mSize];
+			}
+			return;
+		}
+		final int slot = findSlot(matrixPos);
+		final int idx = mIndex[slot] - 1;
+		if (idx < 0) {
+			return;
+		}
+		clearSlot(slot);
+		mSize--;
+		if (idx < mSize) {
+			mRows[idx] = mRows[mSize];
+			mIndex[findSlot(mRows[idx])] = idx + 1;
+		}
+		if (mSize <= SMALL_SIZE) {
+			mIndex = null;
+		}
+	}
+
+	public boolean isEmpty() {
+		return mSize == 0;
+	}
+
+	public int size() {
+		return mSize;
+	}
+
+	/**
+	 * Get the matrix position of the i-th row in this column. The rows are not sorted, and removing a row changes the
+	 * position of the last row.
+	 */
+	public int getRow(final int i) {
+		return mRows[i];
+	}
+
+	/**
+	 * Mark all rows of this column in the given bit set.
+	 */
+	public void addTo(final BitSet rows) {
+		for (int i = 0; i < mSize; i++) {
+			rows.set(mRows[i]);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(Arrays.copyOf(mRows, mSize));
+	}
+}
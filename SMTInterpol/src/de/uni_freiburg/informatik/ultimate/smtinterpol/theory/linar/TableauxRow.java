@@ -135,7 +135,7 @@ public class TableauxRow {
 				}
 				myIndex += 2;
 			} else if (myIndex == mEntries.length || mEntries[myIndex] > other.mEntries[otherIndex]) {
-				solver.mDependentRows.get(other.mEntries[otherIndex]).set(mEntries[0]);
+				solver.mDependentRows.get(other.mEntries[otherIndex]).add(mEntries[0]);
 				newVars[newIndex] = other.mEntries[otherIndex];
 				final long newCoeff = (long) other.mEntries[otherIndex + 1] * otherFactor;
 				gcd = Rational.gcd(gcd, newCoeff);
@@ -152,7 +152,7 @@ public class TableauxRow {
 					newCoeffs[newIndex] = newCoeff;
 					newIndex++;
 				} else {
-					solver.mDependentRows.get(mEntries[myIndex]).clear(mEntries[0]);
+					solver.mDependentRows.get(mEntries[myIndex]).remove(mEntries[0]);
 				}
 				myIndex += 2;
 				otherIndex += 2;
@@ -200,7 +200,7 @@ public class TableauxRow {
 				}
 				myIndex += 2;
 			} else if (myIndex == mEntries.length || mEntries[myIndex] > other.mEntries[otherIndex]) {
-				solver.mDependentRows.get(other.mEntries[otherIndex]).set(mEntries[0]);
+				solver.mDependentRows.get(other.mEntries[otherIndex]).add(mEntries[0]);
 				newVars[newIndex] = other.mEntries[otherIndex];
 				final BigInteger newCoeff = other.bigEntry(other.mEntries[otherIndex + 1]).multiply(otherFactor);
 				gcd = Rational.gcd(gcd, newCoeff);
@@ -218,7 +218,7 @@ public class TableauxRow {
 					newCoeffs[newIndex] = newCoeff;
 					newIndex++;
 				} else {
-					solver.mDependentRows.get(mEntries[myIndex]).clear(mEntries[0]);
+					solver.mDependentRows.get(mEntries[myIndex]).remove(mEntries[0]);
 				}
 				myIndex += 2;
 				otherIndex += 2;
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant;
+
+import java.util.Arrays;
+import java.util.List;
+
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+
+/**
+ * The instances of a quantified clause indexed by their substitution. Terms are unique, so the substitutions are
+ * compared by the identity of their terms. The table uses open addressing with linear probing, and a candidate
+ * substitution can be looked up in an array that is reused for the next candidate, so checking whether an instance
+ * exists allocates nothing.
+ *
+ * The instance is null if the substitution gives a trivially true clause. The entries are kept in insertion order and
+ * are never removed individually.
+ */
+class InstanceTable {
+	private static final int INITIAL_SIZE = 8;
+
+	private Term[][] mSubstitutions = new Term[INITIAL_SIZE][];
+	private InstClause[] mInstances = new InstClause[INITIAL_SIZE];
+	/**
+	 * The hash table. Every slot contains the position of an entry plus one, or 0 if the slot is free.
+	 */
+	private int[] mSlots = new int[2 * INITIAL_SIZE];
+	private int mSize;
+
+	private static int hash(final Term[] subs) {
+		int hash = 1;
+		for (final Term t : subs) {
+			hash = 31 * hash + System.identityHashCode(t);
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	private static int hash(final List<Term> subs) {
+		int hash = 1;
+		for (int i = 0; i < subs.size(); i++) {
+			hash = 31 * hash + System.identityHashCode(subs.get(i));
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	private static boolean matches(final Term[] entry, final Term[] subs) {
+		if (entry.length != subs.length) {
+			return false;
+		}
+		for (int i = 0; i < subs.length; i++) {
+			if (entry[i] != subs[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean matches(final Term[] entry, final List<Term> subs) {
+		if (entry.length != subs.size()) {
+			return false;
+		}
+		for (int i = 0; i < entry.length; i++) {
+			if (entry[i] != subs.get(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Find the position of a substitution.
+	 *
+	 * @return the position of the entry, or -1 if the substitution is not in the table.
+	 */
+	private int indexOf(final Term[] subs) {
+		final int mask = mSlots.length - 1;
+		for (int slot = hash(subs) & mask;; slot = (slot + 1) & mask) {
+			final int entry = mSlots[slot] - 1;
+			if (entry < 0) {
+				return -1;
+			}
+			if (matches(mSubstitutions[entry], subs)) {
+				return entry;
+			}
+		}
+	}
+
+	private int indexOf(final List<Term> subs) {
+		final int mask = mSlots.length - 1;
+		for (int slot = hash(subs) & mask;; slot = (slot + 1) & mask) {
+			final int entry = mSlots[slot] - 1;
+			if (entry < 0) {
+				return -1;
+			}
+			if (matches(mSubstitutions[entry], subs)) {
+				return entry;
+			}
+		}
+	}
+
+	public boolean containsKey(final Term[] subs) {
+		return indexOf(subs) >= 0;
+	}
+
+	public boolean containsKey(final List<Term> subs) {
+		return indexOf(subs) >= 0;
+	}
+
+	/**
+	 * Get the instance for a substitution.
+	 *
+	 * @return the instance, or null if the substitution is not in the table or the instance is trivially true.
+	 */
+	public InstClause get(final List<Term> subs) {
+		final int entry = indexOf(subs);
+		return entry < 0 ? null : mInstances[entry];
+	}
+
+	/**
+	 * Add the instance for a new substitution.
+	 *
+	 * @param subs
+	 *            the substitution; it must not be in the table yet.
+	 * @param inst
+	 *            the instance, or null if it is trivially true.
+	 */
+	public void put(final List<Term> subs, final InstClause inst) {
+		assert !containsKey(subs);
+		if (mSize == mSubstitutions.length) {
+			mSubstitutions = Arrays.copyOf(mSubstitutions, 2 * mSize);
+			mInstances = Arrays.copyOf(mInstances, 2 * mSize);
+			rehash(4 * mSize);
+		}
+		mSubstitutions[mSize] = subs.toArray(new Term[subs.size()]);
+		mInstances[mSize] = inst;
+		mSize++;
+		insertSlot(mSize - 1);
+	}
+
+	private void insertSlot(final int entry) {
+		final int mask = mSlots.length - 1;
+		int slot = hash(mSubstitutions[entry]) & mask;
+		while (mSlots[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		mSlots[slot] = entry + 1;
+	}
+
+	private void rehash(final int numSlots) {
+		mSlots = new int[numSlots];
+		for (int i = 0; i < mSize; i++) {
+			insertSlot(i);
+		}
+	}
+
+	public int size() {
+		return mSize;
+	}
+
+	/**
+	 * Get the instance at a position. The positions are given in insertion order.
+	 */
+	public InstClause getInstance(final int index) {
+		return mInstances[index];
+	}
+
+	public void clear() {
+		mSubstitutions = new Term[INITIAL_SIZE][];
+		mInstances = new InstClause[INITIAL_SIZE];
+		mSlots = new int[2 * INITIAL_SIZE];
+		mSize = 0;
+	}
+}
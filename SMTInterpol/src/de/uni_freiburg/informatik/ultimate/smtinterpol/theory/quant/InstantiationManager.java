@@ -53,8 +53,10 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.QuantifierTh
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.QuantifierTheory.InstantiationMethod;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.SubstitutionHelper.SubstitutionResult;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.dawg.Dawg;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.dawg.DawgUnifier;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.ematching.EMatching;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.ematching.EMatching.SubstitutionInfo;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ComputedTable;
 
 /**
  * This class takes care of clause, literal and term instantiation.
@@ -68,19 +70,29 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.ematching.EM
  */
 public class InstantiationManager {
 
+	private static final int CHECKPOINT_CACHE_LOG_SIZE = 12;
+
 	private final Clausifier mClausifier;
 	private final QuantifierTheory mQuantTheory;
+	private final DawgUnifier mDawgUnifier;
 	private final EMatching mEMatching;
 
-	private final Map<QuantClause, Map<List<Term>, InstClause>> mClauseInstances;
+	private final Map<QuantClause, InstanceTable> mClauseInstances;
 
 	private final InstanceValue mDefaultValueForLitDawgs;
 	private final List<InstanceValue> mRelevantValuesForCheckpoint;
 
+	/**
+	 * The combinator for instance dawgs in the checkpoint and the table that caches its results across calls.
+	 */
+	private final BiFunction<InstantiationInfo, InstantiationInfo, InstantiationInfo> mCheckpointCombinator;
+	private final ComputedTable mCheckpointCache;
+
 	private int mSubsAgeForFinalCheck = 0;
 
 	public InstantiationManager(final QuantifierTheory quantTheory) {
 		mQuantTheory = quantTheory;
+		mDawgUnifier = quantTheory.getDawgUnifier();
 		mClausifier = quantTheory.getClausifier();
 		mEMatching = quantTheory.getEMatching();
 		mClauseInstances = new HashMap<>();
@@ -95,6 +107,8 @@ public class InstantiationManager {
 		} else if (mQuantTheory.mPropagateNewTerms) {
 			mRelevantValuesForCheckpoint.add(InstanceValue.UNKNOWN_TERM);
 		}
+		mCheckpointCombinator = (v1, v2) -> combineForCheckpoint(v1, v2);
+		mCheckpointCache = new ComputedTable(CHECKPOINT_CACHE_LOG_SIZE);
 	}
 
 	/**
@@ -104,7 +118,7 @@ public class InstantiationManager {
 	 *            the quantified clause.
 	 */
 	public void addClause(final QuantClause qClause) {
-		mClauseInstances.put(qClause, new LinkedHashMap<>());
+		mClauseInstances.put(qClause, new InstanceTable());
 	}
 
 	/**
@@ -122,7 +136,7 @@ public class InstantiationManager {
 	 * Remove all existing InstClauses from the instantiation manager.
 	 */
 	public void removeAllInstClauses() {
-		for (final Map<List<Term>, InstClause> instClauses : mClauseInstances.values()) {
+		for (final InstanceTable instClauses : mClauseInstances.values()) {
 			instClauses.clear();
 		}
 	}
@@ -221,14 +235,16 @@ public class InstantiationManager {
 				continue;
 			}
 			quantClause.updateInterestingTermsAllVars();
-			final Set<List<Term>> allSubstitutions = computeAllSubstitutions(quantClause);
-			for (final List<Term> subs : allSubstitutions) {
+			final SubstitutionEnumerator allSubstitutions = getAllSubstitutions(quantClause);
+			while (allSubstitutions.next()) {
 				if (mClausifier.getEngine().isTerminationRequested()) {
 					return Collections.emptySet();
 				}
 				// TODO Don't evaluate existing instances
-				final InstanceValue clauseValue = evaluateClauseInstance(quantClause, subs);
+				final InstanceValue clauseValue =
+						evaluateClauseInstance(quantClause, Arrays.asList(allSubstitutions.getSubstitution()));
 				if (clauseValue != InstanceValue.IRRELEVANT) {
+					final List<Term> subs = Arrays.asList(allSubstitutions.getSubstitution().clone());
 					if (clauseValue == InstanceValue.FALSE) {
 						final InstClause inst = computeClauseInstance(quantClause, subs, InstanceOrigin.CONFLICT);
 						if (inst != null) {
@@ -283,7 +299,7 @@ public class InstantiationManager {
 			}
 
 			// Intersect the literal dawgs to find out for which substitutions all triggers were matched.
-			Dawg<Term, InstantiationInfo> clauseDawg = Dawg.createConst(clause.getVars().length,
+			Dawg<Term, InstantiationInfo> clauseDawg = Dawg.createConst(mDawgUnifier, clause.getVars().length,
 					new InstantiationInfo(InstanceValue.FALSE, new ArrayList<>()));
 			for (final QuantLiteral lit : clause.getQuantLits()) {
 				if (mQuantTheory.getEngine().isTerminationRequested()) {
@@ -297,7 +313,7 @@ public class InstantiationManager {
 						// TODO: Rename the option
 						final Term lhs = ((QuantEquality) atom).getLhs();
 						if (QuantUtil.isAuxApplication(lhs)) {
-							instDawg = Dawg.createConst(clause.getVars().length,
+							instDawg = Dawg.createConst(mDawgUnifier, clause.getVars().length,
 									new InstantiationInfo(InstanceValue.ONE_UNDEF, new ArrayList<>()));
 						}
 					}
@@ -311,7 +327,7 @@ public class InstantiationManager {
 												getTermSubsFromSubsInfo(lit, v)));
 					}
 				} else if (lit.mIsArithmetical) {
-					instDawg = Dawg.createConst(clause.getVars().length,
+					instDawg = Dawg.createConst(mDawgUnifier, clause.getVars().length,
 							new InstantiationInfo(InstanceValue.ONE_UNDEF, new ArrayList<>()));
 				}
 				// TODO Should we do something for the other literals, similar to "otherlits" in computeClauseDawg for
@@ -322,7 +338,7 @@ public class InstantiationManager {
 					continue outer;
 				}
 				// NOTE: For lazy E-matching, combineForCheckpoint also works for final check TODO rename it
-				clauseDawg = clauseDawg.combine(instDawg, (v1, v2) -> combineForCheckpoint(v1, v2));
+				clauseDawg = clauseDawg.combine(instDawg, mCheckpointCombinator, mCheckpointCache);
 			}
 			// Compute instances that do not produce new terms, i.e., where the E-matching multi-pattern was matched
 			for (final InstantiationInfo subs : getRelevantSubsFromDawg(clause, clauseDawg)) {
@@ -362,8 +378,9 @@ public class InstantiationManager {
 			}
 			if (!clause.hasTrueGroundLits()) {
 				assert mClauseInstances.containsKey(clause);
-				for (final Entry<List<Term>, InstClause> existingInst : mClauseInstances.get(clause).entrySet()) {
-					final InstClause instClause = existingInst.getValue();
+				final InstanceTable existingInsts = mClauseInstances.get(clause);
+				for (int i = 0; i < existingInsts.size(); i++) {
+					final InstClause instClause = existingInsts.getInstance(i);
 					if (instClause != null) {
 						final int numUndef = instClause.countAndSetUndefLits();
 						assert numUndef == -1 || numUndef == 0;
@@ -381,6 +398,7 @@ public class InstantiationManager {
 
 		// Check all interesting substitutions ordered by age to avoid creating new (in particular nested) terms early.
 		final Map<QuantClause, List<Term>[]> interestingTermsSortedByAge = new HashMap<>();
+		final Map<QuantClause, int[][]> interestingTermAges = new HashMap<>();
 		int oldest = 0;
 		for (final QuantClause clause : currentQuantClauses) {
 			if (mClausifier.getEngine().isTerminationRequested()) {
@@ -391,6 +409,7 @@ public class InstantiationManager {
 					sortInterestingTermsByAge(clause.getInterestingTerms());
 			oldest = Math.max(oldest, termsSortedByAge.getSecond());
 			interestingTermsSortedByAge.put(clause, termsSortedByAge.getFirst());
+			interestingTermAges.put(clause, getTermAges(termsSortedByAge.getFirst()));
 		}
 		mQuantTheory.getLogger().debug("Quant: Max term age %d", oldest);
 		for (; mSubsAgeForFinalCheck <= oldest; mSubsAgeForFinalCheck++) {
@@ -407,16 +426,18 @@ public class InstantiationManager {
 				if (mQuantTheory.getEngine().isTerminationRequested()) {
 					return Collections.emptySet();
 				}
-				final Set<List<Term>> subsForAge =
-						computeSubstitutionsForAge(interestingTermsSortedByAge.get(clause), mSubsAgeForFinalCheck);
-				for (final List<Term> subs : subsForAge) {
-					assert getMaxAge(subs) == mSubsAgeForFinalCheck;
+				final SubstitutionEnumerator subsForAge = new SubstitutionEnumerator(
+						interestingTermsSortedByAge.get(clause), interestingTermAges.get(clause), mSubsAgeForFinalCheck);
+				final InstanceTable existingInsts = mClauseInstances.get(clause);
+				while (subsForAge.next()) {
+					assert getMaxAge(Arrays.asList(subsForAge.getSubstitution())) == mSubsAgeForFinalCheck;
 					if (mClausifier.getEngine().isTerminationRequested()) {
 						return null;
 					}
-					if (mClauseInstances.containsKey(clause) && mClauseInstances.get(clause).containsKey(subs)) {
+					if (existingInsts != null && existingInsts.containsKey(subsForAge.getSubstitution())) {
 						continue; // Checked in the first loop over the quant clauses.
 					}
+					final List<Term> subs = Arrays.asList(subsForAge.getSubstitution().clone());
 					final Pair<InstanceValue, Boolean> candVal = evaluateNewClauseInstanceFinalCheck(clause, subs);
 					if (candVal.getFirst() == InstanceValue.TRUE) {
 						continue;
@@ -499,48 +520,25 @@ public class InstantiationManager {
 	}
 
 	/**
-	 * From the given terms, compute all substitutions from the given age, i.e., that contain at least one term from the
-	 * given age, and only terms from the given or an earlier age.
+	 * Get the ages of the substitution terms for each variable position.
 	 *
 	 * @param sortedSubstitutionTerms
 	 *            an array of lists of substitution terms sorted by age (an array entry corresponds to a variable
 	 *            position)
-	 * @param age
-	 *            the term generation that the substitutions to compute should be from
-	 * @return all substitutions resulting from the given terms from the given age.
+	 * @return the ages of the terms in the same order.
 	 */
-	private Set<List<Term>> computeSubstitutionsForAge(final List<Term>[] sortedSubstitutionTerms, final int age) {
-		final int length = sortedSubstitutionTerms.length;
-		final Map<List<Term>, Integer> allSubs = new LinkedHashMap<>();
-		allSubs.put(new ArrayList<Term>(length), 0);
-		for (int i = 0; i < length; i++) {
+	private int[][] getTermAges(final List<Term>[] sortedSubstitutionTerms) {
+		final int[][] ages = new int[sortedSubstitutionTerms.length][];
+		for (int i = 0; i < ages.length; i++) {
 			assert !sortedSubstitutionTerms[i].isEmpty();
 			assert !Config.EXPENSIVE_ASSERTS
 					|| sortedSubstitutionTerms[i].equals(sortInterestingTermsByAge(sortedSubstitutionTerms[i]));
-			final Map<List<Term>, Integer> partialSubs = new LinkedHashMap<>();
-			for (final Entry<List<Term>, Integer> oldSub : allSubs.entrySet()) {
-				if (mClausifier.getEngine().isTerminationRequested()) {
-					return Collections.emptySet();
-				}
-				final int oldSubAge = oldSub.getValue();
-				for (final Term ground : sortedSubstitutionTerms[i]) {
-					final int groundAge = getTermAge(ground);
-					if (groundAge > age) {
-						break;
-					}
-					if (i != length - 1 || oldSubAge == age || groundAge == age) {
-						final List<Term> newSub = new ArrayList<>(length);
-						newSub.addAll(oldSub.getKey());
-						newSub.add(ground);
-						final int newAge = oldSub.getValue() > groundAge ? oldSub.getValue() : groundAge;
-						partialSubs.put(newSub, newAge);
-					}
-				}
+			ages[i] = new int[sortedSubstitutionTerms[i].size()];
+			for (int j = 0; j < ages[i].length; j++) {
+				ages[i][j] = getTermAge(sortedSubstitutionTerms[i].get(j));
 			}
-			allSubs.clear();
-			allSubs.putAll(partialSubs);
 		}
-		return allSubs.keySet();
+		return ages;
 	}
 
 	/**
@@ -581,7 +579,7 @@ public class InstantiationManager {
 		final int numVars = qClause.getVars().length;
 		final List<Term> emptySubs = new ArrayList<>();
 		final Dawg<Term, InstantiationInfo> constIrrelDawg =
-				Dawg.createConst(qClause.getVars().length,
+				Dawg.createConst(mDawgUnifier, qClause.getVars().length,
 						new InstantiationInfo(InstanceValue.IRRELEVANT, emptySubs));
 
 		// Initialize clause value to false for correct combination.
@@ -603,12 +601,10 @@ public class InstantiationManager {
 
 		// Create the partial clause dawg.
 		Dawg<Term, InstantiationInfo> clauseDawg =
-				Dawg.createConst(numVars, new InstantiationInfo(clauseValue, emptySubs));
+				Dawg.createConst(mDawgUnifier, numVars, new InstantiationInfo(clauseValue, emptySubs));
 
 		// Only check quant literals for clauses where all or all but one ground literals are false.
 		if (clauseValue != InstanceValue.IRRELEVANT) {
-			final BiFunction<InstantiationInfo, InstantiationInfo, InstantiationInfo> combinator =
-					(v1, v2) -> combineForCheckpoint(v1, v2);
 			final Collection<QuantLiteral> unknownLits = new ArrayList<>(qClause.getQuantLits().length);
 			final Collection<QuantLiteral> arithLits = new ArrayList<>(qClause.getQuantLits().length);
 			final Collection<QuantLiteral> partialEMLits = new ArrayList<>(qClause.getQuantLits().length);
@@ -621,7 +617,7 @@ public class InstantiationManager {
 					arithLits.add(qLit);
 				} else if (mEMatching.isUsingEmatching(qLit)) {
 					final Dawg<Term, InstantiationInfo> litDawg = computeEMatchingLitDawg(qLit);
-					clauseDawg = clauseDawg.combine(litDawg, combinator);
+					clauseDawg = clauseDawg.combine(litDawg, mCheckpointCombinator, mCheckpointCache);
 				} else if (mEMatching.isPartiallyUsingEmatching(qLit)) {
 					partialEMLits.add(qLit);
 				} else {
@@ -660,7 +656,7 @@ public class InstantiationManager {
 						return constIrrelDawg;
 					}
 					final Dawg<Term, InstantiationInfo> litDawg = computeArithLitDawg(arLit, interestingSubsForArith);
-					clauseDawg = clauseDawg.combine(litDawg, combinator);
+					clauseDawg = clauseDawg.combine(litDawg, mCheckpointCombinator, mCheckpointCache);
 				}
 					}
 		}
@@ -979,7 +975,7 @@ public class InstantiationManager {
 				if (val != mDefaultValueForLitDawgs) {
 					partialSubs.set(varPosInClause, subs);
 					final Dawg<Term, InstantiationInfo> remainderDawgForVarSub =
-							Dawg.createConst(remainderDawgLengthForVar,
+							Dawg.createConst(mDawgUnifier, remainderDawgLengthForVar,
 									new InstantiationInfo(val, new ArrayList<>(partialSubs)));
 					transitionsFromVar.put(subs, remainderDawgForVarSub);
 				}
@@ -987,7 +983,7 @@ public class InstantiationManager {
 			}
 			final long time = System.nanoTime();
 			final Dawg<Term, InstantiationInfo> dawgForVar =
-					Dawg.createDawg(transitionsFromVar, Dawg.createConst(remainderDawgLengthForVar,
+					Dawg.createDawg(transitionsFromVar, Dawg.createConst(mDawgUnifier, remainderDawgLengthForVar,
 							new InstantiationInfo(mDefaultValueForLitDawgs, new ArrayList<>())));
 			if (otherVar != null) {
 				transitionsFromOtherVar.put(otherSubs,
@@ -999,7 +995,7 @@ public class InstantiationManager {
 		}
 		final long time = System.nanoTime();
 		if (otherVar != null) {
-			remainderDawgAllVars = Dawg.createDawg(transitionsFromOtherVar, Dawg.createConst(
+			remainderDawgAllVars = Dawg.createDawg(transitionsFromOtherVar, Dawg.createConst(mDawgUnifier,
 					arLit.getClause().getVars().length - firstVarPosInClause - 1,
 					new InstantiationInfo(mDefaultValueForLitDawgs, new ArrayList<>())));
 		}
@@ -1195,30 +1191,17 @@ public class InstantiationManager {
 	 *
 	 * @param quantClause
 	 *            the quantified clause.
-	 * @return a Set containing interesting substitutions for the clause.
+	 * @return an enumerator of the interesting substitutions for the clause.
 	 */
-	private Set<List<Term>> computeAllSubstitutions(final QuantClause quantClause) {
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private SubstitutionEnumerator getAllSubstitutions(final QuantClause quantClause) {
 		final int nVars = quantClause.getVars().length;
-		final Set<List<Term>> allSubs = new LinkedHashSet<>();
-		allSubs.add(new ArrayList<Term>(nVars));
+		final List<Term>[] terms = new List[nVars];
 		for (int i = 0; i < nVars; i++) {
-			final Set<List<Term>> partialSubs = new LinkedHashSet<>();
-			for (final List<Term> oldSub : allSubs) {
-				if (mClausifier.getEngine().isTerminationRequested()) {
-					return Collections.emptySet();
-				}
-				assert !quantClause.getInterestingTerms()[i].isEmpty();
-				for (final Term ground : quantClause.getInterestingTerms()[i].values()) {
-					final List<Term> newSub = new ArrayList<>(nVars);
-					newSub.addAll(oldSub);
-					newSub.add(ground);
-					partialSubs.add(newSub);
-				}
-			}
-			allSubs.clear();
-			allSubs.addAll(partialSubs);
+			assert !quantClause.getInterestingTerms()[i].isEmpty();
+			terms[i] = new ArrayList<>(quantClause.getInterestingTerms()[i].values());
 		}
-		return allSubs;
+		return new SubstitutionEnumerator(terms);
 	}
 
 	/**
@@ -52,6 +52,7 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.cclosure.CCTerm;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.cclosure.CClosure;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.DestructiveEqualityReasoning.DERResult;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.dawg.DawgUnifier;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.ematching.EMatching;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ScopedArrayList;
 
@@ -79,6 +80,7 @@ public class QuantifierTheory implements ITheory {
 
 	private final EMatching mEMatching;
 	private final InstantiationManager mInstantiationManager;
+	private final DawgUnifier mDawgUnifier;
 	private final Map<Sort, Term> mLambdas;
 
 	/**
@@ -124,6 +126,7 @@ public class QuantifierTheory implements ITheory {
 		mCClosure = clausifier.getCClosure();
 		mLinArSolve = clausifier.getLASolver();
 
+		mDawgUnifier = new DawgUnifier();
 		mEMatching = new EMatching(this);
 		mInstantiationManager = new InstantiationManager(this);
 		mLambdas = new HashMap<>();
@@ -377,6 +380,9 @@ public class QuantifierTheory implements ITheory {
 				Arrays.toString(mNumInstancesOfAgeEnum));
 		logger.info("Quant: Conflicts: %d Props: %d Checkpoints (with new evaluation): %d (%d) Final Checks: %d",
 				mNumConflicts, mNumProps, mNumCheckpoints, mNumCheckpointsWithNewEval, mNumFinalcheck);
+		logger.info("Quant: E-Matching executions: %d (skipped: %d) Matches: %d (new: %d)",
+				mEMatching.getNumExecutions(), mEMatching.getNumSkippedExecutions(), mEMatching.getNumSubstitutions(),
+				mEMatching.getNumNewSubstitutions());
 		logger.info(
 				"Quant times: Checkpoint: %d.%03d Find with E-matching: %d.%03d E-Matching: %d.%03d Dawg: %d.%03d Final Check: %d.%03d",
 				mCheckpointTime / 1000 / 1000, mCheckpointTime /1000 % 1000,
@@ -465,6 +471,7 @@ public class QuantifierTheory implements ITheory {
 			{ "thereof for enumeration", Arrays.toString(mNumInstancesOfAgeEnum) }, { "Conflicts", mNumConflicts },
 			{ "Propagations", mNumProps }, { "Checkpoints", mNumCheckpoints },
 			{ "Checkpoints with new evaluation", mNumCheckpointsWithNewEval }, { "Final Checks", mNumFinalcheck },
+			{ "E-Matching", mEMatching.getStatistics() },
 			{ "Times",
 				new Object[][] { { "Checkpoint", mCheckpointTime }, { "Find E-matching", mFindEmatchingTime },
 				{ "E-Matching", mEMatchingTime }, { "Final Check", mFinalCheckTime } } } } };
@@ -796,6 +803,10 @@ public class QuantifierTheory implements ITheory {
 		return mLinArSolve;
 	}
 
+	public DawgUnifier getDawgUnifier() {
+		return mDawgUnifier;
+	}
+
 	public InstantiationManager getInstantiationManager() {
 		return mInstantiationManager;
 	}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant;
+
+import java.util.List;
+
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+
+/**
+ * Enumerates the substitutions for the variables of a clause, i.e., the cartesian product of the candidate terms for
+ * each variable, in lexicographic order without building the product.
+ *
+ * The enumeration can be restricted to the substitutions of a given age. Then the candidate terms must be sorted by
+ * age, and only substitutions that contain terms up to that age and at least one term of that age are enumerated.
+ *
+ * The current substitution is stored in an array that is overwritten by the next call of {@link #next()}.
+ */
+class SubstitutionEnumerator {
+	private final List<Term>[] mTerms;
+	/**
+	 * The number of candidate terms for each variable, i.e., the terms up to the requested age.
+	 */
+	private final int[] mLimits;
+	/**
+	 * The ages of the candidate terms, or null if the enumeration is not restricted.
+	 */
+	private final int[][] mAges;
+	/**
+	 * For each variable, the first candidate of the requested age.
+	 */
+	private final int[] mFirstOfAge;
+	private final int mAge;
+
+	private final int[] mIndices;
+	/**
+	 * The maximal age of the terms in the substitution up to and including each variable.
+	 */
+	private final int[] mPrefixAges;
+	private final Term[] mSubstitution;
+	private boolean mStarted;
+
+	/**
+	 * Enumerate all substitutions.
+	 *
+	 * @param terms
+	 *            the candidate terms for each variable.
+	 */
+	SubstitutionEnumerator(final List<Term>[] terms) {
+		this(terms, null, 0);
+	}
+
+	/**
+	 * Enumerate the substitutions of a given age.
+	 *
+	 * @param terms
+	 *            the candidate terms for each variable, sorted by age.
+	 * @param ages
+	 *            the ages of the candidate terms, or null if the substitutions should not be restricted.
+	 * @param age
+	 *            the age of the substitutions.
+	 */
+	SubstitutionEnumerator(final List<Term>[] terms, final int[][] ages, final int age) {
+		final int length = terms.length;
+		mTerms = terms;
+		mAges = ages;
+		mAge = age;
+		mLimits = new int[length];
+		mFirstOfAge = new int[length];
+		for (int i = 0; i < length; i++) {
+			if (ages == null) {
+				mLimits[i] = terms[i].size();
+			} else {
+				int limit = 0;
+				while (limit < ages[i].length && ages[i][limit] < age) {
+					limit++;
+				}
+				mFirstOfAge[i] = limit;
+				while (limit < ages[i].length && ages[i][limit] == age) {
+					limit++;
+				}
+				mLimits[i] = limit;
+			}
+		}
+		mIndices = new int[length];
+		mPrefixAges = new int[length];
+		mSubstitution = new Term[length];
+	}
+
+	/**
+	 * Get the first candidate for a variable that can extend the current prefix. The last variable must take a term of
+	 * the requested age unless the prefix already contains one.
+	 */
+	private int getFirstIndex(final int pos) {
+		if (mAges == null || pos != mIndices.length - 1 || (pos > 0 && mPrefixAges[pos - 1] == mAge)) {
+			return 0;
+		}
+		return mFirstOfAge[pos];
+	}
+
+	private void set(final int pos) {
+		final int index = mIndices[pos];
+		mSubstitution[pos] = mTerms[pos].get(index);
+		if (mAges != null) {
+			final int prefixAge = pos > 0 ? mPrefixAges[pos - 1] : 0;
+			mPrefixAges[pos] = Math.max(prefixAge, mAges[pos][index]);
+		}
+	}
+
+	/**
+	 * Move to the next substitution.
+	 *
+	 * @return true if there is a next substitution, false if all substitutions were enumerated.
+	 */
+	public boolean next() {
+		final int length = mIndices.length;
+		int pos;
+		if (!mStarted) {
+			mStarted = true;
+			if (length == 0) {
+				return true;
+			}
+			for (int i = 0; i < length; i++) {
+				if (mLimits[i] == 0) {
+					return false;
+				}
+			}
+			pos = 0;
+			mIndices[0] = getFirstIndex(0) - 1;
+		} else {
+			pos = length - 1;
+		}
+		while (pos >= 0) {
+			mIndices[pos]++;
+			if (mIndices[pos] >= mLimits[pos]) {
+				pos--;
+				continue;
+			}
+			set(pos);
+			pos++;
+			while (pos < length) {
+				mIndices[pos] = getFirstIndex(pos);
+				if (mIndices[pos] >= mLimits[pos]) {
+					break;
+				}
+				set(pos);
+				pos++;
+			}
+			if (pos == length) {
+				return true;
+			}
+			// no candidate for the variable at pos extends the prefix; try the next candidate before it.
+			pos--;
+		}
+		return false;
+	}
+
+	/**
+	 * Get the current substitution. The array is reused by the next call of {@link #next()}.
+	 */
+	public Term[] getSubstitution() {
+		return mSubstitution;
+	}
+}
@@ -34,13 +34,16 @@ import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
-import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.util.Pair;
-import de.uni_freiburg.informatik.ultimate.util.datastructures.UnifyHash;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ComputedTable;
 
 /**
  * Conceptually, a Dawg of depth n is a map from LETTER^n to VALUE. It is implemented as a Map from LETTER to a sub dawg
  * of depth n-1, that gives the mapping for the remaining LETTERS.
  *
+ * Dawgs are hash-consed in the {@link DawgUnifier} they were created from: equal dawgs are represented by the same
+ * object and each dawg has a unique integer id. This allows to cache the results of {@link #combine} across calls in a
+ * {@link ComputedTable}. Only dawgs from the same unifier can be combined.
+ *
  * @author Alexander Nutz, Jochen Hoenicke
  *
  */
@@ -53,7 +56,14 @@ public class Dawg<LETTER, VALUE> {
 	final Map<LETTER, Dawg<LETTER, VALUE>> mTransitions;
 	final Dawg<LETTER, VALUE> mElseTransition;
 
-	final static UnifyHash<Dawg<?, ?>> sUnifier = new UnifyHash<>();
+	/**
+	 * The unique table this dawg belongs to.
+	 */
+	final DawgUnifier mUnifier;
+	/**
+	 * The unique id of this dawg in its unifier, used as key in the computed tables.
+	 */
+	final int mId;
 
 	/**
 	 * The dawg that is one level deeper than this and maps every first letter to this Dawg.
@@ -64,10 +74,12 @@ public class Dawg<LETTER, VALUE> {
 	 * Create a Dawg of depth 0 that maps the empty word to value.
 	 * @param value the mapped value.
 	 */
-	private Dawg(final VALUE value) {
+	private Dawg(final DawgUnifier unifier, final VALUE value) {
 		mFinal = value;
 		mTransitions = null;
 		mElseTransition = null;
+		mUnifier = unifier;
+		mId = unifier.nextId();
 	}
 
 	/**
@@ -77,11 +89,15 @@ public class Dawg<LETTER, VALUE> {
 		mFinal = null;
 		mTransitions = transitions;
 		mElseTransition = elseTransition;
+		mUnifier = elseTransition.mUnifier;
+		mId = mUnifier.nextId();
 	}
 
 	/**
 	 * Create a Dawg that maps each word of length {@code levels} to {@code value}.
 	 * 
+	 * @param unifier
+	 *            the unique table of the solver.
 	 * @param levels
 	 *            the length of the key words.
 	 * @param value
@@ -89,18 +105,19 @@ public class Dawg<LETTER, VALUE> {
 	 * @return the constant Dawg.
 	 */
 	@SuppressWarnings("unchecked")
-	public static <LETTER, VALUE> Dawg<LETTER, VALUE> createConst(int levels, final VALUE value) {
+	public static <LETTER, VALUE> Dawg<LETTER, VALUE> createConst(final DawgUnifier unifier, int levels,
+			final VALUE value) {
 		int hash = value.hashCode();
 		Dawg<LETTER, VALUE> constDawg = null;
-		for (Dawg<?, ?> dawg : sUnifier.iterateHashCode(hash)) {
+		for (Dawg<?, ?> dawg : unifier.mDawgs.iterateHashCode(hash)) {
 			if (dawg.isFinal() && dawg.mFinal.equals(value)) {
 				constDawg = (Dawg<LETTER, VALUE>) dawg;
 				break;
 			}
 		}
 		if (constDawg == null) {
-			constDawg = new Dawg<>(value);
-			sUnifier.put(hash, constDawg);
+			constDawg = new Dawg<>(unifier, value);
+			unifier.mDawgs.put(hash, constDawg);
 		}
 		for (int i = 0; i < levels; i++) {
 			constDawg = constDawg.createParent();
@@ -122,18 +139,27 @@ public class Dawg<LETTER, VALUE> {
 	}
 
 	/**
-	 * Create the dawg with the given transitions.
-	 * @param transitions map from LETTER to next Dawgs.
+	 * Create the dawg with the given transitions. If an equal dawg already exists, it is returned instead.
+	 * @param transitions map from LETTER to next Dawgs. It must not be changed afterwards.
 	 * @param elseTransition destination of the default transitition.
 	 * 
 	 * @return the created Dawg.
 	 */
+	@SuppressWarnings("unchecked")
 	public static <LETTER, VALUE> Dawg<LETTER, VALUE> createDawg(Map<LETTER, Dawg<LETTER, VALUE>> transitions,
 			Dawg<LETTER, VALUE> elseTransition) {
 		if (transitions.isEmpty()) {
 			return elseTransition.createParent();
 		}
+		final int hash = transitions.hashCode() * 31 + elseTransition.mId;
+		final DawgUnifier unifier = elseTransition.mUnifier;
+		for (Dawg<?, ?> dawg : unifier.mDawgs.iterateHashCode(hash)) {
+			if (dawg.mElseTransition == elseTransition && dawg.mTransitions.equals(transitions)) {
+				return (Dawg<LETTER, VALUE>) dawg;
+			}
+		}
 		Dawg<LETTER, VALUE> dawg = new Dawg<>(transitions, elseTransition);
+		unifier.mDawgs.put(hash, dawg);
 		return dawg;
 	}
 
@@ -156,7 +182,7 @@ public class Dawg<LETTER, VALUE> {
 
 	private Dawg<LETTER, VALUE> insert(final List<LETTER> key, final VALUE value, int offset) {
 		if (offset == key.size()) {
-			return createConst(0, value);
+			return createConst(mUnifier, 0, value);
 		} else {
 			LETTER firstLetter = key.get(offset);
 			HashMap<LETTER, Dawg<LETTER, VALUE>> newTransitions = new LinkedHashMap<>();
@@ -186,18 +212,25 @@ public class Dawg<LETTER, VALUE> {
 
 	private <V2, V3> Dawg<LETTER, V3> combineInternal(final Dawg<LETTER, V2> other,
 			final BiFunction<VALUE, V2, V3> combinator,
-			final Map<Pair<Dawg<LETTER, VALUE>, Dawg<LETTER, V2>>, Dawg<LETTER, V3>> cache) {
-		Pair<Dawg<LETTER, VALUE>, Dawg<LETTER, V2>> pair = new Pair<>(this, other);
-		Dawg<LETTER, V3> result = cache.get(pair);
+			final Map<Long, Dawg<LETTER, V3>> localCache, final ComputedTable cache) {
+		assert mUnifier == other.mUnifier;
+		final Long pairKey = ((long) mId << 32) | other.mId;
+		Dawg<LETTER, V3> result = localCache.get(pairKey);
+		if (result == null && cache != null) {
+			@SuppressWarnings("unchecked")
+			final Dawg<LETTER, V3> cached = (Dawg<LETTER, V3>) cache.get(0, mId, other.mId);
+			result = cached;
+		}
 		if (result != null) {
 			return result;
 		}
 		if (mElseTransition == null) {
 			assert other.mElseTransition == null;
 			// both inputs take empty words.
-			result = createConst(0, combinator.apply(mFinal, other.mFinal));
+			result = createConst(mUnifier, 0, combinator.apply(mFinal, other.mFinal));
 		} else {
-			Dawg<LETTER, V3> elseCase = mElseTransition.combineInternal(other.mElseTransition, combinator, cache);
+			Dawg<LETTER, V3> elseCase = mElseTransition.combineInternal(other.mElseTransition, combinator, localCache,
+					cache);
 			if (mTransitions.isEmpty() && other.mTransitions.isEmpty()) {
 				result = elseCase.createParent();
 			} else {
@@ -205,7 +238,7 @@ public class Dawg<LETTER, VALUE> {
 				for (Map.Entry<LETTER, Dawg<LETTER, VALUE>> entry : mTransitions.entrySet()) {
 					LETTER key = entry.getKey();
 					Dawg<LETTER, V3> combined =
-							entry.getValue().combineInternal(other.getNextDawg(key), combinator, cache);
+							entry.getValue().combineInternal(other.getNextDawg(key), combinator, localCache, cache);
 					if (combined != elseCase) {
 						newTransitions.put(key, combined);
 					}
@@ -215,7 +248,7 @@ public class Dawg<LETTER, VALUE> {
 					/* add all remaining keys that are not in the first transition set */
 					if (!mTransitions.containsKey(key)) {
 						Dawg<LETTER, V3> combined = mElseTransition.combineInternal(entry.getValue(), combinator,
-								cache);
+								localCache, cache);
 						if (combined != elseCase) {
 							newTransitions.put(key, combined);
 						}
@@ -224,7 +257,10 @@ public class Dawg<LETTER, VALUE> {
 				result = createDawg(newTransitions, elseCase);
 			}
 		}
-		cache.put(pair, result);
+		localCache.put(pairKey, result);
+		if (cache != null) {
+			cache.put(0, mId, other.mId, result);
+		}
 		return result;
 	}
 
@@ -240,7 +276,25 @@ public class Dawg<LETTER, VALUE> {
 	 * @return the mapped dawg.
 	 */
 	public <V2, V3> Dawg<LETTER, V3> combine(final Dawg<LETTER, V2> other, final BiFunction<VALUE, V2, V3> combinator) {
-		return combineInternal(other, combinator, new HashMap<>());
+		return combineInternal(other, combinator, new HashMap<>(), null);
+	}
+
+	/**
+	 * Combine two dawgs like {@link #combine(Dawg, BiFunction)}, but keep the results of all sub-dawg pairs in the
+	 * given table, so that later calls with the same combinator reuse them.
+	 *
+	 * @param other
+	 *            the second Dawg.
+	 * @param combinator
+	 *            the combinator function. It must be the same for all calls that use the table and must only depend on
+	 *            its arguments.
+	 * @param cache
+	 *            the table caching the results for this combinator.
+	 * @return the mapped dawg.
+	 */
+	public <V2, V3> Dawg<LETTER, V3> combine(final Dawg<LETTER, V2> other, final BiFunction<VALUE, V2, V3> combinator,
+			final ComputedTable cache) {
+		return combineInternal(other, combinator, new HashMap<>(), cache);
 	}
 
 	private <V2> Dawg<LETTER, V2> mapInternal(final Function<VALUE, V2> map,
@@ -250,7 +304,7 @@ public class Dawg<LETTER, VALUE> {
 			return result;
 		}
 		if (mElseTransition == null) {
-			result = createConst(0, map.apply(mFinal));
+			result = createConst(mUnifier, 0, map.apply(mFinal));
 		} else {
 			Dawg<LETTER, V2> elseCase = mElseTransition.mapInternal(map, cache);
 			if (mTransitions.isEmpty()) {
@@ -286,7 +340,7 @@ public class Dawg<LETTER, VALUE> {
 	private <V2> Dawg<LETTER, V2> mapWithKeyInternal(final BiFunction<List<LETTER>, VALUE, V2> map,
 			final ArrayList<LETTER> key) {
 		if (mElseTransition == null) {
-			return createConst(0, map.apply(key, mFinal));
+			return createConst(mUnifier, 0, map.apply(key, mFinal));
 		} else {
 			key.add(null);
 			Dawg<LETTER, V2> elseCase = mElseTransition.mapWithKeyInternal(map, key);
@@ -370,7 +424,7 @@ public class Dawg<LETTER, VALUE> {
 		}
 		if (isFinal) {
 			// new final dawg.
-			return createConst(0, finalValue);
+			return createConst(input.iterator().next().mUnifier, 0, finalValue);
 		} else {
 			// build new dawgs recursively by mapping the successors and elseSuccessors to new dawgs.
 			HashMap<LETTER2, Dawg<LETTER2, VALUE>> newTransitions = new LinkedHashMap<>();
@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.dawg;
+
+import de.uni_freiburg.informatik.ultimate.util.datastructures.UnifyHash;
+
+/**
+ * The unique table for the dawgs of one solver. Equal dawgs created from the same unifier are represented by the same
+ * object, and each dawg gets an id that is unique within its unifier.
+ *
+ * The table is not synchronised. Like the solver owning it, it must only be used by one thread at a time. Solvers
+ * running in parallel threads have their own unifiers.
+ */
+public class DawgUnifier {
+	final UnifyHash<Dawg<?, ?>> mDawgs = new UnifyHash<>();
+	private int mNextId = 0;
+
+	int nextId() {
+		return mNextId++;
+	}
+}
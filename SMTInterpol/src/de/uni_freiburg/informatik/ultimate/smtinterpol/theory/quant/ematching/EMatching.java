@@ -20,6 +20,7 @@ package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.ematching;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
@@ -53,6 +54,12 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.dawg.Dawg;
  * interesting substitutions for the variables in the patterns. Some pieces of code may install triggers in the
  * congruence closure such that the remaining code is only executed when the trigger is activated.
  *
+ * Each execution of a piece of code is remembered together with its decision level until the effects of the execution
+ * are undone; a later request to run the same code with the same register at the same or a higher decision level is
+ * skipped. This memo only avoids repeated executions. There is no index from function symbols to patterns and no
+ * modification time on the terms: every new function application or merge still activates all triggers installed for
+ * it, and the remaining code is executed unless the memo knows it.
+ *
  * @author Tanja Schindler
  */
 public class EMatching {
@@ -70,6 +77,17 @@ public class EMatching {
 	private final Set<QuantLiteral> mEmatchingAtoms, mPartialEmatchingAtoms;
 	final SubstitutionInfo mEmptySubs;
 
+	/**
+	 * The code executions whose effects are still present, with the decision level they were executed for.
+	 */
+	private final Map<CodeExecution, Integer> mExecutions;
+	/**
+	 * The highest decision level of an effect of the currently running code, or -1 if no code is running.
+	 */
+	private int mEffectLevel = -1;
+
+	private long mNumExecutions, mNumSkippedExecutions, mNumSubstitutions, mNumNewSubstitutions;
+
 	public EMatching(final QuantifierTheory quantifierTheory) {
 		mQuantTheory = quantifierTheory;
 		mTodoStack = new ArrayDeque<>();
@@ -79,6 +97,7 @@ public class EMatching {
 		mEmptySubs = new SubstitutionInfo(new ArrayList<CCTerm>(), new LinkedHashMap<>());
 		mEmatchingAtoms = new HashSet<>();
 		mPartialEmatchingAtoms = new HashSet<>();
+		mExecutions = new HashMap<>();
 	}
 
 	/**
@@ -94,7 +113,8 @@ public class EMatching {
 		for (final QuantLiteral qLit : qClause.getQuantLits()) {
 			final QuantLiteral qAtom = qLit.getAtom();
 			if (!qLit.isArithmetical() && QuantUtil.containsArithmeticOnQuantOnlyAtTopLevel(qAtom)) {
-				mAtomSubsDawgs.put(qAtom, Dawg.createConst(qClause.getVars().length, mEmptySubs));
+				mAtomSubsDawgs.put(qAtom,
+						Dawg.createConst(mQuantTheory.getDawgUnifier(), qClause.getVars().length, mEmptySubs));
 
 				final Collection<Term> patterns = new LinkedHashSet<>();
 				if (qAtom instanceof QuantEquality) {
@@ -196,7 +216,19 @@ public class EMatching {
 		}
 		while (!mTodoStack.isEmpty() && !mQuantTheory.getEngine().isTerminationRequested()) {
 			final Triple<ICode, CCTerm[], Integer> code = mTodoStack.pop();
-			code.getFirst().execute(code.getSecond(), code.getThird());
+			final int decisionLevel = code.getThird();
+			final CodeExecution execution = new CodeExecution(code.getFirst(), code.getSecond(), decisionLevel);
+			final Integer executedLevel = mExecutions.get(execution);
+			if (executedLevel != null && executedLevel <= decisionLevel) {
+				mNumSkippedExecutions++;
+				continue;
+			}
+			mNumExecutions++;
+			mEffectLevel = decisionLevel;
+			code.getFirst().execute(code.getSecond(), decisionLevel);
+			mExecutions.put(execution, decisionLevel);
+			getUndoInformationForLevel(mEffectLevel).mCodeExecutions.add(execution);
+			mEffectLevel = -1;
 		}
 		if (Config.PROFILE_TIME) {
 			mQuantTheory.addEMatchingTime(System.nanoTime() - time);
@@ -264,6 +296,7 @@ public class EMatching {
 	 *            the decision level that is relevant for this execution.
 	 */
 	void addCode(final ICode code, final CCTerm[] register, final int decisionLevel) {
+		recordEffect(decisionLevel);
 		final Triple<ICode, CCTerm[], Integer> todo =
 				new Triple<>(code, register, decisionLevel);
 		mTodoStack.add(todo);
@@ -292,13 +325,28 @@ public class EMatching {
 		}
 
 		final SubstitutionInfo subsInfo = new SubstitutionInfo(varSubs, equivalentCCTerms);
+		mNumSubstitutions++;
+		if (!subsInfo.equals(subsDawg.getValue(sharedTermSubs))) {
+			mNumNewSubstitutions++;
+		}
 		subsDawg = subsDawg.insert(sharedTermSubs, subsInfo);
 
 		mAtomSubsDawgs.put(qLit, subsDawg);
 		mQuantTheory.addDawgTime(System.nanoTime() - time);
+		recordEffect(decisionLevel);
 		addUndoInformation(qLit, sharedTermSubs, decisionLevel);
 	}
 
+	/**
+	 * Record that the currently running code has an effect that is undone when backtracking below the given decision
+	 * level.
+	 */
+	private void recordEffect(final int decisionLevel) {
+		if (mEffectLevel >= 0 && decisionLevel > mEffectLevel) {
+			mEffectLevel = decisionLevel;
+		}
+	}
+
 	/**
 	 * Install a trigger into the CClosure that compares two CCTerms.
 	 *
@@ -378,6 +426,7 @@ public class EMatching {
 	 *            the decision level for backtracking.
 	 */
 	private void addUndoInformation(final EMCompareTrigger trigger, final int decisionLevel) {
+		recordEffect(decisionLevel);
 		final EMUndoInformation info = getUndoInformationForLevel(decisionLevel);
 		info.mCompareTriggers.add(trigger);
 	}
@@ -391,6 +440,7 @@ public class EMatching {
 	 *            the decision level for backtracking.
 	 */
 	private void addUndoInformation(final EMReverseTrigger trigger, final int decisionLevel) {
+		recordEffect(decisionLevel);
 		final EMUndoInformation info = getUndoInformationForLevel(decisionLevel);
 		info.mReverseTriggers.add(trigger);
 	}
@@ -449,6 +499,61 @@ public class EMatching {
 		return mPartialEmatchingAtoms.contains(qLit.getAtom());
 	}
 
+	/**
+	 * Get the number of code executions, of the executions that were skipped because they would repeat an earlier
+	 * execution, of the substitutions found, and of the substitutions that were not known before.
+	 */
+	public Object[][] getStatistics() {
+		return new Object[][] { { "Executions", mNumExecutions }, { "Skipped executions", mNumSkippedExecutions },
+			{ "Matches", mNumSubstitutions }, { "New matches", mNumNewSubstitutions } };
+	}
+
+	public long getNumExecutions() {
+		return mNumExecutions;
+	}
+
+	public long getNumSkippedExecutions() {
+		return mNumSkippedExecutions;
+	}
+
+	public long getNumSubstitutions() {
+		return mNumSubstitutions;
+	}
+
+	public long getNumNewSubstitutions() {
+		return mNumNewSubstitutions;
+	}
+
+	/**
+	 * An execution of a piece of code with a register. Executions are equal if they run the same code on the same
+	 * terms; the decision level is only used to decide when the execution is forgotten.
+	 */
+	private static class CodeExecution {
+		final ICode mCode;
+		final CCTerm[] mRegister;
+		final int mDecisionLevel;
+
+		CodeExecution(final ICode code, final CCTerm[] register, final int decisionLevel) {
+			mCode = code;
+			mRegister = register;
+			mDecisionLevel = decisionLevel;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(mCode) * 31 + Arrays.hashCode(mRegister);
+		}
+
+		@Override
+		public boolean equals(final Object other) {
+			if (other instanceof CodeExecution) {
+				final CodeExecution otherExec = (CodeExecution) other;
+				return mCode == otherExec.mCode && Arrays.equals(mRegister, otherExec.mRegister);
+			}
+			return false;
+		}
+	}
+
 	/**
 	 * This class stores information about a substitution found by the E-Matching. That is, the variable substitutions,
 	 * as well as for each pattern the CCTerm that is equivalent to the ground term that would result from applying the
@@ -507,11 +612,13 @@ public class EMatching {
 		final Collection<EMCompareTrigger> mCompareTriggers;
 		final Collection<EMReverseTrigger> mReverseTriggers;
 		final Map<QuantLiteral, Collection<List<Term>>> mLitSubs;
+		final Collection<CodeExecution> mCodeExecutions;
 
 		EMUndoInformation() {
 			mCompareTriggers = new ArrayList<>();
 			mReverseTriggers = new ArrayList<>();
 			mLitSubs = new LinkedHashMap<>();
+			mCodeExecutions = new ArrayList<>();
 		}
 
 		/**
@@ -532,6 +639,13 @@ public class EMatching {
 				}
 				mAtomSubsDawgs.put(subs.getKey(), subsDawg);
 			}
+			for (final CodeExecution execution : mCodeExecutions) {
+				// a later execution of the same code at a lower decision level is still valid
+				final Integer executedLevel = mExecutions.get(execution);
+				if (executedLevel != null && executedLevel == execution.mDecisionLevel) {
+					mExecutions.remove(execution);
+				}
+			}
 		}
 	}
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.xor;
+
+import java.util.Set;
+
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLAtom;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.ITheory;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Literal;
+
+/**
+ * A theory solver for xor constraints. The clausifier creates one xor atom for every set of atoms that occurs in an
+ * xor term.
+ */
+public interface IXorTheory extends ITheory {
+
+	/**
+	 * The available solvers for xor constraints.
+	 */
+	public static enum XorEngine {
+		/**
+		 * Gauss-Jordan elimination on packed bit rows with two watched variables per row, see
+		 * {@link XorMatrixTheory}.
+		 */
+		GAUSS_JORDAN,
+		/**
+		 * The simplex-like tableau with counters of unassigned variables, see {@link XorTheory}.
+		 */
+		TABLEAU
+	}
+
+	/**
+	 * Build the xor atom for a set of atoms. The atom is true if and only if an odd number of the given atoms is
+	 * true.
+	 *
+	 * @param variables
+	 *            the atoms.
+	 * @return the xor atom.
+	 */
+	public Literal buildXorLiteral(Set<DPLLAtom> variables);
+}
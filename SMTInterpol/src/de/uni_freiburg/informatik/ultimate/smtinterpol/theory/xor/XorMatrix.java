@@ -0,0 +1,449 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.xor;
+
+import java.util.Arrays;
+import java.util.List;
+
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Clause;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLAtom;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Literal;
+
+/**
+ * The xor constraints of one independent cluster, i.e., a set of constraints that share no variable with the other
+ * constraints, in reduced row echelon form.
+ *
+ * Every row is stored as a packed bit vector over the columns of the cluster and states that the xor of its variables
+ * is false. Every row has a basic column that occurs in no other row. The basic variable is kept unassigned as long as
+ * the row contains an unassigned variable: when it is assigned, another unassigned variable of the row becomes basic
+ * and is eliminated from the other rows. Additionally, every row watches one unassigned non-basic variable. When the
+ * last non-basic variable of a row is assigned, the value of the basic variable is propagated or a conflict is
+ * reported. Since the matrix only changes by adding rows, it stays valid on backtracking.
+ */
+class XorMatrix {
+	private final XorMatrixTheory mTheory;
+	/**
+	 * The atom of every column.
+	 */
+	final DPLLAtom[] mAtoms;
+	/**
+	 * The column of the theory for every column of this cluster.
+	 */
+	final int[] mGlobalColumns;
+	private final int mWords;
+
+	private long[][] mRows;
+	private int mNumRows;
+	/**
+	 * The basic column of every row.
+	 */
+	private int[] mBasic;
+	/**
+	 * The row of every basic column, -1 for non-basic columns.
+	 */
+	private final int[] mBasicRow;
+	/**
+	 * The watched non-basic column of every row, -1 if the row has no non-basic column.
+	 */
+	private int[] mWatch;
+	/**
+	 * The rows that watch a column. The lists are cleaned lazily: a row is only watching the column if its entry in
+	 * mWatch is the column.
+	 */
+	private final int[][] mWatchers;
+	private final int[] mNumWatchers;
+	private int[] mVisited;
+	private int mVisitStamp;
+
+	private final long[] mAssigned;
+	private final long[] mValues;
+
+	/**
+	 * Rows that need a new watch or may propagate, e.g., because they were changed by a pivot operation.
+	 */
+	private int[] mRecheck;
+	private int mNumRecheck;
+	private boolean[] mInRecheck;
+	/**
+	 * Rows that propagated their basic variable since the last backtracking. The propagated literals may be dropped
+	 * by backtracking, so these rows are checked again.
+	 */
+	private int[] mPropagated;
+	private int mNumPropagated;
+
+	XorMatrix(final XorMatrixTheory theory, final DPLLAtom[] atoms, final int[] globalColumns) {
+		mTheory = theory;
+		mAtoms = atoms;
+		mGlobalColumns = globalColumns;
+		mWords = (atoms.length + 63) >> 6;
+		mBasicRow = new int[atoms.length];
+		Arrays.fill(mBasicRow, -1);
+		mWatchers = new int[atoms.length][];
+		mNumWatchers = new int[atoms.length];
+		mAssigned = new long[mWords];
+		mValues = new long[mWords];
+		mPropagated = new int[8];
+	}
+
+	private static boolean isSet(final long[] bits, final int column) {
+		return (bits[column >> 6] & (1L << column)) != 0;
+	}
+
+	int getNumRows() {
+		return mNumRows;
+	}
+
+	/**
+	 * Eliminate the constraints into the matrix and set up the watches for the current assignment.
+	 *
+	 * @param constraints
+	 *            the columns of every constraint.
+	 * @return a conflict clause, if some constraint is violated by the current assignment.
+	 */
+	Clause initialize(final List<int[]> constraints) {
+		for (int col = 0; col < mAtoms.length; col++) {
+			final Literal status = mAtoms[col].getDecideStatus();
+			if (status != null) {
+				mAssigned[col >> 6] |= 1L << col;
+				if (status.getSign() > 0) {
+					mValues[col >> 6] |= 1L << col;
+				}
+			}
+		}
+		final int size = constraints.size();
+		mRows = new long[size][];
+		mBasic = new int[size];
+		mWatch = new int[size];
+		mVisited = new int[size];
+		mRecheck = new int[size];
+		mInRecheck = new boolean[size];
+		for (final int[] constraint : constraints) {
+			final long[] entries = new long[mWords];
+			for (final int col : constraint) {
+				entries[col >> 6] ^= 1L << col;
+			}
+			// eliminate the existing basic columns
+			for (int row = 0; row < mNumRows; row++) {
+				if (isSet(entries, mBasic[row])) {
+					xorInto(entries, mRows[row]);
+				}
+			}
+			int basic = findUnassigned(entries, -1);
+			if (basic < 0) {
+				basic = findLatest(entries, -1);
+			}
+			if (basic < 0) {
+				// the constraint follows from the others
+				mTheory.mNumRedundantRows++;
+				continue;
+			}
+			// eliminate the new basic column from the existing rows
+			for (int row = 0; row < mNumRows; row++) {
+				if (isSet(mRows[row], basic)) {
+					xorInto(mRows[row], entries);
+				}
+			}
+			mRows[mNumRows] = entries;
+			mBasic[mNumRows] = basic;
+			mBasicRow[basic] = mNumRows;
+			mNumRows++;
+		}
+		// Later eliminations may have added unassigned variables to rows whose basic variable is assigned.
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int row = 0; row < mNumRows; row++) {
+				if (isSet(mAssigned, mBasic[row])) {
+					final int free = findUnassigned(mRows[row], mBasic[row]);
+					if (free >= 0) {
+						pivot(row, free);
+						changed = true;
+					}
+				}
+			}
+		}
+		mNumRecheck = 0;
+		Arrays.fill(mInRecheck, false);
+		Arrays.fill(mWatch, -1);
+		Clause conflict = null;
+		for (int row = 0; row < mNumRows; row++) {
+			final Clause rowConflict = updateWatch(row);
+			if (conflict == null) {
+				conflict = rowConflict;
+			}
+		}
+		return conflict;
+	}
+
+	private void xorInto(final long[] target, final long[] source) {
+		for (int i = 0; i < mWords; i++) {
+			target[i] ^= source[i];
+		}
+		mTheory.mNumRowXors++;
+	}
+
+	/**
+	 * Find an unassigned column in a row.
+	 *
+	 * @param entries
+	 *            the row.
+	 * @param exclude
+	 *            a column to ignore, or -1.
+	 * @return the first unassigned column, or -1 if all are assigned.
+	 */
+	private int findUnassigned(final long[] entries, final int exclude) {
+		for (int i = 0; i < mWords; i++) {
+			long free = entries[i] & ~mAssigned[i];
+			if (exclude >> 6 == i) {
+				free &= ~(1L << exclude);
+			}
+			if (free != 0) {
+				return (i << 6) + Long.numberOfTrailingZeros(free);
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Find the column of a row that was assigned last.
+	 */
+	private int findLatest(final long[] entries, final int exclude) {
+		int latest = -1;
+		int latestPosition = -1;
+		for (int i = 0; i < mWords; i++) {
+			long bits = entries[i];
+			while (bits != 0) {
+				final int col = (i << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+				if (col != exclude && mAtoms[col].getStackPosition() > latestPosition) {
+					latest = col;
+					latestPosition = mAtoms[col].getStackPosition();
+				}
+			}
+		}
+		return latest;
+	}
+
+	/**
+	 * Compute the xor of the assigned variables of a row.
+	 */
+	private int parity(final long[] entries) {
+		int count = 0;
+		for (int i = 0; i < mWords; i++) {
+			count += Long.bitCount(entries[i] & mValues[i]);
+		}
+		return count & 1;
+	}
+
+	private void setWatch(final int row, final int col) {
+		mWatch[row] = col;
+		int[] watchers = mWatchers[col];
+		if (watchers == null) {
+			watchers = mWatchers[col] = new int[4];
+		} else if (mNumWatchers[col] == watchers.length) {
+			watchers = mWatchers[col] = Arrays.copyOf(watchers, 2 * watchers.length);
+		}
+		watchers[mNumWatchers[col]++] = row;
+	}
+
+	private void addRecheck(final int row) {
+		if (!mInRecheck[row]) {
+			mInRecheck[row] = true;
+			mRecheck[mNumRecheck++] = row;
+		}
+	}
+
+	/**
+	 * Make an unassigned non-basic column of a row basic and eliminate it from the other rows.
+	 */
+	private void pivot(final int row, final int col) {
+		final long[] pivotRow = mRows[row];
+		final int word = col >> 6;
+		final long bit = 1L << col;
+		for (int other = 0; other < mNumRows; other++) {
+			if (other != row && (mRows[other][word] & bit) != 0) {
+				xorInto(mRows[other], pivotRow);
+				addRecheck(other);
+			}
+		}
+		mBasicRow[mBasic[row]] = -1;
+		mBasic[row] = col;
+		mBasicRow[col] = row;
+		addRecheck(row);
+		mTheory.mNumPivots++;
+	}
+
+	/**
+	 * Move the watch of a row to an unassigned non-basic variable. If there is none, propagate the basic variable or
+	 * check the row.
+	 *
+	 * @return a conflict clause if all variables are assigned and their xor is true.
+	 */
+	private Clause updateWatch(final int row) {
+		final long[] entries = mRows[row];
+		final int basic = mBasic[row];
+		final int watch = mWatch[row];
+		final boolean watchValid = watch >= 0 && watch != basic && isSet(entries, watch);
+		if (watchValid && !isSet(mAssigned, watch)) {
+			return null;
+		}
+		final int free = findUnassigned(entries, basic);
+		if (free >= 0) {
+			setWatch(row, free);
+			return null;
+		}
+		if (!watchValid) {
+			// watch the non-basic variable that is unassigned first on backtracking.
+			final int latest = findLatest(entries, basic);
+			if (latest >= 0) {
+				setWatch(row, latest);
+			} else {
+				mWatch[row] = -1;
+			}
+		}
+		final int parity = parity(entries);
+		if (!isSet(mAssigned, basic)) {
+			if (mNumPropagated == mPropagated.length) {
+				mPropagated = Arrays.copyOf(mPropagated, 2 * mPropagated.length);
+			}
+			mPropagated[mNumPropagated++] = row;
+			mTheory.propagate(this, entries, basic, parity != 0);
+			return null;
+		}
+		if (parity != 0) {
+			mTheory.mNumConflicts++;
+			return mTheory.createClause(this, entries, null);
+		}
+		return null;
+	}
+
+	private Clause processRecheck(Clause conflict) {
+		while (mNumRecheck > 0) {
+			final int row = mRecheck[--mNumRecheck];
+			mInRecheck[row] = false;
+			final Clause rowConflict = updateWatch(row);
+			if (conflict == null) {
+				conflict = rowConflict;
+			}
+		}
+		return conflict;
+	}
+
+	/**
+	 * Update the rows that watch a column that was assigned.
+	 */
+	private Clause processWatchers(final int col, Clause conflict) {
+		final int[] watchers = mWatchers[col];
+		if (watchers == null) {
+			return conflict;
+		}
+		final int size = mNumWatchers[col];
+		final int stamp = ++mVisitStamp;
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			final int row = watchers[i];
+			if (mWatch[row] != col || mVisited[row] == stamp) {
+				continue;
+			}
+			mVisited[row] = stamp;
+			final Clause rowConflict = updateWatch(row);
+			if (conflict == null) {
+				conflict = rowConflict;
+			}
+			if (mWatch[row] == col) {
+				watchers[kept++] = row;
+			}
+		}
+		mNumWatchers[col] = kept;
+		return conflict;
+	}
+
+	/**
+	 * Assign a variable of this cluster.
+	 *
+	 * @param col
+	 *            the column of the variable.
+	 * @param value
+	 *            the value of the variable.
+	 * @return a conflict clause or null.
+	 */
+	Clause setLiteral(final int col, final boolean value) {
+		mAssigned[col >> 6] |= 1L << col;
+		if (value) {
+			mValues[col >> 6] |= 1L << col;
+		}
+		final int row = mBasicRow[col];
+		if (row >= 0) {
+			final int free = findUnassigned(mRows[row], -1);
+			if (free >= 0) {
+				pivot(row, free);
+			} else {
+				addRecheck(row);
+			}
+		}
+		final Clause conflict = processWatchers(col, null);
+		return processRecheck(conflict);
+	}
+
+	void backtrackLiteral(final int col) {
+		mAssigned[col >> 6] &= ~(1L << col);
+		mValues[col >> 6] &= ~(1L << col);
+		final int row = mBasicRow[col];
+		if (row >= 0 && mWatch[row] < 0) {
+			// a row without non-basic variables can propagate again.
+			addRecheck(row);
+		}
+	}
+
+	void backtrackStart() {
+		for (int i = 0; i < mNumPropagated; i++) {
+			addRecheck(mPropagated[i]);
+		}
+		mNumPropagated = 0;
+	}
+
+	/**
+	 * Check the rows that need a new watch.
+	 *
+	 * @return a conflict clause or null.
+	 */
+	Clause checkpoint() {
+		return processRecheck(null);
+	}
+
+	/**
+	 * Check all rows whose variables are all assigned.
+	 *
+	 * @return a conflict clause or null.
+	 */
+	Clause finalCheck() {
+		final Clause conflict = processRecheck(null);
+		if (conflict != null) {
+			return conflict;
+		}
+		for (int row = 0; row < mNumRows; row++) {
+			final long[] entries = mRows[row];
+			if (findUnassigned(entries, -1) < 0 && parity(entries) != 0) {
+				mTheory.mNumConflicts++;
+				return mTheory.createClause(this, entries, null);
+			}
+		}
+		return null;
+	}
+}
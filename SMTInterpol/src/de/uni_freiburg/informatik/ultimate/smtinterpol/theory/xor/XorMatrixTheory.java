@@ -0,0 +1,450 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.xor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Set;
+
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBConstants;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.Theory;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.LogProxy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.convert.Clausifier;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Clause;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLAtom;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Literal;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.LeafNode;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ScopedArrayList;
+
+/**
+ * Xor theory based on Gauss-Jordan elimination.
+ *
+ * Every xor atom x for the atoms a1,...,an gives the constraint that the xor of x,a1,...,an is false. The constraints
+ * are split into independent clusters that share no atom, and each cluster is eliminated separately into a
+ * {@link XorMatrix} of packed bit rows. The matrices are rebuilt lazily after constraints were added or removed.
+ *
+ * Propagation follows "When Boolean Satisfiability Meets Gaussian Elimination in a Simplex Way" by Cheng-Shen Han and
+ * Jie-Hong Roland Jiang, but uses two watched variables per row, the basic variable and one non-basic variable,
+ * instead of counting the unassigned variables of every row.
+ */
+public class XorMatrixTheory implements IXorTheory {
+	final Clausifier mClausifier;
+	/**
+	 * The atom of every column.
+	 */
+	final ScopedArrayList<DPLLAtom> mColumns;
+	final HashMap<DPLLAtom, Integer> mPosition;
+	/**
+	 * The columns of every constraint. The last column is the xor atom.
+	 */
+	final ScopedArrayList<int[]> mConstraints;
+	/**
+	 * The xor atoms for the sets of columns that were already built.
+	 */
+	final HashMap<BitSet, XorAtom> mBuiltAtoms;
+	final ArrayDeque<Literal> mProplist;
+
+	/**
+	 * True if the constraints changed since the matrices were built.
+	 */
+	boolean mDirty;
+	XorMatrix[] mClusters;
+	/**
+	 * The cluster of every column, -1 if it occurs in no constraint.
+	 */
+	int[] mClusterOf;
+	/**
+	 * The column inside its cluster of every column.
+	 */
+	int[] mLocalColumn;
+	/**
+	 * The cluster and the row that propagated a column. The row is copied since the matrix changes.
+	 */
+	XorMatrix[] mReasonCluster;
+	long[][] mReasonRow;
+
+	int mNumRebuilds;
+	int mNumRedundantRows;
+	long mNumPivots;
+	long mNumRowXors;
+	long mNumProps;
+	long mNumConflicts;
+
+	public XorMatrixTheory(final Clausifier clausifier) {
+		mClausifier = clausifier;
+		mColumns = new ScopedArrayList<>();
+		mPosition = new HashMap<>();
+		mConstraints = new ScopedArrayList<>();
+		mBuiltAtoms = new HashMap<>();
+		mProplist = new ArrayDeque<>();
+		mClusters = new XorMatrix[0];
+		mClusterOf = new int[0];
+		mLocalColumn = new int[0];
+		mReasonCluster = new XorMatrix[0];
+		mReasonRow = new long[0][];
+	}
+
+	private int getColumn(final DPLLAtom atom) {
+		Integer position = mPosition.get(atom);
+		if (position == null) {
+			position = mColumns.size();
+			mColumns.add(atom);
+			mPosition.put(atom, position);
+		}
+		return position;
+	}
+
+	@Override
+	public Literal buildXorLiteral(final Set<DPLLAtom> variables) {
+		final Term[] smtAtoms = new Term[variables.size()];
+		final Theory theory = mClausifier.getTheory();
+		final int[] constraint = new int[variables.size() + 1];
+		final BitSet entries = new BitSet();
+		int offset = 0;
+		for (final DPLLAtom atom : variables) {
+			smtAtoms[offset] = atom.getSMTFormula(theory);
+			constraint[offset] = getColumn(atom);
+			entries.set(constraint[offset]);
+			offset++;
+		}
+		XorAtom xorAtom = mBuiltAtoms.get(entries);
+		if (xorAtom != null) {
+			return xorAtom;
+		}
+		final Term xorTerm = theory.term(SMTLIBConstants.XOR, smtAtoms);
+		xorAtom = new XorAtom(null, xorTerm, xorTerm.hashCode(), mClausifier.getStackLevel());
+		mClausifier.getEngine().addAtom(xorAtom);
+		mBuiltAtoms.put(entries, xorAtom);
+		constraint[offset] = getColumn(xorAtom);
+		mConstraints.add(constraint);
+		mDirty = true;
+		return xorAtom;
+	}
+
+	private static int find(final int[] parent, int col) {
+		while (parent[col] != col) {
+			parent[col] = parent[parent[col]];
+			col = parent[col];
+		}
+		return col;
+	}
+
+	/**
+	 * Split the constraints into independent clusters and eliminate every cluster.
+	 *
+	 * @return a conflict clause, if the current assignment violates a constraint.
+	 */
+	private Clause rebuild() {
+		mDirty = false;
+		mNumRebuilds++;
+		final int numColumns = mColumns.size();
+		final int[] parent = new int[numColumns];
+		for (int col = 0; col < numColumns; col++) {
+			parent[col] = col;
+		}
+		for (final int[] constraint : mConstraints) {
+			final int root = find(parent, constraint[constraint.length - 1]);
+			for (final int col : constraint) {
+				parent[find(parent, col)] = root;
+			}
+		}
+		final int[] clusterOfRoot = new int[numColumns];
+		Arrays.fill(clusterOfRoot, -1);
+		mClusterOf = new int[numColumns];
+		Arrays.fill(mClusterOf, -1);
+		mLocalColumn = new int[numColumns];
+		final ArrayList<ArrayList<Integer>> clusterColumns = new ArrayList<>();
+		final ArrayList<ArrayList<int[]>> clusterConstraints = new ArrayList<>();
+		for (final int[] constraint : mConstraints) {
+			final int root = find(parent, constraint[0]);
+			if (clusterOfRoot[root] < 0) {
+				clusterOfRoot[root] = clusterColumns.size();
+				clusterColumns.add(new ArrayList<>());
+				clusterConstraints.add(new ArrayList<>());
+			}
+			final int cluster = clusterOfRoot[root];
+			final ArrayList<Integer> columns = clusterColumns.get(cluster);
+			final int[] local = new int[constraint.length];
+			for (int i = 0; i < constraint.length; i++) {
+				final int col = constraint[i];
+				if (mClusterOf[col] < 0) {
+					mClusterOf[col] = cluster;
+					mLocalColumn[col] = columns.size();
+					columns.add(col);
+				}
+				local[i] = mLocalColumn[col];
+			}
+			clusterConstraints.get(cluster).add(local);
+		}
+		mClusters = new XorMatrix[clusterColumns.size()];
+		if (mReasonCluster.length < numColumns) {
+			mReasonCluster = Arrays.copyOf(mReasonCluster, numColumns);
+			mReasonRow = Arrays.copyOf(mReasonRow, numColumns);
+		}
+		Clause conflict = null;
+		for (int i = 0; i < mClusters.length; i++) {
+			final ArrayList<Integer> columns = clusterColumns.get(i);
+			final DPLLAtom[] atoms = new DPLLAtom[columns.size()];
+			final int[] globalColumns = new int[columns.size()];
+			for (int j = 0; j < atoms.length; j++) {
+				globalColumns[j] = columns.get(j);
+				atoms[j] = mColumns.get(globalColumns[j]);
+			}
+			mClusters[i] = new XorMatrix(this, atoms, globalColumns);
+			final Clause clusterConflict = mClusters[i].initialize(clusterConstraints.get(i));
+			if (conflict == null) {
+				conflict = clusterConflict;
+			}
+		}
+		return conflict;
+	}
+
+	/**
+	 * Propagate the value of a basic variable.
+	 *
+	 * @param cluster
+	 *            the cluster of the variable.
+	 * @param row
+	 *            the row that implies the value.
+	 * @param col
+	 *            the column of the variable in the cluster.
+	 * @param value
+	 *            the implied value.
+	 */
+	void propagate(final XorMatrix cluster, final long[] row, final int col, final boolean value) {
+		final int global = cluster.mGlobalColumns[col];
+		mReasonCluster[global] = cluster;
+		mReasonRow[global] = row.clone();
+		final DPLLAtom atom = cluster.mAtoms[col];
+		mProplist.add(value ? atom : atom.negate());
+		mNumProps++;
+	}
+
+	/**
+	 * Create the clause for a row. All variables of the row are assigned except for the propagated one.
+	 *
+	 * @param cluster
+	 *            the cluster of the row.
+	 * @param row
+	 *            the row.
+	 * @param propagated
+	 *            the propagated literal, or null for a conflict.
+	 * @return the clause.
+	 */
+	Clause createClause(final XorMatrix cluster, final long[] row, final Literal propagated) {
+		final ArrayList<Literal> literals = new ArrayList<>();
+		for (int i = 0; i < row.length; i++) {
+			long bits = row[i];
+			while (bits != 0) {
+				final DPLLAtom atom = cluster.mAtoms[(i << 6) + Long.numberOfTrailingZeros(bits)];
+				bits &= bits - 1;
+				if (propagated == null || atom != propagated.getAtom()) {
+					literals.add(atom.getDecideStatus().negate());
+				}
+			}
+		}
+		if (propagated != null) {
+			literals.add(propagated);
+		}
+		return new Clause(literals.toArray(new Literal[literals.size()]),
+				new LeafNode(LeafNode.THEORY_XOR, XorAnnotation.XOR));
+	}
+
+	@Override
+	public Clause startCheck() {
+		return mDirty ? rebuild() : null;
+	}
+
+	@Override
+	public void endCheck() {
+	}
+
+	@Override
+	public Clause setLiteral(final Literal literal) {
+		final Integer position = mPosition.get(literal.getAtom());
+		if (position == null) {
+			return null;
+		}
+		if (mDirty) {
+			// the new matrices already contain the assignment
+			return rebuild();
+		}
+		final int cluster = mClusterOf[position];
+		if (cluster < 0) {
+			return null;
+		}
+		return mClusters[cluster].setLiteral(mLocalColumn[position], literal.getSign() > 0);
+	}
+
+	@Override
+	public void backtrackLiteral(final Literal literal) {
+		if (mDirty) {
+			return;
+		}
+		final Integer position = mPosition.get(literal.getAtom());
+		if (position == null || mClusterOf[position] < 0) {
+			return;
+		}
+		mClusters[mClusterOf[position]].backtrackLiteral(mLocalColumn[position]);
+	}
+
+	@Override
+	public Clause checkpoint() {
+		if (mDirty) {
+			return rebuild();
+		}
+		Clause conflict = null;
+		for (final XorMatrix cluster : mClusters) {
+			final Clause clusterConflict = cluster.checkpoint();
+			if (conflict == null) {
+				conflict = clusterConflict;
+			}
+		}
+		return conflict;
+	}
+
+	@Override
+	public Clause computeConflictClause() {
+		if (mDirty) {
+			return rebuild();
+		}
+		for (final XorMatrix cluster : mClusters) {
+			final Clause conflict = cluster.finalCheck();
+			if (conflict != null) {
+				return conflict;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public Literal getPropagatedLiteral() {
+		return mProplist.poll();
+	}
+
+	@Override
+	public Clause getUnitClause(final Literal literal) {
+		final int position = mPosition.get(literal.getAtom());
+		return createClause(mReasonCluster[position], mReasonRow[position], literal);
+	}
+
+	@Override
+	public Literal getSuggestion() {
+		return null;
+	}
+
+	@Override
+	public int checkCompleteness() {
+		return DPLLEngine.COMPLETE;
+	}
+
+	@Override
+	public void printStatistics(final LogProxy logger) {
+		int rows = 0;
+		for (final XorMatrix cluster : mClusters) {
+			rows += cluster.getNumRows();
+		}
+		logger.info("Xor: Rows: %d (redundant: %d) Clusters: %d Rebuilds: %d", rows, mNumRedundantRows,
+				mClusters.length, mNumRebuilds);
+		logger.info("Xor: Pivots: %d Row xors: %d Props: %d Conflicts: %d", mNumPivots, mNumRowXors, mNumProps,
+				mNumConflicts);
+	}
+
+	@Override
+	public void dumpModel(final LogProxy logger) {
+	}
+
+	@Override
+	public void increasedDecideLevel(final int currentDecideLevel) {
+	}
+
+	@Override
+	public void decreasedDecideLevel(final int currentDecideLevel) {
+	}
+
+	@Override
+	public void backtrackStart() {
+		mProplist.clear();
+		if (!mDirty) {
+			for (final XorMatrix cluster : mClusters) {
+				cluster.backtrackStart();
+			}
+		}
+	}
+
+	@Override
+	public Clause backtrackComplete() {
+		return null;
+	}
+
+	@Override
+	public void backtrackAll() {
+	}
+
+	@Override
+	public void restart(final int iteration) {
+	}
+
+	@Override
+	public void removeAtom(final DPLLAtom atom) {
+	}
+
+	@Override
+	public void push() {
+		mColumns.beginScope();
+		mConstraints.beginScope();
+	}
+
+	@Override
+	public void pop() {
+		for (int i = mConstraints.size() - 1; i >= mConstraints.getLastScopeSize(); i--) {
+			final int[] constraint = mConstraints.get(i);
+			final BitSet entries = new BitSet();
+			for (int j = 0; j < constraint.length - 1; j++) {
+				entries.set(constraint[j]);
+			}
+			mBuiltAtoms.remove(entries);
+		}
+		for (int i = mColumns.size() - 1; i >= mColumns.getLastScopeSize(); i--) {
+			mPosition.remove(mColumns.get(i));
+		}
+		mConstraints.endScope();
+		mColumns.endScope();
+		mProplist.clear();
+		mClusters = new XorMatrix[0];
+		mDirty = true;
+	}
+
+	@Override
+	public Object[] getStatistics() {
+		int rows = 0;
+		for (final XorMatrix cluster : mClusters) {
+			rows += cluster.getNumRows();
+		}
+		return new Object[] { ":Xor",
+			new Object[][] { { "Rows", rows }, { "Vars", mColumns.size() }, { "Clusters", mClusters.length },
+				{ "Rebuilds", mNumRebuilds }, { "Pivots", mNumPivots }, { "RowXors", mNumRowXors },
+				{ "Propagations", mNumProps }, { "Conflicts", mNumConflicts } } };
+	}
+}
@@ -34,7 +34,6 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.convert.Clausifier;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Clause;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLAtom;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine;
-import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.ITheory;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Literal;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.LeafNode;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ScopedArrayList;
@@ -62,7 +61,7 @@ import de.uni_freiburg.informatik.ultimate.util.datastructures.ScopedHashMap;
  * @author Lena Funk
  */
 
-public class XorTheory implements ITheory {
+public class XorTheory implements IXorTheory {
 	/** The Clausifier. */
 	final Clausifier mClausifier;
 	/** Number of rows in tableau */
@@ -97,7 +96,11 @@ public class XorTheory implements ITheory {
 	 * mPosition)
 	 */
 	ScopedArrayList<VariableInfo> mVariableInfos;
-
+	/**
+	 * The variables of the xor constraint of every row, as given to buildXorLiteral. Pivoting changes the rows in
+	 * place, so the rows are rebuilt from these definitions on pop.
+	 */
+	ScopedArrayList<BitSet> mRowDefinitions;
 
 	public XorTheory(final Clausifier clausifier) {
 		mClausifier = clausifier;
@@ -112,7 +115,7 @@ public class XorTheory implements ITheory {
 		mTableauColumns = new ScopedHashMap<Integer, BitSet>();
 		//
 		mVariableInfos = new ScopedArrayList<VariableInfo>();
-
+		mRowDefinitions = new ScopedArrayList<BitSet>();
 	}
 
 
@@ -166,40 +169,80 @@ public class XorTheory implements ITheory {
 		assert xorPosition == mVariableInfos.size();
 		mVariableInfos.add(info);
 
+		final BitSet newTableauRowBitSet = reduceRow(entries);
+		newTableauRowBitSet.set(xorPosition);
+		final TableauRow newTableauRow = new TableauRow(newTableauRowBitSet, numUnassigned, info, variables);
+		newTableauRow.calculateUnassigned(this);
+		mTableau.add(newTableauRow);
+		mRowDefinitions.add(entries);
+
+		mVariableInfos.set(xorPosition, info);
+
+		addToColumns(newTableauRowBitSet, info.mRowNumber);
+		return xorAtom;
+	}
+
+	/**
+	 * Express the xor of the given variables in column variables.
+	 *
+	 * @param entries
+	 *            the positions of the variables.
+	 * @return a new bit set, where every row variable is replaced by its row.
+	 */
+	private BitSet reduceRow(final BitSet entries) {
 		final BitSet newTableauRowBitSet = (BitSet) entries.clone();
 
 		// check if a column variable that is set in newTableauRowBitSet occurs
 		// elsewhere in the tableau as a row variable.
 		// if this is the case xor newTableauRowBitSet with that row
-
-		BitSet row = new BitSet();
 		for (int i = 0; i < newTableauRowBitSet.length(); ++i) {
 			if (newTableauRowBitSet.get(i)) {
 				final VariableInfo rowVarCandidateInfo = mVariableInfos.get(i);
 				if (rowVarCandidateInfo.IsRow()) {
 					final TableauRow rowVarCandidateInfoRow = mTableau.get(rowVarCandidateInfo.mRowNumber);
-					row = rowVarCandidateInfoRow.getmEntries();
-					newTableauRowBitSet.xor(row);
+					newTableauRowBitSet.xor(rowVarCandidateInfoRow.getmEntries());
 				}
 			}
 		}
+		return newTableauRowBitSet;
+	}
 
-		newTableauRowBitSet.set(xorPosition);
-		final TableauRow newTableauRow = new TableauRow(newTableauRowBitSet, numUnassigned, info, variables);
-		newTableauRow.calculateUnassigned(this);
-		mTableau.add(newTableauRow);
-
-		mVariableInfos.set(xorPosition, info);
-
-		// add to tableau columns
-		for (int i = newTableauRowBitSet.nextSetBit(0); i >= 0; i = newTableauRowBitSet.nextSetBit(i + 1)) {
+	private void addToColumns(final BitSet rowEntries, final int rowNumber) {
+		for (int i = rowEntries.nextSetBit(0); i >= 0; i = rowEntries.nextSetBit(i + 1)) {
 			if (!mTableauColumns.containsKey(i)) {
 				final BitSet column = new BitSet();
 				mTableauColumns.put(i, column);
 			}
-			mTableauColumns.get(i).set(info.mRowNumber);
+			mTableauColumns.get(i).set(rowNumber);
 		}
-		return xorAtom;
+	}
+
+	/**
+	 * Rebuild all rows from their definitions, with the xor atoms as row variables. Pivoting changes the rows in
+	 * place, so after a pop they may still contain variables of the removed scope. This must only be called when no
+	 * literal is assigned.
+	 */
+	private void rebuildTableau() {
+		for (final VariableInfo info : mVariableInfos) {
+			info.mRowNumber = -1;
+		}
+		for (final BitSet column : mTableauColumns.values()) {
+			column.clear();
+		}
+		for (int rowNumber = 0; rowNumber < mTableau.size(); rowNumber++) {
+			final BitSet definition = mRowDefinitions.get(rowNumber);
+			final VariableInfo info = mVariableInfos.get(mPosition.get(mBuiltAtoms.get(definition)));
+			final BitSet entries = reduceRow(definition);
+			entries.set(info.mColumnNumber);
+			info.mRowNumber = rowNumber;
+			final TableauRow row = mTableau.get(rowNumber);
+			row.setmEntries(entries);
+			row.mRowVar = info;
+			row.mIsDirty = false;
+			row.calculateUnassigned(this);
+			addToColumns(entries, rowNumber);
+		}
+		mNumberOfVars = mVariableInfos.size() - mTableau.size();
 	}
 
 	@Override
@@ -536,48 +579,31 @@ public class XorTheory implements ITheory {
 	public void push() {
 		mTableau.beginScope();
 		mVariableInfos.beginScope();
+		mRowDefinitions.beginScope();
 
 	}
 
 	@Override
 	public void pop() {
-		TableauRow rowToDelete;
-		BitSet entriesToDelete;
-		VariableInfo rowVarToDeleteInfo;
-		int rowVarToDeletePosition;
-		DPLLAtom rowVarAtom;
-		final int prevVarNum = mTableau.getLastScopeSize();
-		final int lastScopeVarInfo = mVariableInfos.getLastScopeSize();
 		// for every new Tableau row since last push:
-		for (int i = mTableau.size() - 1; i >= prevVarNum; i--) {
-			rowToDelete = mTableau.get(i);
-			rowVarToDeleteInfo = rowToDelete.mRowVar;
-			rowVarAtom = rowVarToDeleteInfo.mAtom;
-
-			rowVarToDeletePosition = mPosition.get(rowVarAtom);
-			entriesToDelete = rowToDelete.getmEntries();
+		for (int i = mRowDefinitions.size() - 1; i >= mRowDefinitions.getLastScopeSize(); i--) {
 			// remove corresponding xor-Atom from mBuiltAtoms
-			mBuiltAtoms.remove(entriesToDelete);
-
+			mBuiltAtoms.remove(mRowDefinitions.get(i));
 		}
-		for (int i = mVariableInfos.size() - 1; i >= lastScopeVarInfo; i--) {
-			rowVarToDeleteInfo = mVariableInfos.get(i);
-			mPosition.remove(rowVarToDeleteInfo.mAtom);
-
-		}
-		for (final BitSet column : mTableauColumns.values()) {
-			column.clear(prevVarNum, column.length());
-
+		for (int i = mVariableInfos.size() - 1; i >= mVariableInfos.getLastScopeSize(); i--) {
+			mPosition.remove(mVariableInfos.get(i).mAtom);
 		}
 		mTableau.endScope();
 		mVariableInfos.endScope();
+		mRowDefinitions.endScope();
 		mProplist.clear();
+		rebuildTableau();
 	}
 
 
 	@Override
 	public Object[] getStatistics() {
-		return null;
+		return new Object[] { ":Xor", new Object[][] { { "Rows", mTableau.size() }, { "Vars", mNumberOfVars } } };
 	}
 
 	@Override
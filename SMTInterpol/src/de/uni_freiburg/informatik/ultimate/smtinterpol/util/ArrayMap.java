@@ -22,6 +22,7 @@ import java.util.AbstractMap;
 import java.util.AbstractSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 public class ArrayMap<K, V> extends AbstractMap<K, V> {
@@ -57,6 +58,20 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> {
 			return old;
 		}
 
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof Map.Entry)) {
+				return false;
+			}
+			final Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+			return Objects.equals(getKey(), other.getKey()) && Objects.equals(getValue(), other.getValue());
+		}
+
 	}
 	@Override
 	public Set<java.util.Map.Entry<K, V>> entrySet() {
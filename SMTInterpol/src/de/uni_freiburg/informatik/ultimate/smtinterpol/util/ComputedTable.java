@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.util;
+
+import java.util.Arrays;
+
+/**
+ * A cache for the results of operations on hash-consed structures, like the computed table of a BDD package. An entry
+ * is keyed by an operation code and the integer ids of the two operands. The table is direct-mapped: every key has
+ * exactly one slot and a new entry overwrites the old one. Thus the memory is bounded and the table can be kept for the
+ * whole lifetime of the structures, while a lost entry only costs a recomputation.
+ */
+public class ComputedTable {
+	private final int[] mKeys;
+	private final Object[] mResults;
+	private final int mMask;
+	private long mHits;
+	private long mMisses;
+
+	/**
+	 * Create a computed table.
+	 *
+	 * @param logSize
+	 *            the binary logarithm of the number of slots.
+	 */
+	public ComputedTable(final int logSize) {
+		mMask = (1 << logSize) - 1;
+		mKeys = new int[3 * (mMask + 1)];
+		mResults = new Object[mMask + 1];
+	}
+
+	private int slot(final int op, final int first, final int second) {
+		int hash = op * 0x9E3779B9 + first;
+		hash = hash * 0x9E3779B9 + second;
+		return (hash ^ (hash >>> 15)) & mMask;
+	}
+
+	/**
+	 * Look up the result of an operation.
+	 *
+	 * @return the cached result or null if it is not in the table.
+	 */
+	public Object get(final int op, final int first, final int second) {
+		final int slot = slot(op, first, second);
+		if (mResults[slot] != null && mKeys[3 * slot] == op && mKeys[3 * slot + 1] == first
+				&& mKeys[3 * slot + 2] == second) {
+			mHits++;
+			return mResults[slot];
+		}
+		mMisses++;
+		return null;
+	}
+
+	/**
+	 * Store the result of an operation, replacing the entry that occupies its slot.
+	 */
+	public void put(final int op, final int first, final int second, final Object result) {
+		final int slot = slot(op, first, second);
+		mKeys[3 * slot] = op;
+		mKeys[3 * slot + 1] = first;
+		mKeys[3 * slot + 2] = second;
+		mResults[slot] = result;
+	}
+
+	public void clear() {
+		Arrays.fill(mResults, null);
+	}
+
+	public long getHits() {
+		return mHits;
+	}
+
+	public long getMisses() {
+		return mMisses;
+	}
+}
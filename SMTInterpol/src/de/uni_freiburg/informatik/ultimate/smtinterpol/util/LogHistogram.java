@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.util;
+
+/**
+ * A histogram of non-negative long values with logarithmic buckets. Bucket 0 counts the value 0 and bucket i > 0
+ * counts the values in {@code [2^(i-1), 2^i)}. Adding a value only increments a few counters, so this can be used on
+ * hot paths, e.g., to record the latency of every call into a theory solver.
+ *
+ * Percentiles are approximated by the upper end of the bucket that contains them, so they are at most off by a factor
+ * of two. The count, the sum and the maximum are exact.
+ */
+public class LogHistogram {
+	private final long[] mBuckets = new long[Long.SIZE + 1];
+	private long mCount;
+	private long mSum;
+	private long mMax;
+
+	/**
+	 * Add a value to the histogram. Negative values are counted as zero.
+	 *
+	 * @param value
+	 *            the value to add.
+	 */
+	public void add(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		mBuckets[Long.SIZE - Long.numberOfLeadingZeros(value)]++;
+		mCount++;
+		mSum += value;
+		if (value > mMax) {
+			mMax = value;
+		}
+	}
+
+	public long getCount() {
+		return mCount;
+	}
+
+	public long getSum() {
+		return mSum;
+	}
+
+	public long getMax() {
+		return mMax;
+	}
+
+	public long getMean() {
+		return mCount == 0 ? 0 : mSum / mCount;
+	}
+
+	/**
+	 * Get an approximation of a percentile of the values added so far.
+	 *
+	 * @param percent
+	 *            the percentile between 0 and 100.
+	 * @return the upper end of the bucket containing the percentile, but not more than the maximum.
+	 */
+	public long getPercentile(final double percent) {
+		if (mCount == 0) {
+			return 0;
+		}
+		final long rank = (long) Math.ceil(mCount * percent / 100);
+		long seen = 0;
+		for (int i = 0; i < mBuckets.length; i++) {
+			seen += mBuckets[i];
+			if (seen >= rank && seen > 0) {
+				final long upper = i == 0 ? 0 : i >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+				return Math.min(upper, mMax);
+			}
+		}
+		return mMax;
+	}
+
+	public Object[][] getStatistics() {
+		return new Object[][] { { "Count", mCount }, { "Mean", getMean() }, { "P50", getPercentile(50) },
+				{ "P90", getPercentile(90) }, { "P99", getPercentile(99) }, { "Max", mMax } };
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.logic;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of term creation on a theory that is shared between threads. Each operation builds a small term of which
+ * some subterms already exist and some are new, so it measures both lookups and insertions into the term unifier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TermCreationBenchmark {
+	private static final int CONSTANTS = 1000;
+
+	private Theory mTheory;
+	private Term[] mConstants;
+
+	@State(Scope.Thread)
+	public static class ThreadState {
+		int mCounter;
+
+		@Setup
+		public void setup() {
+			mCounter = System.identityHashCode(this);
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		mTheory = new Theory(Logics.QF_UFLIA);
+		final Sort intSort = mTheory.getNumericSort();
+		mTheory.declareFunction("f", new Sort[] { intSort, intSort }, intSort);
+		mConstants = new Term[CONSTANTS];
+		for (int i = 0; i < CONSTANTS; i++) {
+			mTheory.declareFunction("c" + i, Script.EMPTY_SORT_ARRAY, intSort);
+			mConstants[i] = mTheory.term("c" + i);
+		}
+	}
+
+	private Term build(final ThreadState state) {
+		final int counter = state.mCounter++;
+		final Term c1 = mConstants[(counter & 0x7fffffff) % CONSTANTS];
+		final Term c2 = mConstants[((counter >>> 10) & 0x7fffffff) % CONSTANTS];
+		final Term num = mTheory.numeral(Integer.toString(counter & 0xffff));
+		final Term app = mTheory.term("f", c1, mTheory.term("+", c2, num));
+		return mTheory.term("<=", app, mTheory.term("*", num, c1));
+	}
+
+	@Benchmark
+	@Threads(1)
+	public Term threads1(final ThreadState state) {
+		return build(state);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Term threads4(final ThreadState state) {
+		return build(state);
+	}
+
+	@Benchmark
+	@Threads(16)
+	public Term threads16(final ThreadState state) {
+		return build(state);
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.logic;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time of the passes that keep per-term side tables on a large term DAG with a lot of sharing: a term transformer that
+ * rebuilds every node and the common subexpression elimination of FormulaLet. Run with "-prof gc" to see the memory
+ * allocated for the side tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TermTableBenchmark {
+	private static final int NODES = 200000;
+	private static final int CONSTANTS = 100;
+
+	private Term mFormula;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		final Theory theory = new Theory(Logics.QF_UFLIA);
+		final Sort intSort = theory.getNumericSort();
+		theory.declareFunction("f", new Sort[] { intSort, intSort }, intSort);
+		final Term[] nodes = new Term[NODES];
+		for (int i = 0; i < CONSTANTS; i++) {
+			theory.declareFunction("c" + i, Script.EMPTY_SORT_ARRAY, intSort);
+			nodes[i] = theory.term("c" + i);
+		}
+		final Random rng = new Random(42);
+		for (int i = CONSTANTS; i < NODES; i++) {
+			final Term other = nodes[rng.nextInt(i)];
+			nodes[i] = rng.nextBoolean() ? theory.term("f", nodes[i - 1], other)
+					: theory.term("+", nodes[i - 1], other);
+		}
+		mFormula = theory.term("<=", nodes[NODES - 1], theory.numeral("0"));
+	}
+
+	@Benchmark
+	public Term transform() {
+		return new TermTransformer().transform(mFormula);
+	}
+
+	@Benchmark
+	public Term let() {
+		return new FormulaLet().let(mFormula);
+	}
+}
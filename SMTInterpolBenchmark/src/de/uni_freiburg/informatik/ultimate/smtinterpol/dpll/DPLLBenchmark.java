@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Solving time of propositional problems. This mostly measures clause propagation and conflict analysis in the
+ * {@link DPLLEngine}. The workloads are the pigeon hole problem with one pigeon too many and random 3-SAT at the phase
+ * transition.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DPLLBenchmark {
+	private static final int PIGEONS = 8;
+	private static final int RANDOM_VARS = 200;
+	private static final double RANDOM_RATIO = 4.26;
+
+	@Param({ "pigeonhole", "random3sat" })
+	public String mWorkload;
+
+	/**
+	 * The clauses in DIMACS notation, i.e., variable i is i+1 and negated variables are negative.
+	 */
+	private int[][] mClauses;
+	private int mNumVars;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		final ArrayList<int[]> clauses = new ArrayList<>();
+		if (mWorkload.equals("pigeonhole")) {
+			final int holes = PIGEONS - 1;
+			mNumVars = PIGEONS * holes;
+			for (int p = 0; p < PIGEONS; p++) {
+				final int[] clause = new int[holes];
+				for (int h = 0; h < holes; h++) {
+					clause[h] = p * holes + h + 1;
+				}
+				clauses.add(clause);
+			}
+			for (int h = 0; h < holes; h++) {
+				for (int p1 = 0; p1 < PIGEONS; p1++) {
+					for (int p2 = p1 + 1; p2 < PIGEONS; p2++) {
+						clauses.add(new int[] { -(p1 * holes + h + 1), -(p2 * holes + h + 1) });
+					}
+				}
+			}
+		} else {
+			final Random rng = new Random(42);
+			mNumVars = RANDOM_VARS;
+			final int numClauses = (int) (RANDOM_VARS * RANDOM_RATIO);
+			for (int i = 0; i < numClauses; i++) {
+				final int[] clause = new int[3];
+				for (int j = 0; j < 3; j++) {
+					final int var = rng.nextInt(RANDOM_VARS) + 1;
+					clause[j] = rng.nextBoolean() ? var : -var;
+				}
+				clauses.add(clause);
+			}
+		}
+		mClauses = clauses.toArray(new int[clauses.size()][]);
+	}
+
+	@Benchmark
+	public LBool solve() {
+		final Script script = new SMTInterpol(new DefaultLogger());
+		script.setLogic(Logics.QF_UF);
+		final Sort bool = script.sort("Bool");
+		final Term[] vars = new Term[mNumVars];
+		for (int i = 0; i < mNumVars; i++) {
+			script.declareFun("v" + i, Script.EMPTY_SORT_ARRAY, bool);
+			vars[i] = script.term("v" + i);
+		}
+		for (final int[] clause : mClauses) {
+			final Term[] lits = new Term[clause.length];
+			for (int i = 0; i < clause.length; i++) {
+				final Term var = vars[Math.abs(clause[i]) - 1];
+				lits[i] = clause[i] > 0 ? var : script.term("not", var);
+			}
+			script.assertTerm(lits.length == 1 ? lits[0] : script.term("or", lits));
+		}
+		return script.checkSat();
+	}
+}
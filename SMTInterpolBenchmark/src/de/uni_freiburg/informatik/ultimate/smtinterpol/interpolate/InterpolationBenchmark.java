@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.interpolate;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.uni_freiburg.informatik.ultimate.logic.Annotation;
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Time to compute tree interpolants for an unsatisfiable chain of mixed linear arithmetic and uninterpreted function
+ * constraints. Partition i states {@code x_i < x_{i+1}} and {@code f(x_i) = y_{i+1}}; the last partition closes the
+ * cycle. The partitions are arranged as a complete binary tree in post order. Solving happens once in the setup, so
+ * only the proof traversal and interpolant computation is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InterpolationBenchmark {
+
+	/**
+	 * The height of the binary tree; the tree has {@code 2^height - 1} partitions.
+	 */
+	@Param({ "4", "6" })
+	public int mHeight;
+
+	private Script mScript;
+	private Term[] mPartition;
+	private int[] mStartOfSubtree;
+
+	/**
+	 * Compute the start of subtree array for a complete binary tree in post order.
+	 *
+	 * @return the number of nodes in the tree.
+	 */
+	private static int fillTree(final int[] startOfSubtree, final int start, final int height) {
+		if (height == 0) {
+			return 0;
+		}
+		final int left = fillTree(startOfSubtree, start, height - 1);
+		final int right = fillTree(startOfSubtree, start + left, height - 1);
+		startOfSubtree[start + left + right] = start;
+		return left + right + 1;
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		final int size = (1 << mHeight) - 1;
+		mScript = new SMTInterpol(new DefaultLogger());
+		mScript.setOption(":produce-interpolants", true);
+		mScript.setLogic(Logics.QF_UFLIA);
+		final Sort intSort = mScript.sort("Int");
+		mScript.declareFun("f", new Sort[] { intSort }, intSort);
+		final Term[] x = new Term[size];
+		final Term[] y = new Term[size];
+		for (int i = 0; i < size; i++) {
+			mScript.declareFun("x" + i, Script.EMPTY_SORT_ARRAY, intSort);
+			mScript.declareFun("y" + i, Script.EMPTY_SORT_ARRAY, intSort);
+			x[i] = mScript.term("x" + i);
+			y[i] = mScript.term("y" + i);
+		}
+		mPartition = new Term[size];
+		for (int i = 0; i < size; i++) {
+			final int next = (i + 1) % size;
+			final Term lit = i == size - 1 ? mScript.term("<=", x[i], x[next]) : mScript.term("<", x[i], x[next]);
+			final Term uf = mScript.term("=", mScript.term("f", x[i]), y[next]);
+			final Term bound = mScript.term("<=", y[i], mScript.term("+", x[i], mScript.numeral("1")));
+			mScript.assertTerm(mScript.annotate(mScript.term("and", lit, uf, bound),
+					new Annotation(":named", "P" + i)));
+			mPartition[i] = mScript.term("P" + i);
+		}
+		final LBool result = mScript.checkSat();
+		if (result != LBool.UNSAT) {
+			throw new AssertionError("Interpolation problem is " + result);
+		}
+		mStartOfSubtree = new int[size];
+		fillTree(mStartOfSubtree, 0, mHeight);
+	}
+
+	@Benchmark
+	public Term[] interpolate() {
+		return mScript.getInterpolants(mPartition, mStartOfSubtree);
+	}
+}
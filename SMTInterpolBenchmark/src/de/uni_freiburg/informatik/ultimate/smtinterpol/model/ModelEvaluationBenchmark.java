@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.model;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Evaluation time of many small get-value requests against one model. The terms apply a defined function to sums of
+ * constants and to an uninterpreted function, so they share many subterms and definition instances.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelEvaluationBenchmark {
+	private static final int CONSTANTS = 200;
+	private static final int TERMS = 20000;
+	private static final int REQUEST_SIZE = 100;
+
+	private SMTInterpol mScript;
+	private Term[][] mRequests;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		final Random rng = new Random(42);
+		mScript = new SMTInterpol(new DefaultLogger());
+		mScript.setOption(":produce-models", true);
+		mScript.setOption(":verbosity", 2);
+		mScript.setLogic(Logics.QF_UFLIA);
+		final Sort intSort = mScript.sort("Int");
+		mScript.declareFun("f", new Sort[] { intSort }, intSort);
+		final TermVariable a = mScript.variable("a", intSort);
+		final TermVariable b = mScript.variable("b", intSort);
+		mScript.defineFun("d", new TermVariable[] { a, b }, intSort, mScript.term("ite", mScript.term("<", a, b),
+				mScript.term("+", mScript.term("f", a), b), mScript.term("*", mScript.numeral("2"), a)));
+		final Term[] consts = new Term[CONSTANTS];
+		for (int i = 0; i < CONSTANTS; i++) {
+			mScript.declareFun("x" + i, Script.EMPTY_SORT_ARRAY, intSort);
+			consts[i] = mScript.term("x" + i);
+			mScript.assertTerm(mScript.term("=", consts[i], mScript.numeral(BigInteger.valueOf(i % 17))));
+			final Term fValue = mScript.numeral(BigInteger.valueOf(i % 17 * 3));
+			mScript.assertTerm(mScript.term("=", mScript.term("f", consts[i]), fValue));
+		}
+		if (mScript.checkSat() != LBool.SAT) {
+			throw new AssertionError();
+		}
+		final Term[] terms = new Term[TERMS];
+		for (int i = 0; i < TERMS; i++) {
+			final Term sum = mScript.term("+", consts[rng.nextInt(CONSTANTS)], consts[rng.nextInt(CONSTANTS)]);
+			terms[i] = mScript.term("d", sum, mScript.term("f", consts[rng.nextInt(CONSTANTS)]));
+		}
+		mRequests = new Term[TERMS / REQUEST_SIZE][];
+		for (int i = 0; i < mRequests.length; i++) {
+			mRequests[i] = Arrays.copyOfRange(terms, i * REQUEST_SIZE, (i + 1) * REQUEST_SIZE);
+		}
+	}
+
+	@Benchmark
+	public int evaluate() {
+		final Model model = new Model(mScript.getClausifier(), mScript.getTheory());
+		int size = 0;
+		for (final Term[] request : mRequests) {
+			size += model.evaluate(request).size();
+		}
+		return size;
+	}
+}
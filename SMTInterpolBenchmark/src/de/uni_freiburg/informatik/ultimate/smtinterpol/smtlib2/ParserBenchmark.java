@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2;
+
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.uni_freiburg.informatik.ultimate.logic.NoopScript;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.OptionMap;
+
+/**
+ * Parsing time of the generated LALR parser. The inputs are generated linear arithmetic scripts of about one megabyte,
+ * either many small assertions or fewer assertions with deeply nested let terms. Commands are executed on a
+ * {@link NoopScript}, so the time is spent in lexing, parsing and term construction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+	private static final int VARIABLES = 200;
+	private static final int ASSERTIONS = 10000;
+	private static final int LET_ASSERTIONS = 50;
+	private static final int LET_DEPTH = 1000;
+
+	@Param({ "flat", "let" })
+	public String mWorkload;
+
+	private String mInput;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		final Random rng = new Random(42);
+		final StringBuilder sb = new StringBuilder();
+		sb.append("(set-logic QF_LIA)\n");
+		for (int i = 0; i < VARIABLES; i++) {
+			sb.append("(declare-fun x").append(i).append(" () Int)\n");
+		}
+		if (mWorkload.equals("let")) {
+			for (int i = 0; i < LET_ASSERTIONS; i++) {
+				sb.append("(assert ");
+				for (int j = 0; j < LET_DEPTH; j++) {
+					sb.append("(let ((a").append(j).append(' ');
+					if (j == 0) {
+						sb.append('x').append(rng.nextInt(VARIABLES));
+					} else {
+						sb.append("(+ a").append(j - 1).append(" x").append(rng.nextInt(VARIABLES)).append(')');
+					}
+					sb.append(")) ");
+				}
+				sb.append("(<= a").append(LET_DEPTH - 1).append(' ').append(rng.nextInt(100000)).append(')');
+				for (int j = 0; j < LET_DEPTH; j++) {
+					sb.append(')');
+				}
+				sb.append(")\n");
+			}
+		} else {
+			for (int i = 0; i < ASSERTIONS; i++) {
+				sb.append("(assert (let ((s (+ ");
+				for (int j = 0; j < 4; j++) {
+					sb.append("(* ").append(rng.nextInt(1000)).append(" x").append(rng.nextInt(VARIABLES)).append(") ");
+				}
+				sb.append("))) (or (<= s ").append(rng.nextInt(100000)).append(") (>= (- s x")
+						.append(rng.nextInt(VARIABLES)).append(") ").append(rng.nextInt(100000)).append("))))\n");
+			}
+		}
+		mInput = sb.toString();
+	}
+
+	@Benchmark
+	public void parse() {
+		final OptionMap options = new OptionMap(new DefaultLogger(), true);
+		options.set(SMTLIBConstants.PRINT_SUCCESS, false);
+		new ParseEnvironment(new NoopScript(), options).parseStream(new StringReader(mInput), "benchmark");
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.cclosure;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Solving time of congruence chains. The constants c0, ..., cn are pairwise connected by a diamond of disjunctive
+ * equalities, and the n-fold applications of f to c0 and cn are asserted to be different. Every case split needs
+ * congruence closure to merge the long chains of function applications.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CClosureBenchmark {
+	private static final int DEPTH = 20;
+
+	@Param({ "8", "12" })
+	public int mLength;
+
+	@Benchmark
+	public LBool solve() {
+		final Script script = new SMTInterpol(new DefaultLogger());
+		script.setLogic(Logics.QF_UF);
+		script.declareSort("U", 0);
+		final Sort sort = script.sort("U");
+		script.declareFun("f", new Sort[] { sort }, sort);
+		final Term[] chain = new Term[mLength + 1];
+		for (int i = 0; i <= mLength; i++) {
+			script.declareFun("c" + i, Script.EMPTY_SORT_ARRAY, sort);
+			chain[i] = script.term("c" + i);
+		}
+		for (int i = 0; i < mLength; i++) {
+			script.declareFun("a" + i, Script.EMPTY_SORT_ARRAY, sort);
+			script.declareFun("b" + i, Script.EMPTY_SORT_ARRAY, sort);
+			final Term a = script.term("a" + i);
+			final Term b = script.term("b" + i);
+			script.assertTerm(script.term("or",
+					script.term("and", script.term("=", chain[i], a), script.term("=", a, chain[i + 1])),
+					script.term("and", script.term("=", chain[i], b), script.term("=", b, chain[i + 1]))));
+		}
+		Term first = chain[0];
+		Term last = chain[mLength];
+		for (int i = 0; i < DEPTH; i++) {
+			first = script.term("f", first);
+			last = script.term("f", last);
+		}
+		script.assertTerm(script.term("not", script.term("=", first, last)));
+		return script.checkSat();
+	}
+}
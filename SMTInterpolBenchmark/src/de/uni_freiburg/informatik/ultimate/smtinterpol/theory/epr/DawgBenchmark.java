@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.dawgs.DawgFactory;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.dawgs.dawgstates.DawgState;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.dawg.Dawg;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.dawg.DawgUnifier;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ComputedTable;
+
+/**
+ * Throughput of the set operations on EPR dawgs and of combining quantifier instance dawgs. The same factory is used
+ * for all invocations, as in a solver run where similar relations are combined again and again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DawgBenchmark {
+	private static final int CONSTANTS = 20;
+	private static final int COLUMNS = 3;
+	private static final int SETS = 120;
+	private static final int KEYS = 40;
+
+	private static final BiFunction<Integer, Integer, Integer> MAX = Math::max;
+
+	private DawgFactory<String, Integer> mFactory;
+	private TreeSet<Integer> mSignature;
+	private List<DawgState<String, Boolean>> mSets;
+	private List<Dawg<String, Integer>> mInstanceDawgs;
+	private DawgUnifier mDawgUnifier;
+	private ComputedTable mCombineCache;
+	private int mOffset;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		final Random rng = new Random(42);
+		mFactory = new DawgFactory<>(null);
+		final Object sort = EprHelpers.getDummySortId();
+		final String[] constants = new String[CONSTANTS];
+		for (int i = 0; i < CONSTANTS; i++) {
+			constants[i] = "c" + i;
+			mFactory.addConstant(sort, constants[i]);
+		}
+		mSignature = new TreeSet<>();
+		for (int i = 0; i < COLUMNS; i++) {
+			mSignature.add(i);
+		}
+		mSets = new ArrayList<>();
+		for (int i = 0; i < SETS; i++) {
+			final String[] word = new String[COLUMNS];
+			for (int j = 0; j < COLUMNS; j++) {
+				// leave some columns open to get patterns instead of single points
+				word[j] = rng.nextInt(3) == 0 ? null : constants[rng.nextInt(CONSTANTS)];
+			}
+			mSets.add(mFactory.createPatternMatchSet(mSignature, Arrays.asList(word)));
+		}
+		mDawgUnifier = new DawgUnifier();
+		mCombineCache = new ComputedTable(12);
+		mInstanceDawgs = new ArrayList<>();
+		for (int i = 0; i < SETS; i++) {
+			Dawg<String, Integer> dawg = Dawg.createConst(mDawgUnifier, COLUMNS, 0);
+			for (int k = 0; k < KEYS; k++) {
+				final String[] word = new String[COLUMNS];
+				for (int j = 0; j < COLUMNS; j++) {
+					word[j] = rng.nextInt(4) == 0 ? null : constants[rng.nextInt(CONSTANTS)];
+				}
+				dawg = dawg.insert(Arrays.asList(word), rng.nextInt(4));
+			}
+			mInstanceDawgs.add(dawg);
+		}
+	}
+
+	@Benchmark
+	public void eprSetOperations(final Blackhole bh) {
+		mOffset = (mOffset + 7) % SETS;
+		DawgState<String, Boolean> union = mFactory.createConstantDawg(mSignature, Boolean.FALSE);
+		for (int i = 0; i < SETS; i++) {
+			union = mFactory.createUnion(union, mSets.get((mOffset + i) % SETS));
+		}
+		for (int i = 0; i < SETS; i++) {
+			final DawgState<String, Boolean> set = mSets.get(i);
+			bh.consume(mFactory.createIntersection(union, set));
+			bh.consume(mFactory.createDifference(union, mFactory.createUnion(set, mSets.get((i + 1) % SETS))));
+		}
+	}
+
+	@Benchmark
+	public void quantCombine(final Blackhole bh) {
+		mOffset = (mOffset + 7) % SETS;
+		Dawg<String, Integer> combined = Dawg.createConst(mDawgUnifier, COLUMNS, 0);
+		for (int i = 0; i < SETS; i++) {
+			combined = combined.combine(mInstanceDawgs.get((mOffset + i) % SETS), MAX);
+		}
+		bh.consume(combined);
+	}
+
+	@Benchmark
+	public void quantCombineCached(final Blackhole bh) {
+		mOffset = (mOffset + 7) % SETS;
+		Dawg<String, Integer> combined = Dawg.createConst(mDawgUnifier, COLUMNS, 0);
+		for (int i = 0; i < SETS; i++) {
+			combined = combined.combine(mInstanceDawgs.get((mOffset + i) % SETS), MAX, mCombineCache);
+		}
+		bh.consume(combined);
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Solving time of random linear real arithmetic problems. Every constraint is a random linear combination of a few
+ * variables, so the simplex tableau is sparse and solving is dominated by fixing out-of-bound variables and pivoting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinArBenchmark {
+	private static final int VARS_PER_CONSTRAINT = 4;
+	private static final int BOUND = 100;
+
+	@Param({ "20", "40" })
+	public int mNumVars;
+
+	/**
+	 * For each constraint the variables, coefficients and the constant of {@code sum coeff * var <= constant}.
+	 */
+	private int[][] mConstraintVars;
+	private int[][] mConstraintCoeffs;
+	private int[] mConstraintConstants;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		final Random rng = new Random(42);
+		final int numConstraints = 2 * mNumVars;
+		mConstraintVars = new int[numConstraints][VARS_PER_CONSTRAINT];
+		mConstraintCoeffs = new int[numConstraints][VARS_PER_CONSTRAINT];
+		mConstraintConstants = new int[numConstraints];
+		for (int i = 0; i < numConstraints; i++) {
+			for (int j = 0; j < VARS_PER_CONSTRAINT; j++) {
+				mConstraintVars[i][j] = rng.nextInt(mNumVars);
+				mConstraintCoeffs[i][j] = rng.nextInt(21) - 10;
+			}
+			mConstraintConstants[i] = rng.nextInt(2 * BOUND) - BOUND;
+		}
+	}
+
+	private static Term constant(final Script script, final int value) {
+		final Term abs = script.decimal(BigDecimal.valueOf(Math.abs(value)));
+		return value < 0 ? script.term("-", abs) : abs;
+	}
+
+	@Benchmark
+	public LBool solve() {
+		final Script script = new SMTInterpol(new DefaultLogger());
+		script.setLogic(Logics.QF_LRA);
+		final Sort real = script.sort("Real");
+		final Term[] vars = new Term[mNumVars];
+		final Term lower = constant(script, -BOUND);
+		final Term upper = constant(script, BOUND);
+		for (int i = 0; i < mNumVars; i++) {
+			script.declareFun("x" + i, Script.EMPTY_SORT_ARRAY, real);
+			vars[i] = script.term("x" + i);
+			script.assertTerm(script.term("<=", lower, vars[i], upper));
+		}
+		for (int i = 0; i < mConstraintConstants.length; i++) {
+			final Term[] summands = new Term[VARS_PER_CONSTRAINT];
+			for (int j = 0; j < VARS_PER_CONSTRAINT; j++) {
+				summands[j] = script.term("*", constant(script, mConstraintCoeffs[i][j]), vars[mConstraintVars[i][j]]);
+			}
+			script.assertTerm(
+					script.term("<=", script.term("+", summands), constant(script, mConstraintConstants[i])));
+		}
+		return script.checkSat();
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.xor;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Solving time of parity problems with the Gauss-Jordan engine and the tableau engine for xor constraints. The
+ * workloads are random xor constraints over all variables and the same number of constraints split into independent
+ * blocks, both mixed with random ternary clauses. The problems are satisfiable by a hidden random assignment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XorBenchmark {
+	private static final int VARS = 150;
+	private static final int XORS = 140;
+	private static final int XOR_LENGTH = 4;
+	private static final int CLAUSES = 300;
+	private static final int BLOCKS = 5;
+
+	@Param({ "GAUSS_JORDAN", "TABLEAU" })
+	public String mEngine;
+
+	@Param({ "parity", "clusters" })
+	public String mWorkload;
+
+	/**
+	 * The variables and the value of every xor constraint, and the clauses in DIMACS notation.
+	 */
+	private int[][] mXors;
+	private boolean[] mXorValues;
+	private int[][] mClauses;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		final Random rng = new Random(42);
+		final int blocks = mWorkload.equals("clusters") ? BLOCKS : 1;
+		final int blockSize = VARS / blocks;
+		final boolean[] solution = new boolean[VARS];
+		for (int i = 0; i < VARS; i++) {
+			solution[i] = rng.nextBoolean();
+		}
+		final ArrayList<int[]> xors = new ArrayList<>();
+		mXorValues = new boolean[XORS];
+		for (int i = 0; i < XORS; i++) {
+			final int offset = (i % blocks) * blockSize;
+			final int[] xor = new int[XOR_LENGTH];
+			for (int j = 0; j < XOR_LENGTH; j++) {
+				int var;
+				do {
+					var = offset + rng.nextInt(blockSize);
+				} while (contains(xor, j, var));
+				xor[j] = var;
+				mXorValues[i] ^= solution[var];
+			}
+			xors.add(xor);
+		}
+		mXors = xors.toArray(new int[xors.size()][]);
+		mClauses = new int[CLAUSES][3];
+		for (final int[] clause : mClauses) {
+			boolean satisfied = false;
+			for (int j = 0; j < 3; j++) {
+				final int var = rng.nextInt(VARS) + 1;
+				clause[j] = rng.nextBoolean() ? var : -var;
+				satisfied |= solution[var - 1] == clause[j] > 0;
+			}
+			if (!satisfied) {
+				clause[0] = -clause[0];
+			}
+		}
+	}
+
+	private static boolean contains(final int[] array, final int length, final int value) {
+		for (int i = 0; i < length; i++) {
+			if (array[i] == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Benchmark
+	public LBool solve() {
+		final Script script = new SMTInterpol(new DefaultLogger());
+		script.setOption(SMTInterpolConstants.XOR_ENGINE, mEngine);
+		script.setLogic(Logics.QF_UF);
+		final Sort bool = script.sort("Bool");
+		final Term[] vars = new Term[VARS];
+		for (int i = 0; i < VARS; i++) {
+			script.declareFun("v" + i, Script.EMPTY_SORT_ARRAY, bool);
+			vars[i] = script.term("v" + i);
+		}
+		for (int i = 0; i < mXors.length; i++) {
+			final Term[] args = new Term[mXors[i].length];
+			for (int j = 0; j < args.length; j++) {
+				args[j] = vars[mXors[i][j]];
+			}
+			final Term xor = script.term("xor", args);
+			script.assertTerm(mXorValues[i] ? xor : script.term("not", xor));
+		}
+		for (final int[] clause : mClauses) {
+			final Term[] lits = new Term[clause.length];
+			for (int i = 0; i < clause.length; i++) {
+				final Term var = vars[Math.abs(clause[i]) - 1];
+				lits[i] = clause[i] > 0 ? var : script.term("not", var);
+			}
+			script.assertTerm(script.term("or", lits));
+		}
+		return script.checkSat();
+	}
+}
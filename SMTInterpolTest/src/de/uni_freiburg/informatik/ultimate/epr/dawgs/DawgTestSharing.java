@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.epr.dawgs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.EprHelpers;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.dawgs.DawgFactory;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.dawgs.dawgletters.DawgLetter;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.dawgs.dawgletters.DawgLetterFactory;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.dawgs.dawgstates.DawgState;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.dawg.Dawg;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.dawg.DawgUnifier;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ComputedTable;
+
+/**
+ * Tests that equal dawgs are shared and that cached operations return the same results as uncached ones.
+ */
+@RunWith(JUnit4.class)
+public class DawgTestSharing {
+
+	@Test
+	public void testEprSetOperations() {
+		final DawgFactory<String, Integer> dawgFactory = new DawgFactory<>(EprTestHelpers.getEprTheory());
+		EprTestHelpers.addConstantsWDefaultSort(dawgFactory, EprTestHelpers.constantsAbc());
+		final TreeSet<Integer> signature = new TreeSet<>(Arrays.asList(1, 2));
+
+		final DawgState<String, Boolean> ab = dawgFactory.createSingletonSet(signature, Arrays.asList("a", "b"));
+		final DawgState<String, Boolean> ab2 = dawgFactory.createSingletonSet(signature, Arrays.asList("a", "b"));
+		final DawgState<String, Boolean> ca = dawgFactory.createSingletonSet(signature, Arrays.asList("c", "a"));
+		assertSame(ab, ab2);
+
+		final DawgState<String, Boolean> union = dawgFactory.createUnion(ab, ca);
+		assertSame(union, dawgFactory.createUnion(ab2, ca));
+		assertSame(ab, dawgFactory.createIntersection(union, ab));
+		assertSame(ca, dawgFactory.createDifference(union, ab));
+		assertSame(union, dawgFactory.createUnion(ca, ab));
+		assertTrue(union.getValue(Arrays.asList("a", "b")));
+		assertTrue(union.getValue(Arrays.asList("c", "a")));
+		assertTrue(!union.getValue(Arrays.asList("a", "a")));
+	}
+
+	@Test
+	public void testLetterIntersection() {
+		final DawgFactory<String, Integer> dawgFactory = new DawgFactory<>(EprTestHelpers.getEprTheory());
+		EprTestHelpers.addConstantsWDefaultSort(dawgFactory, EprTestHelpers.constantsAbc());
+		final DawgLetterFactory<String> letterFactory = dawgFactory.getDawgLetterFactory();
+		final Object sort = EprHelpers.getDummySortId();
+
+		final DawgLetter<String> a = letterFactory.getSingletonSetDawgLetter("a", sort);
+		final DawgLetter<String> notB = letterFactory.getSingletonSetDawgLetter("b", sort).complement();
+		assertSame(a, a.intersect(notB));
+		assertSame(a, notB.intersect(a));
+		assertSame(letterFactory.getEmptyDawgLetter(sort), a.intersect(a.complement()));
+	}
+
+	@Test
+	public void testQuantCombine() {
+		final BiFunction<Integer, Integer, Integer> max = Math::max;
+		final List<String> ab = Arrays.asList("a", "b");
+		final List<String> ba = Arrays.asList("b", "a");
+		final DawgUnifier unifier = new DawgUnifier();
+		final Dawg<String, Integer> first = Dawg.<String, Integer> createConst(unifier, 2, 0).insert(ab, 1);
+		final Dawg<String, Integer> second = Dawg.<String, Integer> createConst(unifier, 2, 0).insert(ba, 2);
+		assertSame(first, Dawg.<String, Integer> createConst(unifier, 2, 0).insert(ab, 1));
+		// dawgs of different solvers are not shared
+		assertNotSame(first, Dawg.<String, Integer> createConst(new DawgUnifier(), 2, 0).insert(ab, 1));
+
+		final ComputedTable cache = new ComputedTable(4);
+		final Dawg<String, Integer> combined = first.combine(second, max, cache);
+		assertSame(combined, first.combine(second, max));
+		assertSame(combined, first.combine(second, max, cache));
+		assertTrue(cache.getHits() > 0);
+		assertEquals(Integer.valueOf(1), combined.getValue(ab));
+		assertEquals(Integer.valueOf(2), combined.getValue(ba));
+		assertEquals(Integer.valueOf(0), combined.getValue(Arrays.asList("a", "a")));
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Test the propagation core that keeps the clauses in a flat int array.
+ */
+@RunWith(JUnit4.class)
+public class ClauseArenaTest {
+
+	private Script createScript(final Logics logic) {
+		final Script script = new SMTInterpol(new DefaultLogger());
+		script.setOption(SMTInterpolConstants.CLAUSE_ARENA, true);
+		script.setOption(":produce-proofs", true);
+		script.setLogic(logic);
+		return script;
+	}
+
+	/**
+	 * Assert that pigeons + 1 pigeons cannot be placed into pigeons holes.
+	 */
+	private Term[][] assertPigeonHole(final Script script, final int pigeons, final int holes) {
+		final Term[][] vars = new Term[pigeons][holes];
+		for (int i = 0; i < pigeons; i++) {
+			final Term[] inHole = new Term[holes];
+			for (int j = 0; j < holes; j++) {
+				final String name = "p" + i + "_" + j;
+				script.declareFun(name, new Sort[0], script.sort("Bool"));
+				vars[i][j] = script.term(name);
+				inHole[j] = vars[i][j];
+			}
+			script.assertTerm(script.term("or", inHole));
+		}
+		for (int j = 0; j < holes; j++) {
+			for (int i = 0; i < pigeons; i++) {
+				for (int k = i + 1; k < pigeons; k++) {
+					script.assertTerm(script.term("or", script.term("not", vars[i][j]),
+							script.term("not", vars[k][j])));
+				}
+			}
+		}
+		return vars;
+	}
+
+	@Test
+	public void testPigeonHole() {
+		final Script script = createScript(Logics.QF_UF);
+		assertPigeonHole(script, 6, 5);
+		Assert.assertSame(LBool.UNSAT, script.checkSat());
+		Assert.assertNotNull(script.getProof());
+	}
+
+	@Test
+	public void testPushPop() {
+		final Script script = createScript(Logics.QF_UF);
+		script.push(1);
+		final Term[][] vars = assertPigeonHole(script, 5, 5);
+		Assert.assertSame(LBool.SAT, script.checkSat());
+		script.push(1);
+		script.assertTerm(script.term("not", vars[0][0]));
+		script.assertTerm(script.term("not", vars[1][1]));
+		Assert.assertSame(LBool.SAT, script.checkSat());
+		final Term[] diagonal = new Term[5];
+		for (int i = 0; i < 5; i++) {
+			diagonal[i] = script.term("not", vars[i][(i + 1) % 5]);
+		}
+		script.assertTerm(script.term("and", diagonal));
+		script.assertTerm(script.term("not", vars[2][2]));
+		script.assertTerm(script.term("not", vars[3][3]));
+		script.assertTerm(script.term("not", vars[4][4]));
+		Assert.assertSame(LBool.SAT, script.checkSat());
+		script.pop(1);
+		Assert.assertSame(LBool.SAT, script.checkSat());
+		Assert.assertSame(LBool.UNSAT, script.checkSatAssuming(vars[0][0], vars[1][0]));
+		Assert.assertSame(LBool.SAT, script.checkSat());
+		script.pop(1);
+		assertPigeonHole(script, 6, 5);
+		Assert.assertSame(LBool.UNSAT, script.checkSat());
+	}
+
+	@Test
+	public void testTheory() {
+		final Script script = createScript(Logics.QF_LIA);
+		final Sort intSort = script.sort("Int");
+		script.declareFun("x", new Sort[0], intSort);
+		script.declareFun("y", new Sort[0], intSort);
+		final Term x = script.term("x");
+		final Term y = script.term("y");
+		final Term zero = script.numeral("0");
+		final Term ten = script.numeral("10");
+		script.assertTerm(script.term("or", script.term("<", x, zero), script.term(">", x, ten)));
+		script.assertTerm(script.term("or", script.term("<", y, zero), script.term("=", y, x)));
+		script.assertTerm(script.term(">=", script.term("+", x, y), zero));
+		Assert.assertSame(LBool.SAT, script.checkSat());
+		script.assertTerm(script.term("<=", y, ten));
+		script.assertTerm(script.term("<=", x, ten));
+		Assert.assertSame(LBool.UNSAT, script.checkSat());
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Annotation;
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Test the simplification of the propositional input clauses.
+ */
+@RunWith(JUnit4.class)
+public class ClauseSimplifierTest {
+
+	private Script createScript(final boolean proofs) {
+		final Script script = new SMTInterpol(new DefaultLogger());
+		script.setOption(SMTInterpolConstants.INPROCESSING, true);
+		script.setOption(":produce-proofs", proofs);
+		script.setOption(SMTInterpolConstants.PROOF_CHECK_MODE, proofs);
+		script.setOption(":produce-models", true);
+		script.setOption(SMTInterpolConstants.MODEL_CHECK_MODE, true);
+		script.setOption(":produce-assignments", true);
+		script.setLogic(Logics.QF_UF);
+		return script;
+	}
+
+	private Term[] declareVars(final Script script, final int num) {
+		final Term[] vars = new Term[num];
+		for (int i = 0; i < num; i++) {
+			script.declareFun("x" + i, new Sort[0], script.sort("Bool"));
+			vars[i] = script.term("x" + i);
+		}
+		return vars;
+	}
+
+	private Term not(final Script script, final Term t) {
+		return script.term("not", t);
+	}
+
+	/**
+	 * A chain of implications with redundant guards. Most clauses are subsumed or
+	 * the atoms in the middle of the chain are eliminated.
+	 */
+	private void assertChain(final Script script, final Term[] vars) {
+		for (int i = 0; i + 1 < vars.length; i++) {
+			script.assertTerm(script.term("or", not(script, vars[i]), vars[i + 1]));
+			script.assertTerm(script.term("or", not(script, vars[i]), vars[i + 1], vars[0]));
+		}
+	}
+
+	@Test
+	public void testModel() {
+		final Script script = createScript(false);
+		final Term[] vars = declareVars(script, 10);
+		assertChain(script, vars);
+		script.assertTerm(script.term("or", vars[0], vars[5]));
+		Assert.assertSame(LBool.SAT, script.checkSat());
+		/* either chain forces the last atom */
+		final Map<Term, Term> values = script.getValue(vars);
+		Assert.assertSame(script.term("true"), values.get(vars[9]));
+	}
+
+	@Test
+	public void testProof() {
+		final Script script = createScript(true);
+		final Term[] vars = declareVars(script, 10);
+		assertChain(script, vars);
+		script.assertTerm(vars[0]);
+		script.assertTerm(script.term("or", not(script, vars[9]), not(script, vars[4])));
+		Assert.assertSame(LBool.UNSAT, script.checkSat());
+		Assert.assertNotNull(script.getProof());
+	}
+
+	@Test
+	public void testIncremental() {
+		final Script script = createScript(false);
+		final Term[] vars = declareVars(script, 10);
+		assertChain(script, vars);
+		Assert.assertSame(LBool.SAT, script.checkSat());
+		script.push(1);
+		/* uses atoms that may have been eliminated */
+		script.assertTerm(vars[0]);
+		script.assertTerm(script.annotate(not(script, vars[5]), new Annotation(":named", "n5")));
+		Assert.assertSame(LBool.UNSAT, script.checkSat());
+		script.pop(1);
+		Assert.assertSame(LBool.SAT, script.checkSat());
+		Assert.assertSame(LBool.UNSAT, script.checkSatAssuming(vars[3], not(script, vars[7])));
+		script.assertTerm(script.annotate(script.term("or", vars[2], vars[5]), new Annotation(":named", "n2")));
+		Assert.assertSame(LBool.SAT, script.checkSat());
+		Assert.assertTrue(script.getAssignment().getAssignment("n2"));
+		Assert.assertSame(script.term("true"), script.getValue(new Term[] { vars[8] }).get(vars[8]));
+	}
+}
@@ -18,6 +18,9 @@
  */
 package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
 
+import java.math.BigInteger;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -29,6 +32,7 @@ import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
 import de.uni_freiburg.informatik.ultimate.logic.Sort;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
 
 @RunWith(JUnit4.class)
@@ -75,4 +79,59 @@ public class Incremental {
 		Assert.assertSame(LBool.UNSAT, isSat);
 		// Assert.assertEquals(3, engine.getInterpolants().length);
 	}
+
+	private Term[] declareIntProblem(final Script script, final int n, final long seed) {
+		final Random rng = new Random(seed);
+		final Sort intSort = script.sort("Int");
+		final Term[] x = new Term[n];
+		for (int i = 0; i < n; i++) {
+			script.declareFun("x" + i, new Sort[0], intSort);
+			x[i] = script.term("x" + i);
+			script.assertTerm(script.term("<=", script.numeral("0"), x[i], script.numeral("20")));
+		}
+		for (int k = 0; k < n / 2; k++) {
+			final Term[] sum = new Term[4];
+			for (int j = 0; j < sum.length; j++) {
+				sum[j] = script.term("*", script.numeral(BigInteger.valueOf(rng.nextInt(7) + 2)), x[rng.nextInt(n)]);
+			}
+			script.assertTerm(
+					script.term("=", script.term("+", sum), script.numeral(BigInteger.valueOf(rng.nextInt(100) + 60))));
+		}
+		return x;
+	}
+
+	/**
+	 * Bound atoms created by the LA solver during search are kept across pop together with the learned clauses that
+	 * contain them. Check that the results stay the same as for a fresh solver.
+	 */
+	@Test
+	public void testKeepLearnedAcrossPop() {
+		final Script script = new SMTInterpol(new DefaultLogger());
+		script.setOption(":produce-models", true);
+		script.setOption(SMTInterpolConstants.MODEL_CHECK_MODE, true);
+		script.setLogic(Logics.QF_LIA);
+		final Term[] x = declareIntProblem(script, 12, 1);
+		final Random rng = new Random(2);
+		for (int round = 0; round < 20; round++) {
+			final int var = rng.nextInt(x.length);
+			final int bound = rng.nextInt(20);
+			script.push(2);
+			script.assertTerm(script.term("<=", x[var], script.numeral(BigInteger.valueOf(bound))));
+			final LBool result = script.checkSat();
+			script.pop(1 + round % 2);
+
+			final Script fresh = new SMTInterpol(new DefaultLogger());
+			fresh.setLogic(Logics.QF_LIA);
+			final Term[] y = declareIntProblem(fresh, 12, 1);
+			fresh.assertTerm(fresh.term("<=", y[var], fresh.numeral(BigInteger.valueOf(bound))));
+			Assert.assertSame(fresh.checkSat(), result);
+			if (round % 2 == 0) {
+				script.pop(1);
+			}
+		}
+		final Script fresh = new SMTInterpol(new DefaultLogger());
+		fresh.setLogic(Logics.QF_LIA);
+		declareIntProblem(fresh, 12, 1);
+		Assert.assertSame(fresh.checkSat(), script.checkSat());
+	}
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine.PhaseStrategy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine.RestartStrategy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Test the restart and phase strategies.
+ */
+@RunWith(JUnit4.class)
+public class SearchStrategyTest {
+
+	private Script createScript() {
+		final Script script = new SMTInterpol(new DefaultLogger());
+		script.setOption(":produce-models", true);
+		script.setOption(SMTInterpolConstants.MODEL_CHECK_MODE, true);
+		script.setLogic(Logics.QF_UF);
+		return script;
+	}
+
+	/**
+	 * Assert that pigeons pigeons are placed into holes holes.
+	 */
+	private Term[][] assertPigeonHole(final Script script, final int pigeons, final int holes) {
+		final Term[][] vars = new Term[pigeons][holes];
+		for (int i = 0; i < pigeons; i++) {
+			for (int j = 0; j < holes; j++) {
+				final String name = "p" + i + "_" + j;
+				script.declareFun(name, new Sort[0], script.sort("Bool"));
+				vars[i][j] = script.term(name);
+			}
+			script.assertTerm(script.term("or", vars[i]));
+		}
+		for (int j = 0; j < holes; j++) {
+			for (int i = 0; i < pigeons; i++) {
+				for (int k = i + 1; k < pigeons; k++) {
+					script.assertTerm(script.term("or", script.term("not", vars[i][j]),
+							script.term("not", vars[k][j])));
+				}
+			}
+		}
+		return vars;
+	}
+
+	@Test
+	public void testAllStrategies() {
+		for (final RestartStrategy restart : RestartStrategy.values()) {
+			for (final PhaseStrategy phase : PhaseStrategy.values()) {
+				final Script script = createScript();
+				script.setOption(SMTInterpolConstants.RESTART_STRATEGY, restart);
+				script.setOption(SMTInterpolConstants.PHASE_STRATEGY, phase);
+				script.push(1);
+				assertPigeonHole(script, 6, 6);
+				Assert.assertSame(LBool.SAT, script.checkSat());
+				script.pop(1);
+				assertPigeonHole(script, 7, 6);
+				Assert.assertSame(LBool.UNSAT, script.checkSat());
+			}
+		}
+	}
+
+	@Test
+	public void testSwitchStrategies() {
+		final Script script = createScript();
+		final Term[][] vars = assertPigeonHole(script, 6, 6);
+		script.setOption(SMTInterpolConstants.RESTART_STRATEGY, "glucose");
+		script.setOption(SMTInterpolConstants.PHASE_STRATEGY, "target");
+		Assert.assertSame(LBool.SAT, script.checkSat());
+		script.setOption(SMTInterpolConstants.RESTART_STRATEGY, "luby");
+		script.setOption(SMTInterpolConstants.PHASE_STRATEGY, "rephase");
+		Assert.assertSame(LBool.UNSAT, script.checkSatAssuming(vars[0][0], vars[1][0]));
+		Assert.assertSame(LBool.SAT, script.checkSat());
+	}
+
+	/**
+	 * An assumption that is false on level 0 must not make later checks unsat.
+	 */
+	@Test
+	public void testAssumptionFalseOnLevel0() {
+		final Script script = createScript();
+		script.declareFun("x", new Sort[0], script.sort("Bool"));
+		script.declareFun("y", new Sort[0], script.sort("Bool"));
+		final Term x = script.term("x");
+		final Term y = script.term("y");
+		script.assertTerm(script.term("not", x));
+		script.assertTerm(script.term("or", x, y));
+		Assert.assertSame(LBool.SAT, script.checkSat());
+		Assert.assertSame(LBool.UNSAT, script.checkSatAssuming(x, y));
+		Assert.assertSame(LBool.SAT, script.checkSat());
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.horn;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
+
+/**
+ * Small Horn problems over a counter with disjunctive and query clauses.
+ */
+@RunWith(JUnit4.class)
+public class HornSolverTest {
+	private HornSolver mSolver;
+	private TermVariable mX;
+	private Term mZero;
+
+	@Before
+	public void setup() {
+		mSolver = new HornSolver();
+		mSolver.setLogic("HORN");
+		final Sort intSort = mSolver.sort("Int");
+		mSolver.declareFun("Inv", new Sort[] { intSort }, mSolver.sort("Bool"));
+		mX = mSolver.variable("x", intSort);
+		mZero = mSolver.numeral("0");
+		// Inv(0) and Inv(x) /\ x < 10 => Inv(x + 1)
+		mSolver.assertTerm(mSolver.term("Inv", mZero));
+		assertClause(mSolver.term("and", mSolver.term("Inv", mX), mSolver.term("<", mX, mSolver.numeral("10"))),
+				mSolver.term("Inv", mSolver.term("+", mX, mSolver.numeral("1"))));
+	}
+
+	private void assertClause(final Term body, final Term head) {
+		mSolver.assertTerm(mSolver.quantifier(Script.FORALL, new TermVariable[] { mX },
+				mSolver.term("=>", body, head)));
+	}
+
+	private void assertQuery(final Term constraint) {
+		assertClause(mSolver.term("and", mSolver.term("Inv", mX), constraint), mSolver.term("false"));
+	}
+
+	@Test
+	public void testSafe() {
+		assertQuery(mSolver.term(">", mX, mSolver.numeral("10")));
+		Assert.assertEquals(LBool.SAT, mSolver.checkSat());
+		Assert.assertNotNull(mSolver.getSolution());
+		Assert.assertTrue(mSolver.getSolution().containsKey(mSolver.getTheory().getFunction("Inv",
+				mSolver.sort("Int"))));
+	}
+
+	@Test
+	public void testUnsafe() {
+		assertQuery(mSolver.term(">=", mX, mSolver.numeral("3")));
+		Assert.assertEquals(LBool.UNSAT, mSolver.checkSat());
+		Assert.assertNull(mSolver.getSolution());
+	}
+
+	@Test
+	public void testPushPop() {
+		assertQuery(mSolver.term("<", mX, mZero));
+		Assert.assertEquals(LBool.SAT, mSolver.checkSat());
+		mSolver.push(1);
+		// Inv(x) /\ x = 4 => Inv(-x)
+		assertClause(mSolver.term("and", mSolver.term("Inv", mX), mSolver.term("=", mX, mSolver.numeral("4"))),
+				mSolver.term("Inv", mSolver.term("-", mX)));
+		Assert.assertEquals(LBool.UNSAT, mSolver.checkSat());
+		mSolver.pop(1);
+		Assert.assertEquals(LBool.SAT, mSolver.checkSat());
+	}
+
+	@Test
+	public void testPopKeepsOuterUnwinding() {
+		assertQuery(mSolver.term(">=", mX, mSolver.numeral("3")));
+		Assert.assertEquals(LBool.UNSAT, mSolver.checkSat());
+		final HornSolver.UnwindingNode root = mSolver.mRoot;
+		final int numNodes = mSolver.mNodes.size();
+		mSolver.push(1);
+		// Inv(x) /\ x < 0 => false does not change the result, but deepens the unwinding in the inner scope
+		assertQuery(mSolver.term("<", mX, mZero));
+		Assert.assertEquals(LBool.UNSAT, mSolver.checkSat());
+		Assert.assertTrue(mSolver.mNodes.size() > numNodes);
+		mSolver.pop(1);
+		Assert.assertSame(root, mSolver.mRoot);
+		Assert.assertEquals(numNodes, mSolver.mNodes.size());
+		Assert.assertEquals(LBool.UNSAT, mSolver.checkSat());
+		Assert.assertEquals(numNodes, mSolver.mNodes.size());
+	}
+
+	@Test
+	public void testAddClauseKeepsUnwinding() {
+		assertQuery(mSolver.term(">", mX, mSolver.numeral("10")));
+		Assert.assertEquals(LBool.SAT, mSolver.checkSat());
+		final HornSolver.UnwindingNode root = mSolver.mRoot;
+		// Inv(x) /\ x = 4 => Inv(20) makes the query reachable
+		assertClause(mSolver.term("and", mSolver.term("Inv", mX), mSolver.term("=", mX, mSolver.numeral("4"))),
+				mSolver.term("Inv", mSolver.numeral("20")));
+		Assert.assertEquals(LBool.UNSAT, mSolver.checkSat());
+		Assert.assertSame(root, mSolver.mRoot);
+	}
+
+	@Test
+	public void testNodeLimit() {
+		// a second recursive clause doubles the unwinding on every level
+		assertClause(mSolver.term("and", mSolver.term("Inv", mX), mSolver.term(">", mX, mSolver.numeral("100"))),
+				mSolver.term("Inv", mSolver.term("+", mX, mSolver.numeral("1"))));
+		assertQuery(mSolver.term(">=", mX, mSolver.numeral("10")));
+		mSolver.mMaxNodes = 100;
+		Assert.assertEquals(LBool.UNKNOWN, mSolver.checkSat());
+		Assert.assertTrue(mSolver.mNodes.size() <= 100);
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.interpolate;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Annotation;
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBConstants;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.interpolate.InterpolantCache.PartitionKey;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Check that interpolants of proof nodes are reused between calls of getInterpolants.
+ */
+@RunWith(JUnit4.class)
+public class InterpolantCacheTest {
+	private Script mScript;
+	private Term[] mX;
+
+	@Before
+	public void setUp() {
+		mScript = new SMTInterpol(new DefaultLogger());
+		mScript.setOption(":produce-interpolants", true);
+		mScript.setOption(":interpolant-check-mode", true);
+		mScript.setOption(SMTInterpolConstants.INTERPOLANT_CACHE_SIZE, 1000);
+		mScript.setLogic(Logics.QF_UFLIA);
+		final Sort intSort = mScript.sort("Int");
+		mScript.declareFun("f", new Sort[] { intSort }, intSort);
+		mX = new Term[4];
+		for (int i = 0; i < mX.length; i++) {
+			mScript.declareFun("x" + i, Script.EMPTY_SORT_ARRAY, intSort);
+			mX[i] = mScript.term("x" + i);
+		}
+	}
+
+	private void assertNamed(final String name, final Term term) {
+		mScript.assertTerm(mScript.annotate(term, new Annotation(":named", name)));
+	}
+
+	private long getCacheStatistic(final String name) {
+		for (final Object entry : (Object[]) mScript.getInfo(SMTLIBConstants.ALL_STATISTICS)) {
+			final Object[] pair = (Object[]) entry;
+			if (pair[0].equals(":Interpolant_Cache")) {
+				for (final Object[] stat : (Object[][]) pair[1]) {
+					if (stat[0].equals(name)) {
+						return ((Number) stat[1]).longValue();
+					}
+				}
+			}
+		}
+		throw new AssertionError("No statistic " + name);
+	}
+
+	private Term[] interpolate() {
+		return mScript.getInterpolants(new Term[] { mScript.term("A"), mScript.term("B"), mScript.term("C") });
+	}
+
+	@Test
+	public void testRepeatedCalls() {
+		assertNamed("A", mScript.term("and", mScript.term("<=", mX[0], mX[1]),
+				mScript.term("=", mScript.term("f", mX[0]), mX[2])));
+		assertNamed("B", mScript.term("<=", mX[1], mX[0]));
+		assertNamed("C", mScript.term("not", mScript.term("=", mScript.term("f", mX[1]), mX[2])));
+		Assert.assertEquals(LBool.UNSAT, mScript.checkSat());
+		final Term[] first = interpolate();
+		Assert.assertEquals(0, getCacheStatistic("Hits"));
+		final Term[] second = interpolate();
+		Assert.assertTrue(getCacheStatistic("Hits") > 0);
+		Assert.assertArrayEquals(first, second);
+		// a new assertion drops the cached interpolants
+		assertNamed("D", mScript.term("<=", mX[3], mX[0]));
+		Assert.assertEquals(0, getCacheStatistic("Interpolants"));
+		Assert.assertEquals(0, getCacheStatistic("Proof_Nodes"));
+	}
+
+	@Test
+	public void testPushPop() {
+		assertNamed("A", mScript.term("and", mScript.term("<=", mX[0], mX[1]),
+				mScript.term("=", mScript.term("f", mX[0]), mX[2])));
+		assertNamed("B", mScript.term("<=", mX[1], mX[0]));
+		mScript.push(1);
+		assertNamed("C", mScript.term("not", mScript.term("=", mScript.term("f", mX[1]), mX[2])));
+		Assert.assertEquals(LBool.UNSAT, mScript.checkSat());
+		final Term[] first = interpolate();
+		Assert.assertTrue(getCacheStatistic("Interpolants") > 0);
+		mScript.pop(1);
+		Assert.assertEquals(0, getCacheStatistic("Interpolants"));
+		mScript.push(1);
+		assertNamed("C", mScript.term("not", mScript.term("=", mScript.term("f", mX[1]), mX[2])));
+		Assert.assertEquals(LBool.UNSAT, mScript.checkSat());
+		Assert.assertArrayEquals(first, interpolate());
+		mScript.pop(1);
+		mScript.push(1);
+		// a different problem with the same names must not reuse the interpolants; the check mode verifies them
+		assertNamed("C", mScript.term("and", mScript.term("=", mX[3], mScript.term("f", mX[1])),
+				mScript.term("not", mScript.term("=", mX[3], mX[2]))));
+		Assert.assertEquals(LBool.UNSAT, mScript.checkSat());
+		interpolate();
+		mScript.pop(1);
+	}
+
+	@Test
+	public void testDisabledByDefault() {
+		final Script script = new SMTInterpol(new DefaultLogger());
+		Assert.assertEquals(0L, ((Number) script.getOption(SMTInterpolConstants.INTERPOLANT_CACHE_SIZE)).longValue());
+	}
+
+	@Test
+	public void testDisabled() {
+		mScript.setOption(SMTInterpolConstants.INTERPOLANT_CACHE_SIZE, 0);
+		assertNamed("A", mScript.term("<", mX[0], mX[1]));
+		assertNamed("B", mScript.term("<", mX[1], mX[2]));
+		assertNamed("C", mScript.term("<", mX[2], mX[0]));
+		Assert.assertEquals(LBool.UNSAT, mScript.checkSat());
+		interpolate();
+		for (final Object entry : (Object[]) mScript.getInfo(SMTLIBConstants.ALL_STATISTICS)) {
+			Assert.assertNotEquals(":Interpolant_Cache", ((Object[]) entry)[0]);
+		}
+	}
+
+	@Test
+	public void testEviction() {
+		final InterpolantCache cache = new InterpolantCache(2);
+		final PartitionKey key = cache.getPartitionKey(Arrays.asList("A"));
+		Assert.assertSame(key, cache.getPartitionKey(Arrays.asList("A")));
+		final Term[] clause = new Term[0];
+		for (int i = 0; i < mX.length; i++) {
+			cache.store(mX[i], clause, new PartitionKey[] { key }, new Term[] { mScript.term("true") });
+		}
+		Assert.assertEquals(2, cache.size());
+		Assert.assertEquals(4, cache.getEvictions());
+		final Term[] interpolants = new Term[1];
+		Assert.assertNull(cache.lookup(mX[0], new PartitionKey[] { key }, interpolants));
+		Assert.assertSame(clause, cache.lookup(mX[3], new PartitionKey[] { key }, interpolants));
+		Assert.assertEquals(mScript.term("true"), interpolants[0]);
+		Assert.assertEquals(1, cache.getHits());
+		Assert.assertEquals(1, cache.getMisses());
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.interpolate;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Annotation;
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Check that tree interpolants computed with several threads are correct and equal to the sequentially computed ones.
+ */
+@RunWith(JUnit4.class)
+public class ParallelInterpolationTest {
+	private static final int HEIGHT = 4;
+
+	private static int fillTree(final int[] startOfSubtree, final int start, final int height) {
+		if (height == 0) {
+			return 0;
+		}
+		final int left = fillTree(startOfSubtree, start, height - 1);
+		final int right = fillTree(startOfSubtree, start + left, height - 1);
+		startOfSubtree[start + left + right] = start;
+		return left + right + 1;
+	}
+
+	/**
+	 * Compute tree interpolants for a cyclic chain of arithmetic, uninterpreted function and array constraints. The
+	 * partitions form a complete binary tree.
+	 */
+	private String[] interpolate(final int threads) {
+		final Script script = new SMTInterpol(new DefaultLogger());
+		script.setOption(":produce-interpolants", true);
+		script.setOption(":interpolant-check-mode", true);
+		script.setOption(SMTInterpolConstants.INTERPOLATION_THREADS, threads);
+		script.setLogic(Logics.QF_AUFLIA);
+		final Sort intSort = script.sort("Int");
+		final Sort arraySort = script.sort("Array", intSort, intSort);
+		script.declareFun("f", new Sort[] { intSort }, intSort);
+		final int size = (1 << HEIGHT) - 1;
+		final Term[] x = new Term[size];
+		final Term[] y = new Term[size];
+		final Term[] a = new Term[size];
+		for (int i = 0; i < size; i++) {
+			script.declareFun("x" + i, Script.EMPTY_SORT_ARRAY, intSort);
+			script.declareFun("y" + i, Script.EMPTY_SORT_ARRAY, intSort);
+			script.declareFun("a" + i, Script.EMPTY_SORT_ARRAY, arraySort);
+			x[i] = script.term("x" + i);
+			y[i] = script.term("y" + i);
+			a[i] = script.term("a" + i);
+		}
+		final Term[] partition = new Term[size];
+		for (int i = 0; i < size; i++) {
+			final int next = (i + 1) % size;
+			final Term lit = i == size - 1 ? script.term("<=", x[i], x[next]) : script.term("<", x[i], x[next]);
+			final Term uf = script.term("=", script.term("f", x[i]), y[next]);
+			final Term bound = script.term("<=", y[i], script.term("+", x[i], script.numeral("1")));
+			final Term array = script.term("=", a[next], script.term("store", a[i], x[i], y[i]));
+			script.assertTerm(script.annotate(script.term("and", lit, uf, bound, array),
+					new Annotation(":named", "P" + i)));
+			partition[i] = script.term("P" + i);
+		}
+		Assert.assertEquals(LBool.UNSAT, script.checkSat());
+		final int[] startOfSubtree = new int[size];
+		fillTree(startOfSubtree, 0, HEIGHT);
+		final Term[] interpolants = script.getInterpolants(partition, startOfSubtree);
+		final String[] result = new String[interpolants.length];
+		for (int i = 0; i < interpolants.length; i++) {
+			result[i] = interpolants[i].toString();
+		}
+		script.exit();
+		return result;
+	}
+
+	@Test
+	public void testDeterministic() {
+		final String[] sequential = interpolate(1);
+		Assert.assertArrayEquals(sequential, interpolate(4));
+		Assert.assertArrayEquals(sequential, interpolate(3));
+	}
+}
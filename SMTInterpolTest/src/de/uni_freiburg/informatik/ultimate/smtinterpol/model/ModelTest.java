@@ -34,12 +34,14 @@ import de.uni_freiburg.informatik.ultimate.logic.FunctionSymbol;
 import de.uni_freiburg.informatik.ultimate.logic.Logics;
 import de.uni_freiburg.informatik.ultimate.logic.Model;
 import de.uni_freiburg.informatik.ultimate.logic.Rational;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
 import de.uni_freiburg.informatik.ultimate.logic.Script;
 import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
 import de.uni_freiburg.informatik.ultimate.logic.Sort;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
 import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
 
 /**
@@ -482,4 +484,118 @@ public class ModelTest {
 			Assert.assertEquals(expected, model.evaluate(intTerms[i]));
 		}
 	}
+
+	@Test
+	public void testDefinitions() {
+		final Script script = setupScript(Logics.QF_UFLIA);
+		final Sort intSort = script.sort("Int");
+		script.declareFun("x", Script.EMPTY_SORT_ARRAY, intSort);
+		script.declareFun("f", new Sort[] { intSort }, intSort);
+		final TermVariable a = script.variable("a", intSort);
+		final TermVariable b = script.variable("b", intSort);
+		script.defineFun("sq", new TermVariable[] { a }, intSort, script.term("*", a, a));
+		script.defineFun("g", new TermVariable[] { a, b }, intSort,
+				script.term("ite", script.term("<", a, b), script.term("sq", b), script.term("f", a)));
+		final Term x = script.term("x");
+		script.assertTerm(script.term("=", x, script.numeral("3")));
+		script.assertTerm(script.term("=", script.term("f", x), script.numeral("7")));
+		Assert.assertEquals(LBool.SAT, script.checkSat());
+		final Model model = script.getModel();
+		final Term below = script.term("g", x, script.numeral("4"));
+		final Term above = script.term("g", x, script.numeral("2"));
+		Assert.assertEquals(script.numeral("16"), model.evaluate(below));
+		Assert.assertEquals(script.numeral("7"), model.evaluate(above));
+		// the values are memoised, evaluating again must give the same results
+		Assert.assertEquals(script.numeral("16"), model.evaluate(below));
+		Assert.assertEquals(script.numeral("9"), model.evaluate(script.term("sq", x)));
+		final Term let = script.let(new TermVariable[] { a }, new Term[] { script.numeral("5") },
+				script.term("g", a, script.term("+", a, script.numeral("1"))));
+		Assert.assertEquals(script.numeral("36"), model.evaluate(let));
+	}
+
+	@Test
+	public void testParallelEvaluation() {
+		final Script script = setupScript(Logics.QF_UFLIA);
+		script.setOption(SMTInterpolConstants.MODEL_EVALUATION_THREADS, 4);
+		final Sort intSort = script.sort("Int");
+		script.declareFun("x", Script.EMPTY_SORT_ARRAY, intSort);
+		script.declareFun("f", new Sort[] { intSort }, intSort);
+		final TermVariable a = script.variable("a", intSort);
+		script.defineFun("h", new TermVariable[] { a }, intSort, script.term("+", script.term("f", a), a));
+		final Term x = script.term("x");
+		script.assertTerm(script.term("=", x, script.numeral("2")));
+		script.assertTerm(script.term("=", script.term("f", x), script.numeral("5")));
+		Assert.assertEquals(LBool.SAT, script.checkSat());
+		final Term[] terms = new Term[1000];
+		for (int i = 0; i < terms.length; i++) {
+			final Term num = script.numeral(BigInteger.valueOf(i % 50));
+			terms[i] = script.term("h", script.term("+", x, num));
+		}
+		final Map<Term, Term> parallel = script.getValue(terms);
+		final Model model = script.getModel();
+		for (final Term t : terms) {
+			Assert.assertEquals(model.evaluate(t), parallel.get(t));
+		}
+		Assert.assertEquals(script.numeral("7"), parallel.get(terms[0]));
+	}
+
+	@Test
+	public void testQuantifiers() {
+		final Script script = setupScript(Logics.UFLIA);
+		final Sort intSort = script.sort("Int");
+		final Sort boolSort = script.sort("Bool");
+		script.declareSort("U", 0);
+		final Sort u = script.sort("U");
+		script.declareFun("a", Script.EMPTY_SORT_ARRAY, u);
+		script.declareFun("b", Script.EMPTY_SORT_ARRAY, u);
+		script.declareFun("g", new Sort[] { u }, u);
+		script.declareFun("x", Script.EMPTY_SORT_ARRAY, intSort);
+		script.declareFun("f", new Sort[] { intSort }, intSort);
+		final Term a = script.term("a");
+		final Term b = script.term("b");
+		final Term x = script.term("x");
+		final TermVariable s = script.variable("s", u);
+		final TermVariable t = script.variable("t", u);
+		final TermVariable n = script.variable("n", intSort);
+		final TermVariable p = script.variable("p", boolSort);
+		script.assertTerm(script.term("distinct", a, b));
+		script.assertTerm(script.term("=", script.term("g", a), b));
+		script.assertTerm(script.term("=", x, script.numeral("2")));
+		script.assertTerm(script.quantifier(Script.FORALL, new TermVariable[] { n },
+				script.term("<=", script.term("f", n), script.numeral("5"))));
+		script.assertTerm(script.term("=", script.term("f", x), script.numeral("5")));
+		Assert.assertEquals(LBool.SAT, script.checkSat());
+		final Model model = script.getModel();
+		final Term trueTerm = script.term("true");
+		final Term falseTerm = script.term("false");
+		// uninterpreted sort
+		Assert.assertEquals(trueTerm, model.evaluate(script.quantifier(Script.EXISTS, new TermVariable[] { s },
+				script.term("distinct", s, a))));
+		Assert.assertEquals(trueTerm, model.evaluate(script.quantifier(Script.FORALL, new TermVariable[] { s },
+				script.term("=>", script.term("=", s, a), script.term("=", script.term("g", s), b)))));
+		Assert.assertEquals(trueTerm, model.evaluate(script.quantifier(Script.FORALL, new TermVariable[] { s },
+				script.quantifier(Script.EXISTS, new TermVariable[] { t }, script.term("=", s, t)))));
+		Assert.assertEquals(falseTerm, model.evaluate(script.quantifier(Script.FORALL, new TermVariable[] { s, t },
+				script.term("=", s, t))));
+		// numeric variables compared with ground terms or used as function arguments
+		Assert.assertEquals(trueTerm, model.evaluate(script.quantifier(Script.EXISTS, new TermVariable[] { n },
+				script.term(">", n, script.term("f", x)))));
+		Assert.assertEquals(falseTerm, model.evaluate(script.quantifier(Script.EXISTS, new TermVariable[] { n },
+				script.term("and", script.term("<", x, n), script.term("<", n, script.numeral("3"))))));
+		Assert.assertEquals(falseTerm, model.evaluate(script.quantifier(Script.FORALL, new TermVariable[] { n },
+				script.term("=", script.term("f", n), script.numeral("5")))));
+		// Booleans
+		Assert.assertEquals(trueTerm, model.evaluate(script.quantifier(Script.FORALL, new TermVariable[] { p },
+				script.term("or", p, script.term("not", p)))));
+		Assert.assertEquals(falseTerm, model.evaluate(script.quantifier(Script.EXISTS, new TermVariable[] { p },
+				script.term("and", p, script.term("not", p)))));
+		// arithmetic on a quantified variable is not supported
+		try {
+			model.evaluate(script.quantifier(Script.EXISTS, new TermVariable[] { n },
+					script.term("=", script.term("+", n, script.numeral("1")), x)));
+			Assert.fail("Expected an exception");
+		} catch (final SMTLIBException expected) {
+			// expected
+		}
+	}
 }
@@ -21,6 +21,7 @@ package de.uni_freiburg.informatik.ultimate.smtinterpol.muses;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -1496,6 +1497,70 @@ public class MusesTest {
 		Assert.assertFalse(remus.hasNext());
 	}
 
+	@Test
+	public void testParallelEnumerationSet2() {
+		final LogProxy logger = new DefaultLogger();
+		final TimeoutHandler handler = new TimeoutHandler(null);
+		final Script script = setupScript(Logics.AUFLIRA, handler, logger);
+		final DPLLEngine engine = new DPLLEngine(logger, handler);
+		final Translator translator = new Translator();
+		setupUnsatSet2(script, translator, engine);
+
+		final UnexploredMap map = new UnexploredMap(engine, translator);
+		final ParallelMusEnumerator enumerator = new ParallelMusEnumerator((SMTInterpol) script, translator, map,
+				new Term[0], 3, handler, 0, new Random(1337), false, logger);
+		final ArrayList<MusContainer> muses = new ArrayList<>();
+		enumerator.stream().forEach(muses::add);
+		enumerator.close();
+
+		final ConstraintAdministrationSolver solver = new ConstraintAdministrationSolver(script, translator);
+		for (final MusContainer container : muses) {
+			checkWhetherSetIsMus(container.getMus(), solver);
+			Assert.assertSame(script.getTheory(), container.getProof().getTheory());
+		}
+		Assert.assertEquals(15, muses.size());
+		Assert.assertEquals(15, muses.stream().map(MusContainer::getMus).distinct().count());
+	}
+
+	@Test
+	public void testParallelEnumerationSet2WithCancellation() {
+		final LogProxy logger = new DefaultLogger();
+		final TimeoutHandler handler = new TimeoutHandler(null);
+		final Script script = setupScript(Logics.AUFLIRA, handler, logger);
+		final DPLLEngine engine = new DPLLEngine(logger, handler);
+		final Translator translator = new Translator();
+		setupUnsatSet2(script, translator, engine);
+
+		final UnexploredMap map = new UnexploredMap(engine, translator);
+		final AtomicBoolean cancelled = new AtomicBoolean();
+		final ParallelMusEnumerator enumerator = new ParallelMusEnumerator((SMTInterpol) script, translator, map,
+				new Term[0], 2, cancelled::get, 0, new Random(1337), false, logger);
+		final ArrayList<MusContainer> muses = new ArrayList<>();
+		while (muses.size() < 3 && enumerator.hasNext()) {
+			muses.add(enumerator.next());
+		}
+		cancelled.set(true);
+
+		Assert.assertEquals(3, muses.size());
+		Assert.assertTrue(enumerator.isTerminationRequested());
+		Assert.assertTrue(enumerator.enumerate().isEmpty());
+		Assert.assertFalse(enumerator.hasNext());
+		enumerator.close();
+	}
+
+	@Test
+	public void testMusEnumerationScriptParallel() {
+		final MusEnumerationScript script = setupMusEnumerationScript(Logics.AUFLIRA);
+		script.setOption(MusOptions.INTERPOLATION_HEURISTIC, HeuristicsType.SMALLEST);
+		script.setOption(MusOptions.ENUMERATION_THREADS, 2);
+		script.setOption(SMTLIBConstants.RANDOM_SEED, 1337);
+
+		setupUnsatSet2(script);
+		Assert.assertTrue(LBool.UNSAT == script.checkSat());
+		final Term[] core = script.getUnsatCore();
+		Assert.assertEquals(2, core.length);
+	}
+
 	@Test
 	public void testHeuristicSmallest01() {
 		final LogProxy logger = new DefaultLogger();
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.proof;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Annotation;
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Test the solver with the resolution proof stored in a {@link ProofLog}.
+ */
+@RunWith(JUnit4.class)
+public class ProofLogTest {
+
+	private Script createScript(final boolean compact) {
+		final Script script = new SMTInterpol(new DefaultLogger());
+		script.setOption(":produce-unsat-cores", true);
+		script.setOption(SMTInterpolConstants.COMPACT_PROOFS, compact);
+		return script;
+	}
+
+	/**
+	 * Assert the pigeon hole problem with one named formula per pigeon and hole, and an unrelated named formula.
+	 */
+	private void assertPigeonHole(final Script script, final int pigeons) {
+		final int holes = pigeons - 1;
+		final Term[][] vars = new Term[pigeons][holes];
+		for (int i = 0; i < pigeons; i++) {
+			for (int j = 0; j < holes; j++) {
+				final String name = "p" + i + "_" + j;
+				script.declareFun(name, new Sort[0], script.sort("Bool"));
+				vars[i][j] = script.term(name);
+			}
+			script.assertTerm(script.annotate(script.term("or", vars[i]), new Annotation(":named", "pigeon" + i)));
+		}
+		for (int j = 0; j < holes; j++) {
+			final Term[] conj = new Term[pigeons * (pigeons - 1) / 2];
+			int n = 0;
+			for (int i = 0; i < pigeons; i++) {
+				for (int k = i + 1; k < pigeons; k++) {
+					conj[n++] = script.term("or", script.term("not", vars[i][j]), script.term("not", vars[k][j]));
+				}
+			}
+			script.assertTerm(script.annotate(script.term("and", conj), new Annotation(":named", "hole" + j)));
+		}
+		script.declareFun("q", new Sort[0], script.sort("Bool"));
+		script.assertTerm(script.annotate(script.term("q"), new Annotation(":named", "unrelated")));
+	}
+
+	private static HashSet<String> names(final Term[] core) {
+		final HashSet<String> names = new HashSet<>();
+		for (final Term t : core) {
+			names.add(t.toString());
+		}
+		return names;
+	}
+
+	@Test
+	public void testUnsatCore() {
+		final Script classic = createScript(false);
+		classic.setLogic(Logics.QF_UF);
+		assertPigeonHole(classic, 6);
+		Assert.assertSame(LBool.UNSAT, classic.checkSat());
+		final Script compact = createScript(true);
+		compact.setLogic(Logics.QF_UF);
+		assertPigeonHole(compact, 6);
+		Assert.assertSame(LBool.UNSAT, compact.checkSat());
+		final HashSet<String> core = names(compact.getUnsatCore());
+		Assert.assertEquals(names(classic.getUnsatCore()), core);
+		Assert.assertFalse(core.contains("unrelated"));
+	}
+
+	@Test
+	public void testProofCheckMapped() throws IOException {
+		final File dir = Files.createTempDirectory("prooflog").toFile();
+		final Script script = createScript(true);
+		script.setOption(SMTInterpolConstants.PROOF_LOG_DIRECTORY, dir.getPath());
+		script.setOption(SMTInterpolConstants.PROOF_CHECK_MODE, true);
+		script.setLogic(Logics.QF_LIA);
+		final Sort intSort = script.sort("Int");
+		script.declareFun("x", new Sort[0], intSort);
+		script.declareFun("y", new Sort[0], intSort);
+		final Term x = script.term("x");
+		final Term y = script.term("y");
+		script.assertTerm(script.term("or", script.term("<", x, y), script.term(">", x, script.numeral("10"))));
+		for (int i = 0; i < 3; i++) {
+			script.push(1);
+			script.assertTerm(script.term("<=", y, x));
+			script.assertTerm(script.term("<=", x, script.numeral(Integer.toString(10 - i))));
+			Assert.assertSame(LBool.UNSAT, script.checkSat());
+			Assert.assertNotNull(script.getProof());
+			script.pop(1);
+			Assert.assertSame(LBool.SAT, script.checkSat());
+		}
+		Assert.assertEquals(1, dir.list().length);
+		script.reset();
+		Assert.assertEquals(0, dir.list().length);
+		dir.delete();
+	}
+
+	@Test
+	public void testInterpolants() {
+		final Script script = createScript(true);
+		script.setOption(":produce-interpolants", true);
+		script.setLogic(Logics.QF_LIA);
+		final Sort intSort = script.sort("Int");
+		for (final String name : new String[] { "x", "y", "z" }) {
+			script.declareFun(name, new Sort[0], intSort);
+		}
+		final Term x = script.term("x");
+		final Term y = script.term("y");
+		final Term z = script.term("z");
+		script.assertTerm(script.annotate(script.term("and", script.term("<", x, y), script.term("<", y, z)),
+				new Annotation(":named", "A")));
+		script.assertTerm(script.annotate(script.term("<=", z, x), new Annotation(":named", "B")));
+		Assert.assertSame(LBool.UNSAT, script.checkSat());
+		final Term[] interpolants = script.getInterpolants(new Term[] { script.term("A"), script.term("B") });
+		Assert.assertEquals(1, interpolants.length);
+	}
+}
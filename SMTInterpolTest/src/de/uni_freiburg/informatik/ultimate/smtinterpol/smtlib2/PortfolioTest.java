@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Annotation;
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.ReasonUnknown;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+
+/**
+ * Test check-sat with several engines racing in parallel threads.
+ */
+@RunWith(JUnit4.class)
+public class PortfolioTest {
+
+	private Script createScript(final Logics logic) {
+		return createScript(logic, new SMTInterpol(new DefaultLogger()));
+	}
+
+	private Script createScript(final Logics logic, final Script script) {
+		script.setOption(SMTInterpolConstants.PORTFOLIO_THREADS, 4);
+		script.setOption(":produce-unsat-cores", true);
+		script.setOption(":produce-models", true);
+		script.setOption(":produce-unsat-assumptions", true);
+		script.setLogic(logic);
+		return script;
+	}
+
+	/**
+	 * Assert that pigeons pigeons are placed into holes holes.
+	 */
+	private Term[][] assertPigeonHole(final Script script, final int pigeons, final int holes) {
+		final Term[][] vars = new Term[pigeons][holes];
+		for (int i = 0; i < pigeons; i++) {
+			final Term[] inHole = new Term[holes];
+			for (int j = 0; j < holes; j++) {
+				final String name = "p" + i + "_" + j;
+				script.declareFun(name, new Sort[0], script.sort("Bool"));
+				vars[i][j] = script.term(name);
+				inHole[j] = vars[i][j];
+			}
+			script.assertTerm(script.term("or", inHole));
+		}
+		for (int j = 0; j < holes; j++) {
+			for (int i = 0; i < pigeons; i++) {
+				for (int k = i + 1; k < pigeons; k++) {
+					script.assertTerm(script.term("or", script.term("not", vars[i][j]),
+							script.term("not", vars[k][j])));
+				}
+			}
+		}
+		return vars;
+	}
+
+	@Test
+	public void testPigeonHole() {
+		final Script script = createScript(Logics.QF_UF);
+		assertPigeonHole(script, 7, 6);
+		Assert.assertSame(LBool.UNSAT, script.checkSat());
+		script.getUnsatCore();
+	}
+
+	@Test
+	public void testPushPop() {
+		final Script script = createScript(Logics.QF_UF);
+		script.push(1);
+		final Term[][] vars = assertPigeonHole(script, 5, 5);
+		Assert.assertSame(LBool.SAT, script.checkSat());
+		final Map<Term, Term> values = script.getValue(vars[0]);
+		int inHoles = 0;
+		for (final Term value : values.values()) {
+			if (value == script.term("true")) {
+				inHoles++;
+			}
+		}
+		Assert.assertTrue(inHoles > 0);
+		Assert.assertSame(LBool.UNSAT, script.checkSatAssuming(vars[0][0], vars[1][0]));
+		Assert.assertEquals(new HashSet<>(Arrays.asList(vars[0][0], vars[1][0])),
+				new HashSet<>(Arrays.asList(script.getUnsatAssumptions())));
+		script.pop(1);
+		script.push(1);
+		assertPigeonHole(script, 6, 5);
+		Assert.assertSame(LBool.UNSAT, script.checkSat());
+		script.pop(1);
+		Assert.assertSame(LBool.SAT, script.checkSat());
+	}
+
+	@Test
+	public void testTheory() {
+		final Script script = createScript(Logics.QF_LIA);
+		final Sort intSort = script.sort("Int");
+		script.declareFun("x", new Sort[0], intSort);
+		script.declareFun("y", new Sort[0], intSort);
+		final Term x = script.term("x");
+		final Term y = script.term("y");
+		final Term zero = script.numeral("0");
+		final Term ten = script.numeral("10");
+		script.assertTerm(script.term("or", script.term("<", x, zero), script.term(">", x, ten)));
+		script.assertTerm(script.term("or", script.term("<", y, zero), script.term("=", y, x)));
+		script.assertTerm(script.term(">=", script.term("+", x, y), zero));
+		Assert.assertSame(LBool.SAT, script.checkSat());
+		final Term xAboveTen = script.term(">", x, ten);
+		Assert.assertSame(script.term("true"), script.getValue(new Term[] { xAboveTen }).get(xAboveTen));
+		script.assertTerm(script.annotate(script.term("<=", y, ten), new Annotation(":named", "ybound")));
+		script.assertTerm(script.annotate(script.term("<=", x, ten), new Annotation(":named", "xbound")));
+		Assert.assertSame(LBool.UNSAT, script.checkSat());
+		final Term[] core = script.getUnsatCore();
+		Assert.assertTrue(Arrays.asList(core).contains(script.term("xbound")));
+	}
+
+	/**
+	 * A timeout that stops all engines before any of them decided the problem must give unknown.
+	 */
+	@Test
+	public void testTimeoutWithoutWinner() {
+		final Script script = createScript(Logics.QF_UF);
+		assertPigeonHole(script, 12, 11);
+		script.setOption(SMTInterpolConstants.TIMEOUT, 100);
+		Assert.assertSame(LBool.UNKNOWN, script.checkSat());
+		Assert.assertEquals(ReasonUnknown.CANCELLED, script.getInfo(":reason-unknown"));
+	}
+
+	/**
+	 * A cancelled check without a winner must give unknown.
+	 */
+	@Test
+	public void testCancelWithoutWinner() {
+		final Script script = createScript(Logics.QF_UF, new SMTInterpol(new DefaultLogger(), () -> true));
+		assertPigeonHole(script, 5, 5);
+		Assert.assertSame(LBool.UNKNOWN, script.checkSat());
+		Assert.assertEquals(ReasonUnknown.CANCELLED, script.getInfo(":reason-unknown"));
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.simplification.SimplifyDDA;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+
+/**
+ * Compare the incremental simplifier with the classic one on random formulas.
+ */
+@RunWith(JUnit4.class)
+public class SimplifyTest {
+	private Script mScript;
+	private Term[] mAtoms;
+
+	private void setup() {
+		mScript = new SMTInterpol(new DefaultLogger());
+		mScript.setLogic(Logics.QF_LIA);
+		mScript.declareFun("x", Script.EMPTY_SORT_ARRAY, mScript.sort("Int"));
+		mAtoms = new Term[8];
+		for (int i = 0; i < 4; i++) {
+			mScript.declareFun("p" + i, Script.EMPTY_SORT_ARRAY, mScript.sort("Bool"));
+			mAtoms[i] = mScript.term("p" + i);
+			mAtoms[i + 4] = mScript.term("<", mScript.term("x"), mScript.numeral(BigInteger.valueOf(i)));
+		}
+	}
+
+	private Term randomFormula(final Random rng, final int depth) {
+		if (depth == 0 || rng.nextInt(4) == 0) {
+			final Term atom = mAtoms[rng.nextInt(mAtoms.length)];
+			return rng.nextBoolean() ? atom : mScript.term("not", atom);
+		}
+		switch (rng.nextInt(4)) {
+		case 0:
+			return mScript.term("ite", randomFormula(rng, depth - 1), randomFormula(rng, depth - 1),
+					randomFormula(rng, depth - 1));
+		case 1:
+			return mScript.term("=>", randomFormula(rng, depth - 1), randomFormula(rng, depth - 1));
+		default:
+			final Term[] params = new Term[2 + rng.nextInt(2)];
+			for (int i = 0; i < params.length; i++) {
+				params[i] = randomFormula(rng, depth - 1);
+			}
+			return mScript.term(rng.nextBoolean() ? "and" : "or", params);
+		}
+	}
+
+	private boolean isEquivalent(final Term a, final Term b) {
+		mScript.push(1);
+		mScript.assertTerm(mScript.term("not", mScript.term("=", a, b)));
+		final LBool result = mScript.checkSat();
+		mScript.pop(1);
+		return result == LBool.UNSAT;
+	}
+
+	@Test
+	public void testRandom() {
+		setup();
+		mScript.assertTerm(mScript.term("=>", mAtoms[0], mAtoms[5]));
+		final Random rng = new Random(42);
+		final SimplifyDDA classic = new SimplifyDDA(mScript, true);
+		final SimplifyDDA incremental = new SimplifyDDA(mScript, true, true);
+		for (int i = 0; i < 60; i++) {
+			final Term input = randomFormula(rng, 5);
+			final Term expected = classic.getSimplifiedTerm(input);
+			final Term result = incremental.getSimplifiedTerm(input);
+			Assert.assertTrue(isEquivalent(input, result));
+			Assert.assertTrue(isEquivalent(expected, result));
+		}
+		// every formula is simplified twice to check that the cache survives between calls
+		for (int i = 0; i < 20; i++) {
+			incremental.getSimplifiedTerm(randomFormula(new Random(i), 5));
+			incremental.getSimplifiedTerm(randomFormula(new Random(i), 5));
+		}
+		Assert.assertTrue(incremental.getNumberOfCacheHits() > 0);
+		Assert.assertTrue(incremental.getNumberOfFilteredChecks() > 0);
+		Assert.assertTrue(incremental.getNumberOfChecks() < classic.getNumberOfChecks());
+	}
+
+	@Test
+	public void testPopInvalidatesCache() {
+		setup();
+		mScript.setOption(SMTInterpolConstants.SIMPLIFY_INCREMENTAL, true);
+		final Term input = mScript.term("and", mAtoms[0], mAtoms[1]);
+		mScript.push(1);
+		mScript.assertTerm(mAtoms[0]);
+		Assert.assertSame(mAtoms[1], mScript.simplify(input));
+		mScript.pop(1);
+		Assert.assertSame(input, mScript.simplify(input));
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Annotation;
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.QuantifierTheory.InstantiationMethod;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.ematching.EMatching;
+
+/**
+ * Tests that the memo of executed E-matching code does not lose matches when the solver backtracks.
+ */
+@RunWith(JUnit4.class)
+public class EMatchingTest {
+	private final SMTInterpol mSolver;
+	private final Term[] mConsts;
+
+	public EMatchingTest() {
+		mSolver = new SMTInterpol(new DefaultLogger());
+		mSolver.setOption(SMTInterpolConstants.INSTANTIATION_METHOD, InstantiationMethod.E_MATCHING_LAZY);
+		mSolver.setLogic(Logics.UF);
+		mSolver.declareSort("U", 0);
+		final Sort u = mSolver.sort("U");
+		mSolver.declareFun("f", new Sort[] { u, u }, u);
+		mSolver.declareFun("P", new Sort[] { u }, mSolver.sort("Bool"));
+		mConsts = new Term[6];
+		for (int i = 0; i < mConsts.length; i++) {
+			mSolver.declareFun("c" + i, Script.EMPTY_SORT_ARRAY, u);
+			mConsts[i] = mSolver.term("c" + i);
+		}
+	}
+
+	private Term eq(final int i, final int j) {
+		return mSolver.term("=", mConsts[i], mConsts[j]);
+	}
+
+	private Term notPf(final int i, final int j) {
+		return mSolver.term("not", mSolver.term("P", mSolver.term("f", mConsts[i], mConsts[j])));
+	}
+
+	/**
+	 * The same assumptions are checked repeatedly. Each check backtracks to decision level zero and decides the
+	 * assumptions again, so the E-matching code skipped by the memo in one check has to be executed again and has to
+	 * find the same matches as before. The matches are removed again when backtracking, hence every repeated check
+	 * finds the same number of new matches.
+	 */
+	@Test
+	public void testSkippedExecutionsAfterBacktracking() {
+		final TermVariable x = mSolver.variable("x", mSolver.sort("U"));
+		final Term pattern = mSolver.term("f", x, x);
+		mSolver.assertTerm(mSolver.quantifier(Script.FORALL, new TermVariable[] { x },
+				mSolver.annotate(mSolver.term("P", pattern), new Annotation(":pattern", new Term[] { pattern }))));
+		mSolver.assertTerm(notPf(1, 3));
+		mSolver.assertTerm(notPf(5, 0));
+		mSolver.assertTerm(mSolver.term("or", eq(4, 5), eq(4, 2), eq(3, 1)));
+		mSolver.assertTerm(mSolver.term("or", eq(4, 0), eq(3, 2)));
+		mSolver.declareFun("p", Script.EMPTY_SORT_ARRAY, mSolver.sort("Bool"));
+		mSolver.declareFun("q", Script.EMPTY_SORT_ARRAY, mSolver.sort("Bool"));
+		mSolver.assertTerm(mSolver.term("=", mSolver.term("p"), eq(4, 0)));
+		mSolver.assertTerm(mSolver.term("=", mSolver.term("q"), eq(1, 5)));
+
+		final Term[] assumptions = { mSolver.term("p"), mSolver.term("q") };
+		Assert.assertEquals(LBool.SAT, mSolver.checkSatAssuming(assumptions));
+		final EMatching ematching = mSolver.getClausifier().getQuantifierTheory().getEMatching();
+		long lastMatches = ematching.getNumNewSubstitutions();
+		long expectedMatches = -1;
+		for (int i = 0; i < 3; i++) {
+			Assert.assertEquals(LBool.SAT, mSolver.checkSatAssuming(assumptions));
+			final long matches = ematching.getNumNewSubstitutions() - lastMatches;
+			Assert.assertTrue(matches > 0);
+			if (expectedMatches >= 0) {
+				Assert.assertEquals(expectedMatches, matches);
+			}
+			expectedMatches = matches;
+			lastMatches = ematching.getNumNewSubstitutions();
+		}
+		Assert.assertTrue(ematching.getNumSkippedExecutions() > 0);
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Compare the lazy substitution enumeration and the instance table with a naive computation.
+ */
+@RunWith(JUnit4.class)
+public class SubstitutionEnumeratorTest {
+	private final Term[] mTerms;
+	/**
+	 * The candidate terms for three variables, given as indices into mTerms, and their ages.
+	 */
+	private final int[][] mCandidates = { { 0, 1, 2, 3 }, { 4 }, { 5, 6, 7 } };
+	private final int[][] mAges = { { 0, 0, 2, 3 }, { 1 }, { 0, 2, 2 } };
+
+	public SubstitutionEnumeratorTest() {
+		final Script script = new SMTInterpol(new DefaultLogger());
+		script.setLogic(Logics.QF_UF);
+		mTerms = new Term[8];
+		for (int i = 0; i < mTerms.length; i++) {
+			script.declareFun("c" + i, Script.EMPTY_SORT_ARRAY, script.sort("Bool"));
+			mTerms[i] = script.term("c" + i);
+		}
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private List<Term>[] getCandidates() {
+		final List<Term>[] candidates = new List[mCandidates.length];
+		for (int i = 0; i < candidates.length; i++) {
+			candidates[i] = new ArrayList<>();
+			for (final int index : mCandidates[i]) {
+				candidates[i].add(mTerms[index]);
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Compute the substitutions in lexicographic order and return those whose maximal age is the given age. A negative
+	 * age returns all substitutions.
+	 */
+	private List<List<Term>> naive(final int age) {
+		final List<List<Term>> result = new ArrayList<>();
+		for (int i = 0; i < mCandidates[0].length; i++) {
+			for (int j = 0; j < mCandidates[1].length; j++) {
+				for (int k = 0; k < mCandidates[2].length; k++) {
+					final int maxAge = Math.max(mAges[0][i], Math.max(mAges[1][j], mAges[2][k]));
+					if (age < 0 || maxAge == age) {
+						result.add(Arrays.asList(mTerms[mCandidates[0][i]], mTerms[mCandidates[1][j]],
+								mTerms[mCandidates[2][k]]));
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private static List<List<Term>> enumerate(final SubstitutionEnumerator enumerator) {
+		final List<List<Term>> result = new ArrayList<>();
+		while (enumerator.next()) {
+			result.add(Arrays.asList(enumerator.getSubstitution().clone()));
+		}
+		return result;
+	}
+
+	@Test
+	public void testAll() {
+		Assert.assertEquals(naive(-1), enumerate(new SubstitutionEnumerator(getCandidates())));
+	}
+
+	@Test
+	public void testAges() {
+		int total = 0;
+		for (int age = 0; age <= 4; age++) {
+			final List<List<Term>> subs = enumerate(new SubstitutionEnumerator(getCandidates(), mAges, age));
+			Assert.assertEquals(naive(age), subs);
+			total += subs.size();
+		}
+		Assert.assertEquals(naive(-1).size(), total);
+	}
+
+	@Test
+	public void testInstanceTable() {
+		final InstanceTable table = new InstanceTable();
+		final List<List<Term>> all = naive(-1);
+		for (final List<Term> subs : all) {
+			Assert.assertFalse(table.containsKey(subs));
+			table.put(subs, null);
+		}
+		Assert.assertEquals(all.size(), table.size());
+		final SubstitutionEnumerator enumerator = new SubstitutionEnumerator(getCandidates());
+		while (enumerator.next()) {
+			Assert.assertTrue(table.containsKey(enumerator.getSubstitution()));
+		}
+		Assert.assertFalse(table.containsKey(new Term[] { mTerms[0], mTerms[0], mTerms[0] }));
+		table.clear();
+		Assert.assertFalse(table.containsKey(all.get(0)));
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.xor;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBConstants;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Compare the Gauss-Jordan xor engine with a brute force check on small random parity problems.
+ */
+@RunWith(JUnit4.class)
+public class XorMatrixTheoryTest {
+	private static final int VARS = 8;
+
+	private Script mScript;
+	private Term[] mVars;
+
+	private void setup() {
+		mScript = new SMTInterpol(new DefaultLogger());
+		mScript.setOption(SMTLIBConstants.PRODUCE_MODELS, true);
+		mScript.setOption(SMTInterpolConstants.MODEL_CHECK_MODE, true);
+		mScript.setOption(SMTInterpolConstants.XOR_ENGINE, "GAUSS_JORDAN");
+		mScript.setLogic(Logics.QF_UF);
+		mVars = new Term[VARS];
+		for (int i = 0; i < VARS; i++) {
+			mScript.declareFun("v" + i, Script.EMPTY_SORT_ARRAY, mScript.sort(SMTLIBConstants.BOOL));
+			mVars[i] = mScript.term("v" + i);
+		}
+	}
+
+	/**
+	 * Assert the constraint that the xor of the given variables has the given value.
+	 */
+	private void assertXor(final int[] vars, final boolean value) {
+		final Term[] args = new Term[vars.length + 1];
+		for (int i = 0; i < vars.length; i++) {
+			args[i] = mVars[vars[i]];
+		}
+		args[vars.length] = mScript.term(value ? SMTLIBConstants.FALSE : SMTLIBConstants.TRUE);
+		mScript.assertTerm(mScript.term(SMTLIBConstants.XOR, args));
+	}
+
+	private static boolean isSatisfiable(final int[][] xors, final boolean[] values, final int count) {
+		for (int model = 0; model < 1 << VARS; model++) {
+			boolean satisfied = true;
+			for (int i = 0; i < count && satisfied; i++) {
+				boolean parity = false;
+				for (final int var : xors[i]) {
+					parity ^= (model & (1 << var)) != 0;
+				}
+				satisfied = parity == values[i];
+			}
+			if (satisfied) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Test
+	public void testRandom() {
+		final Random rng = new Random(42);
+		for (int round = 0; round < 100; round++) {
+			setup();
+			final int numXors = 1 + rng.nextInt(VARS + 2);
+			final int[][] xors = new int[numXors][];
+			final boolean[] values = new boolean[numXors];
+			for (int i = 0; i < numXors; i++) {
+				xors[i] = new int[1 + rng.nextInt(4)];
+				for (int j = 0; j < xors[i].length; j++) {
+					xors[i][j] = rng.nextInt(VARS);
+				}
+				values[i] = rng.nextBoolean();
+			}
+			final int pushed = numXors / 2;
+			for (int i = 0; i < numXors; i++) {
+				if (i == pushed) {
+					mScript.push(1);
+				}
+				assertXor(xors[i], values[i]);
+			}
+			final LBool expected = isSatisfiable(xors, values, numXors) ? LBool.SAT : LBool.UNSAT;
+			Assert.assertEquals(expected, mScript.checkSat());
+			mScript.pop(1);
+			final LBool expectedAfterPop = isSatisfiable(xors, values, pushed) ? LBool.SAT : LBool.UNSAT;
+			Assert.assertEquals(expectedAfterPop, mScript.checkSat());
+		}
+	}
+
+	@Test
+	public void testClusters() {
+		setup();
+		assertXor(new int[] { 0, 1, 2 }, true);
+		assertXor(new int[] { 1, 2, 3 }, false);
+		assertXor(new int[] { 4, 5 }, true);
+		assertXor(new int[] { 5, 6, 7 }, true);
+		Assert.assertEquals(LBool.SAT, mScript.checkSat());
+		final XorMatrixTheory xorTheory = ((SMTInterpol) mScript).getClausifier().getXorMatrixTheory();
+		Assert.assertEquals(2, xorTheory.mClusters.length);
+		// v0 and v3 differ, v4 and v5 differ
+		final Term v0 = mScript.getValue(new Term[] { mVars[0] }).get(mVars[0]);
+		final Term v3 = mScript.getValue(new Term[] { mVars[3] }).get(mVars[3]);
+		Assert.assertNotEquals(v0, v3);
+		assertXor(new int[] { 0, 3 }, false);
+		Assert.assertEquals(LBool.UNSAT, mScript.checkSat());
+	}
+
+	@Test
+	public void testDuplicateAtoms() {
+		setup();
+		// v0 xor v0 xor v1 is v1
+		assertXor(new int[] { 0, 0, 1 }, true);
+		mScript.assertTerm(mScript.term(SMTLIBConstants.NOT, mVars[1]));
+		Assert.assertEquals(LBool.UNSAT, mScript.checkSat());
+	}
+}
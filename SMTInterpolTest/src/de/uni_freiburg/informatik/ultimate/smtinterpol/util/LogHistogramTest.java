@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class LogHistogramTest {
+
+	@Test
+	public void testEmpty() {
+		final LogHistogram hist = new LogHistogram();
+		Assert.assertEquals(0, hist.getCount());
+		Assert.assertEquals(0, hist.getMean());
+		Assert.assertEquals(0, hist.getPercentile(50));
+		Assert.assertEquals(0, hist.getMax());
+	}
+
+	@Test
+	public void testPercentiles() {
+		final LogHistogram hist = new LogHistogram();
+		for (int i = 1; i <= 100; i++) {
+			hist.add(i);
+		}
+		hist.add(-5);
+		Assert.assertEquals(101, hist.getCount());
+		Assert.assertEquals(5050, hist.getSum());
+		Assert.assertEquals(100, hist.getMax());
+		Assert.assertEquals(0, hist.getPercentile(0));
+		// the median 50 is in the bucket [32, 64)
+		Assert.assertEquals(63, hist.getPercentile(50));
+		// the 99th percentile 99 is in the bucket [64, 128), but the maximum is exact
+		Assert.assertEquals(100, hist.getPercentile(99));
+		Assert.assertEquals(100, hist.getPercentile(100));
+	}
+
+	@Test
+	public void testLargeValues() {
+		final LogHistogram hist = new LogHistogram();
+		hist.add(1L << 62);
+		Assert.assertEquals(1L << 62, hist.getPercentile(50));
+		hist.add(Long.MAX_VALUE);
+		Assert.assertEquals(Long.MAX_VALUE, hist.getPercentile(50));
+	}
+}